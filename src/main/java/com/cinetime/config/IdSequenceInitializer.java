@@ -0,0 +1,63 @@
+package com.cinetime.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves the id sequences of tickets, payments and showtimes past the ids that were
+ * handed out while those tables still used IDENTITY columns.
+ * <p>
+ * {@code ddl-auto=update} creates the sequences starting at 1; without this step the first
+ * pooled block would collide with existing rows. Runs once at startup, after the schema update
+ * and before the web server accepts requests. Never moves a sequence backwards, so it is a no-op
+ * after the first start. Only PostgreSQL databases ever had the IDENTITY ids, so other databases
+ * (H2 in tests) are left alone.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+    // sequence -> highest id in its table; allocation size must match the @SequenceGenerator on the entity
+    private static final Map<String, String> MAX_ID_QUERIES = Map.of(
+            "tickets_seq", "SELECT COALESCE(MAX(id), 0) FROM tickets",
+            "payments_seq", "SELECT COALESCE(MAX(id), 0) FROM payments",
+            "showtimes_seq", "SELECT COALESCE(MAX(id), 0) FROM showtimes"
+    );
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String ALIGN_SEQUENCE = """
+            SELECT setval(CAST(? AS regclass), GREATEST(?, (
+                SELECT last_value FROM pg_sequences
+                WHERE schemaname = current_schema() AND sequencename = ?)))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            log.debug("Skipping id sequence alignment on {}", database);
+            return;
+        }
+
+        MAX_ID_QUERIES.forEach((sequence, maxIdQuery) -> {
+            Long maxId = jdbcTemplate.queryForObject(maxIdQuery, Long.class);
+            Long value = jdbcTemplate.queryForObject(ALIGN_SEQUENCE, Long.class,
+                    sequence, maxId + ALLOCATION_SIZE, sequence);
+            log.debug("Sequence {} aligned at {}", sequence, value);
+        });
+    }
+}
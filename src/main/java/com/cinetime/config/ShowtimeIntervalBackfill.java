@@ -0,0 +1,40 @@
+package com.cinetime.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code starts_at}/{@code ends_at} for showtimes written before those columns existed.
+ * <p>
+ * New and updated rows get them from the entity lifecycle; this covers the rest once at startup,
+ * after the schema update. Only touches rows where the columns are still NULL, so it is a no-op
+ * after the first start.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class ShowtimeIntervalBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ShowtimeIntervalBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        int updated = jdbcTemplate.update("""
+                UPDATE showtimes
+                   SET starts_at = date + start_time,
+                       ends_at   = CASE WHEN end_time > start_time THEN date + end_time
+                                        ELSE (date + 1) + end_time END
+                 WHERE starts_at IS NULL OR ends_at IS NULL
+                """);
+        if (updated > 0) {
+            log.info("Backfilled starts_at/ends_at for {} showtimes", updated);
+        }
+    }
+}
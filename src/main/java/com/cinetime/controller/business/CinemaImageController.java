@@ -11,9 +11,12 @@ import com.cinetime.payload.response.business.CinemaImageResponse;
 import com.cinetime.payload.response.business.ImageResponse;
 import com.cinetime.service.business.CinemaImageService;
 import com.cinetime.service.validator.ImageValidator;
+import com.cinetime.util.BlobResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,7 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.concurrent.TimeUnit;
+import java.io.IOException;
 
 @Tag(name = "CinemaImages")
 @RestController
@@ -33,15 +36,14 @@ public class CinemaImageController {
 
     @PreAuthorize("permitAll()")
     @GetMapping("/{cinemaId}")
-    public ResponseEntity<byte[]> getCinemaImage(@PathVariable Long cinemaId) {
+    public void getCinemaImage(@PathVariable Long cinemaId,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
         CinemaImage img = cinemaImageService.getCinemaImage(cinemaId);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(
-                img.getType() == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : img.getType()));
-        headers.setContentDispositionFormData("inline", img.getName());
-        headers.setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic());
-        headers.add("X-Success-Message", SuccessMessages.IMAGE_FETCHED);
-        return new ResponseEntity<>(img.getData(), headers, HttpStatus.OK);
+        String blobKey = cinemaImageService.getCinemaImageBlobKey(img);
+        response.setHeader("X-Success-Message", SuccessMessages.IMAGE_FETCHED);
+        BlobResponses.write(request, response, blobKey,
+                () -> cinemaImageService.getCinemaImageContent(blobKey), img.getType(), img.getName());
     }
 
     @PreAuthorize("hasAuthority('ADMIN')")
@@ -5,19 +5,23 @@ import com.cinetime.payload.mappers.ImageMapper;
 import com.cinetime.payload.messages.SuccessMessages;
 import com.cinetime.payload.response.business.ImageResponse;
 import com.cinetime.service.business.ImageService;
+import com.cinetime.service.storage.ImageVariants;
+import com.cinetime.util.BlobResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 @Tag(name = "Images")
 @RestController
@@ -30,7 +34,8 @@ public class ImageController {
     private final ImageMapper imageMapper;
 
     /**
-     * I01 — Stream image bytes by id (sets content type and long cache).
+     * I01 — Stream image bytes by id with a strong ETag, 304 on a matching If-None-Match and byte ranges.
+     * With {@code w} the smallest rendered variant at least that wide is sent instead of the original.
      * Publicly accessible.
      */
     @PreAuthorize("permitAll()")
@@ -38,19 +43,31 @@ public class ImageController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "Image bytes",
                             content = @Content(mediaType = "image/*")),
+                    @ApiResponse(responseCode = "206", description = "Requested byte range",
+                            content = @Content(mediaType = "image/*")),
+                    @ApiResponse(responseCode = "304", description = "Not modified",
+                            content = @Content(schema = @Schema(hidden = true))),
                     @ApiResponse(responseCode = "404", description = "Not found",
                             content = @Content(schema = @Schema(hidden = true)))
             })
     @GetMapping("/images/{imageId}")
-    public ResponseEntity<byte[]> getImage(@PathVariable Long imageId) {
+    public void getImage(@PathVariable Long imageId,
+                         @RequestParam(name = "w", required = false) Integer width,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
         var img = imageService.getImageEntity(imageId);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(
-                img.getType() == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : img.getType()));
-        headers.setContentDispositionFormData("inline", img.getName());
-        headers.setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic());
-        headers.add("X-Success-Message", SuccessMessages.IMAGE_FETCHED);
-        return new ResponseEntity<>(img.getData(), headers, HttpStatus.OK);
+        String blobKey;
+        String type = img.getType();
+        if (width == null) {
+            blobKey = imageService.getImageBlobKey(img);
+        } else {
+            ImageVariants.Rendition rendition = imageService.getImageRendition(img, width);
+            blobKey = rendition.blobKey();
+            if (rendition.type() != null) type = rendition.type();
+        }
+        response.setHeader("X-Success-Message", SuccessMessages.IMAGE_FETCHED);
+        BlobResponses.write(request, response, blobKey,
+                () -> imageService.getImageContent(blobKey), type, img.getName());
     }
 
     /**
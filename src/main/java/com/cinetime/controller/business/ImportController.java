@@ -0,0 +1,40 @@
+package com.cinetime.controller.business;
+
+import com.cinetime.payload.response.business.ImportReportResponse;
+import com.cinetime.payload.response.business.ResponseMessage;
+import com.cinetime.service.feed.FeedFormat;
+import com.cinetime.service.feed.FeedImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * Bulk feeds are posted as the raw request body (text/csv or application/x-ndjson), not as multipart,
+ * so they are streamed straight into the importer without a size limit or a temporary copy.
+ */
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final FeedImportService feedImportService;
+
+    @PostMapping(value = "/showtimes", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseMessage<ImportReportResponse> importShowtimes(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        return feedImportService.importShowtimes(body, FeedFormat.fromContentType(contentType));
+    }
+
+    @PostMapping(value = "/movies", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseMessage<ImportReportResponse> importMovies(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        return feedImportService.importMovies(body, FeedFormat.fromContentType(contentType));
+    }
+}
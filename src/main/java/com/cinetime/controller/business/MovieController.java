@@ -2,9 +2,12 @@ package com.cinetime.controller.business;
 
 import com.cinetime.payload.request.business.MovieRequest;
 import com.cinetime.payload.response.business.CinemaMovieResponse;
+import com.cinetime.payload.response.business.MovieFacetsResponse;
 import com.cinetime.payload.response.business.MovieResponse;
 import com.cinetime.payload.response.business.ResponseMessage;
 import com.cinetime.service.business.MovieService;
+import com.cinetime.service.catalog.MovieCatalogCache;
+import com.cinetime.service.catalog.MovieCatalogService;
 import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +31,7 @@ import java.util.List;
 public class MovieController {
 
     private final MovieService movieService;
+    private final MovieCatalogService movieCatalogService;
 
     @PreAuthorize("permitAll()")
     @GetMapping("/by-cinema-date")
@@ -94,7 +98,7 @@ public class MovieController {
             Pageable pageable
     ) {
         ResponseMessage<Page<MovieResponse>> response =
-                movieService.getMoviesInTheaters(date, pageable);
+                movieCatalogService.getMoviesInTheaters(date, pageable);
         return ResponseEntity.status(response.getHttpStatus()).body(response);
     }
 
@@ -108,7 +112,7 @@ public class MovieController {
             @PageableDefault(page = 0, size = 12, sort = "releaseDate", direction = Sort.Direction.ASC)
             Pageable pageable
     ) {
-        var response = movieService.getComingSoonMovies(date, pageable);
+        var response = movieCatalogService.getComingSoonMovies(date, pageable);
         return ResponseEntity.status(response.getHttpStatus()).body(response);
     }
 
@@ -143,10 +147,9 @@ public class MovieController {
     //M09 - Get Movie By ID
     @PreAuthorize("permitAll()")
     @GetMapping("/id/{movieId}")
-    @Transactional(readOnly = true)
     public ResponseMessage<MovieResponse> getMovie(
             @PathVariable Long movieId) {
-        return movieService.getMovieById(movieId);
+        return movieCatalogService.getMovieById(movieId);
     }
 
     //M11 - Save Movie
@@ -189,11 +192,17 @@ public class MovieController {
         return movieService.getMovieByGenre(genre, pageable);
     }
 
+    // Hit/miss counters of the public catalog cache
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    @GetMapping("/catalog-cache/stats")
+    public ResponseMessage<MovieCatalogCache.Stats> getCatalogCacheStats() {
+        return movieCatalogService.getStats();
+    }
+
     @PreAuthorize("permitAll()")
     @GetMapping("/genre-list")
-    @Transactional(readOnly = true)
     public ResponseMessage<List<String>> getMoviesGenres() {
-        return movieService.getGenres();
+        return movieCatalogService.getGenres();
     }
 
     @PreAuthorize("permitAll()")
@@ -211,14 +220,27 @@ public class MovieController {
         return movieService.filterMovies(genre, status, minRating, maxRating, releaseDate, specialHalls, pageable);
     }
 
+    // Movies per genre, format and status for the same filters as /filter
+    @PreAuthorize("permitAll()")
+    @GetMapping("/filter/facets")
+    public ResponseMessage<MovieFacetsResponse> filterMovieFacets(
+            @RequestParam(required = false) List<String> genre,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) Double maxRating,
+            @RequestParam(required = false) String releaseDate,
+            @RequestParam(required = false) String specialHalls
+    ) {
+        return movieService.filterMovieFacets(genre, status, minRating, maxRating, releaseDate, specialHalls);
+    }
+
     // M10 - Get Movie By Slug (tekil film)
     @PreAuthorize("permitAll()")
     @GetMapping("/slug/movie/{slug}")
-    @Transactional(readOnly = true)
     public ResponseMessage<MovieResponse> getMovieBySlug(
             @PathVariable String slug
     ) {
-        return movieService.getMovieBySlug(slug);
+        return movieCatalogService.getMovieBySlug(slug);
     }
 
 
@@ -1,10 +1,13 @@
 package com.cinetime.controller.business;
 
 import com.cinetime.payload.mappers.ShowtimeMapper;
+import com.cinetime.payload.request.business.ScheduleTemplateRequest;
 import com.cinetime.payload.request.business.ShowtimeRequest;
 import com.cinetime.payload.response.business.*;
 import com.cinetime.service.business.ShowtimeService;
 import com.cinetime.service.business.TicketService;
+import com.cinetime.service.schedule.ScheduleGeneratorService;
+import com.cinetime.service.timetable.CinemaTimetable;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -12,10 +15,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -28,6 +34,7 @@ public class ShowtimeController {
 
     private final ShowtimeService showTimeService;
     private final TicketService ticketService;
+    private final ScheduleGeneratorService scheduleGeneratorService;
 
     @PostMapping
     @Transactional
@@ -37,6 +44,14 @@ public class ShowtimeController {
         return showTimeService.saveShowtime(showtimeRequest);
     }
 
+    // Bulk programming: expands the template and reports what happened to every slot
+    @PostMapping("/schedule")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseMessage<ScheduleResultResponse> generateSchedule(
+            @RequestBody @Valid ScheduleTemplateRequest scheduleTemplateRequest) {
+        return scheduleGeneratorService.generate(scheduleTemplateRequest);
+    }
+
     // ShowtimesController.java
     @GetMapping("/unavailable-seats")
     @PreAuthorize("permitAll()")
@@ -83,8 +98,16 @@ public class ShowtimeController {
     // S01 Endpoint - Get showtimes by cinema ID
     @GetMapping("/cinema/{cinemaId}")
     @PreAuthorize("permitAll()")
-    public ResponseMessage<List<HallWithShowtimesResponse>> getShowtimesByCinemaId(@PathVariable Long cinemaId) {
-        return showTimeService.getShowtimesByCinemaId(cinemaId);
+    public ResponseEntity<byte[]> getShowtimesByCinemaId(@PathVariable Long cinemaId, WebRequest webRequest) {
+        CinemaTimetable.Timetable timetable = showTimeService.getTimetableByCinemaId(cinemaId);
+        if (webRequest.checkNotModified(timetable.etag())) {
+            return null; // 304 already written
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(timetable.etag())
+                .body(timetable.json());
     }
 
     // /api/show-times/cities-with-showtimes?onOrAfter=YYYY-MM-DD&movieId=..&countryId=..
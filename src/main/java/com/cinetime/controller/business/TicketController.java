@@ -1,7 +1,10 @@
 package com.cinetime.controller.business;
 
 import com.cinetime.payload.messages.SuccessMessages;
+import com.cinetime.payload.request.business.BuyTicketByShowtimeIdRequest;
 import com.cinetime.payload.request.business.BuyTicketRequest;
+import com.cinetime.payload.request.business.ReserveBestAvailableRequest;
+import com.cinetime.payload.request.business.ReserveTicketByShowtimeIdRequest;
 import com.cinetime.payload.request.business.ReserveTicketRequest;
 import com.cinetime.payload.response.business.PaymentResponse;
 import com.cinetime.payload.response.business.ResponseMessage;
@@ -16,10 +19,12 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -116,4 +121,75 @@ import java.util.List;
                      .build();
                   return ResponseEntity.status(HttpStatus.CREATED).body(response);
         }
+    
+        @PreAuthorize("hasAnyAuthority('MEMBER','ANONYMOUS')")
+        @PostMapping("/reserve-by-showtime-id")
+        public ResponseEntity<ResponseMessage<List<TicketResponse>>> reserveByShowtimeId(
+                @AuthenticationPrincipal UserDetailsImpl principal,
+                @RequestBody @Valid ReserveTicketByShowtimeIdRequest req) {
+            Long userId = principal != null ? principal.getId() : null;
+            List<TicketResponse> body = ticketService.reserveByShowtimeId(req, userId);
+
+            ResponseMessage<List<TicketResponse>> response = ResponseMessage.<List<TicketResponse>>builder()
+                    .returnBody(body)
+                    .message(SuccessMessages.TICKET_RESERVED)
+                    .httpStatus(HttpStatus.OK)
+                    .build();
+
+            return ResponseEntity.ok(response);
+        }
+
+        @Operation(
+                summary = "Reserve the best available seats of a showtime",
+                description = "Picks 'count' free seats, side by side in one row when possible and as close to the centre of the hall as possible"
+        )
+        @PreAuthorize("hasAnyAuthority('MEMBER','ANONYMOUS')")
+        @PostMapping("/reserve-best-available")
+        public ResponseEntity<ResponseMessage<List<TicketResponse>>> reserveBestAvailable(
+                @AuthenticationPrincipal UserDetailsImpl principal,
+                @RequestBody @Valid ReserveBestAvailableRequest req) {
+            Long userId = principal != null ? principal.getId() : null;
+            List<TicketResponse> body = ticketService.reserveBestAvailable(req, userId);
+
+            ResponseMessage<List<TicketResponse>> response = ResponseMessage.<List<TicketResponse>>builder()
+                    .returnBody(body)
+                    .message(SuccessMessages.TICKET_RESERVED)
+                    .httpStatus(HttpStatus.OK)
+                    .build();
+
+            return ResponseEntity.ok(response);
+        }
+
+        @PreAuthorize("hasAnyAuthority('MEMBER')")
+        @PostMapping("/buy-ticket-by-showtime-id")
+        public ResponseEntity<ResponseMessage<PaymentResponse>> buyByShowtimeId(
+                @AuthenticationPrincipal UserDetailsImpl principal,
+                @RequestHeader(name = "Idempotency-Key") String idempotencyKey,
+                @RequestBody @Valid BuyTicketByShowtimeIdRequest request) {
+            Long userId = principal != null ? principal.getId() : null;
+            PaymentResponse body = ticketService.buyByShowtimeId(request, userId, idempotencyKey);
+
+            ResponseMessage<PaymentResponse> response = ResponseMessage.<PaymentResponse>builder()
+                    .returnBody(body)
+                    .message(SuccessMessages.TICKET_BOUGHT)
+                    .httpStatus(HttpStatus.CREATED)
+                    .build();
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+
+        @PreAuthorize("permitAll()")
+        @GetMapping("/showtime/{showtimeId}/taken-seats")
+        public List<String> takenSeatsByShowtimeId(@PathVariable Long showtimeId) {
+            return ticketService.getTakenSeatsByShowtimeId(showtimeId);
+        }
+    
+        @Operation(
+                summary = "Stream live seat-map changes of a showtime",
+                description = "Server-Sent Events: one 'snapshot' event with all taken seats, then 'taken' / 'released' deltas"
+        )
+        @PreAuthorize("permitAll()")
+        @GetMapping(value = "/showtime/{showtimeId}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public SseEmitter streamSeats(@PathVariable Long showtimeId) {
+            return ticketService.subscribeSeatMap(showtimeId);
+        }
     }
@@ -3,7 +3,6 @@ package com.cinetime.entity.business;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -22,10 +21,12 @@ public class CinemaImage {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Lob
-    @Basic(fetch = FetchType.LAZY)
-    @Column(name = "data", nullable = true)
-    private byte[] data;
+    // SHA-256 of the bytes in the BlobStore; null when the image is only an external url
+    @Column(name = "blob_key", length = 64)
+    private String blobKey;
+
+    @Column(name = "size_bytes")
+    private Long size;
 
     @NotBlank
     @Column(nullable = false, length = 255)
@@ -51,6 +52,6 @@ public class CinemaImage {
     private String url;
     @jakarta.validation.constraints.AssertTrue(message = "Either data or url must be present")
     private boolean isEitherDataOrUrlPresent() {
-        return (data != null && data.length > 0) || (url != null && !url.isBlank());
+        return blobKey != null || (url != null && !url.isBlank());
     }
 }
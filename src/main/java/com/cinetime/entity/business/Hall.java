@@ -39,6 +39,15 @@ public class Hall {
     @Column(name = "seat_capacity", nullable = false)
     private Integer seatCapacity;
 
+    // Optional seat grid; when absent the layout is derived from seatCapacity
+    @Min(1)
+    @Column(name = "seat_rows")
+    private Integer seatRows;
+
+    @Min(1)
+    @Column(name = "seats_per_row")
+    private Integer seatsPerRow;
+
     @Builder.Default
     @Column(name = "is_special", nullable = false)
     private Boolean isSpecial = false;
@@ -3,7 +3,6 @@ package com.cinetime.entity.business;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -16,7 +15,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@ToString(exclude = {"data", "movie"})
+@ToString(exclude = {"movie"})
 @Table(name = "images")
 public class Image {
 
@@ -24,11 +23,12 @@ public class Image {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Lob
-    @Basic(fetch = FetchType.LAZY)
-    @NotNull
-    @Column(name = "data", nullable = false)
-    private byte[] data;
+    // SHA-256 of the bytes in the BlobStore; rows from before the blob store get it from LegacyImageBlobMigration
+    @Column(name = "blob_key", length = 64)
+    private String blobKey;
+
+    @Column(name = "size_bytes")
+    private Long size;
 
     @NotBlank
     @Column(nullable = false, length = 255)
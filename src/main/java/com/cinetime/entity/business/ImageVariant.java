@@ -0,0 +1,44 @@
+package com.cinetime.entity.business;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A downscaled rendition of the image bytes under {@code sourceKey}, kept as its own blob.
+ * Keyed by the source content rather than by image, so images sharing bytes share their variants too.
+ */
+@Entity
+@Table(name = "image_variants",
+        uniqueConstraints = @UniqueConstraint(name = "uk_image_variants_source_width",
+                columnNames = {"source_key", "width"}))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ImageVariant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "source_key", nullable = false, length = 64)
+    private String sourceKey;
+
+    @Column(nullable = false)
+    private int width;
+
+    // equals sourceKey when the source is no wider than this size or cannot be decoded
+    @Column(name = "blob_key", nullable = false, length = 64)
+    private String blobKey;
+
+    // null when blobKey is the source itself
+    @Column(length = 100)
+    private String type;
+
+    @Column(name = "size_bytes")
+    private Long size;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -59,8 +60,11 @@ public class Movie {
     @Size(min = 5, max = 50)
     private String director;
 
+    // cast, formats and genre are loaded on first access, 50 movies per select (see @BatchSize), never joined;
+    // cast stays a list in billing order, formats and genre are sorted sets
     @NotNull
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(
             name = "movie_cast",
             joinColumns = @JoinColumn(name = "movie_id")
@@ -69,22 +73,27 @@ public class Movie {
     private List<String> cast = new ArrayList<>();
 
     @NotNull
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
+    @BatchSize(size = 50)
+    @OrderBy
     @CollectionTable(
             name = "movie_format",
             joinColumns = @JoinColumn(name = "movie_id")
     )
     @Column(name = "format", nullable = false)
-    private List<String> formats = new ArrayList<>();
+    private Set<String> formats = new LinkedHashSet<>();
 
     @NotNull
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
+    @BatchSize(size = 50)
+    @OrderBy
     @CollectionTable(
             name = "movie_genre",
             joinColumns = @JoinColumn(name = "movie_id")
     )
     @Column(name = "genre", nullable = false)
-    private List<String> genre;
+    @Builder.Default
+    private Set<String> genre = new LinkedHashSet<>();
 
     @Enumerated(EnumType.STRING)
     @Column(length = 32, nullable = false)
@@ -104,6 +113,7 @@ public class Movie {
 
     @JsonIgnore
     @Builder.Default
+    @BatchSize(size = 50)
     @OneToMany(mappedBy = "movie",
             cascade = CascadeType.ALL,
             orphanRemoval = true,
@@ -14,6 +14,10 @@ import java.util.Set;
 @Entity
 @Table(name = "showtimes", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"hall_id", "date", "start_time"})
+}, indexes = {
+        @Index(name = "idx_showtimes_movie_starts_at", columnList = "movie_id, starts_at"),
+        @Index(name = "idx_showtimes_hall_starts_at", columnList = "hall_id, starts_at, ends_at"),
+        @Index(name = "idx_showtimes_date_start_movie", columnList = "date, start_time, movie_id")
 })
 @Getter
 @Setter
@@ -22,7 +26,8 @@ import java.util.Set;
 @Builder
 public class Showtime {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "showtimes_seq")
+    @SequenceGenerator(name = "showtimes_seq", sequenceName = "showtimes_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -37,6 +42,14 @@ public class Showtime {
     @Column(name = "end_time", nullable = false)
     private LocalTime endTime;
 
+    // date + startTime / endTime as one comparable instant, kept in sync on persist and update.
+    // endsAt rolls over to the next day for screenings that run past midnight.
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -64,10 +77,20 @@ public class Showtime {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        syncInterval();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        syncInterval();
+    }
+
+    public void syncInterval() {
+        if (date == null || startTime == null) return;
+        startsAt = date.atTime(startTime);
+        if (endTime != null) {
+            endsAt = endTime.isAfter(startTime) ? date.atTime(endTime) : date.plusDays(1).atTime(endTime);
+        }
     }
 }
@@ -18,6 +18,10 @@ import java.time.LocalDateTime;
                         name = "uk_tickets_showtime_seat",
                         columnNames = {"showtime_id", "seatLetter", "seatNumber"}
                 )
+        },
+        indexes = {
+                @Index(name = "idx_tickets_status_hold_expires", columnList = "status, holdExpiresAt"),
+                @Index(name = "idx_tickets_user_status", columnList = "user_id, status")
         }
 )
 @Getter
@@ -29,7 +33,8 @@ import java.time.LocalDateTime;
 public class Ticket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_seq")
+    @SequenceGenerator(name = "tickets_seq", sequenceName = "tickets_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -54,6 +59,10 @@ public class Ticket {
     @Column(name = "updatedAt")
     private LocalDateTime updatedAt;
 
+    // Only set while status = RESERVED; the hold sweeper deletes the row once it passes.
+    @Column(name = "holdExpiresAt")
+    private LocalDateTime holdExpiresAt;
+
     // -------------------- RELATIONS --------------------
 
     // Ticket -> Showtime (ebeveyn): Cascade burada YOK.
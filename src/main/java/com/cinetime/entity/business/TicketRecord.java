@@ -0,0 +1,89 @@
+package com.cinetime.entity.business;
+
+import com.cinetime.entity.enums.TicketStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Read-only view over live tickets ({@code tickets}) and archived ones ({@code ticket_history}),
+ * flattened to what a ticket listing shows. Queries on it read hot and cold storage in one go;
+ * PostgreSQL pushes the filters down into both sides of the UNION ALL.
+ */
+@Entity
+@Immutable
+@Subselect("""
+        SELECT t.id            AS id,
+               t.user_id       AS user_id,
+               t.status        AS status,
+               t.seat_letter   AS seat_letter,
+               t.seat_number   AS seat_number,
+               t.price         AS price,
+               st.id           AS showtime_id,
+               st.date         AS showtime_date,
+               st.start_time   AS start_time,
+               st.starts_at    AS starts_at,
+               m.id            AS movie_id,
+               m.title         AS movie_title,
+               m.poster_url    AS movie_poster_url,
+               h.name          AS hall_name,
+               c.name          AS cinema_name,
+               FALSE           AS archived
+        FROM tickets t
+        JOIN showtimes st ON st.id = t.showtime_id
+        JOIN movies m     ON m.id = st.movie_id
+        JOIN halls h      ON h.id = st.hall_id
+        JOIN cinemas c    ON c.id = h.cinema_id
+        UNION ALL
+        SELECT th.id, th.user_id, th.status, th.seat_letter, th.seat_number, th.price,
+               th.showtime_id, th.showtime_date, th.start_time, th.showtime_date + th.start_time,
+               th.movie_id, th.movie_title, th.movie_poster_url, th.hall_name, th.cinema_name,
+               TRUE
+        FROM ticket_history th
+        """)
+@Synchronize({"tickets", "ticket_history"})
+@Getter
+@NoArgsConstructor
+public class TicketRecord {
+
+    @Id
+    private Long id;
+
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    private TicketStatus status;
+
+    private String seatLetter;
+
+    private int seatNumber;
+
+    private Double price;
+
+    private Long showtimeId;
+
+    private LocalDate showtimeDate;
+
+    private LocalTime startTime;
+
+    private LocalDateTime startsAt;
+
+    private Long movieId;
+
+    private String movieTitle;
+
+    private String moviePosterUrl;
+
+    private String hallName;
+
+    private String cinemaName;
+
+    private boolean archived;
+}
@@ -53,7 +53,7 @@ public class CinemaMapper {
 
         CinemaImage cinemaImage = cinema.getCinemaImage();
         if (cinemaImage != null) {
-            if (cinemaImage.getData() != null && cinemaImage.getData().length > 0) {
+            if (hasStoredBytes(cinemaImage)) {
                 // DB’de binary data varsa endpoint öncelikli
                 cinemaImageUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
                         .path("/api/cinemaimages/")
@@ -99,7 +99,7 @@ public class CinemaMapper {
 
         CinemaImage cinemaImage = cinema.getCinemaImage();
         if (cinemaImage != null) {
-            if (cinemaImage.getData() != null && cinemaImage.getData().length > 0) {
+            if (hasStoredBytes(cinemaImage)) {
                 // DB’de binary data varsa endpoint üzerinden fetch
                 cinemaImageUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
                         .path("/api/cinemaimages/")
@@ -158,6 +158,9 @@ public class CinemaMapper {
                 .build();
     }
 
-
-
-}
\ No newline at end of file
+    // blob key set, or a row from before the blob store that has no url and so keeps its bytes (not moved yet)
+    private static boolean hasStoredBytes(CinemaImage cinemaImage) {
+        return cinemaImage.getBlobKey() != null
+                || cinemaImage.getUrl() == null || cinemaImage.getUrl().isBlank();
+    }
+}
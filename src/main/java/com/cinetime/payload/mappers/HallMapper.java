@@ -41,6 +41,8 @@ public class HallMapper {
         return Hall.builder()
                 .name(request.getName())
                 .seatCapacity(request.getSeatCapacity())
+                .seatRows(request.getSeatRows())
+                .seatsPerRow(request.getSeatsPerRow())
                 .isSpecial(request.getIsSpecial() != null ? request.getIsSpecial() : false)
                 .cinema(cinema)
                 .build();
@@ -51,6 +53,8 @@ public class HallMapper {
                 .id(hall.getId())
                 .name(hall.getName())
                 .seatCapacity(hall.getSeatCapacity())
+                .seatRows(hall.getSeatRows())
+                .seatsPerRow(hall.getSeatsPerRow())
                 .isSpecial(hall.getIsSpecial())
                 .createdAt(hall.getCreatedAt())
                 .updatedAt(hall.getUpdatedAt())
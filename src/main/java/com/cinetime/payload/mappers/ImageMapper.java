@@ -3,21 +3,19 @@ package com.cinetime.payload.mappers;
 
 import com.cinetime.entity.business.Image;
 import com.cinetime.payload.response.business.ImageResponse;
+import com.cinetime.service.storage.ImageVariants.Size;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.time.ZoneId;
+import java.util.Optional;
 
 
 @Component
 public class ImageMapper {
 
     public ImageResponse toResponse(Image img) {
-        String url = ServletUriComponentsBuilder.fromCurrentContextPath()
-                .path("/api/images/")
-                .queryParam("v", img.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
-                .path(String.valueOf(img.getId()))
-                .toUriString();
+        String url = url(img, null);
 
         return ImageResponse.builder()
                 .id(img.getId())
@@ -28,6 +26,18 @@ public class ImageMapper {
                 .createdAt(img.getCreatedAt())
                 .updatedAt(img.getUpdatedAt())
                 .url(url)
+                .thumbUrl(url(img, Size.THUMB))
+                .cardUrl(url(img, Size.CARD))
+                .heroUrl(url(img, Size.HERO))
                 .build();
     }
+
+    private static String url(Image img, Size size) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/images/")
+                .queryParam("v", img.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .queryParamIfPresent("w", Optional.ofNullable(size).map(Size::width))
+                .path(String.valueOf(img.getId()))
+                .toUriString();
+    }
 }
\ No newline at end of file
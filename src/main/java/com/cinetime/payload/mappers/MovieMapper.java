@@ -12,7 +12,11 @@ import lombok.Data;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 
 @Component
@@ -42,9 +46,9 @@ public class MovieMapper {
                 .duration(movie.getDuration())
                 .rating(movie.getRating())
                 .director(movie.getDirector())
-                .cast(movie.getCast())
-                .formats(movie.getFormats())
-                .genre(movie.getGenre())
+                .cast(toList(movie.getCast()))
+                .formats(toList(movie.getFormats()))
+                .genre(toList(movie.getGenre()))
                 .status(movie.getStatus())
                 .images(imageResponses)
                 .createdAt(movie.getCreatedAt())
@@ -78,9 +82,9 @@ public class MovieMapper {
                 .duration(movie.getDuration())
                 .rating(movie.getRating())
                 .director(movie.getDirector())
-                .cast(movie.getCast())
-                .formats(movie.getFormats())
-                .genre(movie.getGenre())
+                .cast(toList(movie.getCast()))
+                .formats(toList(movie.getFormats()))
+                .genre(toList(movie.getGenre()))
                 .status(movie.getStatus())
                 .images(imageResponses)
                 .trailerUrl(movie.getTrailerUrl())
@@ -105,9 +109,9 @@ public class MovieMapper {
                 .rating(req.getRating())
                 .specialHalls(req.getSpecialHalls())
                 .director(req.getDirector())
-                .cast(req.getCast())
-                .formats(req.getFormats())
-                .genre(req.getGenre())
+                .cast(toList(req.getCast()))
+                .formats(toSet(req.getFormats()))
+                .genre(toSet(req.getGenre()))
                 .status(req.getStatus())
                 .posterUrl(req.getPosterUrl())
                 .trailerUrl(req.getTrailerUrl())
@@ -125,9 +129,9 @@ public class MovieMapper {
         movie.setRating(req.getRating());
         movie.setSpecialHalls(req.getSpecialHalls());
         movie.setDirector(req.getDirector());
-        movie.setCast(req.getCast());
-        movie.setFormats(req.getFormats());
-        movie.setGenre(req.getGenre());
+        movie.setCast(toList(req.getCast()));
+        movie.setFormats(toSet(req.getFormats()));
+        movie.setGenre(toSet(req.getGenre()));
         movie.setStatus(req.getStatus());
         movie.setPosterUrl(req.getPosterUrl());
         movie.setTrailerUrl(req.getTrailerUrl());
@@ -137,6 +141,15 @@ public class MovieMapper {
 
     /* ===================== Helpers (sen istersen ayrı sınıfa taşırsın) ===================== */
 
+    // entity keeps cast/formats/genre as sets; the API keeps exposing lists
+    private static List<String> toList(Collection<String> values) {
+        return values == null ? null : new ArrayList<>(values);
+    }
+
+    private static Set<String> toSet(Collection<String> values) {
+        return values == null ? null : new LinkedHashSet<>(values);
+    }
+
     private Long resolvePosterId(Movie m) {
         if (m.getImages() == null) return null;
         return m.getImages().stream()
@@ -205,6 +218,7 @@ public class MovieMapper {
                 .summary(movie.getSummary())
                 .duration(movie.getDuration())
                 .posterUrl((posterImageResponse == null) ? null : posterImageResponse.getUrl())
+                .posterCardUrl((posterImageResponse == null) ? null : posterImageResponse.getCardUrl())
                 .build();
     }
 }
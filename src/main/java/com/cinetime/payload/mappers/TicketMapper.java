@@ -1,6 +1,7 @@
 package com.cinetime.payload.mappers;
 
 import com.cinetime.entity.business.Ticket;
+import com.cinetime.entity.business.TicketRecord;
 import com.cinetime.payload.response.business.TicketResponse;
 import lombok.Data;
 import org.springframework.stereotype.Component;
@@ -40,4 +41,24 @@ public class TicketMapper {
 
     }
 
+    //TicketRecord (live or archived ticket) > TicketResponse DTO
+    public TicketResponse mapRecordToTicketResponse(TicketRecord record){
+        if (record == null) return null;
+
+        return TicketResponse.builder()
+                .id(record.getId())
+                .movieName(record.getMovieTitle())
+                .cinema(record.getCinemaName())
+                .hall(record.getHallName())
+                .date(record.getShowtimeDate())
+                .startTime(record.getStartTime())
+                .seatLetter(record.getSeatLetter())
+                .seatNumber(record.getSeatNumber())
+                .price(record.getPrice())
+                .status(record.getStatus())
+                .moviePosterUrl(record.getMoviePosterUrl())
+                .movieId(record.getMovieId())
+                .build();
+    }
+
 }
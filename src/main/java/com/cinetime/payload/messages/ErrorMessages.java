@@ -33,6 +33,7 @@ public class ErrorMessages {
     public static final String MOVIES_NOT_FOUND_ON_DATE = "No movies found on date";
     public static final String MOVIES_COMING_SOON_NOT_FOUND = "No coming soon movies found";
     public static final String INVALID_STATUS = "Invalid Status: %s";
+    public static final String INVALID_RELEASE_DATE = "Invalid release date: %s. Use yyyy-MM-dd.";
     public static final String MOVIE_ALREADY_EXISTS = "A movie with this title already exists.";
 
 
@@ -46,10 +47,12 @@ public class ErrorMessages {
     public static final String FILE_MUST_NOT_BE_EMPTY = "file must not be null or empty";
     public static final String FILE_SIZE_EXCEEDED = "file size must be <= 5MB";
     public static final String UNSUPPORTED_CONTENT_TYPE = "unsupported content type: %s";
+    public static final String IMAGE_WIDTH_INVALID = "image width must be a positive number of pixels";
 
     // 409 - Conflict
     public static final String MOVIE_ALREADY_HAS_POSTER = "This movie already has a poster.";
     public static final String MOVIE_ALREADY_HAS_DIFFERENT_POSTER = "This movie already has a different poster.";
+    public static final String SLUG_STILL_TAKEN = "Could not reserve a unique slug, please retry.";
     public static final String TICKET_RESERVATION_ATTACHED = "Since there is a ticket/reservation attached to this screening, it cannot be deleted.";
 
 
@@ -58,6 +61,9 @@ public class ErrorMessages {
     public static final String HALLS_NOT_FOUND = "Halls not found";
     public static final String HALL_ALREADY_EXISTS =
             "A hall named '%s' already exists in the selected cinema.";
+    public static final String HALL_LAYOUT_INCOMPLETE = "Seat rows and seats per row must be given together.";
+    public static final String HALL_LAYOUT_TOO_SMALL =
+            "Seat layout of %d x %d seats cannot hold a capacity of %d.";
 
 
     //Showtime
@@ -65,6 +71,12 @@ public class ErrorMessages {
     public static final String SHOWTIMES_NOT_FOUND = "Showtimes not found";
 
     public static final String SHOWTIME_HAS_PASSED = "Movie time can not be in the past.";
+    public static final String SCHEDULE_INVALID_RANGE = "To date cannot be before from date.";
+    public static final String SCHEDULE_TOO_LARGE = "Schedule expands to %d showtimes, at most %d are allowed at once.";
+    public static final String IMPORT_UNREADABLE = "Import feed could not be read.";
+    public static final String SHOWTIME_HALL_OVERLAP =
+            "Hall is already taken by showtime %d from %s until %s (including cleaning time).";
+    public static final String NOT_ENOUGH_ADJACENT_SEATS = "Only %d seat(s) left for this showtime.";
 
     //Google
     public static final String INVALID_TOKEN_ID = "Invalid Google Token ID";
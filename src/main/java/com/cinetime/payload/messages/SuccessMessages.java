@@ -60,6 +60,8 @@ public class SuccessMessages {
     public static final String SHOWTIME_UPDATED = "Showtime is updated successfully";
     public static final String SHOWTIME_DELETED = "Showtime is deleted successfully";
     public static final String SHOWTIMES_FOUND_BY_CINEMA = "Showtimes found for cinema successfully";
+    public static final String SHOWTIMES_SCHEDULED = "%d of %d showtimes are scheduled";
+    public static final String IMPORT_FINISHED = "Import finished, %d of %d rows imported";
 
     //Ticket
     public static final String CURRENT_TICKETS_LISTED = "Current tickets listed successfully.";
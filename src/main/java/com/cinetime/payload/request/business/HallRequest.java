@@ -19,6 +19,12 @@ public class HallRequest {
     @Min(value = 1, message = "Seat capacity must be at least 1")
     private Integer seatCapacity;
 
+    @Min(value = 1, message = "Seat rows must be at least 1")
+    private Integer seatRows;
+
+    @Min(value = 1, message = "Seats per row must be at least 1")
+    private Integer seatsPerRow;
+
     @Builder.Default
     private Boolean isSpecial = false;
 
@@ -0,0 +1,27 @@
+package com.cinetime.payload.request.business;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Group reservation without naming seats: the server picks the best {@code count}
+ * free seats of the showtime (side by side when possible, close to the centre).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReserveBestAvailableRequest {
+    @NotNull(message = "Showtime id can not be null")
+    Long showtimeId;
+
+    @NotNull(message = "Seat count can not be null")
+    @Min(value = 1, message = "At least one seat has to be requested")
+    @Max(value = 10, message = "At most 10 seats can be reserved at once")
+    Integer count;
+}
@@ -0,0 +1,28 @@
+package com.cinetime.payload.request.business;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Id-based variant of {@link ReserveTicketRequest}: the showtime is addressed by its id
+ * instead of movie name + cinema + hall + date + start time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReserveTicketByShowtimeIdRequest {
+    @NotNull(message = "Showtime id can not be null")
+    Long showtimeId;
+
+    @NotNull(message = "Seat has to be selected")
+    @Size(min = 1)
+    List<BuyTicketRequest.@Valid SeatInfo> seatInformation;
+}
@@ -0,0 +1,44 @@
+package com.cinetime.payload.request.business;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Template for programming many showtimes at once: every hall gets a screening at every start time of
+ * every day in {@code [fromDate, toDate]}. Movies are assigned round-robin over halls and start times,
+ * and each screening lasts the movie's duration.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleTemplateRequest {
+
+    @NotEmpty(message = "At least one hall has to be given")
+    private List<Long> hallIds;
+
+    @NotEmpty(message = "At least one movie has to be given")
+    private List<Long> movieIds;
+
+    @NotNull(message = "From date cannot be null")
+    private LocalDate fromDate;
+
+    @NotNull(message = "To date cannot be null")
+    private LocalDate toDate;
+
+    @NotEmpty(message = "At least one start time has to be given")
+    private List<LocalTime> startTimes;
+
+    // Cleaning time after each screening; never less than the configured hall buffer
+    @Min(value = 0, message = "Buffer minutes cannot be negative")
+    private Integer bufferMinutes;
+}
@@ -17,6 +17,8 @@ public class HallResponse {
     private Long id;
     private String name;
     private Integer seatCapacity;
+    private Integer seatRows;
+    private Integer seatsPerRow;
     private Boolean isSpecial;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
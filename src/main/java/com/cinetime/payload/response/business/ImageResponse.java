@@ -19,4 +19,7 @@ public class ImageResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String url;      // self link (e.g., /api/images/{id})
+    private String thumbUrl; // self link with ?w= of each rendered size
+    private String cardUrl;
+    private String heroUrl;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.cinetime.payload.response.business;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportReportResponse {
+    private long processed;
+    private long imported;
+    private long failed;
+    private List<ImportRowError> errors;  // the first errors only, see errorsTruncated
+    private boolean errorsTruncated;
+
+    @Getter
+    @AllArgsConstructor
+    public static class ImportRowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,21 @@
+package com.cinetime.payload.response.business;
+
+import com.cinetime.entity.enums.MovieStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MovieFacetsResponse {
+
+    // movies per value within the filtered result, for the filter UI
+    private Map<String, Integer> genreCounts;
+    private Map<String, Integer> formatCounts;
+    private Map<MovieStatus, Integer> statusCounts;
+}
@@ -18,4 +18,5 @@ public class MovieMiniResponse {
     private String summary;
     private Double rating;
     private String posterUrl;
+    private String posterCardUrl;
 }
@@ -0,0 +1,17 @@
+package com.cinetime.payload.response.business;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleResultResponse {
+    private int requested;
+    private int created;
+    private int skipped;
+    private List<ScheduleSlotResult> slots;
+}
@@ -0,0 +1,32 @@
+package com.cinetime.payload.response.business;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleSlotResult {
+
+    public enum Status {
+        CREATED,
+        CONFLICT,
+        IN_PAST,
+        PAST_MIDNIGHT
+    }
+
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Long hallId;
+    private Long movieId;
+
+    private Status status;
+    private Long showtimeId;            // when CREATED
+    private Long conflictingShowtimeId; // when CONFLICT with an existing showtime
+    private String reason;
+}
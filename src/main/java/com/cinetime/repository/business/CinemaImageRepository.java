@@ -9,4 +9,6 @@ public interface CinemaImageRepository extends JpaRepository<CinemaImage,Long> {
 
 
     Optional<CinemaImage> findByCinema_Id(Long cinemaId);
+
+    boolean existsByBlobKey(String blobKey);
 }
@@ -101,9 +101,14 @@ public interface CinemaRepository extends JpaRepository<Cinema, Long> {
     Set<Cinema> findAllByIdIn(Set<Long> ids);
 
 
-    boolean existsBySlugIgnoreCase(String candidate);
-
-    boolean existsBySlugIgnoreCaseAndIdNot(String slug, Long id);
+    // every slug a new "prefix..." slug could collide with, in one round trip (SlugAllocator)
+    @Query("""
+                select lower(c.slug)
+                from Cinema c
+                where lower(c.slug) like concat(:prefix, '%')
+                  and (:excludeId is null or c.id <> :excludeId)
+            """)
+    List<String> findSlugsStartingWith(@Param("prefix") String prefix, @Param("excludeId") Long excludeId);
 
     @Query("""
                 select distinct new com.cinetime.payload.response.business.CinemaSummaryResponse(
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface HallRepository extends JpaRepository<Hall, Long> {
@@ -19,6 +20,14 @@ public interface HallRepository extends JpaRepository<Hall, Long> {
 
     boolean existsByCinemaIdAndName(Long cinemaId, String name);
 
+    @Query("""
+           select h.id from Hall h
+           where lower(h.cinema.name) = lower(:cinemaName)
+             and lower(h.name) = lower(:hallName)
+           """)
+    Optional<Long> findIdByCinemaNameAndHallName(@Param("cinemaName") String cinemaName,
+                                                 @Param("hallName") String hallName);
+
     Page<Hall> findByNameContainingIgnoreCaseOrCinema_NameContainingIgnoreCase(String name, String cinemaName, Pageable pageable);
 
 
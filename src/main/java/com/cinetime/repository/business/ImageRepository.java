@@ -28,6 +28,8 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
 
     Set<Image> findAllByIdIn(Set<Long> ids);
 
+    boolean existsByBlobKey(String blobKey);
+
     @Query("select i.id from Image i where i.movie.id = :movieId and i.isPoster = true")
     Optional<Long> findPosterImageIdByMovieId(@Param("movieId") Long movieId);
 
@@ -0,0 +1,16 @@
+package com.cinetime.repository.business;
+
+import com.cinetime.entity.business.ImageVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, Long> {
+
+    Optional<ImageVariant> findBySourceKeyAndWidth(String sourceKey, int width);
+
+    List<ImageVariant> findAllBySourceKey(String sourceKey);
+
+    boolean existsByBlobKey(String blobKey);
+}
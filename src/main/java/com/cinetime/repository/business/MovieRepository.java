@@ -15,21 +15,25 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 public interface MovieRepository extends JpaRepository<Movie, Long> {
 
-    @EntityGraph(attributePaths = {"images", "genre"})
+    // paged finders load movies only; images, cast, formats and genre follow in one batched select each
+    // (@BatchSize on Movie), so the page is cut in SQL instead of over a joined result in memory
     Page<Movie> findByTitleContainingIgnoreCaseOrSummaryContainingIgnoreCase(String title, String summary, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"images","genre"})
     @NonNull
     Page<Movie> findAll(@NonNull Pageable pageable);
 
     boolean existsByTitleIgnoreCase(String title);
 
+    Optional<Movie> findFirstByTitleIgnoreCase(String title);
+
     @Query("SELECT DISTINCT m FROM Movie m JOIN m.cinemas c WHERE LOWER(c.slug) = LOWER(:cinemaSlug)")
     Page<Movie> findAllByCinemaSlugIgnoreCase(@Param("cinemaSlug") String cinemaSlug, Pageable pageable);
 
@@ -39,11 +43,31 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
 
     Page<Movie> findByStatus(MovieStatus status, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"images"})
     Page<Movie> findByStatusAndReleaseDateGreaterThanEqual(MovieStatus status, LocalDate from, Pageable pageable);
 
     Page<Movie> findByStatusAndReleaseDateAfter(MovieStatus status, LocalDate date, Pageable pageable);
 
+    // one row per movie (not per showtime); the semi-join reads idx_showtimes_date_start_movie only
+    @Query(value = """
+            select m from Movie m
+            where exists (
+                select 1 from Showtime s
+                where s.movie = m
+                  and s.date = :date
+                  and s.startTime >= :from
+            )
+            """,
+            countQuery = """
+            select count(m) from Movie m
+            where exists (
+                select 1 from Showtime s
+                where s.movie = m
+                  and s.date = :date
+                  and s.startTime >= :from
+            )
+            """)
+    Page<Movie> findShowingOn(@Param("date") LocalDate date, @Param("from") LocalTime from, Pageable pageable);
+
     @Modifying
     @Query(value = "DELETE FROM movie_cinema WHERE movie_id = :movieId", nativeQuery = true)
     void deleteMovieCinemaLinks(@Param("movieId") Long movieId);
@@ -53,12 +77,21 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
 
     Set<Movie> findAllByIdIn(Set<Long> ids);
 
+    // images joined in; cast, formats and genre follow in one batched select each (@BatchSize on Movie)
+    @EntityGraph(attributePaths = {"images"})
+    List<Movie> findWithImagesByIdIn(Collection<Long> ids);
 
-    Page<Movie> findAllByGenreIgnoreCaseContaining(String genre, Pageable pageable);
 
-    boolean existsBySlugIgnoreCase(String candidate);
+    Page<Movie> findAllByGenreIgnoreCaseContaining(String genre, Pageable pageable);
 
-    boolean existsBySlugIgnoreCaseAndIdNot(String candidate, Long movieId);
+    // every slug a new "prefix..." slug could collide with, in one round trip (SlugAllocator)
+    @Query("""
+                select lower(m.slug)
+                from Movie m
+                where lower(m.slug) like concat(:prefix, '%')
+                  and (:excludeId is null or m.id <> :excludeId)
+            """)
+    List<String> findSlugsStartingWith(@Param("prefix") String prefix, @Param("excludeId") Long excludeId);
 
     @Query("""
                 select distinct m
@@ -80,29 +113,6 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
     @Query(value = "SELECT DISTINCT genre FROM movie_genre ORDER BY genre ASC", nativeQuery = true)
     List<String> findAllGenres();
 
-    @Query("""
-                SELECT m FROM Movie m
-                LEFT JOIN m.genre g
-                WHERE (:status IS NULL OR m.status = :status)
-                 AND (:minRating IS NULL OR (m.rating IS NOT NULL AND m.rating >= :minRating))
-                  AND (:maxRating IS NULL OR (m.rating IS NOT NULL AND m.rating <= :maxRating))
-                  AND (CAST(:releaseDate AS date) IS NULL OR m.releaseDate >= :releaseDate)
-                  AND (:specialHallsPattern IS NULL OR m.specialHalls LIKE :specialHallsPattern)
-                  AND (:genre IS NULL OR :genreSize = 0 OR g IN :genre)
-                GROUP BY m
-                HAVING (:genre IS NULL OR :genreSize = 0 OR COUNT(DISTINCT g) = :genreSize)
-                ORDER BY m.releaseDate DESC, m.title
-            """)
-    Page<Movie> filterMovies(
-            @Param("genre") List<String> genre,
-            @Param("genreSize") Long genreSize,
-            @Param("status") MovieStatus status,
-            @Param("minRating") Double minRating,
-            @Param("maxRating") Double maxRating,
-            @Param("releaseDate") LocalDate releaseDate,
-            @Param("specialHallsPattern") String specialHallsPattern,
-            Pageable pageable
-    );
     Optional<Movie> findBySlugIgnoreCase(String slug);
 }
 
@@ -20,6 +20,7 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,56 +28,31 @@ import java.util.Optional;
 public interface ShowtimeRepository extends JpaRepository <Showtime,Long> {
 
 
-    @Query("""
-                select s
-                  from Showtime s
-                 where s.movie.id = :movieId
-                   and (
-                         s.date > :today
-                      or (s.date = :today and s.startTime > :showTime)
-                   )
-                 order by s.date asc, s.startTime asc
-            """)
-    Optional<Showtime> findNextFutureShowtime(
-            @Param("movieId") Long movieId,
-            @Param("today") LocalDate today,
-            @Param("showTime") LocalTime showTime
-    );
-
+    // Next showtime of a movie; an index range scan on (movie_id, starts_at)
+    Optional<Showtime> findFirstByMovie_IdAndStartsAtAfterOrderByStartsAtAsc(Long movieId, LocalDateTime after);
 
-    //Ileriki tarihte baslayacak filmler icin ya ShowTimeEntity si icine startAt gibi field koyup asagidaki gibi bi yontem
-    // ile sonuca varmak lazimmis, ya da en asagida ChatGpt den yardimla koydugum methodu kullanip page ile donus alabiliriz
-//    Page<Showtime> findAllByMovie_IdAndStartsAtAfter(
-//            Long movieId,
-//            LocalDateTime after,
-//            Pageable pageable
-//    );
-
-    // All *future* showtimes for a movie, paginated (date > today OR same-day with startTime > now)
+    // All *future* showtimes for a movie, paginated
     @Query("""
             select s
               from Showtime s
              where s.movie.id = :movieId
-               and (
-                     s.date > :today
-                  or (s.date = :today and s.startTime > :showTime)
-               )
-             order by s.date asc, s.startTime asc
+               and s.startsAt > :after
+             order by s.startsAt asc
             """)
     Page<Showtime> findAllFutureShowtimesByMovieId(
             @Param("movieId") Long movieId,
-            @Param("today") LocalDate today,
-            @Param("showTime") LocalTime showTime,
+            @Param("after") LocalDateTime after,
             Pageable pageable
     );
 
     default Page<Showtime> findAllFutureShowtimesByMovieId(Long movieId, Pageable pageable) {
-        return findAllFutureShowtimesByMovieId(movieId, LocalDate.now(), LocalTime.now(), pageable);
+        return findAllFutureShowtimesByMovieId(movieId, LocalDateTime.now(), pageable);
     }
 
     default Optional<Showtime> findNextFutureShowtime(Long movieId) {
-        return findNextFutureShowtime(movieId, LocalDate.now(), LocalTime.now());
+        return findFirstByMovie_IdAndStartsAtAfterOrderByStartsAtAsc(movieId, LocalDateTime.now());
     }
+
     Optional<Showtime> findByMovie_TitleIgnoreCaseAndHall_NameIgnoreCaseAndHall_Cinema_NameIgnoreCaseAndDateAndStartTime(
             String movieTitle, String hallName, String cinemaName, LocalDate date, LocalTime startTime);
 
@@ -102,13 +78,28 @@ public interface ShowtimeRepository extends JpaRepository <Showtime,Long> {
                 join s.hall  h
                 join s.movie m
                 where h.cinema.id = :cinemaId
-                order by h.name asc, m.title asc, s.date asc, s.startTime asc
+                  and s.date between :from and :to
             """)
-    List<HallMovieTimeRow> findShowtimesByCinemaId(@Param("cinemaId") Long cinemaId);
-
-    Page<Showtime> findByDate(LocalDate date, Pageable pageable);
+    List<HallMovieTimeRow> findShowtimesByCinemaIdAndDateBetween(@Param("cinemaId") Long cinemaId,
+                                                                 @Param("from") LocalDate from,
+                                                                 @Param("to") LocalDate to);
 
-    Page<Showtime> findByDateAndStartTimeAfter(LocalDate date, LocalTime time, Pageable pageable);
+    @Query("""
+                select
+                    s.id        as id,
+                    s.date      as date,
+                    s.startTime as startTime,
+                    s.endTime   as endTime,
+                    m.id        as movieId
+                from Showtime s
+                join s.hall  h
+                join s.movie m
+                where h.cinema.id = :cinemaId
+                  and (:fromDate is null or s.date >= :fromDate)
+                order by m.title asc, m.id asc, s.date asc, s.startTime asc
+            """)
+    List<CinemaShowtimeRow> findCinemaShowtimeRows(@Param("cinemaId") Long cinemaId,
+                                                   @Param("fromDate") LocalDate fromDate);
 
     interface HallMovieTimeRow {
         Long getHallId();
@@ -128,6 +119,52 @@ public interface ShowtimeRepository extends JpaRepository <Showtime,Long> {
         java.time.LocalTime getStartTime();
     }
 
+    interface CinemaShowtimeRow {
+        Long getId();
+
+        LocalDate getDate();
+
+        LocalTime getStartTime();
+
+        LocalTime getEndTime();
+
+        Long getMovieId();
+    }
+
+    interface ShowtimeIntervalRow {
+        Long getId();
+
+        LocalDateTime getStartsAt();
+
+        LocalDateTime getEndsAt();
+    }
+
+    // Showtimes of a hall still running after :from, for the hall schedule index
+    @Query("""
+            select s.id as id, s.startsAt as startsAt, s.endsAt as endsAt
+              from Showtime s
+             where s.hall.id = :hallId
+               and s.endsAt > :from
+            """)
+    List<ShowtimeIntervalRow> findIntervalsByHallId(@Param("hallId") Long hallId,
+                                                   @Param("from") LocalDateTime from);
+
+    interface HallIntervalRow extends ShowtimeIntervalRow {
+        Long getHallId();
+    }
+
+    // Showtimes of several halls touching [from, to), for bulk scheduling
+    @Query("""
+            select s.id as id, s.hall.id as hallId, s.startsAt as startsAt, s.endsAt as endsAt
+              from Showtime s
+             where s.hall.id in :hallIds
+               and s.endsAt > :from
+               and s.startsAt < :to
+            """)
+    List<HallIntervalRow> findIntervalsByHallIds(@Param("hallIds") Collection<Long> hallIds,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("delete from Showtime s where s.hall.cinema.id = :cinemaId")
     void deleteByCinemaId(@Param("cinemaId") Long cinemaId);
@@ -0,0 +1,45 @@
+package com.cinetime.repository.business;
+
+import com.cinetime.entity.business.TicketRecord;
+import com.cinetime.entity.enums.TicketStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Queries that span live and archived tickets, see {@link TicketRecord}.
+ */
+@Repository
+public interface TicketRecordRepository extends JpaRepository<TicketRecord, Long> {
+
+    // Passed (past/used) tickets for a user, hot and cold storage together
+    @Query(value = """
+           select r
+           from TicketRecord r
+           where r.userId = :userId
+             and (
+                  r.status = :usedStatus
+               or (r.status = :paidStatus and r.startsAt <= :now)
+                )
+           order by r.startsAt desc
+           """,
+           countQuery = """
+           select count(r)
+           from TicketRecord r
+           where r.userId = :userId
+             and (
+                  r.status = :usedStatus
+               or (r.status = :paidStatus and r.startsAt <= :now)
+                )
+           """)
+    Page<TicketRecord> findPassedForUserAt(@Param("userId") Long userId,
+                                           @Param("usedStatus") TicketStatus usedStatus,
+                                           @Param("paidStatus") TicketStatus paidStatus,
+                                           @Param("now") LocalDateTime now,
+                                           Pageable pageable);
+}
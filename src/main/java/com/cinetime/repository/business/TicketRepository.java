@@ -11,7 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -43,43 +43,97 @@ public interface TicketRepository extends JpaRepository<Ticket,Long> {
            join t.showtime st
            where t.user.id = :userId
              and t.status in :statuses
-             and (
-                   st.date > :todayDate
-                or (st.date = :todayDate and st.startTime > :currentTime)
-             )
-           order by st.date asc, st.startTime asc
+             and st.startsAt > :now
+           order by st.startsAt asc
            """)
     Page<Ticket> findCurrentForUser(@Param("userId") Long userId,
                                       @Param("statuses") List<TicketStatus> statuses,
-                                      @Param("todayDate") LocalDate todayDate,
-                                      @Param("currentTime") LocalTime currentTime,
+                                      @Param("now") LocalDateTime now,
                                       Pageable pageable);
 
-    // Passed (past/used) tickets for a user
+
+    // -------------------- SEAT HOLDS --------------------
+
+    List<Ticket> findByShowtime_IdAndUser_IdAndStatus(Long showtimeId, Long userId, TicketStatus status);
+
     @Query("""
            select t
            from Ticket t
-           join t.showtime st
-           where t.user.id = :userId
-             and (
-                  t.status = :usedStatus
-               or (
-                    t.status = :paidStatus
-                and (
-                      st.date < :todayDate
-                   or (st.date = :todayDate and st.startTime <= :currentTime)
-                    )
-                  )
-                )
-           order by st.date desc, st.startTime desc
+           where t.status = com.cinetime.entity.enums.TicketStatus.RESERVED
+             and t.holdExpiresAt is not null
+           """)
+    List<Ticket> findAllActiveHolds();
+
+    // Turns still-running holds into PAID; an expired or already swept hold is not matched
+    @Modifying(flushAutomatically = true)
+    @Query("""
+           update Ticket t
+           set t.status = com.cinetime.entity.enums.TicketStatus.PAID,
+               t.holdExpiresAt = null
+           where t.id in :ids
+             and t.status = com.cinetime.entity.enums.TicketStatus.RESERVED
+             and t.holdExpiresAt > :now
+           """)
+    int convertActiveHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Of the given ids, those that are still an expired RESERVED hold (not bought in the meantime)
+    @Query("""
+           select t
+           from Ticket t
+           where t.id in :ids
+             and t.status = com.cinetime.entity.enums.TicketStatus.RESERVED
+             and t.holdExpiresAt <= :now
+           """)
+    List<Ticket> findExpiredHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+           delete from Ticket t
+           where t.id in :ids
+             and t.status = com.cinetime.entity.enums.TicketStatus.RESERVED
+             and t.holdExpiresAt <= :now
            """)
-    Page<Ticket> findPassedForUserAt(@Param("userId") Long userId,
-                                     @Param("usedStatus") TicketStatus usedStatus,
-                                     @Param("paidStatus") TicketStatus paidStatus,
-                                     @Param("todayDate") LocalDate todayDate,
-                                     @Param("currentTime") LocalTime currentTime,
-                                     Pageable pageable);
+    int deleteExpiredHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 
+    // -------------------- ARCHIVE (ticket_history) --------------------
+
+    // Oldest tickets of showtimes before the cutoff: [ticket id, showtime id, showtime date]
+    @Query("""
+           select t.id, st.id, st.date
+           from Ticket t
+           join t.showtime st
+           where st.date < :cutoff
+           order by st.date asc, t.id asc
+           """)
+    List<Object[]> findArchiveCandidates(@Param("cutoff") LocalDate cutoff, Pageable pageable);
+
+    @Modifying
+    @Query(value = """
+           INSERT INTO ticket_history (id, showtime_id, showtime_date, start_time, user_id, payment_id,
+                                       seat_letter, seat_number, price, status,
+                                       movie_id, movie_title, movie_poster_url, hall_name, cinema_name,
+                                       created_at, archived_at)
+           SELECT t.id, st.id, st.date, st.start_time, t.user_id, t.payment_id,
+                  t.seat_letter, t.seat_number, t.price, t.status,
+                  m.id, m.title, m.poster_url, h.name, c.name,
+                  t.created_at, :archivedAt
+           FROM tickets t
+           JOIN showtimes st ON st.id = t.showtime_id
+           JOIN movies m     ON m.id = st.movie_id
+           JOIN halls h      ON h.id = st.hall_id
+           JOIN cinemas c    ON c.id = h.cinema_id
+           WHERE t.id IN (:ids)
+           ON CONFLICT DO NOTHING
+           """, nativeQuery = true)
+    int copyToHistory(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Ticket t where t.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM ticket_history WHERE user_id = :userId", nativeQuery = true)
+    int deleteHistoryByUserId(@Param("userId") Long userId);
 
     boolean existsByShowtimeId(Long id);
 
@@ -87,6 +141,9 @@ public interface TicketRepository extends JpaRepository<Ticket,Long> {
     long countByShowtime_Id(Long showtimeId);
 
 
+    @Query("select distinct t.showtime.id from Ticket t where t.user.id = :userId")
+    List<Long> findShowtimeIdsByUserId(@Param("userId") Long userId);
+
     void deleteAllByUser_Id(Long userId);
 
 }
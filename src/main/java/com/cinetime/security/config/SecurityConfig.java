@@ -137,6 +137,7 @@ public class SecurityConfig {
             "/api/cinemaimages/**",
             "/api/favorites/",
             "/api/tickets/buy-ticket",
+            "/api/tickets/showtime/**",
             "/api/send-email-code",
             "/api/districts",
             "/api/districts/**",
@@ -0,0 +1,52 @@
+package com.cinetime.service.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Periodically moves tickets of showtimes older than {@code after-days} into {@code ticket_history},
+ * one transaction per batch and a bounded number of batches per run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketArchiveSweeper {
+
+    private final TicketArchiver ticketArchiver;
+
+    @Value("${cinetime.ticket.archive.after-days:30}")
+    private int afterDays;
+
+    @Value("${cinetime.ticket.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${cinetime.ticket.archive.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(fixedDelayString = "${cinetime.ticket.archive.interval-ms:3600000}")
+    public void sweep() {
+        LocalDate cutoff = LocalDate.now().minusDays(afterDays);
+        int total = 0;
+        int moved;
+        int batches = 0;
+        do {
+            try {
+                moved = ticketArchiver.archiveBatch(cutoff, batchSize);
+            } catch (RuntimeException ex) {
+                // Batch rolled back as a whole; tickets stay hot and are retried on the next run
+                log.warn("Ticket archive sweep failed: {}", ex.getMessage());
+                return;
+            }
+            total += moved;
+        } while (moved == batchSize && ++batches < maxBatchesPerRun);
+
+        if (total > 0) {
+            log.info("Archived {} tickets of showtimes before {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.cinetime.service.archive;
+
+import com.cinetime.repository.business.TicketRepository;
+import com.cinetime.service.seat.SeatInventoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves tickets of long-past showtimes from {@code tickets} into the range-partitioned
+ * {@code ticket_history} table (see {@code schema-postgresql.sql}).
+ * <p>
+ * Each batch is copied and deleted in one transaction, so a ticket is always in exactly one of the two
+ * tables. Monthly partitions are created on demand before the copy; rows outside any monthly partition
+ * land in {@code ticket_history_default}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketArchiver {
+
+    private final TicketRepository ticketRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Archives at most {@code batchSize} tickets whose showtime date is before {@code cutoff}.
+     *
+     * @return number of tickets moved to history
+     */
+    @Transactional
+    public int archiveBatch(LocalDate cutoff, int batchSize) {
+        List<Object[]> candidates = ticketRepository.findArchiveCandidates(cutoff, PageRequest.of(0, batchSize));
+        if (candidates.isEmpty()) return 0;
+
+        List<Long> ticketIds = new ArrayList<>(candidates.size());
+        Set<Long> showtimeIds = new LinkedHashSet<>();
+        Set<YearMonth> months = new TreeSet<>();
+        for (Object[] row : candidates) {
+            ticketIds.add((Long) row[0]);
+            showtimeIds.add((Long) row[1]);
+            months.add(YearMonth.from((LocalDate) row[2]));
+        }
+
+        months.forEach(this::ensurePartition);
+        ticketRepository.copyToHistory(ticketIds, LocalDateTime.now());
+        int moved = ticketRepository.deleteAllByIdIn(ticketIds);
+
+        afterCommit(() -> showtimeIds.forEach(seatInventoryService::evict));
+        return moved;
+    }
+
+    private void ensurePartition(YearMonth month) {
+        if (knownPartitions.contains(month)) return;
+
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        String name = "ticket_history_y%04dm%02d".formatted(month.getYear(), month.getMonthValue());
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name
+                + " PARTITION OF ticket_history FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        // the DDL is part of the batch transaction and goes away with it on rollback
+        afterCommit(() -> knownPartitions.add(month));
+        log.debug("Ensured ticket history partition {}", name);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+package com.cinetime.service.booking;
+
+import com.cinetime.exception.ConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Serializes bookings per showtime.
+ * <p>
+ * Showtime ids are striped onto a fixed number of single-writer lanes (one thread, bounded queue each).
+ * All reserve/buy work for a showtime runs on the same lane, so seat conflicts are decided one request at
+ * a time against the in-memory inventory before anything is written, instead of racing into the
+ * {@code uk_tickets_showtime_seat} constraint. Different showtimes on different lanes run in parallel.
+ * <p>
+ * A caller that times out only gives up on work that has not started; work already running is waited for,
+ * so the client is never told "retry" about a booking that then commits.
+ */
+@Slf4j
+@Component
+public class BookingExecutor implements DisposableBean {
+
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int ABANDONED = 2;
+
+    private final ThreadPoolExecutor[] lanes;
+    private final long timeoutMs;
+
+    public BookingExecutor(@Value("${cinetime.booking.lanes:8}") int laneCount,
+                           @Value("${cinetime.booking.lane-queue-capacity:1000}") int queueCapacity,
+                           @Value("${cinetime.booking.timeout-ms:10000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+        this.lanes = new ThreadPoolExecutor[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            String name = "booking-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    r -> {
+                        Thread t = new Thread(r, name);
+                        t.setDaemon(true);
+                        return t;
+                    });
+        }
+    }
+
+    /**
+     * Runs {@code work} on the lane of the showtime and waits for its result.
+     * Exceptions thrown by the work are rethrown unchanged.
+     */
+    public <T> T execute(Long showtimeId, Supplier<T> work) {
+        // QUEUED -> RUNNING on the lane, or QUEUED -> ABANDONED by a caller that gave up waiting
+        AtomicInteger state = new AtomicInteger(QUEUED);
+        Future<T> future;
+        try {
+            future = laneFor(showtimeId).submit(() -> state.compareAndSet(QUEUED, RUNNING) ? work.get() : null);
+        } catch (RejectedExecutionException ex) {
+            throw new ConflictException("Too many bookings in progress for this showtime, please retry.");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            if (state.compareAndSet(QUEUED, ABANDONED)) {
+                // Never started, and now never will: nothing was reserved
+                log.warn("Booking for showtime {} timed out after {} ms in the queue", showtimeId, timeoutMs);
+                throw new ConflictException("Booking is taking longer than expected, please retry.");
+            }
+            // Already running: its transaction commits or rolls back, so report what actually happened
+            log.warn("Booking for showtime {} still running after {} ms, waiting for it", showtimeId, timeoutMs);
+            return awaitRunning(future);
+        } catch (ExecutionException ex) {
+            throw rethrow(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for booking", ex);
+        }
+    }
+
+    public int queuedFor(Long showtimeId) {
+        return laneFor(showtimeId).getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private static <T> T awaitRunning(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw rethrow(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for booking", ex);
+        }
+    }
+
+    private static RuntimeException rethrow(ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException re) return re;
+        if (cause instanceof Error err) throw err;
+        return new IllegalStateException(cause);
+    }
+
+    private ThreadPoolExecutor laneFor(Long showtimeId) {
+        return lanes[(int) Math.floorMod(showtimeId, (long) lanes.length)];
+    }
+}
@@ -0,0 +1,160 @@
+package com.cinetime.service.booking;
+
+import com.cinetime.exception.ConflictException;
+import com.cinetime.payload.response.business.PaymentResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Results of {@code buy} requests keyed by their Idempotency-Key.
+ * <p>
+ * A completed purchase is kept as serialized JSON for {@code cinetime.payment.idempotency.ttl-minutes},
+ * so a client retry is answered from memory instead of re-reading the payment and its tickets.
+ * While the first request for a key is still running, duplicates wait for its outcome rather than
+ * racing it into the {@code payments.idempotencyKey} unique constraint. If the first request fails,
+ * nothing is cached and one waiting duplicate runs the work itself.
+ * <p>
+ * The store is per instance; the database lookup in {@code TicketService} stays the fallback
+ * after a restart or on another node.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final long waitTimeoutMs;
+    private final Clock clock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(ObjectMapper objectMapper,
+                            @Value("${cinetime.payment.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                            @Value("${cinetime.payment.idempotency.wait-timeout-ms:15000}") long waitTimeoutMs) {
+        this(objectMapper, Duration.ofMinutes(ttlMinutes), waitTimeoutMs, Clock.systemUTC());
+    }
+
+    IdempotencyStore(ObjectMapper objectMapper, Duration ttl, long waitTimeoutMs, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the stored result for {@code key}, waits for an in-flight request with the same key,
+     * or runs {@code work} and stores its result.
+     */
+    public PaymentResponse execute(String key, Supplier<PaymentResponse> work) {
+        while (true) {
+            Entry existing = entries.get(key);
+            if (existing instanceof Completed done) {
+                if (!done.isExpired(clock.instant())) {
+                    return deserialize(done.json());
+                }
+                entries.remove(key, done);
+                continue;
+            }
+            if (existing instanceof InFlight running) {
+                if (await(key, running)) {
+                    continue; // finished: read the stored result, or take over after a failure
+                }
+                throw new ConflictException("A purchase with this idempotency key is still in progress, please retry.");
+            }
+
+            InFlight mine = new InFlight(new CompletableFuture<>());
+            if (entries.putIfAbsent(key, mine) != null) {
+                continue;
+            }
+            return runAndStore(key, mine, work);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Scheduled(fixedDelayString = "${cinetime.payment.idempotency.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        Instant now = clock.instant();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry instanceof Completed done && done.isExpired(now));
+        int evicted = before - entries.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} expired idempotency results", evicted);
+        }
+    }
+
+    private PaymentResponse runAndStore(String key, InFlight mine, Supplier<PaymentResponse> work) {
+        PaymentResponse result;
+        try {
+            result = work.get();
+        } catch (RuntimeException | Error ex) {
+            entries.remove(key, mine);
+            mine.done().complete(null);
+            throw ex;
+        }
+
+        try {
+            entries.replace(key, mine, new Completed(objectMapper.writeValueAsBytes(result), clock.instant().plus(ttl)));
+        } catch (JsonProcessingException ex) {
+            // the purchase itself succeeded; retries fall back to the database lookup
+            log.warn("Could not cache result for idempotency key {}", key, ex);
+            entries.remove(key, mine);
+        }
+        mine.done().complete(null);
+        return result;
+    }
+
+    // true once the other request has finished, false on timeout
+    private boolean await(String key, InFlight running) {
+        try {
+            running.done().get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException ex) {
+            log.warn("Gave up waiting for in-flight purchase with idempotency key {}", key);
+            return false;
+        } catch (ExecutionException ex) {
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for purchase " + key, ex);
+        }
+    }
+
+    private PaymentResponse deserialize(byte[] json) {
+        try {
+            return objectMapper.readValue(json, PaymentResponse.class);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not read stored payment response", ex);
+        }
+    }
+
+    private sealed interface Entry permits InFlight, Completed {
+    }
+
+    private record InFlight(CompletableFuture<Void> done) implements Entry {
+    }
+
+    private record Completed(byte[] json, Instant expiresAt) implements Entry {
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
@@ -9,14 +9,16 @@ import com.cinetime.payload.messages.ErrorMessages;
 import com.cinetime.payload.response.business.CinemaImageResponse;
 import com.cinetime.repository.business.CinemaImageRepository;
 import com.cinetime.repository.business.CinemaRepository;
+import com.cinetime.service.storage.ImageBlobs;
+import com.cinetime.service.storage.LegacyImageBlobMigration;
+import com.cinetime.service.storage.StoredBlob;
 import com.cinetime.service.validator.ImageValidator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-
 @Service
 @RequiredArgsConstructor
 public class CinemaImageService {
@@ -24,6 +26,8 @@ public class CinemaImageService {
     private final CinemaImageRepository cinemaImageRepository;
     private final CinemaRepository cinemaRepository;
     private final CinemaImageMapper cinemaImageMapper;
+    private final ImageBlobs imageBlobs;
+    private final LegacyImageBlobMigration legacyImageBlobMigration;
 
 
     @Transactional(readOnly = true)
@@ -33,6 +37,22 @@ public class CinemaImageService {
                         String.format(ErrorMessages.IMAGE_NOT_FOUND_ID, cinemaId)));
     }
 
+    /**
+     * Key of the stored bytes of a cinema image, also their SHA-256; a row that still keeps its bytes in the
+     * database is moved into the blob store first.
+     */
+    public String getCinemaImageBlobKey(CinemaImage cinemaImage) {
+        if (cinemaImage.getBlobKey() != null) return cinemaImage.getBlobKey();
+        return legacyImageBlobMigration.migrate(LegacyImageBlobMigration.Table.CINEMA_IMAGES, cinemaImage.getId())
+                .map(StoredBlob::key)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        String.format(ErrorMessages.IMAGE_NOT_FOUND_ID, cinemaImage.getId())));
+    }
+
+    public Resource getCinemaImageContent(String blobKey) {
+        return imageBlobs.open(blobKey);
+    }
+
     @Transactional
     public CinemaImageResponse upload(Long cinemaId, MultipartFile file ) {
         ImageValidator.requireValid(file);
@@ -41,27 +61,31 @@ public class CinemaImageService {
                 .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.CINEMA_NOT_FOUND, cinemaId)));
 
         CinemaImage cinemaImage = cinema.getCinemaImage();
+        StoredBlob stored = imageBlobs.store(ImageValidator.openStream(file));
+        String previousKey = null;
 
-        try {
-            if (cinemaImage == null) {
-                // Eğer mevcut image yoksa, yeni bir tane oluştur
-                cinemaImage = CinemaImage.builder()
-                        .cinema(cinema)
-                        .name(file.getOriginalFilename())
-                        .type(file.getContentType())
-                        .data(file.getBytes())
-                        .build();
-            } else {
-                // Mevcut image varsa üzerine yaz
-                cinemaImage.setName(file.getOriginalFilename());
-                cinemaImage.setType(file.getContentType());
-                cinemaImage.setData(file.getBytes());
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Could not read image bytes", e);
+        if (cinemaImage == null) {
+            // Eğer mevcut image yoksa, yeni bir tane oluştur
+            cinemaImage = CinemaImage.builder()
+                    .cinema(cinema)
+                    .name(file.getOriginalFilename())
+                    .type(file.getContentType())
+                    .blobKey(stored.key())
+                    .size(stored.size())
+                    .build();
+        } else {
+            // Mevcut image varsa üzerine yaz
+            previousKey = cinemaImage.getBlobKey();
+            cinemaImage.setName(file.getOriginalFilename());
+            cinemaImage.setType(file.getContentType());
+            cinemaImage.setBlobKey(stored.key());
+            cinemaImage.setSize(stored.size());
         }
 
         CinemaImage saved = cinemaImageRepository.save(cinemaImage);
+        if (previousKey != null && !previousKey.equals(stored.key())) {
+            imageBlobs.releaseAfterCommit(previousKey);
+        }
         return cinemaImageMapper.cinemaImageToResponse(saved);
     }
 
@@ -84,8 +108,9 @@ public class CinemaImageService {
             java.net.URI uri = java.net.URI.create(url);
             java.net.http.HttpClient client = java.net.http.HttpClient.newHttpClient();
             java.net.http.HttpRequest req = java.net.http.HttpRequest.newBuilder(uri).GET().build();
-            java.net.http.HttpResponse<byte[]> res = client.send(req, java.net.http.HttpResponse.BodyHandlers.ofByteArray());
+            java.net.http.HttpResponse<java.io.InputStream> res = client.send(req, java.net.http.HttpResponse.BodyHandlers.ofInputStream());
             if (res.statusCode() >= 400) {
+                res.body().close();
                 throw new RuntimeException("Failed to fetch image. HTTP status: " + res.statusCode());
             }
 
@@ -96,11 +121,13 @@ public class CinemaImageService {
                 fileName = "image";
             }
 
+            StoredBlob stored = imageBlobs.store(res.body());
             CinemaImage cinemaImage = CinemaImage.builder()
                     .cinema(cinema)
                     .name(fileName)
                     .type(contentType)
-                    .data(res.body())
+                    .blobKey(stored.key())
+                    .size(stored.size())
                     .url(url)
                     .build();
 
@@ -147,9 +174,12 @@ public class CinemaImageService {
         img.setType(contentType);
         img.setUrl(url);
         // We prefer the external URL; clear binary bytes
-        img.setData(null);
+        String previousKey = img.getBlobKey();
+        img.setBlobKey(null);
+        img.setSize(null);
 
         CinemaImage saved = cinemaImageRepository.save(img);
+        imageBlobs.releaseAfterCommit(previousKey);
         return cinemaImageMapper.cinemaImageToResponse(saved);
     }
 
@@ -159,7 +189,10 @@ public class CinemaImageService {
     @Transactional
     public void delete(Long cinemaId) {
         cinemaImageRepository.findByCinema_Id(cinemaId)
-                .ifPresent(cinemaImageRepository::delete);
+                .ifPresent(image -> {
+                    cinemaImageRepository.delete(image);
+                    imageBlobs.releaseAfterCommit(image.getBlobKey());
+                });
     }
 
 }
@@ -14,6 +14,11 @@ import com.cinetime.payload.response.business.*;
 import com.cinetime.repository.business.*;
 import com.cinetime.repository.user.UserRepository;
 import com.cinetime.service.helper.CinemasHelper;
+import com.cinetime.service.helper.SlugAllocator;
+import com.cinetime.service.pricing.HallPricingCache;
+import com.cinetime.service.timetable.CinemaTimetable;
+import com.cinetime.service.timetable.ShowtimeChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,9 +29,7 @@ import org.springframework.stereotype.Service;
 import com.cinetime.entity.user.User;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -46,6 +49,10 @@ public class CinemaService {
     private final MovieMapper movieMapper;
     private final MovieRepository movieRepository;
     private final SpecialHallService specialHallService;
+    private final HallPricingCache hallPricingCache;
+    private final CinemaTimetable cinemaTimetable;
+    private final SlugAllocator slugAllocator;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<CinemaSummaryResponse> cinemasWithShowtimes() {
         return cinemaRepository.findCinemasWithUpcomingShowtimes();
@@ -135,48 +142,8 @@ public class CinemaService {
             throw new ResourceNotFoundException(String.format(ErrorMessages.CINEMA_NOT_FOUND, cinemaId));
         }
 
-        var rows = showtimeRepository.findShowtimesByCinemaId(cinemaId);
-
-        // hallId -> HallWithShowtimesResponse
-        Map<Long, HallWithShowtimesResponse> halls = new LinkedHashMap<>();
-
-        rows.forEach(r -> {
-            var hall = halls.computeIfAbsent(r.getHallId(), id ->
-                    HallWithShowtimesResponse.builder()
-                            .id(r.getHallId())
-                            .name(r.getHallName())
-                            .seatCapacity(r.getSeatCapacity())
-                            .isSpecial(r.getIsSpecial())
-                            .movies(new ArrayList<>())
-                            .build()
-            );
-
-            // aynı hall içindeki film grubu
-            var movieGroup = hall.getMovies().stream()
-                    .filter(mg -> mg.getMovie().getId().equals(r.getMovieId()))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        var mg = HallMovieShowtimesResponse.builder()
-                                .movie(MovieMiniResponse.builder()
-                                        .id(r.getMovieId())
-                                        .title(r.getMovieTitle())
-                                        .build())
-                                .times(new ArrayList<>())
-                                .build();
-                        hall.getMovies().add(mg);
-                        return mg;
-                    });
-
-            // date + startTime -> LocalDateTime
-            movieGroup.getTimes().add(LocalDateTime.of(r.getDate(), r.getStartTime()));
-        });
-
-        // seans saatlerini sırala
-        halls.values().forEach(h ->
-                h.getMovies().forEach(m -> m.getTimes().sort(Comparator.naturalOrder()))
-        );
-
-        return new ArrayList<>(halls.values());
+        // upcoming days only, shared with S01
+        return cinemaTimetable.forCinema(cinemaId).halls();
     }
 
     //C05: All of the Special Halls
@@ -195,8 +162,12 @@ public class CinemaService {
 
 
     //C06: Create Cinema
-    @Transactional
+    // one transaction per attempt, so a slug taken by a concurrent insert is allocated again
     public ResponseMessage<CinemaSummaryResponse> createCinema(@Valid CinemaCreateRequest request) {
+        return slugAllocator.retrying(() -> insertCinema(request));
+    }
+
+    private ResponseMessage<CinemaSummaryResponse> insertCinema(CinemaCreateRequest request) {
         final String name = request.getName().trim();
         String baseSlug = (request.getSlug() == null || request.getSlug().isBlank())
                 ? cinemasHelper.slugify(name)
@@ -226,8 +197,11 @@ public class CinemaService {
 
 
     //C07: Cinema Update
-    @Transactional
     public ResponseMessage<CinemaSummaryResponse> update(Long id, CinemaCreateRequest req) {
+        return slugAllocator.retrying(() -> updateCinema(id, req));
+    }
+
+    private ResponseMessage<CinemaSummaryResponse> updateCinema(Long id, CinemaCreateRequest req) {
         Cinema cinema = cinemaRepository.findById(id)
                 .orElseThrow(() ->
                         new ResourceNotFoundException(
@@ -248,12 +222,7 @@ public class CinemaService {
                     ? cinemasHelper.slugify(cinema.getName())
                     : cinemasHelper.slugify(req.getSlug());
 
-            String unique = base;
-            int k = 2;
-            while (cinemaRepository.existsBySlugIgnoreCaseAndIdNot(unique, id)) {
-                unique = base + "-" + k++;
-            }
-            cinema.setSlug(unique);
+            cinema.setSlug(cinemasHelper.ensureUniqueSlug(base, id));
         }
 
         // 3) City (single, required model)
@@ -284,6 +253,7 @@ public class CinemaService {
             //clear relation with movies
             cinema.getMovies().clear(); // ManyToMany cleanup
             cinemaRepository.delete(cinema); // cascade will remove halls & favorites
+            eventPublisher.publishEvent(ShowtimeChangedEvent.wholeCinema(id));
         }
 
         return ResponseMessage.<Void>builder()
@@ -296,39 +266,38 @@ public class CinemaService {
 
     @Transactional(readOnly = true)
     public List<MovieWithShowtimesResponse> getMoviesWithShowtimesByCinema(Long cinemaId, LocalDate fromDate) {
-        // 1️⃣ Fetch showtimes grouped by cinema
-        List<ShowtimeRepository.HallMovieTimeRow> rows = showtimeRepository.findShowtimesByCinemaId(cinemaId);
-
-        // 2️⃣ Optionally filter by date if fromDate is provided
-        if (fromDate != null) {
-            rows = rows.stream()
-                    .filter(r -> !r.getDate().isBefore(fromDate))
-                    .toList();
+        // 1️⃣ Showtimes of the cinema from fromDate on, ordered by movie title
+        List<ShowtimeRepository.CinemaShowtimeRow> rows = showtimeRepository.findCinemaShowtimeRows(cinemaId, fromDate);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        // 2️⃣ Group rows by movieId, keeping the query order
+        Map<Long, List<ShowtimeSimpleResponse>> showtimesByMovie = new LinkedHashMap<>();
+        for (ShowtimeRepository.CinemaShowtimeRow r : rows) {
+            showtimesByMovie.computeIfAbsent(r.getMovieId(), id -> new ArrayList<>())
+                    .add(ShowtimeSimpleResponse.builder()
+                            .id(r.getId())
+                            .date(r.getDate())
+                            .startTime(r.getStartTime())
+                            .endTime(r.getEndTime())
+                            .build());
         }
 
-        // 3️⃣ Group rows by movieId
-        Map<Long, List<ShowtimeRepository.HallMovieTimeRow>> groupedByMovie =
-                rows.stream().collect(Collectors.groupingBy(ShowtimeRepository.HallMovieTimeRow::getMovieId));
+        // 3️⃣ All movies in one query instead of one findById per movie
+        Map<Long, Movie> movies = movieRepository.findWithImagesByIdIn(showtimesByMovie.keySet()).stream()
+                .collect(Collectors.toMap(Movie::getId, m -> m));
 
         // 4️⃣ Build response list
-        return groupedByMovie.entrySet().stream()
+        return showtimesByMovie.entrySet().stream()
                 .map(entry -> {
-                    Long movieId = entry.getKey();
-
-                    // Fetch full movie details once per movie
-                    Movie movie = movieRepository.findById(movieId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Movie not found with id: " + movieId));
-
+                    Movie movie = movies.get(entry.getKey());
+                    if (movie == null) {
+                        throw new ResourceNotFoundException("Movie not found with id: " + entry.getKey());
+                    }
                     return MovieWithShowtimesResponse.builder()
                             .movie(movieMapper.mapMovieToCinemaMovieResponse(movie))
-                            .showtimes(entry.getValue().stream()
-                                    .map(r -> ShowtimeSimpleResponse.builder()
-                                            .id(null) // not in your projection
-                                            .date(r.getDate())
-                                            .startTime(r.getStartTime())
-                                            .endTime(null) // also not in projection
-                                            .build())
-                                    .toList())
+                            .showtimes(entry.getValue())
                             .build();
                 })
                 .toList();
@@ -345,28 +314,6 @@ public class CinemaService {
                 .build();
     }
     public List<HallPricingResponse> getHallPricingForCinema(Long cinemaId) {
-        List<Object[]> rows = hallRepository.findHallPricingRaw(cinemaId);
-
-        return rows.stream().map(r -> {
-            Long hallId         = ((Number) r[0]).longValue();
-            String hallName     = (String) r[1];
-
-            Object isSpecRaw    = r[2];
-            boolean isSpecial   = (isSpecRaw instanceof Boolean b) ? b
-                    : "t".equalsIgnoreCase(String.valueOf(isSpecRaw)) || "1".equals(String.valueOf(isSpecRaw));
-
-            String typeName     = (String) r[3];
-            BigDecimal percent  = (r[4] == null) ? BigDecimal.ZERO : new BigDecimal(String.valueOf(r[4]));
-            BigDecimal fixed    = (r[5] == null) ? BigDecimal.ZERO : new BigDecimal(String.valueOf(r[5]));
-
-            return HallPricingResponse.builder()
-                    .hallId(hallId)
-                    .hallName(hallName)
-                    .special(isSpecial)
-                    .typeName(typeName)
-                    .surchargePercent(percent)    // örn. 15.00 -> %15
-                    .surchargeFixed(fixed)        // her zaman 0 (şu anki şemada yok)
-                    .build();
-        }).toList();
+        return hallPricingCache.forCinema(cinemaId);
     }
-}
\ No newline at end of file
+}
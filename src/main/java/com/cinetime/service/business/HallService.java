@@ -2,6 +2,7 @@ package com.cinetime.service.business;
 
 import com.cinetime.entity.business.Cinema;
 import com.cinetime.entity.business.Hall;
+import com.cinetime.exception.BadRequestException;
 import com.cinetime.exception.ResourceNotFoundException;
 import com.cinetime.payload.mappers.HallMapper;
 import com.cinetime.payload.messages.ErrorMessages;
@@ -10,14 +11,21 @@ import com.cinetime.payload.request.business.HallRequest;
 import com.cinetime.payload.response.business.HallResponse;
 import com.cinetime.payload.response.business.ResponseMessage;
 import com.cinetime.repository.business.HallRepository;
+import com.cinetime.service.pricing.PricingChangedEvent;
+import com.cinetime.service.schedule.HallScheduleIndex;
+import com.cinetime.service.seat.SeatInventoryService;
+import com.cinetime.service.timetable.ShowtimeChangedEvent;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class HallService {
@@ -25,11 +33,15 @@ public class HallService {
     private final HallRepository hallRepository;
     private final CinemaService cinemaService;
     private final HallMapper hallMapper;
+    private final SeatInventoryService seatInventoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HallScheduleIndex hallScheduleIndex;
 
     @Transactional
     public ResponseMessage<HallResponse> saveHall(@Valid HallRequest hallRequest) {
         Cinema cinema = cinemaService.getById(hallRequest.getCinemaId());
         Hall hall = hallMapper.mapRequestToHall(hallRequest, cinema);
+        validateSeatLayout(hall);
         boolean isExist = hallRepository.existsByCinemaIdAndName(cinema.getId(), hall.getName());
 
         if (isExist) {
@@ -40,6 +52,7 @@ public class HallService {
                     .build();
         }
         Hall savedHall = hallRepository.save(hall);
+        eventPublisher.publishEvent(new PricingChangedEvent(savedHall.getId()));
         return ResponseMessage.<HallResponse>builder()
                 .httpStatus(HttpStatus.CREATED)
                 .message(SuccessMessages.HALL_CREATED)
@@ -72,10 +85,14 @@ public class HallService {
                 .build();
     }
 
+    @Transactional
     public ResponseMessage<HallResponse> deleteHallById(Long hallId) {
         Hall hall = findHallById(hallId);
         HallResponse hallResponse = hallMapper.mapHallToResponse(hall);
         hallRepository.delete(hall);
+        hallScheduleIndex.evictHallsAfterCommit(List.of(hallId));
+        eventPublisher.publishEvent(new PricingChangedEvent(hallId));
+        eventPublisher.publishEvent(ShowtimeChangedEvent.wholeCinema(hall.getCinema().getId()));
         return ResponseMessage.<HallResponse>builder()
                 .httpStatus(HttpStatus.OK)
                 .message(SuccessMessages.HALL_DELETED)
@@ -87,6 +104,7 @@ public class HallService {
     public ResponseMessage<HallResponse> updateHallById(@Valid HallRequest hallRequest, Long id) {
 
         Hall hall = findHallById(id);
+        Long previousCinemaId = hall.getCinema().getId();
 
         // 2️⃣ Update primitive fields if present in request
         if (hallRequest.getName() != null) {
@@ -95,6 +113,13 @@ public class HallService {
         if (hallRequest.getSeatCapacity() != null) {
             hall.setSeatCapacity(hallRequest.getSeatCapacity());
         }
+        if (hallRequest.getSeatRows() != null) {
+            hall.setSeatRows(hallRequest.getSeatRows());
+        }
+        if (hallRequest.getSeatsPerRow() != null) {
+            hall.setSeatsPerRow(hallRequest.getSeatsPerRow());
+        }
+        validateSeatLayout(hall);
         if (hallRequest.getIsSpecial() != null) {
             hall.setIsSpecial(hallRequest.getIsSpecial());
         }
@@ -104,6 +129,14 @@ public class HallService {
 
         // 3️⃣ Save updated hall
         Hall updatedHall = hallRepository.save(hall);
+        // cached seat maps of this hall were built on the old grid
+        seatInventoryService.evictHall(updatedHall.getId());
+        eventPublisher.publishEvent(new PricingChangedEvent(updatedHall.getId()));
+        // cached timetables carry the hall's name, capacity and special flag
+        eventPublisher.publishEvent(ShowtimeChangedEvent.wholeCinema(previousCinemaId));
+        if (!previousCinemaId.equals(updatedHall.getCinema().getId())) {
+            eventPublisher.publishEvent(ShowtimeChangedEvent.wholeCinema(updatedHall.getCinema().getId()));
+        }
 
         return ResponseMessage.<HallResponse>builder()
                 .httpStatus(HttpStatus.OK)
@@ -136,4 +169,19 @@ public class HallService {
                 .returnBody(hallMapper.mapToResponsePage(halls))
                 .build();
     }
+
+    private void validateSeatLayout(Hall hall) {
+        Integer rows = hall.getSeatRows();
+        Integer perRow = hall.getSeatsPerRow();
+        if (rows == null && perRow == null) {
+            return;
+        }
+        if (rows == null || perRow == null) {
+            throw new BadRequestException(ErrorMessages.HALL_LAYOUT_INCOMPLETE);
+        }
+        if ((long) rows * perRow < hall.getSeatCapacity()) {
+            throw new BadRequestException(
+                    String.format(ErrorMessages.HALL_LAYOUT_TOO_SMALL, rows, perRow, hall.getSeatCapacity()));
+        }
+    }
 }
@@ -10,8 +10,15 @@ import com.cinetime.payload.messages.ErrorMessages;
 import com.cinetime.payload.response.business.ImageResponse;
 import com.cinetime.repository.business.ImageRepository;
 import com.cinetime.repository.business.MovieRepository;
+import com.cinetime.service.catalog.MovieChangedEvent;
+import com.cinetime.service.storage.ImageBlobs;
+import com.cinetime.service.storage.ImageVariants;
+import com.cinetime.service.storage.LegacyImageBlobMigration;
+import com.cinetime.service.storage.StoredBlob;
 import com.cinetime.service.validator.ImageValidator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -27,9 +34,13 @@ public class ImageService {
     private final ImageRepository imageRepository;
     private final MovieRepository movieRepository;
     private final ImageMapper imageMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageBlobs imageBlobs;
+    private final LegacyImageBlobMigration legacyImageBlobMigration;
+    private final ImageVariants imageVariants;
 
     /**
-     * I01 helper — returns the entity with bytes to be streamed by the controller.
+     * I01 helper — returns the image metadata; the bytes come from {@link #getImageContent}.
      */
     @Transactional(readOnly = true)
     public Image getImageEntity(Long imageId) {
@@ -38,6 +49,34 @@ public class ImageService {
                         String.format(ErrorMessages.IMAGE_NOT_FOUND_ID, imageId)));
     }
 
+    /**
+     * I01 helper — key of the image bytes in the blob store, which is also their SHA-256 and so a strong ETag.
+     * A row that still keeps its bytes in the database is moved into the blob store first.
+     */
+    public String getImageBlobKey(Image image) {
+        if (image.getBlobKey() != null) return image.getBlobKey();
+        return legacyImageBlobMigration.migrate(LegacyImageBlobMigration.Table.IMAGES, image.getId())
+                .map(StoredBlob::key)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        String.format(ErrorMessages.IMAGE_NOT_FOUND_ID, image.getId())));
+    }
+
+    /**
+     * I01 helper — the variant to send for {@code ?w=}: the smallest rendered size at least {@code width}
+     * pixels wide, or the original when none is.
+     */
+    public ImageVariants.Rendition getImageRendition(Image image, int width) {
+        if (width <= 0) {
+            throw new BadRequestException(ErrorMessages.IMAGE_WIDTH_INVALID);
+        }
+        return imageVariants.resolve(getImageBlobKey(image), width);
+    }
+
+    /** I01 helper — the image bytes under {@code blobKey} as a streamable resource. */
+    public Resource getImageContent(String blobKey) {
+        return imageBlobs.open(blobKey);
+    }
+
     @Transactional(readOnly = true)
     public Set<Image> getAllByIdIn(Set<Long> ids) {
         Set<Image> images = imageRepository.findAllByIdIn(ids);
@@ -60,15 +99,19 @@ public class ImageService {
             throw new ConflictException(ErrorMessages.MOVIE_ALREADY_HAS_POSTER);
         }
 
+        StoredBlob stored = imageBlobs.store(ImageValidator.openStream(file));
         Image img = Image.builder()
                 .movie(movie)
-                .data(ImageValidator.safeBytes(file))
+                .blobKey(stored.key())
+                .size(stored.size())
                 .name(ImageValidator.cleanFileName(file.getOriginalFilename()))
                 .type(file.getContentType())
                 .isPoster(poster)
                 .build();
 
         Image saved = imageRepository.save(img);
+        imageVariants.renderAfterCommit(stored.key());
+        eventPublisher.publishEvent(MovieChangedEvent.imagesChanged(movieId));
         return imageMapper.toResponse(saved);
     }
 
@@ -81,6 +124,8 @@ public class ImageService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         String.format(ErrorMessages.IMAGE_NOT_FOUND_ID, imageId)));
         imageRepository.delete(image);
+        imageBlobs.releaseAfterCommit(image.getBlobKey());
+        publishImagesChanged(image);
     }
 
     /**
@@ -106,7 +151,10 @@ public class ImageService {
             }
         }
 
-        image.setData(ImageValidator.safeBytes(file));
+        String previousKey = image.getBlobKey();
+        StoredBlob stored = imageBlobs.store(ImageValidator.openStream(file));
+        image.setBlobKey(stored.key());
+        image.setSize(stored.size());
         image.setName(ImageValidator.cleanFileName(file.getOriginalFilename()));
         image.setType(file.getContentType());
         if (poster != null) {
@@ -114,6 +162,11 @@ public class ImageService {
         }
 
         Image saved = imageRepository.save(image);
+        if (!stored.key().equals(previousKey)) {
+            imageBlobs.releaseAfterCommit(previousKey);
+            imageVariants.renderAfterCommit(stored.key());
+        }
+        publishImagesChanged(saved);
         return imageMapper.toResponse(saved);
     }
 
@@ -160,4 +213,10 @@ public class ImageService {
         // Convert to ImageResponse
         return images.map(imageMapper::toResponse);
     }
-}
\ No newline at end of file
+
+    private void publishImagesChanged(Image image) {
+        if (image.getMovie() != null) {
+            eventPublisher.publishEvent(MovieChangedEvent.imagesChanged(image.getMovie().getId()));
+        }
+    }
+}
@@ -2,19 +2,28 @@ package com.cinetime.service.business;
 
 import com.cinetime.entity.business.Movie;
 import com.cinetime.entity.enums.MovieStatus;
+import com.cinetime.exception.BadRequestException;
 import com.cinetime.exception.ResourceNotFoundException;
 import com.cinetime.payload.mappers.MovieMapper;
 import com.cinetime.payload.messages.ErrorMessages;
 import com.cinetime.payload.messages.SuccessMessages;
 import com.cinetime.payload.request.business.MovieRequest;
 import com.cinetime.payload.response.business.CinemaMovieResponse;
+import com.cinetime.payload.response.business.MovieFacetsResponse;
 import com.cinetime.payload.response.business.MovieResponse;
 import com.cinetime.payload.response.business.ResponseMessage;
 import com.cinetime.repository.business.FavoriteRepository;
 import com.cinetime.repository.business.MovieRepository;
+import com.cinetime.service.catalog.MovieChangedEvent;
 import com.cinetime.service.helper.MovieServiceHelper;
+import com.cinetime.service.helper.SlugAllocator;
+import com.cinetime.service.schedule.HallScheduleIndex;
+import com.cinetime.service.search.MovieFacetIndex;
+import com.cinetime.service.search.MovieSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -22,7 +31,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -36,6 +51,11 @@ public class MovieService {
     private final ImageService imageService;
     private final MovieServiceHelper movieServiceHelper;
     private final FavoriteRepository favoriteRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MovieSearchIndex movieSearchIndex;
+    private final MovieFacetIndex movieFacetIndex;
+    private final SlugAllocator slugAllocator;
+    private final HallScheduleIndex hallScheduleIndex;
 
     /**
      * Retrieves all movies for a given cinema on a specific date.
@@ -58,19 +78,19 @@ public class MovieService {
 
 
     /**
-     * M01 - Search movies by title or summary (paginated).
-     * If search keyword is empty, returns all movies paginated.
+     * M01 - Search movies by title, summary, director, cast and genre (paginated).
+     * Matches are ranked by relevance through {@link MovieSearchIndex}, so the requested sort only
+     * applies when the search keyword is empty; then all movies are returned paginated.
      *
      * @param q        search keyword (optional)
      * @param pageable pagination info
      * @return ResponseMessage containing a page of MovieResponse
      */
+    @Transactional(readOnly = true)
     public ResponseMessage<Page<MovieResponse>> searchMovies(String q, Pageable pageable) {
         Page<Movie> movies;
         if (q != null && !q.trim().isEmpty()) {
-            String keyword = q.trim();
-            movies = movieRepository.findByTitleContainingIgnoreCaseOrSummaryContainingIgnoreCase(
-                    keyword, keyword, pageable);
+            movies = findRanked(movieSearchIndex.search(q.trim(), pageable));
         } else {
             movies = movieRepository.findAll(pageable);
         }
@@ -85,6 +105,20 @@ public class MovieService {
                 .build();
     }
 
+    // loads a page of ids from an index in one query and keeps the index's order; ids deleted since indexing are
+    // skipped and no longer counted in the total
+    private Page<Movie> findRanked(Page<Long> ids) {
+        if (ids.isEmpty()) return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        Map<Long, Movie> byId = movieRepository.findWithImagesByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(Movie::getId, Function.identity(), (a, b) -> a));
+        List<Movie> ranked = ids.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        long skipped = ids.getNumberOfElements() - ranked.size();
+        return new PageImpl<>(ranked, ids.getPageable(), ids.getTotalElements() - skipped);
+    }
+
     /**
      * M02 - Fetch movies for a specific cinema identified by its slug.
      *
@@ -92,6 +126,7 @@ public class MovieService {
      * @param pageable   pagination info
      * @return ResponseMessage with a page of CinemaMovieResponse
      */
+    @Transactional(readOnly = true)
     public ResponseMessage<Page<CinemaMovieResponse>> findMoviesByCinemaSlug(
             String cinemaSlug, Pageable pageable) {
 
@@ -119,6 +154,7 @@ public class MovieService {
      * @param pageable pagination info
      * @return ResponseMessage with a page of MovieResponse
      */
+    @Transactional(readOnly = true)
     public ResponseMessage<Page<MovieResponse>> findMoviesByHallName(String hallName, Pageable pageable) {
         if (hallName == null || hallName.trim().isEmpty()) {
             throw new IllegalArgumentException("Hall name cannot be null or empty");
@@ -255,8 +291,12 @@ public class MovieService {
      * @param movieRequest DTO with movie creation data
      * @return ResponseMessage containing the created MovieResponse
      */
-    @Transactional
     public ResponseMessage<MovieResponse> saveMovie(MovieRequest movieRequest) {
+        // one transaction per attempt, so a slug taken by a concurrent insert is allocated again
+        return slugAllocator.retrying(() -> insertMovie(movieRequest));
+    }
+
+    private ResponseMessage<MovieResponse> insertMovie(MovieRequest movieRequest) {
 
         boolean isExist = movieRepository.existsByTitleIgnoreCase(movieRequest.getTitle());
         if (isExist) {
@@ -282,6 +322,7 @@ public class MovieService {
         }
         Movie savedMovie = movieRepository.save(movie);
         movieRepository.flush();
+        eventPublisher.publishEvent(MovieChangedEvent.saved(savedMovie.getId()));
 
         return ResponseMessage.<MovieResponse>builder()
                 .httpStatus(HttpStatus.CREATED)
@@ -313,24 +354,27 @@ public class MovieService {
      * @param movieId      ID of the movie to update
      * @return ResponseMessage with the updated movie response
      */
-    @Transactional
     public ResponseMessage<MovieResponse> updateMovie(MovieRequest movieRequest, Long movieId) {
+        return slugAllocator.retrying(() -> applyMovieUpdate(movieRequest, movieId));
+    }
+
+    private ResponseMessage<MovieResponse> applyMovieUpdate(MovieRequest movieRequest, Long movieId) {
         // 1️⃣ Retrieve the existing movie entity from the DB
         Movie movie = findMovieById(movieId);
 
         // 2️⃣ Update primitive and ElementCollection fields via the mapper
         // (title, slug, summary, releaseDate, duration, rating, specialHalls, director, cast, formats, genre, status)
 
-        // Regenerate slug if changed
+        // Regenerate slug if changed; the request keeps the requested slug, so a retry allocates from it again
+        String slug = movieRequest.getSlug();
         if (!movie.getSlug().equals(movieRequest.getSlug())) {
-            String uniqueSlug = movieServiceHelper.generateUniqueSlug(movieRequest.getTitle(), movieRequest.getSlug(), MAX_LENGTH_FOR_SLUG, movieId);
-            movieRequest.setSlug(uniqueSlug);
+            slug = movieServiceHelper.generateUniqueSlug(movieRequest.getTitle(), movieRequest.getSlug(), MAX_LENGTH_FOR_SLUG, movieId);
         } else if (!movie.getTitle().equals(movieRequest.getTitle())) {
             //if Slugs are equal but the title has been changed, sending null Slug in order to produce a new slug from title.
-            String uniqueSlug = movieServiceHelper.generateUniqueSlug(movieRequest.getTitle(), null, MAX_LENGTH_FOR_SLUG, movieId);
-            movieRequest.setSlug(uniqueSlug);
+            slug = movieServiceHelper.generateUniqueSlug(movieRequest.getTitle(), null, MAX_LENGTH_FOR_SLUG, movieId);
         }
         movieMapper.updateMovieFromRequest(movieRequest, movie);
+        movie.setSlug(slug);
 
         // 3️⃣ Update cinemas (ManyToMany)
         // Null check: if null, existing collection remains unchanged
@@ -351,6 +395,7 @@ public class MovieService {
 
         // 5️⃣ Save the updated entity to the DB
         Movie updatedMovie = movieRepository.save(movie);
+        eventPublisher.publishEvent(MovieChangedEvent.saved(movieId));
 
         // 6️⃣ Build and return the response
         return ResponseMessage.<MovieResponse>builder()
@@ -383,8 +428,15 @@ public class MovieService {
         // 3️⃣ Map before delete (avoid lazy issues)
         MovieResponse deletedMovieResponse = movieMapper.mapMovieToMovieResponse(movie);
 
+        // Showtimes go with the movie (cascade), so their halls' schedules are rebuilt after commit
+        Set<Long> hallIds = movie.getShowtimes().stream()
+                .map(showtime -> showtime.getHall().getId())
+                .collect(Collectors.toSet());
+
         // 4️⃣ Delete the movie
         movieRepository.delete(movie);
+        hallScheduleIndex.evictHallsAfterCommit(hallIds);
+        eventPublisher.publishEvent(MovieChangedEvent.deleted(movieId));
 
         // 5️⃣ Build response
         return ResponseMessage.<MovieResponse>builder()
@@ -405,6 +457,7 @@ public class MovieService {
      * @param pageable pagination and sorting info
      * @return paginated list of MovieResponse wrapped in ResponseMessage
      */
+    @Transactional(readOnly = true)
     public ResponseMessage<Page<MovieResponse>> getMovieByGenre(String genre, Pageable pageable) {
         Page<Movie> movies;
         if (genre != null && !genre.trim().isEmpty()) {
@@ -467,14 +520,17 @@ public class MovieService {
      * @param status MovieStatus as String. Mapped to the MovieStatus enum. If null, status filtering is ignored.
      * @param minRating Minimum rating filter. If null, no minimum rating restriction is applied.
      * @param maxRating Maximum rating filter. If null, no maximum rating restriction is applied.
-     * @param releaseDate Filter for movies released on or after this date. If null, no release date restriction is applied.
+     * @param releaseDate Filter for movies released on or after this date (yyyy-MM-dd). If null, no release date
+     *                    restriction is applied; any other unparseable value is rejected with a BadRequestException.
      * @param specialHalls Filter for movies containing this substring in their special halls. Case-sensitive.
      *                     If null or blank, this filter is ignored.
-     * @param pageable Pageable object to handle pagination and sorting.
+     * @param pageable Pageable object to handle pagination. Results are ordered by release date
+     *                 (newest first), then by title.
      *
      * @return ResponseMessage containing a Page of MovieResponse objects that match the filters.
      *         If no movies match, an empty Page is returned. HTTP status is 200 OK.
      */
+    @Transactional(readOnly = true)
     public ResponseMessage<Page<MovieResponse>> filterMovies(
             List<String> genre,
             String status,
@@ -484,41 +540,67 @@ public class MovieService {
             String specialHalls,
             Pageable pageable) {
 
-        // Prepare specialHalls filter for PostgreSQL LIKE query
-        String normalizedSpecialHalls =
-                (specialHalls == null || specialHalls.isBlank()) ? null : "%" + specialHalls + "%";
+        // Answered from the in-memory facet index; only the requested page is read from the database
+        MovieFacetIndex.Result result = movieFacetIndex.filter(
+                toFacetFilter(genre, status, minRating, maxRating, releaseDate, specialHalls), pageable);
+        Page<Movie> filteredMovies = findRanked(result.ids());
 
-        // Normalize genre list; if empty or null, filtering will be ignored
-        List<String> normalizedGenre = (genre == null || genre.isEmpty()) ? null : genre;
-        Long genreSize = (normalizedGenre == null) ? 0L : (long) normalizedGenre.size();
+        // Build response with empty page fallback
+        return ResponseMessage.<Page<MovieResponse>>builder()
+                .httpStatus(HttpStatus.OK)
+                .returnBody(filteredMovies.isEmpty() ? Page.empty() : movieMapper.mapToResponsePage(filteredMovies))
+                .build();
+    }
 
+    /**
+     * Counts the movies matching the same filters as {@link #filterMovies} per genre, format and status, for the
+     * filter UI. Values without any matching movie are left out.
+     *
+     * @return ResponseMessage containing the counts; answered from the in-memory facet index. HTTP status is 200 OK.
+     */
+    public ResponseMessage<MovieFacetsResponse> filterMovieFacets(
+            List<String> genre,
+            String status,
+            Double minRating,
+            Double maxRating,
+            String releaseDate,
+            String specialHalls) {
 
-        LocalDate normalizedReleaseDate = null;
-        try {
-            normalizedReleaseDate = LocalDate.parse(releaseDate, DateTimeFormatter.ISO_DATE);
-        } catch (Exception e) {
-            System.err.println(e.toString());
-        }
+        MovieFacetIndex.Counts counts = movieFacetIndex.counts(
+                toFacetFilter(genre, status, minRating, maxRating, releaseDate, specialHalls));
 
+        return ResponseMessage.<MovieFacetsResponse>builder()
+                .httpStatus(HttpStatus.OK)
+                .returnBody(MovieFacetsResponse.builder()
+                        .genreCounts(counts.genres())
+                        .formatCounts(counts.formats())
+                        .statusCounts(counts.statuses())
+                        .build())
+                .build();
+    }
 
+    private MovieFacetIndex.Filter toFacetFilter(
+            List<String> genre, String status, Double minRating, Double maxRating,
+            String releaseDate, String specialHalls) {
 
-        // Call repository method with all normalized parameters
-        Page<Movie> filteredMovies = movieRepository.filterMovies(
-                normalizedGenre,
-                genreSize,
+        String normalizedSpecialHalls = (specialHalls == null || specialHalls.isBlank()) ? null : specialHalls;
+
+        LocalDate normalizedReleaseDate = null;
+        if (releaseDate != null && !releaseDate.isBlank()) {
+            try {
+                normalizedReleaseDate = LocalDate.parse(releaseDate, DateTimeFormatter.ISO_DATE);
+            } catch (DateTimeParseException e) {
+                throw new BadRequestException(String.format(ErrorMessages.INVALID_RELEASE_DATE, releaseDate));
+            }
+        }
+
+        return new MovieFacetIndex.Filter(
+                genre,
                 movieMapper.movieStatusMapper(status),
                 minRating,
                 maxRating,
                 normalizedReleaseDate,
-                normalizedSpecialHalls,
-                pageable
-        );
-
-        // Build response with empty page fallback
-        return ResponseMessage.<Page<MovieResponse>>builder()
-                .httpStatus(HttpStatus.OK)
-                .returnBody(filteredMovies.isEmpty() ? Page.empty() : movieMapper.mapToResponsePage(filteredMovies))
-                .build();
+                normalizedSpecialHalls);
     }
 
 
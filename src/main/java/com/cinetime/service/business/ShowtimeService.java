@@ -15,8 +15,15 @@ import com.cinetime.payload.response.business.*;
 import com.cinetime.repository.business.CinemaRepository;
 import com.cinetime.repository.business.ShowtimeRepository;
 import com.cinetime.repository.business.TicketRepository;
+import com.cinetime.service.helper.ShowtimeKeyCache;
+import com.cinetime.service.pricing.PricingService;
+import com.cinetime.service.schedule.HallScheduleIndex;
+import com.cinetime.service.seat.SeatInventoryService;
+import com.cinetime.service.timetable.CinemaTimetable;
+import com.cinetime.service.timetable.ShowtimeChangedEvent;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -24,11 +31,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -41,6 +44,12 @@ public class ShowtimeService {
     private final CinemaRepository cinemaRepository;
     private final CityMapper cityMapper;
     private final TicketRepository ticketRepository;
+    private final ShowtimeKeyCache showtimeKeyCache;
+    private final PricingService pricingService;
+    private final HallScheduleIndex hallScheduleIndex;
+    private final CinemaTimetable cinemaTimetable;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SeatInventoryService seatInventoryService;
 
     @Transactional
     public ResponseMessage<ShowtimeResponse> saveShowtime(@Valid ShowtimeRequest showtimeRequest) {
@@ -48,6 +57,8 @@ public class ShowtimeService {
         Movie movie = movieService.findMovieById(showtimeRequest.getMovieId());
         Showtime showtime = showtimeMapper.mapRequestToShowtime(showtimeRequest, hall, movie);
         Showtime savedShowtime = showtimeRepository.save(showtime);
+        hallScheduleIndex.claim(savedShowtime, null);
+        eventPublisher.publishEvent(ShowtimeChangedEvent.of(savedShowtime));
         return ResponseMessage.<ShowtimeResponse>builder()
                 .httpStatus(HttpStatus.CREATED)
                 .message(SuccessMessages.SHOWTIME_CREATED)
@@ -86,6 +97,10 @@ public class ShowtimeService {
         }
 
         showtimeRepository.delete(st);
+        hallScheduleIndex.release(st.getHall().getId(), id);
+        showtimeKeyCache.invalidate(id);
+        pricingService.evict(id);
+        eventPublisher.publishEvent(ShowtimeChangedEvent.of(st));
     }
 
 
@@ -103,11 +118,25 @@ public class ShowtimeService {
     @Transactional
     public ResponseMessage<ShowtimeResponse> updateShowtimeById(Long id, ShowtimeRequest req) {
         Showtime s = findShowtimeById(id); // ilişkileri açıkken geldi
+        Long previousHallId = s.getHall().getId();
+        ShowtimeChangedEvent before = ShowtimeChangedEvent.of(s);
         Hall hall   = (req.getHallId()  != null) ? hallService.findHallById(req.getHallId())   : null;
         Movie movie = (req.getMovieId() != null) ? movieService.findMovieById(req.getMovieId()): null;
 
         showtimeMapper.updateShowtimeFromRequest(s, req, hall, movie);
         Showtime saved = showtimeRepository.save(s);
+        hallScheduleIndex.claim(saved, previousHallId);
+        showtimeKeyCache.invalidate(id);
+        if (!previousHallId.equals(saved.getHall().getId())) {
+            // the cached inventory carries the old hall's layout and capacity
+            seatInventoryService.evictAfterCommit(List.of(id));
+        }
+        pricingService.evict(id);
+        ShowtimeChangedEvent after = ShowtimeChangedEvent.of(saved);
+        eventPublisher.publishEvent(before);
+        if (!after.equals(before)) {
+            eventPublisher.publishEvent(after);
+        }
 
         return ResponseMessage.<ShowtimeResponse>builder()
                 .httpStatus(HttpStatus.OK)
@@ -130,75 +159,24 @@ public class ShowtimeService {
 
     // S01 Endpoint - Get showtimes by cinema ID
     public ResponseMessage<List<HallWithShowtimesResponse>> getShowtimesByCinemaId(Long cinemaId) {
-        // Validate cinema exists using repository directly
-        cinemaRepository.findById(cinemaId)
-                .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.CINEMA_NOT_FOUND, cinemaId)));
-
-        List<ShowtimeRepository.HallMovieTimeRow> rows = showtimeRepository.findShowtimesByCinemaId(cinemaId);
-
-        if (rows.isEmpty()) {
-            throw new ResourceNotFoundException(ErrorMessages.SHOWTIMES_NOT_FOUND);
-        }
-
-        List<HallWithShowtimesResponse> hallResponses = groupShowtimesByHallAndMovie(rows);
-
         return ResponseMessage.<List<HallWithShowtimesResponse>>builder()
                 .httpStatus(HttpStatus.OK)
                 .message(SuccessMessages.SHOWTIMES_FOUND_BY_CINEMA)
-                .returnBody(hallResponses)
+                .returnBody(getTimetableByCinemaId(cinemaId).halls())
                 .build();
     }
 
-    private List<HallWithShowtimesResponse> groupShowtimesByHallAndMovie(List<ShowtimeRepository.HallMovieTimeRow> rows) {
-        // Group by hall
-        Map<Long, List<ShowtimeRepository.HallMovieTimeRow>> hallGroups = rows.stream()
-                .collect(Collectors.groupingBy(ShowtimeRepository.HallMovieTimeRow::getHallId));
-
-        return hallGroups.entrySet().stream()
-                .map(hallEntry -> {
-                    Long hallId = hallEntry.getKey();
-                    List<ShowtimeRepository.HallMovieTimeRow> hallRows = hallEntry.getValue();
-
-                    // Get hall info from first row
-                    ShowtimeRepository.HallMovieTimeRow firstRow = hallRows.get(0);
-
-                    // Group by movie within this hall
-                    Map<Long, List<ShowtimeRepository.HallMovieTimeRow>> movieGroups = hallRows.stream()
-                            .collect(Collectors.groupingBy(ShowtimeRepository.HallMovieTimeRow::getMovieId));
-
-                    List<HallMovieShowtimesResponse> movieShowtimes = movieGroups.entrySet().stream()
-                            .map(movieEntry -> {
-                                List<ShowtimeRepository.HallMovieTimeRow> movieRows = movieEntry.getValue();
-                                ShowtimeRepository.HallMovieTimeRow movieFirstRow = movieRows.get(0);
-
-                                MovieMiniResponse movie = MovieMiniResponse.builder()
-                                        .id(movieFirstRow.getMovieId())
-                                        .title(movieFirstRow.getMovieTitle())
-                                        .build();
-
-                                List<LocalDateTime> times = movieRows.stream()
-                                        .map(row -> LocalDateTime.of(row.getDate(), row.getStartTime()))
-                                        .sorted()
-                                        .collect(Collectors.toList());
-
-                                return HallMovieShowtimesResponse.builder()
-                                        .movie(movie)
-                                        .times(times)
-                                        .build();
-                            })
-                            .sorted(Comparator.comparing(hms -> hms.getMovie().getTitle()))
-                            .collect(Collectors.toList());
-
-                    return HallWithShowtimesResponse.builder()
-                            .id(hallId)
-                            .name(firstRow.getHallName())
-                            .seatCapacity(firstRow.getSeatCapacity())
-                            .isSpecial(firstRow.getIsSpecial())
-                            .movies(movieShowtimes)
-                            .build();
-                })
-                .sorted(Comparator.comparing(HallWithShowtimesResponse::getName))
-                .collect(Collectors.toList());
+    // S01 as served over HTTP: the same body, already serialized, plus its ETag
+    public CinemaTimetable.Timetable getTimetableByCinemaId(Long cinemaId) {
+        if (!cinemaRepository.existsById(cinemaId)) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.CINEMA_NOT_FOUND, cinemaId));
+        }
+
+        CinemaTimetable.Timetable timetable = cinemaTimetable.forCinema(cinemaId);
+        if (timetable.halls().isEmpty()) {
+            throw new ResourceNotFoundException(ErrorMessages.SHOWTIMES_NOT_FOUND);
+        }
+        return timetable;
     }
 
     public ResponseMessage<List<CountryMiniResponse>> getCountriesWithShowtimes(LocalDate onOrAfter, Long movieId) {
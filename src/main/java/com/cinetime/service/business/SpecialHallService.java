@@ -10,7 +10,9 @@ import com.cinetime.payload.response.business.SpecialHallResponse;
 import com.cinetime.repository.business.HallRepository;
 import com.cinetime.repository.business.SpecialHallRepository;
 import com.cinetime.repository.business.SpecialHallTypeRepository;
+import com.cinetime.service.pricing.PricingChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,6 +29,7 @@ public class SpecialHallService {
     private final HallRepository hallRepo;
     private final SpecialHallTypeRepository typeRepo;
     private final HallRepository hallRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /* =========================
        LIST
@@ -69,6 +72,7 @@ public class SpecialHallService {
         if (Boolean.FALSE.equals(hall.getIsSpecial())) {
             hallRepo.updateIsSpecialById(hall.getId(), true);
         }
+        eventPublisher.publishEvent(new PricingChangedEvent(hall.getId()));
 
         return SpecialHallMapper.toResponse(sh);
     }
@@ -99,10 +103,12 @@ public class SpecialHallService {
             hallRepo.updateIsSpecialById(newHall.getId(), true);
 
             sh.setHall(newHall);
+            eventPublisher.publishEvent(new PricingChangedEvent(currentHallId));
         }
 
         sh.setType(newType);
         repo.save(sh);
+        eventPublisher.publishEvent(new PricingChangedEvent(sh.getHall().getId()));
 
         return SpecialHallMapper.toResponse(sh);
     }
@@ -121,6 +127,7 @@ public class SpecialHallService {
 
         // yalnızca isSpecial indir
         hallRepo.updateIsSpecialById(hallId, false);
+        eventPublisher.publishEvent(new PricingChangedEvent(hallId));
     }
 
 
@@ -5,7 +5,9 @@ import com.cinetime.payload.mappers.SpecialHallTypeMapper;
 import com.cinetime.payload.request.business.SpecialHallTypeRequest;
 import com.cinetime.payload.response.business.SpecialHallTypeResponse;
 import com.cinetime.repository.business.SpecialHallTypeRepository;
+import com.cinetime.service.pricing.PricingChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -16,6 +18,7 @@ import static org.springframework.http.HttpStatus.*;
 @RequiredArgsConstructor
 public class SpecialHallTypeService {
     private final SpecialHallTypeRepository repo;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Page<SpecialHallTypeResponse> list(Pageable pageable){
         return repo.findAll(pageable).map(SpecialHallTypeMapper::toResponse);
@@ -36,12 +39,16 @@ public class SpecialHallTypeService {
         var ent = repo.findById(id).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Type not found"));
         validateNameUnique(req.getName(), id);
         SpecialHallTypeMapper.update(ent, req);
-        return SpecialHallTypeMapper.toResponse(repo.save(ent));
+        var saved = repo.save(ent);
+        // surcharge may have changed for every hall of this type
+        eventPublisher.publishEvent(PricingChangedEvent.allHalls());
+        return SpecialHallTypeMapper.toResponse(saved);
     }
 
     public void delete(Long id){
         if (!repo.existsById(id)) throw new ResponseStatusException(NOT_FOUND, "Type not found");
         repo.deleteById(id);
+        eventPublisher.publishEvent(PricingChangedEvent.allHalls());
     }
 
     private void validateNameUnique(String name, Long currentId){
@@ -3,6 +3,7 @@ package com.cinetime.service.business;
 import com.cinetime.entity.business.Payment;
 import com.cinetime.entity.business.Showtime;
 import com.cinetime.entity.business.Ticket;
+import com.cinetime.entity.business.TicketRecord;
 import com.cinetime.entity.enums.PaymentStatus;
 import com.cinetime.entity.enums.TicketStatus;
 import com.cinetime.entity.user.User;
@@ -10,44 +11,74 @@ import com.cinetime.exception.ConflictException;
 import com.cinetime.exception.ResourceNotFoundException;
 import com.cinetime.payload.mappers.PaymentMapper;
 import com.cinetime.payload.mappers.TicketMapper;
+import com.cinetime.payload.messages.ErrorMessages;
+import com.cinetime.payload.request.business.BuyTicketByShowtimeIdRequest;
 import com.cinetime.payload.request.business.BuyTicketRequest;
+import com.cinetime.payload.request.business.ReserveBestAvailableRequest;
+import com.cinetime.payload.request.business.ReserveTicketByShowtimeIdRequest;
 import com.cinetime.payload.request.business.ReserveTicketRequest;
 import com.cinetime.payload.response.business.PaymentResponse;
 import com.cinetime.payload.response.business.TicketResponse;
 import com.cinetime.repository.business.PaymentRepository;
 import com.cinetime.repository.business.ShowtimeRepository;
+import com.cinetime.repository.business.TicketRecordRepository;
 import com.cinetime.repository.business.TicketRepository;
 import com.cinetime.repository.user.UserRepository;
+import com.cinetime.service.booking.BookingExecutor;
+import com.cinetime.service.booking.IdempotencyStore;
 import com.cinetime.service.helper.MailHelper;
 import com.cinetime.service.helper.PageableHelper;
-import com.cinetime.service.mail.MailService;
+import com.cinetime.service.helper.ShowtimeKeyCache;
+import com.cinetime.service.pricing.PricingService;
+import com.cinetime.service.seat.SeatHoldService;
+import com.cinetime.service.seat.SeatInventoryService;
+import com.cinetime.service.seat.SeatLayout;
+import com.cinetime.service.seat.SeatMapBroadcaster;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 
 @Service
 @RequiredArgsConstructor
 public class TicketService {
     private final TicketRepository ticketRepository;
+    private final TicketRecordRepository ticketRecordRepository;
     private final PageableHelper pageableHelper;
     private final TicketMapper ticketMapper;
     private final ShowtimeRepository showtimeRepository;
     private final UserRepository userRepository;
     private final PaymentMapper paymentMapper;
     private final PaymentRepository paymentRepository;
-    private final MailService mailService;
     private final MailHelper mailHelper;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatHoldService seatHoldService;
+    private final ShowtimeKeyCache showtimeKeyCache;
+    private final SeatMapBroadcaster seatMapBroadcaster;
+    private final BookingExecutor bookingExecutor;
+    private final IdempotencyStore idempotencyStore;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PricingService pricingService;
 
     //T01
     @Transactional(readOnly = true)
@@ -56,10 +87,7 @@ public class TicketService {
 
         var statuses = List.of(TicketStatus.PAID, TicketStatus.RESERVED);
 
-        var today = java.time.LocalDate.now();
-        var now   = java.time.LocalTime.now();
-
-        Page<Ticket> result = ticketRepository.findCurrentForUser(userId, statuses, today, now, pageable);
+        Page<Ticket> result = ticketRepository.findCurrentForUser(userId, statuses, LocalDateTime.now(), pageable);
 
         return result.map(ticketMapper::mapTicketToTicketResponse);
     }
@@ -68,13 +96,22 @@ public class TicketService {
     public List<String> getTakenSeatsByFields(String movieName, String hall, String cinema,
                                               LocalDate date, LocalTime startTime) {
 
-        Showtime showtime = showtimeRepository
-                .findByMovie_TitleIgnoreCaseAndHall_NameIgnoreCaseAndHall_Cinema_NameIgnoreCaseAndDateAndStartTime(
-                        movieName, hall, cinema, date, startTime
-                )
+        Showtime showtime = resolveShowtimeByFields(movieName, hall, cinema, date, startTime)
                 .orElseThrow(() -> new ResourceNotFoundException("Showtime not found"));
 
-        return ticketRepository.findTakenSeatIds(showtime.getId()); // ["A1","A2",...]
+        return seatInventoryService.getTakenSeats(showtime); // ["A1","A2",...]
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> getTakenSeatsByShowtimeId(Long showtimeId) {
+        return seatInventoryService.getTakenSeats(findShowtimeById(showtimeId));
+    }
+
+    // Live seat map: snapshot first, then deltas pushed from the in-memory inventory
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeSeatMap(Long showtimeId) {
+        Showtime showtime = findShowtimeById(showtimeId);
+        return seatMapBroadcaster.subscribe(seatInventoryService.inventoryFor(showtime));
     }
 
 
@@ -82,28 +119,23 @@ public class TicketService {
     public Page<TicketResponse> getPassedTickets(Long userId, Integer page, Integer size, String sort, String type) {
         Pageable pageable = pageableHelper.buildPageable(page, size, sort, type);
 
-        var today = java.time.LocalDate.now();
-        var now   = java.time.LocalTime.now();
-
-        Page<Ticket> passed = ticketRepository.findPassedForUserAt(
+        // Spans live tickets and those already moved to ticket_history
+        Page<TicketRecord> passed = ticketRecordRepository.findPassedForUserAt(
                 userId,
                 TicketStatus.USED,
                 TicketStatus.PAID,
-                today,
-                now,
+                LocalDateTime.now(),
                 pageable
         );
 
-        return passed.map(ticketMapper::mapTicketToTicketResponse);
+        return passed.map(ticketMapper::mapRecordToTicketResponse);
     }
 
     // RESERVE — also uses movieName + hall + cinema + date + showtime (LocalTime)
 // returns one TicketResponse per seat reserved
-    @Transactional
     public List<TicketResponse> reserve(ReserveTicketRequest req, Long maybeUserId) {
-        // 1) Resolve showtime by MOVIE TITLE (not ID)
-        var showtime = showtimeRepository
-                .findByMovie_TitleIgnoreCaseAndHall_NameIgnoreCaseAndHall_Cinema_NameIgnoreCaseAndDateAndStartTime(
+        // 1) Resolve showtime by MOVIE TITLE (not ID); the id is cached after the first lookup
+        var showtime = resolveShowtimeByFields(
                         req.getMovieName(),
                         req.getHall(),
                         req.getCinema(),
@@ -112,6 +144,29 @@ public class TicketService {
                 )
                 .orElseThrow(() -> new IllegalArgumentException("Showtime not found"));
 
+        return onBookingLane(showtime.getId(),
+                () -> reserveSeats(showtime, req.getSeatInformation(), maybeUserId));
+    }
+
+    // RESERVE by showtime id — same rules, no natural-key resolution
+    public List<TicketResponse> reserveByShowtimeId(ReserveTicketByShowtimeIdRequest req, Long maybeUserId) {
+        Showtime showtime = findShowtimeById(req.getShowtimeId());
+        return onBookingLane(showtime.getId(),
+                () -> reserveSeats(showtime, req.getSeatInformation(), maybeUserId));
+    }
+
+    // RESERVE best available — the server picks the seats on the showtime's booking lane
+    public List<TicketResponse> reserveBestAvailable(ReserveBestAvailableRequest req, Long maybeUserId) {
+        Showtime showtime = findShowtimeById(req.getShowtimeId());
+        return onBookingLane(showtime.getId(), () -> reserveSeats(
+                showtime,
+                seatInventoryService.bestAvailable(showtime, req.getCount()),
+                maybeUserId));
+    }
+
+    private List<TicketResponse> reserveSeats(Showtime showtime,
+                                              List<BuyTicketRequest.SeatInfo> seatInformation,
+                                              Long maybeUserId) {
         // 2) Ensure the showtime is in the future (local machine clock)
         var today = java.time.LocalDate.now();
         var now   = java.time.LocalTime.now();
@@ -126,75 +181,160 @@ public class TicketService {
         var user = userRepository.findById(maybeUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        // 4) Build tickets (one per requested seat) after availability check
+        // 4) Claim the seats in the in-memory inventory (no DB round trip per seat)
+        seatInventoryService.claim(showtime, seatInformation);
+
+        // 5) Build tickets (one per requested seat), held until the hold expires
+        var holdExpiresAt = seatHoldService.newHoldExpiry();
         var ticketsToCreate = new java.util.ArrayList<Ticket>();
-        for (var seat : req.getSeatInformation()) { // <<< was getSeats()
+        for (var seat : seatInformation) { // <<< was getSeats()
             String seatLetter = seat.getSeatLetter();
             int seatNumber    = seat.getSeatNumber();
 
-            boolean taken = ticketRepository
-                    .existsByShowtime_IdAndSeatLetterAndSeatNumber(showtime.getId(), seatLetter, seatNumber);
-            if (taken) {
-               // throw new IllegalStateException("Seat " + seatLetter + "-" + seatNumber + " is already reserved/paid");
-                throw new ConflictException("Seat " + seatLetter + "-" + seatNumber + " is already reserved/paid");
-            }
-
             Ticket ticket = new Ticket();
             ticket.setShowtime(showtime);
             ticket.setUser(user);
             ticket.setSeatLetter(seatLetter);
             ticket.setSeatNumber(seatNumber);
             ticket.setStatus(TicketStatus.RESERVED);
-            ticket.setPrice(9.99); // TODO set real price
+            ticket.setHoldExpiresAt(holdExpiresAt);
+            ticket.setPrice(pricingService.priceOf(showtime, seatLetter, seatNumber));
 
             ticketsToCreate.add(ticket);
         }
 
-        // 5) Persist and map
-        var saved = ticketRepository.saveAll(ticketsToCreate);
-        return saved.stream().map(ticketMapper::mapTicketToTicketResponse).toList();
+        // 6) Persist, start the hold clock and map
+        try {
+            var saved = ticketRepository.saveAllAndFlush(ticketsToCreate);
+            seatHoldService.track(saved);
+            return saved.stream().map(ticketMapper::mapTicketToTicketResponse).toList();
+        } catch (DataIntegrityViolationException ex) {
+            // Another node got there first: drop the cached state so it is reloaded from the DB
+            seatInventoryService.evict(showtime.getId());
+            throw new ConflictException("One or more seats are already reserved/paid");
+        }
     }
 
 
 
 
 
-    @Transactional
     public PaymentResponse buy (BuyTicketRequest buyTicketRequest,Long maybeUserId, String idempotencyKey){
+        requireIdempotencyKey(idempotencyKey);
+        // Retries are answered from the idempotency store; a duplicate in flight waits for the first one
+        return idempotencyStore.execute(idempotencyKey, () -> {
+            Optional<PaymentResponse> replay = inTransaction(() -> findIdempotentResult(idempotencyKey));
+            if (replay.isPresent()) {
+                return replay.get();
+            }
+
+            Showtime showtime = resolveShowtimeByFields(
+                            buyTicketRequest.getMovieName(),
+                            buyTicketRequest.getHall(),
+                            buyTicketRequest.getCinema(),
+                            buyTicketRequest.getDate(),
+                            buyTicketRequest.getShowtime()
+                    )
+                    .orElseThrow(() -> new ResourceNotFoundException("Showtime not found"));
+
+            return onBookingLane(showtime.getId(),
+                    () -> buySeats(showtime, buyTicketRequest.getSeatInformation(), maybeUserId, idempotencyKey));
+        });
+    }
+
+    // BUY by showtime id — same rules, no natural-key resolution
+    public PaymentResponse buyByShowtimeId(BuyTicketByShowtimeIdRequest request, Long maybeUserId, String idempotencyKey) {
+        requireIdempotencyKey(idempotencyKey);
+        return idempotencyStore.execute(idempotencyKey, () -> {
+            Optional<PaymentResponse> replay = inTransaction(() -> findIdempotentResult(idempotencyKey));
+            if (replay.isPresent()) {
+                return replay.get();
+            }
+            Showtime showtime = findShowtimeById(request.getShowtimeId());
+            return onBookingLane(showtime.getId(),
+                    () -> buySeats(showtime, request.getSeatInformation(), maybeUserId, idempotencyKey));
+        });
+    }
+
+    /**
+     * Runs booking work in its own transaction on the showtime's single-writer lane, so requests for
+     * the same showtime never race each other into the seat unique constraint.
+     */
+    private <T> T onBookingLane(Long showtimeId, Supplier<T> work) {
+        return bookingExecutor.execute(showtimeId, () -> inTransaction(work));
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private static void requireIdempotencyKey(String idempotencyKey) {
         if (idempotencyKey == null || idempotencyKey.isBlank()) {
             throw new IllegalArgumentException("idempotencyKey is required");
         }
+    }
 
+    private Optional<PaymentResponse> findIdempotentResult(String idempotencyKey) {
         Optional<Payment> existingPayment = paymentRepository.findByIdempotencyKey(idempotencyKey);
 
         if (existingPayment.isPresent()){
             Payment payment = existingPayment.get();
             List<Ticket> existingTickets= ticketRepository.findAllByPaymentId(payment.getId());
-            return paymentMapper.mapPaymentToPaymentResponse(payment,existingTickets);
+            return Optional.of(paymentMapper.mapPaymentToPaymentResponse(payment,existingTickets));
         }
+        return Optional.empty();
+    }
 
+    private PaymentResponse buySeats(Showtime showtime,
+                                     List<BuyTicketRequest.SeatInfo> seatInformation,
+                                     Long maybeUserId,
+                                     String idempotencyKey) {
 
+        // 3) Load user (if your Ticket.user is non-nullable, this must be set)
+        User user = userRepository.findById(maybeUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
+        if (seatInformation == null || seatInformation.isEmpty()) {
+            throw new IllegalArgumentException("seatInformation must be a non-empty array of seats");
+        }
 
-        Showtime showtime = showtimeRepository
-                .findByMovie_TitleIgnoreCaseAndHall_NameIgnoreCaseAndHall_Cinema_NameIgnoreCaseAndDateAndStartTime(
-                        buyTicketRequest.getMovieName(),
-                        buyTicketRequest.getHall(),
-                        buyTicketRequest.getCinema(),
-                        buyTicketRequest.getDate(),
-                        buyTicketRequest.getShowtime()
-                )
-                .orElseThrow(() -> new ResourceNotFoundException("Showtime not found"));
+        // Seats the user already holds (RESERVED) are converted to PAID instead of inserted again
+        Map<String, Ticket> heldByUser = new HashMap<>();
+        for (Ticket held : ticketRepository.findByShowtime_IdAndUser_IdAndStatus(
+                showtime.getId(), user.getId(), TicketStatus.RESERVED)) {
+            heldByUser.put(SeatLayout.label(held.getSeatLetter(), held.getSeatNumber()), held);
+        }
+        List<BuyTicketRequest.SeatInfo> newSeats = seatInformation.stream()
+                .filter(seat -> !heldByUser.containsKey(SeatLayout.label(seat.getSeatLetter(), seat.getSeatNumber())))
+                .toList();
+
+        List<Long> requestedHoldIds = seatInformation.stream()
+                .map(seat -> heldByUser.get(SeatLayout.label(seat.getSeatLetter(), seat.getSeatNumber())))
+                .filter(Objects::nonNull)
+                .map(Ticket::getId)
+                .distinct()
+                .toList();
+        if (!requestedHoldIds.isEmpty()
+                && ticketRepository.convertActiveHolds(requestedHoldIds, LocalDateTime.now()) != requestedHoldIds.size()) {
+            // The hold ran out (or the sweeper released it) between loading and buying
+            throw new ConflictException("Your hold on one or more seats has expired");
+        }
 
-        LocalDate today = java.time.LocalDate.now();
-        LocalTime now  = java.time.LocalTime.now();
+        if (!newSeats.isEmpty()) {
+            int requestedSeatCount = newSeats.size();
+            long remainingEmptySeats = seatInventoryService.remainingSeats(showtime);
+            if (remainingEmptySeats<=0){
+                throw new ConflictException("Cinema hall is already full for this showtime.");
+            }
+            if (remainingEmptySeats<requestedSeatCount){
+                throw new ConflictException("Only " + remainingEmptySeats + "seat  left for this showtime.");
+            }
 
-        // 3) Load user (if your Ticket.user is non-nullable, this must be set)
-        User user = userRepository.findById(maybeUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            // 4) Claim the new seats in memory
+            seatInventoryService.claim(showtime, newSeats);
+        }
 
-        // So far we checked if there is an existing payment for this user, if so we return the payment response.
-        //If not we checked if there is an available showtime for the user and created a payment and gave status pending.
+        // Seats are decided at this point, so a payment is only written for a purchase that can go through.
         Payment payment = Payment.builder()
                 .amount(0.0)
                 .currency("USD")
@@ -204,43 +344,26 @@ public class TicketService {
                 .idempotencyKey(idempotencyKey).build();
        payment = paymentRepository.saveAndFlush(payment);
 
-        if (buyTicketRequest.getSeatInformation() == null || buyTicketRequest.getSeatInformation().isEmpty()) {
-            throw new IllegalArgumentException("seatInformation must be a non-empty array of seats");
-        }
-
-       int requestedSeatCount= buyTicketRequest.getSeatInformation().size();
-        int cinemaHallSeatCapacity = showtime.getHall().getSeatCapacity();
-        long takenSeats = ticketRepository.countByShowtime_IdAndStatusIn(showtime.getId(),List.of(TicketStatus.PAID,TicketStatus.RESERVED));
-
-        long remainingEmptySeats= (long) cinemaHallSeatCapacity-takenSeats;
-        if (remainingEmptySeats<=0){
-            throw new ConflictException("Cinema hall is already full for this showtime.");
-        }
-        if (remainingEmptySeats<requestedSeatCount){
-            throw new ConflictException("Only " + remainingEmptySeats + "seat  left for this showtime.");
-        }
-
-        // 4) Build tickets (one per seat) with status = PAID after checking availability
-
-
+        // Build tickets (one per seat) with status = PAID
         List<Ticket> createdTickets = new ArrayList<>();
-        for (BuyTicketRequest.SeatInfo seat : buyTicketRequest.getSeatInformation()) {
+        List<Ticket> convertedHolds = new ArrayList<>();
+        for (BuyTicketRequest.SeatInfo seat : seatInformation) {
             String seatLetter = seat.getSeatLetter();
             int seatNumber    = seat.getSeatNumber();
 
-            boolean taken = ticketRepository
-                    .existsByShowtime_IdAndSeatLetterAndSeatNumber(showtime.getId(), seatLetter, seatNumber);
-            if (taken) {
-                throw new ConflictException("Seat " + seatLetter + "-" + seatNumber + " is already reserved/paid");
+            Ticket ticket = heldByUser.remove(SeatLayout.label(seatLetter, seatNumber));
+            if (ticket != null) {
+                ticket.setHoldExpiresAt(null);
+                convertedHolds.add(ticket);
+            } else {
+                ticket = new Ticket();
+                ticket.setShowtime(showtime);
+                ticket.setUser(user);
+                ticket.setSeatLetter(seatLetter);
+                ticket.setSeatNumber(seatNumber);
+                ticket.setPrice(pricingService.priceOf(showtime, seatLetter, seatNumber));
             }
-
-            Ticket ticket = new Ticket();
-            ticket.setShowtime(showtime);
-            ticket.setUser(user);
-            ticket.setSeatLetter(seatLetter);
-            ticket.setSeatNumber(seatNumber);
             ticket.setStatus(TicketStatus.PAID);
-            ticket.setPrice(9.99);
             ticket.setPayment(payment);
 
             createdTickets.add(ticket);
@@ -254,24 +377,65 @@ public class TicketService {
             payment.setPaymentStatus(PaymentStatus.SUCCESS);
             payment.setProviderReference("MasterCard(We can change later) "+ payment.getId());
             paymentRepository.save(payment);
+            seatHoldService.forget(convertedHolds);
 
-
-            // Send email after successful purchase (best-effort; don't fail purchase on email errors)
-            try {
-                String to = user.getEmail(); // ensure User has an email field
-                if (to != null && !to.isBlank()) {
-                    mailHelper.sendPurchaseReceipt(to, payment, saved);
-                }
-            } catch (Exception mailEx) {
-                // Log-only; do not interrupt the successful purchase flow
-                System.err.println("Email send failed: " + mailEx.getMessage());
+            // Rendered here while the tickets are attached; mailed after commit, off the booking lane
+            String to = user.getEmail();
+            if (to != null && !to.isBlank()) {
+                eventPublisher.publishEvent(mailHelper.purchaseReceipt(to, payment, saved));
             }
 
             return paymentMapper.mapPaymentToPaymentResponse(payment,saved);
         } catch (DataIntegrityViolationException ex){
+            // Another node got there first: drop the cached state so it is reloaded from the DB
+            seatInventoryService.evict(showtime.getId());
             throw new ConflictException("One or more seats are already reserved/paid");
+        } catch (OptimisticLockingFailureException ex) {
+            // A converted hold's row was removed concurrently (StaleStateException on flush)
+            seatInventoryService.evict(showtime.getId());
+            throw new ConflictException("Your hold on one or more seats has expired");
+        }
+
+
+    }
+
+    private Showtime findShowtimeById(Long showtimeId) {
+        return showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        String.format(ErrorMessages.SHOWTIME_NOT_FOUND_ID, showtimeId)));
+    }
+
+    /**
+     * Resolves a showtime by its natural key. A cached id is used when present (primary-key lookup),
+     * and is re-checked against the loaded showtime so renamed movies/halls/cinemas never match stale keys.
+     */
+    private Optional<Showtime> resolveShowtimeByFields(String movieName, String hall, String cinema,
+                                                       LocalDate date, LocalTime startTime) {
+        Optional<Long> cachedId = showtimeKeyCache.get(movieName, hall, cinema, date, startTime);
+        if (cachedId.isPresent()) {
+            Optional<Showtime> cached = showtimeRepository.findById(cachedId.get())
+                    .filter(st -> matches(st, movieName, hall, cinema, date, startTime));
+            if (cached.isPresent()) {
+                return cached;
+            }
+            showtimeKeyCache.invalidate(cachedId.get());
         }
 
+        Optional<Showtime> showtime = showtimeRepository
+                .findByMovie_TitleIgnoreCaseAndHall_NameIgnoreCaseAndHall_Cinema_NameIgnoreCaseAndDateAndStartTime(
+                        movieName, hall, cinema, date, startTime
+                );
+        showtime.ifPresent(st -> showtimeKeyCache.put(movieName, hall, cinema, date, startTime, st.getId()));
+        return showtime;
+    }
 
+    private static boolean matches(Showtime st, String movieName, String hall, String cinema,
+                                   LocalDate date, LocalTime startTime) {
+        return st.getMovie() != null && ShowtimeKeyCache.sameName(st.getMovie().getTitle(), movieName)
+                && st.getHall() != null && ShowtimeKeyCache.sameName(st.getHall().getName(), hall)
+                && st.getHall().getCinema() != null
+                && ShowtimeKeyCache.sameName(st.getHall().getCinema().getName(), cinema)
+                && st.getDate().equals(date)
+                && st.getStartTime().equals(startTime);
     }
 }
@@ -0,0 +1,155 @@
+package com.cinetime.service.catalog;
+
+import com.cinetime.service.timetable.ShowtimeChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, expiring cache of public movie catalog responses (single movies, listings, genre list).
+ * <p>
+ * Holds about {@code cinetime.movie.catalog-cache.max-size} entries, each for at most
+ * {@code cinetime.movie.catalog-cache.ttl-seconds}. Hits only read a concurrent map and stamp the entry; once
+ * the map grows past the bound, the least recently used tenth is dropped in one pass. Every entry remembers
+ * which movies it contains, so a {@link MovieChangedEvent} only drops the entries of that movie, plus the
+ * listings when the movie may have entered or left one. {@link ShowtimeChangedEvent} drops the in-theaters
+ * listings, which depend on showtimes. Invalidation runs after commit; a load that overlapped an invalidation
+ * is returned but not stored.
+ */
+@Component
+public class MovieCatalogCache {
+
+    public enum Region { MOVIE, IN_THEATERS, COMING_SOON, GENRES }
+
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    // orders accesses for eviction; the clock is too coarse (and fixed in tests)
+    private final AtomicLong accessClock = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public MovieCatalogCache(@Value("${cinetime.movie.catalog-cache.max-size:1000}") int maxSize,
+                             @Value("${cinetime.movie.catalog-cache.ttl-seconds:300}") long ttlSeconds) {
+        this(maxSize, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    MovieCatalogCache(int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Cached value for {@code key}, or the result of {@code loader}. Values for which {@code movieIds} returns
+     * {@code null} are not cached (e.g. not-found responses).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Region region, String key, Supplier<T> loader, Function<T, Set<Long>> movieIds) {
+        String fullKey = region + ":" + key;
+        Entry entry = entries.get(fullKey);
+        if (entry != null) {
+            if (entry.expiresAt.isAfter(clock.instant())) {
+                entry.lastAccess = accessClock.incrementAndGet();
+                hits.increment();
+                return (T) entry.value;
+            }
+            if (entries.remove(fullKey, entry)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        long seen = generation.get();
+
+        T value = loader.get();
+        Set<Long> ids = movieIds.apply(value);
+        if (ids != null && generation.get() == seen) {
+            Entry loaded = new Entry(region, value, Set.copyOf(ids), clock.instant().plus(ttl));
+            loaded.lastAccess = accessClock.incrementAndGet();
+            entries.put(fullKey, loaded);
+            // an invalidation that ran between the check and the put may have missed the new entry
+            if (generation.get() != seen) {
+                entries.remove(fullKey, loaded);
+            } else if (entries.size() > maxSize) {
+                trim();
+            }
+        }
+        return value;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        generation.incrementAndGet();
+        entries.values().removeIf(entry -> entry.movieIds.contains(event.movieId())
+                || (event.listingsChanged() && entry.region != Region.MOVIE));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowtimeChanged(ShowtimeChangedEvent event) {
+        generation.incrementAndGet();
+        entries.values().removeIf(entry -> entry.region == Region.IN_THEATERS);
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public Stats stats() {
+        long hitCount = hits.sum();
+        long requests = hitCount + misses.sum();
+        return new Stats(entries.size(), hitCount, misses.sum(), evictions.sum(),
+                requests == 0 ? 0.0 : (double) hitCount / requests);
+    }
+
+    // only the writer that crossed the bound waits here; hits never take the lock
+    private synchronized void trim() {
+        int excess = entries.size() - maxSize;
+        if (excess <= 0) return;
+        int drop = Math.max(excess, maxSize / 10);
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                .limit(drop)
+                .toList()
+                .forEach(e -> {
+                    if (entries.remove(e.getKey(), e.getValue())) evictions.increment();
+                });
+    }
+
+    private static final class Entry {
+
+        private final Region region;
+        private final Object value;
+        private final Set<Long> movieIds;
+        private final Instant expiresAt;
+        private volatile long lastAccess;
+
+        Entry(Region region, Object value, Set<Long> movieIds, Instant expiresAt) {
+            this.region = region;
+            this.value = value;
+            this.movieIds = movieIds;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public record Stats(int size, long hits, long misses, long evictions, double hitRatio) {
+    }
+}
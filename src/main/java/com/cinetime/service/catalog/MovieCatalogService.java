@@ -0,0 +1,77 @@
+package com.cinetime.service.catalog;
+
+import com.cinetime.payload.response.business.MovieResponse;
+import com.cinetime.payload.response.business.ResponseMessage;
+import com.cinetime.service.business.MovieService;
+import com.cinetime.service.catalog.MovieCatalogCache.Region;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through front of {@link MovieService} for the anonymous catalog endpoints (M04, M05, M09, M10 and the
+ * genre list). Only successful responses are cached; errors and not-found answers always reach the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class MovieCatalogService {
+
+    private final MovieService movieService;
+    private final MovieCatalogCache movieCatalogCache;
+
+    public ResponseMessage<Page<MovieResponse>> getMoviesInTheaters(LocalDate date, Pageable pageable) {
+        return movieCatalogCache.get(Region.IN_THEATERS, date + "|" + pageKey(pageable),
+                () -> movieService.getMoviesInTheaters(date, pageable), MovieCatalogService::pageMovieIds);
+    }
+
+    public ResponseMessage<Page<MovieResponse>> getComingSoonMovies(LocalDate date, Pageable pageable) {
+        return movieCatalogCache.get(Region.COMING_SOON, date + "|" + pageKey(pageable),
+                () -> movieService.getComingSoonMovies(date, pageable), MovieCatalogService::pageMovieIds);
+    }
+
+    public ResponseMessage<MovieResponse> getMovieById(Long movieId) {
+        return movieCatalogCache.get(Region.MOVIE, "id|" + movieId,
+                () -> movieService.getMovieById(movieId), MovieCatalogService::movieId);
+    }
+
+    public ResponseMessage<MovieResponse> getMovieBySlug(String slug) {
+        return movieCatalogCache.get(Region.MOVIE, "slug|" + slug.toLowerCase(Locale.ROOT),
+                () -> movieService.getMovieBySlug(slug), MovieCatalogService::movieId);
+    }
+
+    public ResponseMessage<List<String>> getGenres() {
+        return movieCatalogCache.get(Region.GENRES, "all",
+                movieService::getGenres, response -> Set.of());
+    }
+
+    public ResponseMessage<MovieCatalogCache.Stats> getStats() {
+        return ResponseMessage.<MovieCatalogCache.Stats>builder()
+                .httpStatus(HttpStatus.OK)
+                .returnBody(movieCatalogCache.stats())
+                .build();
+    }
+
+    private static String pageKey(Pageable pageable) {
+        return pageable.getPageNumber() + "|" + pageable.getPageSize() + "|" + pageable.getSort();
+    }
+
+    private static Set<Long> pageMovieIds(ResponseMessage<Page<MovieResponse>> response) {
+        if (response.getHttpStatus() != HttpStatus.OK || response.getReturnBody() == null) return null;
+        return response.getReturnBody().getContent().stream()
+                .map(MovieResponse::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<Long> movieId(ResponseMessage<MovieResponse> response) {
+        if (response.getHttpStatus() != HttpStatus.OK || response.getReturnBody() == null) return null;
+        return Set.of(response.getReturnBody().getId());
+    }
+}
@@ -0,0 +1,25 @@
+package com.cinetime.service.catalog;
+
+/**
+ * Published when a movie or one of its images changes, so {@link MovieCatalogCache} can drop what depends on it
+ * and the search index can re-read the movie.
+ *
+ * @param movieId        the affected movie
+ * @param listingsChanged {@code true} when the change can move the movie into or out of a listing
+ *                       (created, deleted, status, dates, genres); {@code false} for image-only changes
+ * @param deleted        {@code true} when the movie no longer exists, so listeners need not read it again
+ */
+public record MovieChangedEvent(Long movieId, boolean listingsChanged, boolean deleted) {
+
+    public static MovieChangedEvent saved(Long movieId) {
+        return new MovieChangedEvent(movieId, true, false);
+    }
+
+    public static MovieChangedEvent deleted(Long movieId) {
+        return new MovieChangedEvent(movieId, true, true);
+    }
+
+    public static MovieChangedEvent imagesChanged(Long movieId) {
+        return new MovieChangedEvent(movieId, false, false);
+    }
+}
@@ -0,0 +1,119 @@
+package com.cinetime.service.feed;
+
+import com.cinetime.exception.BadRequestException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header line: comma separated, {@code "} quoting with {@code ""} escapes, quoted
+ * fields may span lines. A record longer than {@link #MAX_RECORD_CHARS} is skipped up to its end and
+ * reported as a broken row; only an oversized header stops the import.
+ */
+class CsvFeedReader extends FeedReader {
+
+    private List<String> header;
+    private long line;
+    // set by readRecord when the record it just consumed was too long to keep
+    private boolean tooLong;
+
+    CsvFeedReader(InputStream stream) {
+        super(stream);
+    }
+
+    @Override
+    protected FeedRow readNext() throws IOException {
+        if (header == null) {
+            List<String> names = readRecord();
+            if (names == null) return null;
+            if (tooLong) throw new BadRequestException("Header line is too long");
+            header = names.stream().map(n -> n.trim().toLowerCase(Locale.ROOT)).toList();
+        }
+
+        List<String> fields;
+        long start;
+        do {
+            start = line + 1;
+            fields = readRecord();
+            if (fields == null) return null;
+        } while (!tooLong && fields.size() == 1 && fields.get(0).isBlank());
+
+        if (tooLong) {
+            return FeedRow.broken(start, "Record is longer than " + MAX_RECORD_CHARS + " characters");
+        }
+        if (fields.size() != header.size()) {
+            return FeedRow.broken(start, "Expected " + header.size() + " columns but found " + fields.size());
+        }
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            values.put(header.get(i), fields.get(i));
+        }
+        return new FeedRow(start, values, null);
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        // characters seen in the current field, also once it is no longer buffered
+        int fieldLength = 0;
+        boolean quoted = false;
+        boolean any = false;
+        int length = 0;
+        tooLong = false;
+
+        int c;
+        while ((c = in.read()) != -1) {
+            any = true;
+            if (++length > MAX_RECORD_CHARS && !tooLong) {
+                // keep scanning for the record's end (quotes still count) but stop buffering it
+                tooLong = true;
+                fields.clear();
+                field.setLength(0);
+            }
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    in.mark(1);
+                    int peek = in.read();
+                    if (peek == '"') {
+                        append(field, '"');
+                        fieldLength++;
+                    } else {
+                        quoted = false;
+                        if (peek != -1) in.reset();
+                    }
+                } else {
+                    if (ch == '\n') line++;
+                    append(field, ch);
+                    fieldLength++;
+                }
+            } else if (ch == '"' && fieldLength == 0) {
+                quoted = true;
+            } else if (ch == ',') {
+                if (!tooLong) fields.add(field.toString());
+                field.setLength(0);
+                fieldLength = 0;
+            } else if (ch == '\n') {
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (ch != '\r') {
+                append(field, ch);
+                fieldLength++;
+            }
+        }
+        if (!any) return null;
+        line++;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void append(StringBuilder field, char ch) {
+        if (!tooLong) field.append(ch);
+    }
+}
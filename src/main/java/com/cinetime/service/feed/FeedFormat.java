@@ -0,0 +1,31 @@
+package com.cinetime.service.feed;
+
+import com.cinetime.exception.BadRequestException;
+
+import java.util.Locale;
+
+public enum FeedFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    FeedFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static FeedFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String type = contentType.toLowerCase(Locale.ROOT);
+            for (FeedFormat format : values()) {
+                if (type.startsWith(format.mediaType)) return format;
+            }
+        }
+        throw new BadRequestException("Unsupported import content type: " + contentType
+                + " (use text/csv or application/x-ndjson)");
+    }
+}
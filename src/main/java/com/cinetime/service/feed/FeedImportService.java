@@ -0,0 +1,376 @@
+package com.cinetime.service.feed;
+
+import com.cinetime.entity.business.Hall;
+import com.cinetime.entity.business.Movie;
+import com.cinetime.entity.business.Showtime;
+import com.cinetime.entity.enums.MovieStatus;
+import com.cinetime.exception.BadRequestException;
+import com.cinetime.payload.mappers.MovieMapper;
+import com.cinetime.payload.messages.ErrorMessages;
+import com.cinetime.payload.messages.SuccessMessages;
+import com.cinetime.payload.request.business.MovieRequest;
+import com.cinetime.payload.request.business.ShowtimeRequest;
+import com.cinetime.payload.response.business.ImportReportResponse;
+import com.cinetime.payload.response.business.ResponseMessage;
+import com.cinetime.repository.business.HallRepository;
+import com.cinetime.repository.business.MovieRepository;
+import com.cinetime.repository.business.ShowtimeRepository;
+import com.cinetime.service.catalog.MovieChangedEvent;
+import com.cinetime.service.helper.MovieServiceHelper;
+import com.cinetime.service.schedule.HallScheduleIndex;
+import com.cinetime.service.timetable.ShowtimeChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming import of distributor feeds (CSV or NDJSON) for movies and showtimes.
+ * <p>
+ * The upload is read one record at a time. Records are parsed and validated with the same bean validation
+ * rules as the single-entity endpoints, collected into chunks of {@code cinetime.import.chunk-size}, and every
+ * chunk is written in its own transaction, so neither the persistence context nor the pending rows grow with
+ * the file. Hall and movie references are resolved through a bounded per-import cache. Problems are reported
+ * per row; a chunk that fails to commit reports all of its rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedImportService {
+
+    private static final int MAX_LENGTH_FOR_SLUG = 50;   // same limit as MovieService
+    private static final int MAX_CACHED_REFERENCES = 10_000;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+    private final ShowtimeRepository showtimeRepository;
+    private final MovieRepository movieRepository;
+    private final HallRepository hallRepository;
+    private final HallScheduleIndex hallScheduleIndex;
+    private final MovieMapper movieMapper;
+    private final MovieServiceHelper movieServiceHelper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${cinetime.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${cinetime.import.max-reported-errors:200}")
+    private int maxReportedErrors;
+
+    /** Rejects a single row with a message for the report. */
+    static class RowException extends RuntimeException {
+        RowException(String message) {
+            super(message);
+        }
+    }
+
+    private record Parsed<T>(long line, T item) {
+    }
+
+    private record MovieRef(Long id, Integer duration) {
+    }
+
+    /**
+     * Writes one chunk inside a transaction, throwing {@link RowException} for rows it rejects.
+     */
+    private interface RowWriter<T> {
+        void write(T item);
+    }
+
+    // -------------------- SHOWTIMES --------------------
+
+    /**
+     * Columns: {@code date, startTime, endTime} (endTime optional, defaults to start + movie duration),
+     * {@code hallId} or {@code cinema + hall}, {@code movieId} or {@code movieSlug} or {@code movieTitle}.
+     */
+    public ResponseMessage<ImportReportResponse> importShowtimes(InputStream stream, FeedFormat format) {
+        Map<String, Optional<Long>> halls = lruCache();
+        Map<String, Optional<MovieRef>> movies = lruCache();
+
+        return run(stream, format,
+                row -> parseShowtime(row, halls, movies),
+                this::writeShowtime);
+    }
+
+    private ShowtimeRequest parseShowtime(FeedRow row,
+                                          Map<String, Optional<Long>> halls,
+                                          Map<String, Optional<MovieRef>> movies) {
+        MovieRef movie = resolveMovie(row, movies);
+        Long hallId = resolveHall(row, halls);
+        LocalDate date = parse(row, "date", LocalDate::parse);
+        LocalTime startTime = parse(row, "startTime", LocalTime::parse);
+        LocalTime endTime = row.text("endTime") != null
+                ? parse(row, "endTime", LocalTime::parse)
+                : (startTime == null || movie.duration() == null ? null : startTime.plusMinutes(movie.duration()));
+
+        ShowtimeRequest request = ShowtimeRequest.builder()
+                .date(date)
+                .startTime(startTime)
+                .endTime(endTime)
+                .hallId(hallId)
+                .movieId(movie.id())
+                .build();
+        validate(request);
+        return request;
+    }
+
+    private void writeShowtime(ShowtimeRequest request) {
+        LocalDateTime startsAt = request.getDate().atTime(request.getStartTime());
+        LocalDateTime endsAt = request.getDate().atTime(request.getEndTime());
+        if (!hallScheduleIndex.isFree(request.getHallId(), startsAt, endsAt)) {
+            throw new RowException("Hall is already taken at " + startsAt + " (including cleaning time)");
+        }
+
+        Hall hall = hallRepository.getReferenceById(request.getHallId());
+        Movie movie = movieRepository.getReferenceById(request.getMovieId());
+        Showtime showtime = showtimeRepository.save(Showtime.builder()
+                .date(request.getDate())
+                .startTime(request.getStartTime())
+                .endTime(request.getEndTime())
+                .hall(hall)
+                .movie(movie)
+                .build());
+        hallScheduleIndex.claim(showtime, null);
+        eventPublisher.publishEvent(ShowtimeChangedEvent.of(showtime));
+    }
+
+    private MovieRef resolveMovie(FeedRow row, Map<String, Optional<MovieRef>> cache) {
+        String id = row.text("movieId");
+        String slug = row.text("movieSlug");
+        String title = row.text("movieTitle");
+
+        String key;
+        Function<String, Optional<MovieRef>> lookup;
+        if (id != null) {
+            Long movieId = parse(row, "movieId", Long::valueOf);
+            key = "id:" + movieId;
+            lookup = k -> movieRepository.findById(movieId).map(m -> new MovieRef(m.getId(), m.getDuration()));
+        } else if (slug != null) {
+            key = "slug:" + slug.toLowerCase(Locale.ROOT);
+            lookup = k -> movieRepository.findBySlugIgnoreCase(slug).map(m -> new MovieRef(m.getId(), m.getDuration()));
+        } else if (title != null) {
+            key = "title:" + title.toLowerCase(Locale.ROOT);
+            lookup = k -> movieRepository.findFirstByTitleIgnoreCase(title).map(m -> new MovieRef(m.getId(), m.getDuration()));
+        } else {
+            throw new RowException("One of movieId, movieSlug or movieTitle is required");
+        }
+        return cache.computeIfAbsent(key, lookup)
+                .orElseThrow(() -> new RowException("Movie not found: " + key));
+    }
+
+    private Long resolveHall(FeedRow row, Map<String, Optional<Long>> cache) {
+        String id = row.text("hallId");
+        if (id != null) {
+            Long hallId = parse(row, "hallId", Long::valueOf);
+            return cache.computeIfAbsent("id:" + hallId,
+                            k -> hallRepository.existsById(hallId) ? Optional.of(hallId) : Optional.empty())
+                    .orElseThrow(() -> new RowException(String.format(ErrorMessages.HALL_NOT_FOUND_ID, hallId)));
+        }
+
+        String cinema = row.text("cinema");
+        String hall = row.text("hall");
+        if (cinema == null || hall == null) {
+            throw new RowException("Either hallId or both cinema and hall are required");
+        }
+        String key = (cinema + "|" + hall).toLowerCase(Locale.ROOT);
+        return cache.computeIfAbsent(key, k -> hallRepository.findIdByCinemaNameAndHallName(cinema, hall))
+                .orElseThrow(() -> new RowException("Hall '" + hall + "' not found in cinema '" + cinema + "'"));
+    }
+
+    // -------------------- MOVIES --------------------
+
+    /**
+     * Columns as in {@link MovieRequest}; {@code cast}, {@code formats} and {@code genre} are lists.
+     * Cinema and image relations are not part of the feed.
+     */
+    public ResponseMessage<ImportReportResponse> importMovies(InputStream stream, FeedFormat format) {
+        return run(stream, format, this::parseMovie, this::writeMovie);
+    }
+
+    private MovieRequest parseMovie(FeedRow row) {
+        String status = row.text("status");
+        MovieStatus movieStatus = null;
+        if (status != null) {
+            try {
+                movieStatus = MovieStatus.valueOf(status.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new RowException(String.format(ErrorMessages.INVALID_STATUS, status));
+            }
+        }
+
+        MovieRequest request = MovieRequest.builder()
+                .title(row.text("title"))
+                .slug(row.text("slug"))
+                .summary(row.text("summary"))
+                .releaseDate(parse(row, "releaseDate", LocalDate::parse))
+                .duration(parse(row, "duration", Integer::valueOf))
+                .rating(parse(row, "rating", Double::valueOf))
+                .specialHalls(row.text("specialHalls"))
+                .director(row.text("director"))
+                .cast(row.list("cast"))
+                .formats(row.list("formats"))
+                .genre(row.list("genre"))
+                .status(movieStatus)
+                .posterUrl(row.text("posterUrl"))
+                .trailerUrl(row.text("trailerUrl"))
+                .build();
+        validate(request);
+        return request;
+    }
+
+    private void writeMovie(MovieRequest request) {
+        // Queries flush the chunk so far, so duplicates inside the same file are caught as well
+        if (movieRepository.existsByTitleIgnoreCase(request.getTitle())) {
+            throw new RowException(ErrorMessages.MOVIE_ALREADY_EXISTS);
+        }
+        Movie movie = movieMapper.mapMovieRequestToMovie(request);
+        movie.setSlug(movieServiceHelper.generateUniqueSlug(
+                request.getTitle(), request.getSlug(), MAX_LENGTH_FOR_SLUG, null));
+        Movie saved = movieRepository.save(movie);
+        eventPublisher.publishEvent(MovieChangedEvent.saved(saved.getId()));
+    }
+
+    // -------------------- PIPELINE --------------------
+
+    private <T> ResponseMessage<ImportReportResponse> run(InputStream stream, FeedFormat format,
+                                                          Function<FeedRow, T> parser, RowWriter<T> writer) {
+        Report report = new Report(maxReportedErrors);
+        List<Parsed<T>> chunk = new ArrayList<>(chunkSize);
+
+        try (FeedReader reader = FeedReader.open(format, stream, objectMapper)) {
+            while (reader.hasNext()) {
+                FeedRow row = reader.next();
+                report.processed++;
+                if (row.error() != null) {
+                    report.fail(row.line(), row.error());
+                    continue;
+                }
+                try {
+                    chunk.add(new Parsed<>(row.line(), parser.apply(row)));
+                } catch (RowException ex) {
+                    report.fail(row.line(), ex.getMessage());
+                }
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, writer, report);
+                }
+            }
+            flush(chunk, writer, report);
+        } catch (IOException | UncheckedIOException ex) {
+            log.warn("Import aborted after {} rows: {}", report.processed, ex.getMessage());
+            throw new BadRequestException(ErrorMessages.IMPORT_UNREADABLE);
+        }
+
+        ImportReportResponse body = report.toResponse();
+        return ResponseMessage.<ImportReportResponse>builder()
+                .httpStatus(HttpStatus.OK)
+                .message(String.format(SuccessMessages.IMPORT_FINISHED, body.getImported(), body.getProcessed()))
+                .returnBody(body)
+                .build();
+    }
+
+    private <T> void flush(List<Parsed<T>> chunk, RowWriter<T> writer, Report report) {
+        if (chunk.isEmpty()) return;
+
+        List<ImportReportResponse.ImportRowError> rejected = new ArrayList<>();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                for (Parsed<T> parsed : chunk) {
+                    try {
+                        writer.write(parsed.item());
+                    } catch (RowException ex) {
+                        rejected.add(new ImportReportResponse.ImportRowError(parsed.line(), ex.getMessage()));
+                    }
+                }
+            });
+            report.imported += chunk.size() - rejected.size();
+            rejected.forEach(e -> report.fail(e.getLine(), e.getMessage()));
+        } catch (RuntimeException ex) {
+            // The whole chunk rolled back; every row in it is reported
+            String message = "Chunk rolled back: " + ex.getMessage();
+            chunk.forEach(p -> report.fail(p.line(), message));
+        }
+        chunk.clear();
+    }
+
+    private void validate(Object request) {
+        Set<? extends ConstraintViolation<?>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new RowException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static <V> V parse(FeedRow row, String field, Function<String, V> parser) {
+        String text = row.text(field);
+        if (text == null) return null;
+        try {
+            return parser.apply(text);
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new RowException("Invalid " + field + ": " + text);
+        }
+    }
+
+    private static <V> Map<String, V> lruCache() {
+        return new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > MAX_CACHED_REFERENCES;
+            }
+        };
+    }
+
+    /** Counters plus the first {@code maxErrors} row errors. */
+    private static final class Report {
+        private final int maxErrors;
+        private final List<ImportReportResponse.ImportRowError> errors = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long failed;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) errors.add(new ImportReportResponse.ImportRowError(line, message));
+        }
+
+        ImportReportResponse toResponse() {
+            return ImportReportResponse.builder()
+                    .processed(processed)
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.cinetime.service.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Pulls one {@link FeedRow} at a time from an upload stream; only the current record is held in memory.
+ */
+public abstract class FeedReader implements Iterator<FeedRow>, Closeable {
+
+    // Guards memory against a runaway quoted field or a missing line break
+    static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    protected final BufferedReader in;
+    private FeedRow next;
+
+    protected FeedReader(InputStream stream) {
+        this.in = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+    }
+
+    public static FeedReader open(FeedFormat format, InputStream stream, ObjectMapper objectMapper) {
+        return switch (format) {
+            case CSV -> new CsvFeedReader(stream);
+            case NDJSON -> new NdjsonFeedReader(stream, objectMapper);
+        };
+    }
+
+    /** Next record, or {@code null} at the end of the stream. */
+    protected abstract FeedRow readNext() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = readNext();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public FeedRow next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        FeedRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,38 @@
+package com.cinetime.service.feed;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One record of an import feed. Field names are case-insensitive; values are strings or, for NDJSON
+ * arrays, lists of strings. In CSV, list fields are separated with {@code |}.
+ *
+ * @param line  line the record starts on, for error reporting
+ * @param error set when the record itself could not be parsed
+ */
+public record FeedRow(long line, Map<String, Object> values, String error) {
+
+    static FeedRow broken(long line, String error) {
+        return new FeedRow(line, Map.of(), error);
+    }
+
+    public String text(String field) {
+        Object value = values.get(field.toLowerCase(Locale.ROOT));
+        if (value == null) return null;
+        String text = value instanceof List<?> list
+                ? String.join("|", list.stream().map(String::valueOf).toList())
+                : value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    public List<String> list(String field) {
+        Object value = values.get(field.toLowerCase(Locale.ROOT));
+        if (value == null) return null;
+        List<String> items = value instanceof List<?> list
+                ? list.stream().map(String::valueOf).toList()
+                : Arrays.asList(value.toString().split("\\|"));
+        return items.stream().map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,86 @@
+package com.cinetime.service.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Newline-delimited JSON: one object per line, blank lines ignored. A malformed line becomes a
+ * broken row instead of ending the import; so does a line longer than {@link #MAX_RECORD_CHARS}, which is
+ * skipped up to its end without being buffered.
+ */
+class NdjsonFeedReader extends FeedReader {
+
+    private final ObjectMapper objectMapper;
+    private long line;
+    // set by readLine when the line it just consumed was too long to keep
+    private boolean tooLong;
+
+    NdjsonFeedReader(InputStream stream, ObjectMapper objectMapper) {
+        super(stream);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected FeedRow readNext() throws IOException {
+        String text;
+        do {
+            text = readLine();
+            if (text == null) return null;
+            line++;
+        } while (!tooLong && text.isBlank());
+
+        if (tooLong) {
+            return FeedRow.broken(line, "Line is longer than " + MAX_RECORD_CHARS + " characters");
+        }
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException ex) {
+            return FeedRow.broken(line, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            return FeedRow.broken(line, "Expected a JSON object");
+        }
+
+        Map<String, Object> values = new HashMap<>();
+        node.properties().forEach(e -> {
+            JsonNode value = e.getValue();
+            if (value.isNull()) return;
+            if (value.isArray()) {
+                List<String> items = new ArrayList<>();
+                value.forEach(item -> items.add(item.asText()));
+                values.put(e.getKey().toLowerCase(Locale.ROOT), items);
+            } else {
+                values.put(e.getKey().toLowerCase(Locale.ROOT), value.asText());
+            }
+        });
+        return new FeedRow(line, values, null);
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder text = new StringBuilder();
+        int length = 0;
+        tooLong = false;
+
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\n') return text.toString();
+            if (++length > MAX_RECORD_CHARS && !tooLong) {
+                // keep scanning for the line break but stop buffering
+                tooLong = true;
+                text.setLength(0);
+            }
+            if (!tooLong && c != '\r') text.append((char) c);
+        }
+        return length == 0 ? null : text.toString();
+    }
+}
@@ -8,7 +8,6 @@ import com.cinetime.repository.business.CityRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.text.Normalizer;
 import java.util.Locale;
 
 @Component
@@ -17,6 +16,9 @@ public class CinemasHelper {
 
     private final CityRepository cityRepository;
     private final CinemaRepository cinemaRepository;
+    private final SlugAllocator slugAllocator;
+
+    private static final int SLUG_MAX_LENGTH = 50;
 
     /* cityId >0  */
     public void validateCityIfProvided(Long cityId) {
@@ -42,26 +44,18 @@ public class CinemasHelper {
         return null;
     }
     public String ensureUniqueSlug(String base) {
-        String candidate = base;
-        int i = 2;
-        while (cinemaRepository.existsBySlugIgnoreCase(candidate)) {
-            candidate = base + "-" + i;
-            i++;
-        }
-        return candidate;
+        return ensureUniqueSlug(base, null);
+    }
+
+    /** Unique cinema slug for {@code base}, ignoring the slug of cinema {@code currentCinemaId} (update). */
+    public String ensureUniqueSlug(String base, Long currentCinemaId) {
+        return slugAllocator.allocate(base, SLUG_MAX_LENGTH,
+                prefix -> cinemaRepository.findSlugsStartingWith(prefix, currentCinemaId));
     }
 
 
     public String slugify(String input) {
-        String n = Normalizer.normalize(input, Normalizer.Form.NFD)
-                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
-        n = n.toLowerCase()
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .replaceAll("-{2,}", "-")
-                .replaceAll("^-|-$", "");
         // Entity'de slug length=50, buna saygı:
-        return n.length() > 50 ? n.substring(0, 50).replaceAll("-+$", "") : n;
+        return SlugAllocator.slugify(input, SLUG_MAX_LENGTH);
     }
 }
-
@@ -4,7 +4,8 @@ import com.cinetime.entity.business.Payment;
 import com.cinetime.entity.business.Showtime;
 import com.cinetime.entity.business.Ticket;
 import com.cinetime.payload.messages.ErrorMessages;
-import com.cinetime.service.mail.MailService;
+import com.cinetime.service.mail.PurchaseReceiptEvent;
+import com.cinetime.service.mail.PurchaseReceiptMailer;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,7 +18,6 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class MailHelper {
-    private final MailService mailService;
     private final JavaMailSender mailSender;
 
     @Value("${app.mail.from}")           private String mailFrom;
@@ -45,9 +45,10 @@ public class MailHelper {
 
 
     /**
-     * Sends a purchase confirmation email with payment details and ticket list.
+     * Renders the purchase confirmation email with payment details and ticket list. It is built while the
+     * tickets are still attached and sent by {@link PurchaseReceiptMailer} once the purchase has committed.
      */
-    public void sendPurchaseReceipt(String to, Payment payment, java.util.List<Ticket> tickets) {
+    public PurchaseReceiptEvent purchaseReceipt(String to, Payment payment, java.util.List<Ticket> tickets) {
         String subject = "CineTime - Payment Confirmation #" + payment.getId();
 
         StringBuilder html = new StringBuilder();
@@ -83,7 +84,6 @@ public class MailHelper {
         }
         html.append("</ol>");
 
-        // sendHtml() already falls back to stripHtml(html) when plainTextBody is null
-        mailService.sendHtml(to, subject, html.toString(), null);
+        return new PurchaseReceiptEvent(to, subject, html.toString());
     }
 }
@@ -2,7 +2,6 @@ package com.cinetime.service.helper;
 
 
 import com.cinetime.entity.business.Movie;
-import com.cinetime.entity.business.Showtime;
 import com.cinetime.entity.enums.MovieStatus;
 import com.cinetime.payload.mappers.MovieMapper;
 import com.cinetime.payload.messages.ErrorMessages;
@@ -10,14 +9,12 @@ import com.cinetime.payload.messages.SuccessMessages;
 import com.cinetime.payload.response.business.MovieResponse;
 import com.cinetime.payload.response.business.ResponseMessage;
 import com.cinetime.repository.business.MovieRepository;
-import com.cinetime.repository.business.ShowtimeRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
-import java.text.Normalizer;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
@@ -25,25 +22,24 @@ import java.time.LocalTime;
 @RequiredArgsConstructor
 public class MovieServiceHelper {
 
-    private final ShowtimeRepository showtimeRepository;
     private final MovieMapper movieMapper;
     private final MovieRepository movieRepository;
+    private final SlugAllocator slugAllocator;
 
 
     public ResponseMessage<Page<MovieResponse>> getMoviesByDate(LocalDate date, Pageable pageable) {
-        Page<Showtime> showtimes;
+        Page<Movie> movies;
         if (date.isBefore(LocalDate.now())) {
-            showtimes = showtimeRepository.findByDateAndStartTimeAfter(LocalDate.now(), LocalTime.now(), pageable);
+            movies = movieRepository.findShowingOn(LocalDate.now(), LocalTime.now(), pageable);
         } else {
-            showtimes = showtimeRepository.findByDate(date, pageable);
+            movies = movieRepository.findShowingOn(date, LocalTime.MIN, pageable);
         }
-        if (showtimes.isEmpty()) {
+        if (movies.isEmpty()) {
             return createResponseMessage(Page.empty(pageable),
                     ErrorMessages.MOVIES_NOT_FOUND_ON_DATE + " " + date, HttpStatus.OK);
         }
-        Page<MovieResponse> movies = showtimes.map(s -> movieMapper.mapMovieToMovieResponse(s.getMovie()));
         return createResponseMessage(
-                movies,
+                movieMapper.mapToResponsePage(movies),
                 SuccessMessages.MOVIES_FOUND_ON_DATE + " " + date,
                 HttpStatus.OK);
     }
@@ -142,65 +138,19 @@ public class MovieServiceHelper {
     /**
      * Ensures that the given slug is unique in the database.
      * <p>
-     * If the slug already exists, a numeric suffix (-2, -3, …) is appended
-     * until a unique slug is found.
+     * If the slug already exists, a numeric suffix (-2, -3, …) is appended;
+     * the taken slugs are read with one prefix query (see {@link SlugAllocator}).
      *
      * @param base initial slug candidate
      * @return unique slug string
      */
     public String ensureUniqueSlug(String base) {
-        String candidate = base;
-        int i = 2;
-        while (movieRepository.existsBySlugIgnoreCase(candidate)) {
-            candidate = base + "-" + i;
-            i++;
-        }
-        return candidate;
+        return ensureUniqueSlug(base, Integer.MAX_VALUE, null);
     }
 
-
-    /**
-     * Converts a string into a URL-friendly slug, limited to maxLength characters.
-     * Accents removed, lowercase, spaces to hyphens, special chars removed.
-     *
-     * @param input raw string to slugify
-     * @param maxLength maximum allowed length of the slug
-     * @return URL-safe slug
-     */
-    private String slugify(String input, int maxLength) {
-        String n = Normalizer.normalize(input, Normalizer.Form.NFD)
-                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
-        n = n.toLowerCase()
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .replaceAll("-{2,}", "-")
-                .replaceAll("^-|-$", "");
-        return n.length() > maxLength ? n.substring(0, maxLength).replaceAll("-+$", "") : n;
-    }
-
-    /**
-     * Ensures that the slug is unique in the database.
-     * Adds numeric suffix if needed, truncating to max length to avoid DB errors.
-     * Uses save-time exception handling for performance instead of repeated exists check.
-     *
-     * @param base initial slug candidate
-     * @param maxLength maximum allowed slug length
-     * @return unique slug
-     */
     private String ensureUniqueSlug(String base, int maxLength, Long currentMovieId) {
-        String candidate = slugify(base, maxLength);
-        int suffix = 2;
-
-        while (currentMovieId == null
-                ? movieRepository.existsBySlugIgnoreCase(candidate)
-                : movieRepository.existsBySlugIgnoreCaseAndIdNot(candidate, currentMovieId)) {
-
-            int allowedLength = maxLength - ("-" + suffix).length();
-            String truncatedBase = candidate.length() > allowedLength ? candidate.substring(0, allowedLength) : candidate;
-            candidate = truncatedBase + "-" + suffix;
-            suffix++;
-        }
-        return candidate;
+        return slugAllocator.allocate(base, maxLength,
+                prefix -> movieRepository.findSlugsStartingWith(prefix, currentMovieId));
     }
 
     /**
@@ -215,8 +165,8 @@ public class MovieServiceHelper {
      */
     public String generateUniqueSlug(String title, String requestedSlug, int maxLength, Long currentMovieId) {
         String baseSlug = (requestedSlug == null || requestedSlug.isBlank())
-                ? slugify(title, maxLength)
-                : slugify(requestedSlug, maxLength);
+                ? SlugAllocator.slugify(title, maxLength)
+                : SlugAllocator.slugify(requestedSlug, maxLength);
         return ensureUniqueSlug(baseSlug, maxLength, currentMovieId);
     }
 
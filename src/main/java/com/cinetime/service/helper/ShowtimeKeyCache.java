@@ -0,0 +1,87 @@
+package com.cinetime.service.helper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded LRU cache of showtime natural key (movie title, hall, cinema, date, start time) -> showtime id.
+ * <p>
+ * The legacy ticket endpoints identify a showtime by names; resolving those needs three
+ * case-insensitive joins. Once resolved, the id is remembered so later calls are a primary-key lookup.
+ * {@code ShowtimeService} invalidates entries when a showtime is updated or deleted.
+ */
+@Component
+public class ShowtimeKeyCache {
+
+    private final int maxSize;
+    private final LinkedHashMap<String, Long> idsByKey;
+    private final Map<Long, String> keysById = new HashMap<>();
+
+    public ShowtimeKeyCache(@Value("${cinetime.showtime.key-cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.idsByKey = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() > ShowtimeKeyCache.this.maxSize) {
+                    keysById.remove(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized Optional<Long> get(String movieTitle, String hallName, String cinemaName,
+                                           LocalDate date, LocalTime startTime) {
+        return Optional.ofNullable(idsByKey.get(key(movieTitle, hallName, cinemaName, date, startTime)));
+    }
+
+    public synchronized void put(String movieTitle, String hallName, String cinemaName,
+                                 LocalDate date, LocalTime startTime, Long showtimeId) {
+        String key = key(movieTitle, hallName, cinemaName, date, startTime);
+        String previousKey = keysById.put(showtimeId, key);
+        if (previousKey != null && !previousKey.equals(key)) {
+            idsByKey.remove(previousKey);
+        }
+        idsByKey.put(key, showtimeId);
+    }
+
+    public synchronized void invalidate(Long showtimeId) {
+        String key = keysById.remove(showtimeId);
+        if (key != null) {
+            idsByKey.remove(key);
+        }
+    }
+
+    public synchronized void clear() {
+        idsByKey.clear();
+        keysById.clear();
+    }
+
+    public synchronized int size() {
+        return idsByKey.size();
+    }
+
+    private static String key(String movieTitle, String hallName, String cinemaName,
+                              LocalDate date, LocalTime startTime) {
+        return normalize(movieTitle) + '\u0000' + normalize(hallName) + '\u0000' + normalize(cinemaName)
+                + '\u0000' + date + '\u0000' + startTime;
+    }
+
+    /** Whether two names fall on the same cache key; callers verifying a cached id must compare this way. */
+    public static boolean sameName(String a, String b) {
+        return normalize(a).equals(normalize(b));
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,113 @@
+package com.cinetime.service.helper;
+
+import com.cinetime.exception.ConflictException;
+import com.cinetime.payload.messages.ErrorMessages;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Slug generation shared by movies and cinemas.
+ * <p>
+ * {@link #allocate} reads every slug that could collide with one prefix query and picks the first free
+ * {@code base}, {@code base-2}, {@code base-3}, ... in memory. Two writers can still pick the same slug between
+ * that read and their insert; the unique constraint on the column catches it and {@link #retrying} runs the write
+ * again in a fresh transaction, so the next allocation sees the winner's row.
+ */
+@Slf4j
+@Component
+public class SlugAllocator {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    // longest "-k" suffix the prefix query covers; a base truncated for a suffix keeps at least this much
+    private static final int MAX_SUFFIX_LENGTH = 6;
+
+    private final TransactionTemplate transaction;
+
+    public SlugAllocator(PlatformTransactionManager transactionManager) {
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Converts a string into a URL-friendly slug, limited to maxLength characters.
+     * Accents removed, lowercase, spaces to hyphens, special chars removed.
+     */
+    public static String slugify(String input, int maxLength) {
+        String n = Normalizer.normalize(input, Normalizer.Form.NFD)
+                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
+        n = n.toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9\\s-]", "")
+                .replaceAll("\\s+", "-")
+                .replaceAll("-{2,}", "-")
+                .replaceAll("^-|-$", "");
+        return n.length() > maxLength ? n.substring(0, maxLength).replaceAll("-+$", "") : n;
+    }
+
+    /**
+     * First free slug for {@code base}: the base itself, else {@code base-k} with the smallest free {@code k},
+     * the base shortened so the result stays within {@code maxLength}.
+     *
+     * @param base              slugified candidate, at most {@code maxLength} long
+     * @param takenStartingWith lower-cased slugs already in use that start with the given prefix
+     */
+    public String allocate(String base, int maxLength, Function<String, Collection<String>> takenStartingWith) {
+        String prefix = base.substring(0, Math.min(base.length(), Math.max(0, maxLength - MAX_SUFFIX_LENGTH)));
+        return pick(base, maxLength, new HashSet<>(takenStartingWith.apply(prefix)));
+    }
+
+    /**
+     * Runs {@code write} in its own transaction, again up to {@value #MAX_ATTEMPTS} times in total when it loses a
+     * slug to a concurrent insert. {@code write} has to allocate its slug inside, so a retry picks a new one.
+     * Inside an existing transaction the write runs once: the failed insert has already doomed the caller's
+     * transaction, so only the caller can retry.
+     */
+    public <T> T retrying(Supplier<T> write) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return write.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> write.get());
+            } catch (DataIntegrityViolationException ex) {
+                if (!isSlugConflict(ex)) throw ex;
+                if (attempt == MAX_ATTEMPTS) {
+                    throw new ConflictException(ErrorMessages.SLUG_STILL_TAKEN);
+                }
+                log.debug("Slug taken concurrently, retrying (attempt {}): {}", attempt, conflictDetail(ex));
+            }
+        }
+    }
+
+    static String pick(String base, int maxLength, Set<String> taken) {
+        if (!taken.contains(base.toLowerCase(Locale.ROOT))) return base;
+        // at most taken.size() candidates can be in use, so this ends
+        for (int k = 2; ; k++) {
+            String suffix = "-" + k;
+            int allowed = maxLength - suffix.length();
+            String candidate = (base.length() > allowed ? base.substring(0, allowed) : base) + suffix;
+            if (!taken.contains(candidate.toLowerCase(Locale.ROOT))) return candidate;
+        }
+    }
+
+    private static boolean isSlugConflict(DataIntegrityViolationException ex) {
+        // PostgreSQL: Key (slug)=(...) already exists; H2 names the index column SLUG
+        return conflictDetail(ex).toLowerCase(Locale.ROOT).contains("slug");
+    }
+
+    private static String conflictDetail(DataIntegrityViolationException ex) {
+        String message = ex.getMostSpecificCause().getMessage();
+        return message == null ? "" : message;
+    }
+}
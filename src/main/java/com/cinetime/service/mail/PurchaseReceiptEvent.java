@@ -0,0 +1,8 @@
+package com.cinetime.service.mail;
+
+/**
+ * A rendered purchase confirmation, published inside the booking transaction and mailed by
+ * {@link PurchaseReceiptMailer} only once that transaction has committed.
+ */
+public record PurchaseReceiptEvent(String to, String subject, String html) {
+}
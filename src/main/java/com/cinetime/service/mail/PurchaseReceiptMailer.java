@@ -0,0 +1,62 @@
+package com.cinetime.service.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends purchase receipts after the purchase has committed, on its own thread.
+ * <p>
+ * The SMTP round trip therefore never holds the booking transaction or the showtime's booking lane, and a
+ * rolled back purchase sends nothing. Receipts are best-effort: a failed send, or one that finds the bounded
+ * queue full, is logged and dropped.
+ */
+@Slf4j
+@Component
+public class PurchaseReceiptMailer implements DisposableBean {
+
+    private final MailService mailService;
+    private final ThreadPoolExecutor sender;
+
+    public PurchaseReceiptMailer(MailService mailService,
+                                 @Value("${cinetime.mail.receipt.queue-capacity:500}") int queueCapacity) {
+        this.mailService = mailService;
+        this.sender = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "purchase-receipts");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @TransactionalEventListener
+    public void onPurchaseReceipt(PurchaseReceiptEvent receipt) {
+        try {
+            sender.execute(() -> send(receipt));
+        } catch (RejectedExecutionException ex) {
+            log.warn("Receipt queue full, not mailing receipt to {}", receipt.to());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdown();
+    }
+
+    private void send(PurchaseReceiptEvent receipt) {
+        try {
+            // sendHtml() already falls back to stripHtml(html) when plainTextBody is null
+            mailService.sendHtml(receipt.to(), receipt.subject(), receipt.html(), null);
+        } catch (RuntimeException ex) {
+            log.warn("Email send failed: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.cinetime.service.pricing;
+
+import com.cinetime.payload.response.business.HallPricingResponse;
+import com.cinetime.repository.business.HallRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hall surcharges per cinema, read once from {@link HallRepository#findHallPricingRaw(Long)}.
+ * <p>
+ * Serves both the public hall-pricing endpoint and the price tables built by
+ * {@link PricingService}. Entries are dropped by {@link PricingService} on {@link PricingChangedEvent}.
+ */
+@Component
+@RequiredArgsConstructor
+public class HallPricingCache {
+
+    private final HallRepository hallRepository;
+
+    private final Map<Long, List<HallPricingResponse>> byCinema = new ConcurrentHashMap<>();
+
+    public List<HallPricingResponse> forCinema(Long cinemaId) {
+        return byCinema.computeIfAbsent(cinemaId, this::load);
+    }
+
+    /**
+     * Surcharge row of a hall; a hall unknown to the query is priced as a regular hall.
+     */
+    public HallPricingResponse forHall(Long cinemaId, Long hallId) {
+        for (HallPricingResponse row : forCinema(cinemaId)) {
+            if (row.getHallId().equals(hallId)) {
+                return row;
+            }
+        }
+        return HallPricingResponse.builder()
+                .hallId(hallId)
+                .special(false)
+                .surchargePercent(BigDecimal.ZERO)
+                .surchargeFixed(BigDecimal.ZERO)
+                .build();
+    }
+
+    public void clear() {
+        byCinema.clear();
+    }
+
+    private List<HallPricingResponse> load(Long cinemaId) {
+        return hallRepository.findHallPricingRaw(cinemaId).stream()
+                .map(HallPricingCache::toResponse)
+                .toList();
+    }
+
+    static HallPricingResponse toResponse(Object[] r) {
+        Long hallId         = ((Number) r[0]).longValue();
+        String hallName     = (String) r[1];
+
+        Object isSpecRaw    = r[2];
+        boolean isSpecial   = (isSpecRaw instanceof Boolean b) ? b
+                : (isSpecRaw instanceof Number n) ? n.intValue() != 0
+                : "t".equalsIgnoreCase(String.valueOf(isSpecRaw)) || "1".equals(String.valueOf(isSpecRaw));
+
+        String typeName     = (String) r[3];
+        BigDecimal percent  = (r[4] == null) ? BigDecimal.ZERO : new BigDecimal(String.valueOf(r[4]));
+        BigDecimal fixed    = (r[5] == null) ? BigDecimal.ZERO : new BigDecimal(String.valueOf(r[5]));
+
+        return HallPricingResponse.builder()
+                .hallId(hallId)
+                .hallName(hallName)
+                .special(isSpecial)
+                .typeName(typeName)
+                .surchargePercent(percent)    // örn. 15.00 -> %15
+                .surchargeFixed(fixed)        // her zaman 0 (şu anki şemada yok)
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.cinetime.service.pricing;
+
+import com.cinetime.service.seat.SeatLayout;
+
+/**
+ * Immutable per-seat prices of one showtime, indexed like the hall's {@link SeatLayout}.
+ * <p>
+ * Built once per showtime by {@link PricingService}; pricing a seat on the booking path
+ * is a single array read. Seats outside the grid (legacy labels) get the default price.
+ * Only the last-access stamp used to bound {@link PricingService}'s cache ever changes.
+ */
+public final class PriceTable {
+
+    private final Long showtimeId;
+    private final Long hallId;
+    private final SeatLayout layout;
+    private final double[] prices;
+    private final double defaultPrice;
+    private volatile long lastAccess;
+
+    PriceTable(Long showtimeId, Long hallId, SeatLayout layout, double[] prices, double defaultPrice) {
+        this.showtimeId = showtimeId;
+        this.hallId = hallId;
+        this.layout = layout;
+        this.prices = prices.clone();
+        this.defaultPrice = defaultPrice;
+    }
+
+    public Long getShowtimeId() {
+        return showtimeId;
+    }
+
+    public Long getHallId() {
+        return hallId;
+    }
+
+    public double getDefaultPrice() {
+        return defaultPrice;
+    }
+
+    void touch() {
+        lastAccess = System.nanoTime();
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+
+    public double priceOf(String seatLetter, int seatNumber) {
+        int index = layout.indexOf(seatLetter, seatNumber);
+        return index >= 0 ? prices[index] : defaultPrice;
+    }
+}
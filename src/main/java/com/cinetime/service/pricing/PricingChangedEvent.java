@@ -0,0 +1,14 @@
+package com.cinetime.service.pricing;
+
+/**
+ * Published when something that feeds ticket prices changes (special hall assignment,
+ * special hall type surcharge, hall layout).
+ *
+ * @param hallId the affected hall, or {@code null} when any hall may be affected
+ */
+public record PricingChangedEvent(Long hallId) {
+
+    public static PricingChangedEvent allHalls() {
+        return new PricingChangedEvent(null);
+    }
+}
@@ -0,0 +1,63 @@
+package com.cinetime.service.pricing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Base ticket price and time-of-day adjustments, configured under {@code cinetime.pricing.*}.
+ * <ul>
+ *   <li>matinee: showtimes starting before {@code matinee-before} get {@code matinee-discount-percent} off</li>
+ *   <li>late night: showtimes starting at or after {@code late-night-from} get {@code late-night-discount-percent} off</li>
+ *   <li>weekend: Saturday and Sunday showtimes cost {@code weekend-surcharge-percent} more</li>
+ * </ul>
+ */
+@Component
+public class PricingRules {
+
+    private final BigDecimal basePrice;
+    private final LocalTime matineeBefore;
+    private final BigDecimal matineeDiscountPercent;
+    private final LocalTime lateNightFrom;
+    private final BigDecimal lateNightDiscountPercent;
+    private final BigDecimal weekendSurchargePercent;
+
+    public PricingRules(@Value("${cinetime.pricing.base-price:9.99}") BigDecimal basePrice,
+                        @Value("${cinetime.pricing.matinee-before:13:00}") String matineeBefore,
+                        @Value("${cinetime.pricing.matinee-discount-percent:20}") BigDecimal matineeDiscountPercent,
+                        @Value("${cinetime.pricing.late-night-from:22:30}") String lateNightFrom,
+                        @Value("${cinetime.pricing.late-night-discount-percent:10}") BigDecimal lateNightDiscountPercent,
+                        @Value("${cinetime.pricing.weekend-surcharge-percent:10}") BigDecimal weekendSurchargePercent) {
+        this.basePrice = basePrice;
+        this.matineeBefore = LocalTime.parse(matineeBefore);
+        this.matineeDiscountPercent = matineeDiscountPercent;
+        this.lateNightFrom = LocalTime.parse(lateNightFrom);
+        this.lateNightDiscountPercent = lateNightDiscountPercent;
+        this.weekendSurchargePercent = weekendSurchargePercent;
+    }
+
+    public BigDecimal getBasePrice() {
+        return basePrice;
+    }
+
+    /**
+     * Sum of the time-of-day adjustments for a showtime, in percent (negative for discounts).
+     */
+    public BigDecimal timeOfDayPercent(LocalDate date, LocalTime startTime) {
+        BigDecimal percent = BigDecimal.ZERO;
+        if (startTime.isBefore(matineeBefore)) {
+            percent = percent.subtract(matineeDiscountPercent);
+        } else if (!startTime.isBefore(lateNightFrom)) {
+            percent = percent.subtract(lateNightDiscountPercent);
+        }
+        DayOfWeek day = date.getDayOfWeek();
+        if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
+            percent = percent.add(weekendSurchargePercent);
+        }
+        return percent;
+    }
+}
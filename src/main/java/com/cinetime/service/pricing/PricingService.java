@@ -0,0 +1,108 @@
+package com.cinetime.service.pricing;
+
+import com.cinetime.entity.business.Hall;
+import com.cinetime.entity.business.Showtime;
+import com.cinetime.payload.response.business.HallPricingResponse;
+import com.cinetime.service.seat.SeatLayout;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ticket prices per showtime.
+ * <p>
+ * {@code price = base x (1 + hall surcharge %) x (1 + time-of-day %) + hall fixed surcharge},
+ * rounded to cents. The result is frozen into a {@link PriceTable} the first time a showtime is
+ * priced, so reserving or buying a seat never recomputes it. Tables are dropped when the showtime
+ * changes or when a {@link PricingChangedEvent} is committed.
+ * <p>
+ * At most {@code cinetime.pricing.max-cached-showtimes} tables are kept; past that the least recently
+ * used ones are dropped and rebuilt on their next use.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PricingService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final PricingRules pricingRules;
+    private final HallPricingCache hallPricingCache;
+
+    @Value("${cinetime.pricing.max-cached-showtimes:5000}")
+    private int maxCachedShowtimes = 5000;
+
+    private final Map<Long, PriceTable> tables = new ConcurrentHashMap<>();
+
+    public PriceTable priceTableFor(Showtime showtime) {
+        PriceTable table = tables.computeIfAbsent(showtime.getId(), id -> build(showtime));
+        table.touch();
+        if (tables.size() > maxCachedShowtimes) {
+            trim();
+        }
+        return table;
+    }
+
+    public double priceOf(Showtime showtime, String seatLetter, int seatNumber) {
+        return priceTableFor(showtime).priceOf(seatLetter, seatNumber);
+    }
+
+    public void evict(Long showtimeId) {
+        tables.remove(showtimeId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPricingChanged(PricingChangedEvent event) {
+        hallPricingCache.clear();
+        if (event.hallId() == null) {
+            tables.clear();
+        } else {
+            tables.values().removeIf(table -> event.hallId().equals(table.getHallId()));
+        }
+    }
+
+    // Drops a tenth at a time so a full cache is not sorted on every new showtime
+    private synchronized void trim() {
+        int excess = tables.size() - maxCachedShowtimes;
+        if (excess <= 0) return;
+        int drop = Math.max(excess, maxCachedShowtimes / 10);
+        tables.values().stream()
+                .sorted(Comparator.comparingLong(PriceTable::lastAccess))
+                .limit(drop)
+                .toList()
+                .forEach(table -> tables.remove(table.getShowtimeId(), table));
+        log.debug("Price table cache trimmed by {} showtimes", drop);
+    }
+
+    private PriceTable build(Showtime showtime) {
+        Hall hall = showtime.getHall();
+        HallPricingResponse surcharge = hallPricingCache.forHall(hall.getCinema().getId(), hall.getId());
+
+        BigDecimal price = pricingRules.getBasePrice()
+                .multiply(factor(surcharge.getSurchargePercent()))
+                .multiply(factor(pricingRules.timeOfDayPercent(showtime.getDate(), showtime.getStartTime())))
+                .add(surcharge.getSurchargeFixed())
+                .setScale(2, RoundingMode.HALF_UP);
+
+        // one price for every seat today; seat tiers would fill this array differently
+        SeatLayout layout = SeatLayout.of(hall);
+        double[] prices = new double[layout.size()];
+        Arrays.fill(prices, price.doubleValue());
+
+        log.debug("Price table built for showtime {}: {}", showtime.getId(), price);
+        return new PriceTable(showtime.getId(), hall.getId(), layout, prices, price.doubleValue());
+    }
+
+    private static BigDecimal factor(BigDecimal percent) {
+        return BigDecimal.ONE.add(percent.divide(HUNDRED));
+    }
+}
@@ -0,0 +1,159 @@
+package com.cinetime.service.schedule;
+
+import com.cinetime.entity.business.Showtime;
+import com.cinetime.exception.ConflictException;
+import com.cinetime.payload.messages.ErrorMessages;
+import com.cinetime.repository.business.ShowtimeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-hall occupancy of upcoming showtimes, used to reject overlapping schedules before they reach the
+ * database.
+ * <p>
+ * Each hall has an {@link IntervalTree} of {@code [startsAt, endsAt + cleaning buffer)} in epoch minutes,
+ * loaded lazily from the repository on first use. {@link #claim} checks and occupies a slot atomically per
+ * hall, so two concurrent requests for the same slot cannot both pass; if the surrounding transaction
+ * rolls back, the affected halls are dropped and rebuilt from the database on next use.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HallScheduleIndex {
+
+    private final ShowtimeRepository showtimeRepository;
+
+    @Value("${cinetime.showtime.cleaning-buffer-minutes:15}")
+    private long bufferMinutes;
+
+    private final Map<Long, IntervalTree> timelines = new ConcurrentHashMap<>();
+
+    /**
+     * Occupies the showtime's slot in its hall, replacing any slot it held before (also in
+     * {@code previousHallId} when it moved halls).
+     *
+     * @throws ConflictException if the slot, including the cleaning buffer, overlaps another showtime
+     */
+    public void claim(Showtime showtime, Long previousHallId) {
+        showtime.syncInterval();
+        Long hallId = showtime.getHall().getId();
+        long start = minutes(showtime.getStartsAt());
+        long end = minutes(showtime.getEndsAt().plusMinutes(bufferMinutes));
+
+        Set<Long> touched = new LinkedHashSet<>();
+        touched.add(hallId);
+
+        IntervalTree timeline = timeline(hallId);
+        synchronized (timeline) {
+            IntervalTree.Interval clash = timeline.findOverlap(start, end, showtime.getId());
+            if (clash != null) {
+                throw new ConflictException(String.format(ErrorMessages.SHOWTIME_HALL_OVERLAP,
+                        clash.id(), time(clash.start()), time(clash.end())));
+            }
+            timeline.insert(showtime.getId(), start, end);
+        }
+
+        if (previousHallId != null && !previousHallId.equals(hallId)) {
+            touched.add(previousHallId);
+            remove(previousHallId, showtime.getId());
+        }
+
+        onRollback(() -> touched.forEach(this::evictHall));
+    }
+
+    /** Would a showtime in {@code [startsAt, endsAt)} fit into the hall? Does not occupy anything. */
+    public boolean isFree(Long hallId, LocalDateTime startsAt, LocalDateTime endsAt) {
+        IntervalTree timeline = timeline(hallId);
+        synchronized (timeline) {
+            return timeline.findOverlap(minutes(startsAt), minutes(endsAt.plusMinutes(bufferMinutes)), null) == null;
+        }
+    }
+
+    /** Frees a deleted showtime's slot. */
+    public void release(Long hallId, Long showtimeId) {
+        remove(hallId, showtimeId);
+        onRollback(() -> evictHall(hallId));
+    }
+
+    public void evictHall(Long hallId) {
+        timelines.remove(hallId);
+    }
+
+    /**
+     * Drops the halls' timelines once the surrounding transaction ends, for deletes that remove showtimes
+     * without going through {@link #release} (a movie's showtimes by cascade, a whole hall).
+     */
+    public void evictHallsAfterCommit(Collection<Long> hallIds) {
+        if (hallIds.isEmpty()) return;
+        List<Long> ids = List.copyOf(hallIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.forEach(this::evictHall);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ids.forEach(HallScheduleIndex.this::evictHall);
+            }
+        });
+    }
+
+    public long getBufferMinutes() {
+        return bufferMinutes;
+    }
+
+    private void remove(Long hallId, Long showtimeId) {
+        IntervalTree timeline = timelines.get(hallId);
+        if (timeline == null) return;
+        synchronized (timeline) {
+            timeline.remove(showtimeId);
+        }
+    }
+
+    private IntervalTree timeline(Long hallId) {
+        IntervalTree timeline = timelines.get(hallId);
+        if (timeline != null) return timeline;
+
+        // Load outside the map so the DB read does not block other halls
+        IntervalTree loaded = new IntervalTree();
+        for (ShowtimeRepository.ShowtimeIntervalRow row :
+                showtimeRepository.findIntervalsByHallId(hallId, LocalDateTime.now().minusDays(1))) {
+            loaded.insert(row.getId(), minutes(row.getStartsAt()), minutes(row.getEndsAt().plusMinutes(bufferMinutes)));
+        }
+        log.debug("Loaded {} upcoming showtimes of hall {}", loaded.size(), hallId);
+
+        IntervalTree raced = timelines.putIfAbsent(hallId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    static long minutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    static LocalDateTime time(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) action.run();
+            }
+        });
+    }
+}
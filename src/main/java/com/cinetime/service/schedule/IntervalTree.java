@@ -0,0 +1,147 @@
+package com.cinetime.service.schedule;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Half-open intervals {@code [start, end)} keyed by an id, stored in a treap ordered by start and
+ * augmented with the maximum end of each subtree.
+ * <p>
+ * Insert, remove and "find any overlap" are O(log n) expected. Not thread-safe; {@link HallScheduleIndex}
+ * guards each tree with its own monitor.
+ */
+final class IntervalTree {
+
+    record Interval(long id, long start, long end) {
+    }
+
+    private static final class Node {
+        final long id;
+        final long start;
+        final long end;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        long maxEnd;
+        Node left;
+        Node right;
+
+        Node(long id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+
+    private final Map<Long, Node> byId = new HashMap<>();
+    private Node root;
+
+    int size() {
+        return byId.size();
+    }
+
+    /** Adds or replaces the interval of {@code id}. */
+    void insert(long id, long start, long end) {
+        if (end <= start) throw new IllegalArgumentException("Empty interval [" + start + ", " + end + ")");
+        remove(id);
+        Node node = new Node(id, start, end);
+        byId.put(id, node);
+        root = insert(root, node);
+    }
+
+    void remove(long id) {
+        Node node = byId.remove(id);
+        if (node != null) root = remove(root, node);
+    }
+
+    /**
+     * Any stored interval overlapping {@code [start, end)} other than {@code excludeId}, or {@code null}.
+     * Prefers the one that starts first.
+     */
+    Interval findOverlap(long start, long end, Long excludeId) {
+        Node hit = findOverlap(root, start, end, excludeId);
+        return hit == null ? null : new Interval(hit.id, hit.start, hit.end);
+    }
+
+    private static Node findOverlap(Node n, long start, long end, Long excludeId) {
+        if (n == null || n.maxEnd <= start) return null;
+
+        Node hit = findOverlap(n.left, start, end, excludeId);
+        if (hit != null) return hit;
+
+        if (n.start >= end) return null; // everything to the right starts even later
+        if (n.end > start && (excludeId == null || n.id != excludeId)) return n;
+
+        return findOverlap(n.right, start, end, excludeId);
+    }
+
+    private static Node insert(Node n, Node x) {
+        if (n == null) return x;
+        if (compare(x, n) < 0) {
+            n.left = insert(n.left, x);
+            if (n.left.priority > n.priority) n = rotateRight(n);
+        } else {
+            n.right = insert(n.right, x);
+            if (n.right.priority > n.priority) n = rotateLeft(n);
+        }
+        update(n);
+        return n;
+    }
+
+    private static Node remove(Node n, Node x) {
+        if (n == null) return null;
+        int c = compare(x, n);
+        if (c < 0) {
+            n.left = remove(n.left, x);
+        } else if (c > 0) {
+            n.right = remove(n.right, x);
+        } else {
+            return merge(n.left, n.right);
+        }
+        update(n);
+        return n;
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static Node rotateRight(Node n) {
+        Node l = n.left;
+        n.left = l.right;
+        l.right = n;
+        update(n);
+        update(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node n) {
+        Node r = n.right;
+        n.right = r.left;
+        r.left = n;
+        update(n);
+        update(r);
+        return r;
+    }
+
+    private static void update(Node n) {
+        long max = n.end;
+        if (n.left != null) max = Math.max(max, n.left.maxEnd);
+        if (n.right != null) max = Math.max(max, n.right.maxEnd);
+        n.maxEnd = max;
+    }
+
+    private static int compare(Node a, Node b) {
+        int c = Long.compare(a.start, b.start);
+        return c != 0 ? c : Long.compare(a.id, b.id);
+    }
+}
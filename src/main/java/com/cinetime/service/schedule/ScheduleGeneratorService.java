@@ -0,0 +1,195 @@
+package com.cinetime.service.schedule;
+
+import com.cinetime.entity.business.Hall;
+import com.cinetime.entity.business.Movie;
+import com.cinetime.entity.business.Showtime;
+import com.cinetime.exception.BadRequestException;
+import com.cinetime.exception.ResourceNotFoundException;
+import com.cinetime.payload.messages.ErrorMessages;
+import com.cinetime.payload.messages.SuccessMessages;
+import com.cinetime.payload.request.business.ScheduleTemplateRequest;
+import com.cinetime.payload.response.business.ResponseMessage;
+import com.cinetime.payload.response.business.ScheduleResultResponse;
+import com.cinetime.payload.response.business.ScheduleSlotResult;
+import com.cinetime.payload.response.business.ScheduleSlotResult.Status;
+import com.cinetime.repository.business.HallRepository;
+import com.cinetime.repository.business.MovieRepository;
+import com.cinetime.repository.business.ShowtimeRepository;
+import com.cinetime.service.timetable.ShowtimeChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Expands a {@link ScheduleTemplateRequest} into showtimes and stores the ones that fit.
+ * <p>
+ * Halls and movies are loaded with one query each, and every showtime already scheduled in the affected
+ * halls around the date range with one more. The template is then checked slot by slot against those and
+ * against its own earlier slots, and the accepted showtimes are written with batched inserts (pooled
+ * sequence ids, {@code hibernate.jdbc.batch_size}). Slots that do not fit are reported, not fatal.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduleGeneratorService {
+
+    private final HallRepository hallRepository;
+    private final MovieRepository movieRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final HallScheduleIndex hallScheduleIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${cinetime.showtime.schedule.max-slots:5000}")
+    private int maxSlots;
+
+    @Transactional
+    public ResponseMessage<ScheduleResultResponse> generate(ScheduleTemplateRequest request) {
+        LocalDate from = request.getFromDate();
+        LocalDate to = request.getToDate();
+        if (to.isBefore(from)) throw new BadRequestException(ErrorMessages.SCHEDULE_INVALID_RANGE);
+
+        List<Long> hallIds = request.getHallIds().stream().distinct().toList();
+        List<LocalTime> startTimes = request.getStartTimes().stream().distinct().sorted().toList();
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        long slotCount = days * hallIds.size() * startTimes.size();
+        if (slotCount > maxSlots) {
+            throw new BadRequestException(String.format(ErrorMessages.SCHEDULE_TOO_LARGE, slotCount, maxSlots));
+        }
+
+        Map<Long, Hall> halls = loadAll(hallRepository.findAllById(hallIds), Hall::getId, hallIds,
+                ErrorMessages.HALL_NOT_FOUND_ID);
+        Map<Long, Movie> movies = loadAll(movieRepository.findAllById(request.getMovieIds()), Movie::getId,
+                request.getMovieIds(), ErrorMessages.MOVIE_NOT_FOUND_ID);
+        long buffer = Math.max(request.getBufferMinutes() == null ? 0 : request.getBufferMinutes(),
+                hallScheduleIndex.getBufferMinutes());
+
+        Map<Long, IntervalTree> timelines = loadTimelines(hallIds, from, to, buffer);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ScheduleSlotResult> results = new ArrayList<>((int) slotCount);
+        List<Showtime> accepted = new ArrayList<>();
+        List<ScheduleSlotResult> acceptedResults = new ArrayList<>();
+        long templateId = 0;
+
+        for (int d = 0; d < days; d++) {
+            LocalDate date = from.plusDays(d);
+            for (int h = 0; h < hallIds.size(); h++) {
+                Hall hall = halls.get(hallIds.get(h));
+                IntervalTree timeline = timelines.get(hall.getId());
+                for (int t = 0; t < startTimes.size(); t++) {
+                    // Rotate movies over halls and slots, shifted by day so each hall sees variety
+                    Movie movie = movies.get(request.getMovieIds().get((d + h + t) % request.getMovieIds().size()));
+                    LocalDateTime startsAt = date.atTime(startTimes.get(t));
+                    LocalDateTime endsAt = startsAt.plusMinutes(movie.getDuration());
+
+                    ScheduleSlotResult result = ScheduleSlotResult.builder()
+                            .date(date)
+                            .startTime(startsAt.toLocalTime())
+                            .endTime(endsAt.toLocalTime())
+                            .hallId(hall.getId())
+                            .movieId(movie.getId())
+                            .build();
+                    results.add(result);
+
+                    if (!startsAt.isAfter(now)) {
+                        reject(result, Status.IN_PAST, "Start time is in the past");
+                        continue;
+                    }
+                    if (!endsAt.toLocalDate().equals(date) || !endsAt.isAfter(startsAt)) {
+                        reject(result, Status.PAST_MIDNIGHT, "Screening would end after midnight");
+                        continue;
+                    }
+
+                    long start = HallScheduleIndex.minutes(startsAt);
+                    long end = HallScheduleIndex.minutes(endsAt.plusMinutes(buffer));
+                    IntervalTree.Interval clash = timeline.findOverlap(start, end, null);
+                    if (clash != null) {
+                        boolean existing = clash.id() > 0;
+                        result.setConflictingShowtimeId(existing ? clash.id() : null);
+                        reject(result, Status.CONFLICT, existing
+                                ? "Overlaps an existing showtime"
+                                : "Overlaps an earlier slot of this schedule");
+                        continue;
+                    }
+
+                    // Template slots get negative ids so they never clash with real showtime ids
+                    timeline.insert(--templateId, start, end);
+                    accepted.add(Showtime.builder()
+                            .date(date)
+                            .startTime(startsAt.toLocalTime())
+                            .endTime(endsAt.toLocalTime())
+                            .hall(hall)
+                            .movie(movie)
+                            .build());
+                    acceptedResults.add(result);
+                }
+            }
+        }
+
+        List<Showtime> saved = showtimeRepository.saveAll(accepted);
+        for (int i = 0; i < saved.size(); i++) {
+            Showtime showtime = saved.get(i);
+            // Keeps the shared per-hall index current; fails the batch if a concurrent write took a slot
+            hallScheduleIndex.claim(showtime, null);
+            ScheduleSlotResult result = acceptedResults.get(i);
+            result.setStatus(Status.CREATED);
+            result.setShowtimeId(showtime.getId());
+        }
+        saved.stream()
+                .map(ShowtimeChangedEvent::of)
+                .distinct()
+                .forEach(eventPublisher::publishEvent);
+
+        ScheduleResultResponse body = ScheduleResultResponse.builder()
+                .requested(results.size())
+                .created(saved.size())
+                .skipped(results.size() - saved.size())
+                .slots(results)
+                .build();
+
+        return ResponseMessage.<ScheduleResultResponse>builder()
+                .httpStatus(HttpStatus.CREATED)
+                .message(String.format(SuccessMessages.SHOWTIMES_SCHEDULED, saved.size(), results.size()))
+                .returnBody(body)
+                .build();
+    }
+
+    private Map<Long, IntervalTree> loadTimelines(List<Long> hallIds, LocalDate from, LocalDate to, long buffer) {
+        Map<Long, IntervalTree> timelines = new HashMap<>();
+        hallIds.forEach(id -> timelines.put(id, new IntervalTree()));
+
+        for (ShowtimeRepository.HallIntervalRow row : showtimeRepository.findIntervalsByHallIds(
+                hallIds, from.atStartOfDay().minusMinutes(buffer), to.plusDays(1).atStartOfDay())) {
+            timelines.get(row.getHallId()).insert(row.getId(),
+                    HallScheduleIndex.minutes(row.getStartsAt()),
+                    HallScheduleIndex.minutes(row.getEndsAt().plusMinutes(buffer)));
+        }
+        return timelines;
+    }
+
+    private static void reject(ScheduleSlotResult result, Status status, String reason) {
+        result.setStatus(status);
+        result.setReason(reason);
+    }
+
+    private static <T> Map<Long, T> loadAll(List<T> found, Function<T, Long> id, List<Long> wanted, String notFound) {
+        Map<Long, T> byId = found.stream().collect(Collectors.toMap(id, Function.identity()));
+        for (Long w : wanted) {
+            if (!byId.containsKey(w)) throw new ResourceNotFoundException(String.format(notFound, w));
+        }
+        return byId;
+    }
+}
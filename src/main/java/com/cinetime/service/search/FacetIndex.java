@@ -0,0 +1,281 @@
+package com.cinetime.service.search;
+
+import com.cinetime.entity.enums.MovieStatus;
+import com.cinetime.service.search.MovieFacetIndex.Counts;
+import com.cinetime.service.search.MovieFacetIndex.Filter;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Movies numbered by a dense ordinal, with one {@link BitSet} of ordinals per genre, format, status and special
+ * hall, and ratings and release days in sorted primitive arrays for range lookups.
+ * <p>
+ * A filter is the AND of the matching bitsets; facet counts are the cardinality of each facet's bitset within
+ * that result. Genres and formats match case-insensitively, special halls by substring of one of the
+ * comma-separated entries. Not thread-safe for writes; {@link MovieFacetIndex} guards it with a read/write lock.
+ */
+final class FacetIndex {
+
+    record Document(Long id, String title, Collection<String> genres, Collection<String> formats,
+                    MovieStatus status, String specialHalls, Double rating, LocalDate releaseDate) {
+    }
+
+    record Matches(List<Long> ids, Counts counts) {
+    }
+
+    private static final Pattern HALL_SEPARATORS = Pattern.compile("\\s*[,;|]\\s*");
+
+    private static final class Facet {
+        final String label;
+        final BitSet ordinals = new BitSet();
+
+        Facet(String label) {
+            this.label = label;
+        }
+    }
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+
+    // keyed by lower-cased value, sorted so the counts come out in a stable order
+    private final Map<String, Facet> genres = new TreeMap<>();
+    private final Map<String, Facet> formats = new TreeMap<>();
+    private final Map<String, BitSet> specialHalls = new HashMap<>();
+    private final Map<MovieStatus, BitSet> statuses = new EnumMap<>(MovieStatus.class);
+
+    // sorted views, rebuilt on the first filter after a change
+    private boolean dirty = true;
+    private int[] byRating = new int[0];
+    private double[] ratings = new double[0];
+    private int[] byRelease = new int[0];
+    private long[] releaseDays = new long[0];
+    private int[] display = new int[0];
+
+    int size() {
+        return ordinals.size();
+    }
+
+    void clear() {
+        ordinals.clear();
+        documents.clear();
+        freeOrdinals.clear();
+        live.clear();
+        genres.clear();
+        formats.clear();
+        specialHalls.clear();
+        statuses.clear();
+        markDirty();
+    }
+
+    void put(Document document) {
+        remove(document.id());
+        Document doc = new Document(document.id(), document.title(),
+                copy(document.genres()), copy(document.formats()), document.status(),
+                document.specialHalls(), document.rating(), document.releaseDate());
+
+        int ordinal;
+        if (freeOrdinals.isEmpty()) {
+            ordinal = documents.size();
+            documents.add(doc);
+        } else {
+            ordinal = freeOrdinals.pop();
+            documents.set(ordinal, doc);
+        }
+        ordinals.put(doc.id(), ordinal);
+        live.set(ordinal);
+
+        doc.genres().forEach(g -> genres.computeIfAbsent(key(g), k -> new Facet(g)).ordinals.set(ordinal));
+        doc.formats().forEach(f -> formats.computeIfAbsent(key(f), k -> new Facet(f)).ordinals.set(ordinal));
+        halls(doc.specialHalls()).forEach(h -> specialHalls.computeIfAbsent(h, k -> new BitSet()).set(ordinal));
+        if (doc.status() != null) statuses.computeIfAbsent(doc.status(), s -> new BitSet()).set(ordinal);
+        markDirty();
+    }
+
+    void remove(Long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) return;
+        Document doc = documents.get(ordinal);
+
+        doc.genres().forEach(g -> clearFacet(genres, key(g), ordinal));
+        doc.formats().forEach(f -> clearFacet(formats, key(f), ordinal));
+        halls(doc.specialHalls()).forEach(h -> {
+            BitSet bits = specialHalls.get(h);
+            bits.clear(ordinal);
+            if (bits.isEmpty()) specialHalls.remove(h);
+        });
+        if (doc.status() != null) statuses.get(doc.status()).clear(ordinal);
+
+        documents.set(ordinal, null);
+        live.clear(ordinal);
+        freeOrdinals.push(ordinal);
+        markDirty();
+    }
+
+    /** Ids matching {@code filter}, newest release first then by title, with facet counts over the result. */
+    Matches filter(Filter filter) {
+        sortIfDirty();
+        BitSet match = (BitSet) live.clone();
+
+        if (filter.genres() != null) {
+            for (String genre : filter.genres()) {
+                Facet facet = genres.get(key(genre));
+                if (facet == null) match.clear();
+                else match.and(facet.ordinals);
+            }
+        }
+        if (filter.status() != null) {
+            match.and(statuses.getOrDefault(filter.status(), new BitSet()));
+        }
+        if (filter.minRating() != null || filter.maxRating() != null) {
+            int from = filter.minRating() == null ? 0 : lowerBound(ratings, filter.minRating());
+            int to = filter.maxRating() == null ? ratings.length : upperBound(ratings, filter.maxRating());
+            match.and(bits(byRating, from, to));
+        }
+        if (filter.releasedFrom() != null) {
+            match.and(bits(byRelease, lowerBound(releaseDays, filter.releasedFrom().toEpochDay()), releaseDays.length));
+        }
+        if (filter.specialHall() != null) {
+            BitSet halls = new BitSet();
+            specialHalls.forEach((hall, bits) -> {
+                if (hall.contains(filter.specialHall())) halls.or(bits);
+            });
+            match.and(halls);
+        }
+
+        List<Long> ids = new ArrayList<>(match.cardinality());
+        for (int ordinal : display) {
+            if (match.get(ordinal)) ids.add(documents.get(ordinal).id());
+        }
+
+        Map<MovieStatus, Integer> statusCounts = new EnumMap<>(MovieStatus.class);
+        statuses.forEach((status, bits) -> {
+            int count = intersection(match, bits);
+            if (count > 0) statusCounts.put(status, count);
+        });
+        return new Matches(ids, new Counts(counts(genres, match), counts(formats, match), statusCounts));
+    }
+
+    private synchronized void sortIfDirty() {
+        // readers share a read lock, so the lazy re-sort is serialised on the index itself
+        if (!dirty) return;
+        List<Integer> all = new ArrayList<>(live.cardinality());
+        live.stream().forEach(all::add);
+
+        List<Integer> rated = all.stream().filter(o -> documents.get(o).rating() != null)
+                .sorted(Comparator.comparingDouble(o -> documents.get(o).rating())).toList();
+        int[] newByRating = rated.stream().mapToInt(Integer::intValue).toArray();
+        double[] newRatings = rated.stream().mapToDouble(o -> documents.get(o).rating()).toArray();
+
+        List<Integer> released = all.stream().filter(o -> documents.get(o).releaseDate() != null)
+                .sorted(Comparator.comparingLong(o -> documents.get(o).releaseDate().toEpochDay())).toList();
+        int[] newByRelease = released.stream().mapToInt(Integer::intValue).toArray();
+        long[] newReleaseDays = released.stream().mapToLong(o -> documents.get(o).releaseDate().toEpochDay()).toArray();
+
+        Comparator<Document> order = Comparator.comparing(Document::releaseDate,
+                        Comparator.nullsLast(Comparator.<LocalDate>reverseOrder()))
+                .thenComparing(d -> d.title() == null ? "" : d.title(), String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(Document::id);
+        int[] newDisplay = all.stream().sorted(Comparator.comparing(documents::get, order))
+                .mapToInt(Integer::intValue).toArray();
+
+        byRating = newByRating;
+        ratings = newRatings;
+        byRelease = newByRelease;
+        releaseDays = newReleaseDays;
+        display = newDisplay;
+        dirty = false;
+    }
+
+    private synchronized void markDirty() {
+        dirty = true;
+    }
+
+    private static Map<String, Integer> counts(Map<String, Facet> facets, BitSet match) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        facets.values().forEach(facet -> {
+            int count = intersection(match, facet.ordinals);
+            if (count > 0) counts.put(facet.label, count);
+        });
+        return counts;
+    }
+
+    private static int intersection(BitSet a, BitSet b) {
+        BitSet both = (BitSet) a.clone();
+        both.and(b);
+        return both.cardinality();
+    }
+
+    private static BitSet bits(int[] ordinals, int from, int to) {
+        BitSet bits = new BitSet();
+        for (int i = from; i < to; i++) bits.set(ordinals[i]);
+        return bits;
+    }
+
+    /** First index whose value is {@code >= key}. */
+    private static int lowerBound(double[] values, double key) {
+        int lo = 0, hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** First index whose value is {@code > key}. */
+    private static int upperBound(double[] values, double key) {
+        int lo = 0, hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] <= key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int lowerBound(long[] values, long key) {
+        int lo = 0, hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static void clearFacet(Map<String, Facet> facets, String key, int ordinal) {
+        Facet facet = facets.get(key);
+        if (facet == null) return;
+        facet.ordinals.clear(ordinal);
+        if (facet.ordinals.isEmpty()) facets.remove(key);
+    }
+
+    private static List<String> halls(String specialHalls) {
+        if (specialHalls == null || specialHalls.isBlank()) return List.of();
+        return HALL_SEPARATORS.splitAsStream(specialHalls.trim()).filter(h -> !h.isEmpty()).distinct().toList();
+    }
+
+    private static List<String> copy(Collection<String> values) {
+        return values == null ? List.of() : List.copyOf(values);
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
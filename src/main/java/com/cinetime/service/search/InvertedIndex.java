@@ -0,0 +1,207 @@
+package com.cinetime.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Weighted term index over the searchable fields of a movie.
+ * <p>
+ * Text is folded to lower case without diacritics and split on anything that is not a letter or digit. Every
+ * query term must match a document, either exactly, as a prefix of an indexed term, or within a small edit
+ * distance (1 from four characters, 2 from eight) of a term that starts with the same letter. Fuzzy candidates
+ * are looked up by length and first letter, so a typo never scans the whole vocabulary. Documents are ranked by the sum over query terms of the best
+ * {@code field weight * match quality}, then by title. Not thread-safe; {@link MovieSearchIndex} guards it with a
+ * read/write lock.
+ */
+final class InvertedIndex {
+
+    enum Field {
+        TITLE(3.0), DIRECTOR(2.0), CAST(2.0), GENRE(1.5), SUMMARY(1.0);
+
+        final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.7;
+    private static final double FUZZY = 0.5;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    // term -> (movie id -> best field weight of the term in that movie)
+    private final NavigableMap<String, Map<Long, Double>> postings = new TreeMap<>();
+    // term length -> terms of that length, sorted so one first letter is a contiguous range
+    private final Map<Integer, NavigableSet<String>> termsByLength = new HashMap<>();
+    private final Map<Long, Set<String>> termsById = new HashMap<>();
+    private final Map<Long, String> titles = new HashMap<>();
+
+    int size() {
+        return termsById.size();
+    }
+
+    void clear() {
+        postings.clear();
+        termsByLength.clear();
+        termsById.clear();
+        titles.clear();
+    }
+
+    /** Indexes a movie, replacing whatever was indexed for it before. */
+    void put(Long id, String title, Map<Field, ? extends Collection<String>> fields) {
+        remove(id);
+
+        Map<String, Double> weights = new HashMap<>();
+        fields.forEach((field, values) -> {
+            if (values == null) return;
+            for (String value : values) {
+                for (String term : tokenize(value)) {
+                    weights.merge(term, field.weight, Math::max);
+                }
+            }
+        });
+
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> {
+            termsByLength.computeIfAbsent(t.length(), length -> new TreeSet<>()).add(t);
+            return new HashMap<>();
+        }).put(id, weight));
+        termsById.put(id, weights.keySet());
+        titles.put(id, title == null ? "" : fold(title));
+    }
+
+    void remove(Long id) {
+        Set<String> terms = termsById.remove(id);
+        if (terms == null) return;
+        for (String term : terms) {
+            Map<Long, Double> docs = postings.get(term);
+            docs.remove(id);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+                NavigableSet<String> sameLength = termsByLength.get(term.length());
+                sameLength.remove(term);
+                if (sameLength.isEmpty()) termsByLength.remove(term.length());
+            }
+        }
+        titles.remove(id);
+    }
+
+    /** Ids of the movies matching every term of {@code query}, most relevant first. */
+    List<Long> search(String query) {
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty()) return List.of();
+
+        Map<Long, Double> scores = null;
+        for (String term : terms) {
+            Map<Long, Double> matches = match(term);
+            if (scores == null) {
+                scores = matches;
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                scores.replaceAll((id, score) -> score + matches.get(id));
+            }
+            if (scores.isEmpty()) return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(scores.keySet());
+        Map<Long, Double> ranked = scores;
+        ids.sort(Comparator.<Long>comparingDouble(ranked::get).reversed()
+                .thenComparing(titles::get)
+                .thenComparing(Comparator.naturalOrder()));
+        return ids;
+    }
+
+    /** Best score of one query term per movie, over its exact, prefix and fuzzy matches. */
+    private Map<Long, Double> match(String term) {
+        Map<Long, Double> best = new HashMap<>();
+
+        Map<Long, Double> exact = postings.get(term);
+        if (exact != null) exact.forEach((id, weight) -> best.merge(id, weight * EXACT, Math::max));
+
+        if (term.length() >= 2) {
+            for (Map.Entry<String, Map<Long, Double>> e
+                    : postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                e.getValue().forEach((id, weight) -> best.merge(id, weight * PREFIX, Math::max));
+            }
+        }
+
+        int maxEdits = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+        if (maxEdits > 0) {
+            String first = term.substring(0, 1);
+            String afterFirst = first + Character.MAX_VALUE;
+            for (int length = term.length() - maxEdits; length <= term.length() + maxEdits; length++) {
+                NavigableSet<String> sameLength = termsByLength.get(length);
+                if (sameLength == null) continue;
+                for (String candidate : sameLength.subSet(first, true, afterFirst, false)) {
+                    if (!candidate.equals(term) && withinEdits(term, candidate, maxEdits)) {
+                        postings.get(candidate).forEach((id, weight) -> best.merge(id, weight * FUZZY, Math::max));
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) return terms;
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (!token.isEmpty()) terms.add(token);
+        }
+        return terms;
+    }
+
+    static String fold(String text) {
+        // Turkish dotless i has no decomposition, so it is mapped by hand
+        String lower = text.toLowerCase(Locale.ROOT).replace('\u0131', 'i');
+        return MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    /**
+     * Optimal string alignment distance (insert, delete, substitute, swap neighbours) of {@code a} and {@code b}
+     * is at most {@code max}; gives up as soon as a whole row exceeds it.
+     */
+    static boolean withinEdits(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        int[] before = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) previous[j] = j;
+
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d = Math.min(d, before[j - 2] + 1);
+                }
+                current[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            if (rowMin > max) return false;
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[m] <= max;
+    }
+}
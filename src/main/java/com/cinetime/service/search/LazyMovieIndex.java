@@ -0,0 +1,131 @@
+package com.cinetime.service.search;
+
+import com.cinetime.entity.business.Movie;
+import com.cinetime.repository.business.MovieRepository;
+import com.cinetime.service.catalog.MovieChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Lifecycle shared by the in-memory movie indexes: built from the database once the application is ready,
+ * {@code cinetime.movie.search.load-batch-size} movies per query, then kept current one movie at a time from
+ * {@link MovieChangedEvent}s after commit. Reads share a read lock; loading and updates take the write lock.
+ */
+@Slf4j
+abstract class LazyMovieIndex {
+
+    private final MovieRepository movieRepository;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate loadTransaction;
+    private final int loadBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean built;
+
+    LazyMovieIndex(MovieRepository movieRepository, PlatformTransactionManager transactionManager, int loadBatchSize) {
+        this.movieRepository = movieRepository;
+        this.loadBatchSize = loadBatchSize;
+        // own transaction: the listener runs after the publisher's transaction has committed
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // a read that arrives before the warm-up builds inside the caller's transaction, on its connection
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    /** Adds or replaces a movie; runs inside a read-only transaction, so lazy collections can be read. */
+    protected abstract void put(Movie movie);
+
+    protected abstract void remove(Long movieId);
+
+    protected abstract void clear();
+
+    protected abstract int size();
+
+    /** Runs {@code read} against the built index under the read lock. */
+    protected final <T> T read(Supplier<T> read) {
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            return read.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The slice of {@code ids} that {@code pageable} asks for, with the full count as total. */
+    protected static Page<Long> page(List<Long> ids, Pageable pageable) {
+        if (pageable.isUnpaged()) return new PageImpl<>(ids, pageable, ids.size());
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return new PageImpl<>(ids.subList(from, to), pageable, ids.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (!event.listingsChanged() || event.movieId() == null) return;
+        lock.writeLock().lock();
+        try {
+            // not built yet: the first read loads the committed state anyway
+            if (!built) return;
+            if (event.deleted()) {
+                remove(event.movieId());
+                return;
+            }
+            readTransaction.executeWithoutResult(status -> movieRepository.findById(event.movieId())
+                    .ifPresentOrElse(this::put, () -> remove(event.movieId())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Builds the index before the first request needs it; a failure is logged and the first read retries. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            ensureBuilt();
+        } catch (RuntimeException e) {
+            log.warn("{} could not be built at startup, building on first read", getClass().getSimpleName(), e);
+        }
+    }
+
+    private void ensureBuilt() {
+        if (built) return;
+        lock.writeLock().lock();
+        try {
+            if (built) return;
+            clear();
+            Pageable request = PageRequest.of(0, loadBatchSize, Sort.by("id"));
+            boolean more = true;
+            while (more) {
+                Pageable current = request;
+                more = Boolean.TRUE.equals(loadTransaction.execute(status -> {
+                    Page<Movie> page = movieRepository.findAll(current);
+                    page.forEach(this::put);
+                    return page.hasNext();
+                }));
+                request = request.next();
+            }
+            built = true;
+            log.info("{} built with {} movies", getClass().getSimpleName(), size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
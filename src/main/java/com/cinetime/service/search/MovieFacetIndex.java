@@ -0,0 +1,82 @@
+package com.cinetime.service.search;
+
+import com.cinetime.entity.business.Movie;
+import com.cinetime.entity.enums.MovieStatus;
+import com.cinetime.repository.business.MovieRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * In-memory faceted index of the movie catalogue behind the movie filter: genres, formats, status and special
+ * halls as bitsets, rating and release date as sorted arrays (see {@link FacetIndex}). Loading and updates are
+ * described on {@link LazyMovieIndex}.
+ */
+@Component
+public class MovieFacetIndex extends LazyMovieIndex {
+
+    /**
+     * @param genres       all of these genres are required; {@code null} or empty for any
+     * @param specialHall  substring of one of the movie's special halls, case-sensitive
+     * @param releasedFrom release date on or after this day
+     */
+    public record Filter(Collection<String> genres, MovieStatus status, Double minRating, Double maxRating,
+                         LocalDate releasedFrom, String specialHall) {
+    }
+
+    /** Number of movies per facet value within the filtered result; values without movies are left out. */
+    public record Counts(Map<String, Integer> genres, Map<String, Integer> formats,
+                         Map<MovieStatus, Integer> statuses) {
+    }
+
+    public record Result(Page<Long> ids, Counts counts) {
+    }
+
+    private final FacetIndex index = new FacetIndex();
+
+    @Autowired
+    public MovieFacetIndex(MovieRepository movieRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${cinetime.movie.search.load-batch-size:500}") int loadBatchSize) {
+        super(movieRepository, transactionManager, loadBatchSize);
+    }
+
+    /** Ids of the matching movies, newest release first then by title, cut to {@code pageable}. */
+    public Result filter(Filter filter, Pageable pageable) {
+        FacetIndex.Matches matches = read(() -> index.filter(filter));
+        return new Result(page(matches.ids(), pageable), matches.counts());
+    }
+
+    /** Facet counts of the movies matching {@code filter}. */
+    public Counts counts(Filter filter) {
+        return read(() -> index.filter(filter)).counts();
+    }
+
+    @Override
+    protected void put(Movie movie) {
+        index.put(new FacetIndex.Document(movie.getId(), movie.getTitle(), movie.getGenre(), movie.getFormats(),
+                movie.getStatus(), movie.getSpecialHalls(), movie.getRating(), movie.getReleaseDate()));
+    }
+
+    @Override
+    protected void remove(Long movieId) {
+        index.remove(movieId);
+    }
+
+    @Override
+    protected void clear() {
+        index.clear();
+    }
+
+    @Override
+    protected int size() {
+        return index.size();
+    }
+}
@@ -0,0 +1,73 @@
+package com.cinetime.service.search;
+
+import com.cinetime.entity.business.Movie;
+import com.cinetime.repository.business.MovieRepository;
+import com.cinetime.service.search.InvertedIndex.Field;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process full-text index of the movie catalogue (title, director, cast, genre, summary) behind M01.
+ * Loading and updates are described on {@link LazyMovieIndex}, matching and ranking on {@link InvertedIndex}.
+ */
+@Component
+public class MovieSearchIndex extends LazyMovieIndex {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Autowired
+    public MovieSearchIndex(MovieRepository movieRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${cinetime.movie.search.load-batch-size:500}") int loadBatchSize) {
+        super(movieRepository, transactionManager, loadBatchSize);
+    }
+
+    /** Ids of the movies matching {@code query}, most relevant first, cut to {@code pageable}. */
+    public Page<Long> search(String query, Pageable pageable) {
+        List<Long> ranked = read(() -> index.search(query));
+        return page(ranked, pageable);
+    }
+
+    @Override
+    protected void put(Movie movie) {
+        index.put(movie.getId(), movie.getTitle(), fields(movie));
+    }
+
+    @Override
+    protected void remove(Long movieId) {
+        index.remove(movieId);
+    }
+
+    @Override
+    protected void clear() {
+        index.clear();
+    }
+
+    @Override
+    protected int size() {
+        return index.size();
+    }
+
+    private static Map<Field, Collection<String>> fields(Movie movie) {
+        Map<Field, Collection<String>> fields = new EnumMap<>(Field.class);
+        fields.put(Field.TITLE, List.of(nullToEmpty(movie.getTitle())));
+        fields.put(Field.DIRECTOR, List.of(nullToEmpty(movie.getDirector())));
+        fields.put(Field.CAST, movie.getCast());
+        fields.put(Field.GENRE, movie.getGenre());
+        fields.put(Field.SUMMARY, List.of(nullToEmpty(movie.getSummary())));
+        return fields;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,102 @@
+package com.cinetime.service.seat;
+
+import java.util.BitSet;
+
+/**
+ * Picks the best available seats for a group on a hall grid.
+ * <p>
+ * A candidate block is scored by its row distance from the middle row plus its
+ * horizontal offset from the middle of the row (normalised to half a row), so a
+ * centred block one row back beats an aisle block in the middle row.
+ * The whole group is seated side by side when any row has room for it; otherwise
+ * it is split greedily into the largest adjacent blocks still available.
+ * <p>
+ * Each pass is a single scan over the free runs of every row, O(rows x seatsPerRow),
+ * which stays well below a millisecond for halls of several hundred seats.
+ * Positions at or past {@code usable} (the unused tail of the last row) are never offered.
+ */
+public final class SeatAllocator {
+
+    private SeatAllocator() {
+    }
+
+    /**
+     * @param layout hall grid
+     * @param usable number of real seats, in row-major order (normally the hall capacity)
+     * @param taken  occupied positions; not modified
+     * @param count  number of seats wanted
+     * @return chosen seat indexes, adjacent seats in ascending order; empty when fewer
+     *         than {@code count} seats are free
+     */
+    public static int[] allocate(SeatLayout layout, int usable, BitSet taken, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        int limit = Math.min(usable, layout.size());
+        BitSet blocked = (BitSet) taken.clone();
+        blocked.set(limit, layout.size());
+        if (limit - blocked.get(0, limit).cardinality() < count) {
+            return new int[0];
+        }
+
+        int[] result = new int[count];
+        int filled = 0;
+        int block = count;
+        while (filled < count) {
+            block = Math.min(block, count - filled);
+            int start = bestBlock(layout, blocked, block);
+            if (start < 0) {
+                block--;
+                continue;
+            }
+            for (int i = 0; i < block; i++) {
+                result[filled++] = start + i;
+            }
+            blocked.set(start, start + block);
+        }
+        return result;
+    }
+
+    /**
+     * Start index of the best free block of {@code length} adjacent seats in one row, or -1.
+     */
+    static int bestBlock(SeatLayout layout, BitSet blocked, int length) {
+        int rows = layout.getRows();
+        int perRow = layout.getSeatsPerRow();
+        if (length > perRow) {
+            return -1;
+        }
+        double middleRow = (rows - 1) / 2.0;
+        // block start that centres it in the row
+        double idealStart = (perRow - length) / 2.0;
+
+        int bestStart = -1;
+        double bestScore = Double.MAX_VALUE;
+        for (int row = 0; row < rows; row++) {
+            double rowScore = Math.abs(row - middleRow);
+            if (rowScore >= bestScore) {
+                continue;
+            }
+            int rowStart = row * perRow;
+            int rowEnd = rowStart + perRow;
+            int runStart = blocked.nextClearBit(rowStart);
+            while (runStart < rowEnd) {
+                int nextTaken = blocked.nextSetBit(runStart);
+                int runEnd = nextTaken < 0 ? rowEnd : Math.min(nextTaken, rowEnd);
+                if (runEnd - runStart >= length) {
+                    // closest start to the centre that still fits in this run
+                    int lo = runStart - rowStart;
+                    int hi = runEnd - rowStart - length;
+                    int col = (int) Math.round(Math.max(lo, Math.min(hi, idealStart)));
+                    double score = rowScore + Math.abs(col - idealStart) / perRow;
+                    if (score < bestScore) {
+                        bestScore = score;
+                        bestStart = rowStart + col;
+                    }
+                }
+                runStart = blocked.nextClearBit(runEnd);
+            }
+        }
+        return bestStart;
+    }
+}
@@ -0,0 +1,18 @@
+package com.cinetime.service.seat;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * A RESERVED ticket waiting for payment, ordered by expiry then ticket id.
+ */
+public record SeatHold(Long ticketId, Long showtimeId, String seatLetter, int seatNumber, LocalDateTime expiresAt) {
+
+    public static final Comparator<SeatHold> BY_EXPIRY = Comparator
+            .comparing(SeatHold::expiresAt)
+            .thenComparing(SeatHold::ticketId);
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+}
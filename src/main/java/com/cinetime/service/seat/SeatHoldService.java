@@ -0,0 +1,140 @@
+package com.cinetime.service.seat;
+
+import com.cinetime.entity.business.Ticket;
+import com.cinetime.repository.business.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Time-limited seat holds.
+ * <p>
+ * {@code reserve} creates RESERVED tickets with {@code holdExpiresAt = now + TTL}; they are tracked here in
+ * an expiry-ordered set so the {@link SeatHoldSweeper} can find due holds without scanning the table.
+ * Expired holds are deleted in bulk (one DELETE per batch) and their seats are released in the
+ * {@link SeatInventoryService}. Holds converted to PAID by {@code buy} are simply forgotten; {@code buy} only
+ * converts holds whose expiry is still ahead, so a hold the sweeper may be deleting is never bought.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatHoldService {
+
+    private final TicketRepository ticketRepository;
+    private final SeatInventoryService seatInventoryService;
+
+    @Value("${cinetime.ticket.reservation.timeout.minutes:15}")
+    private long holdMinutes;
+
+    private final NavigableSet<SeatHold> byExpiry = new ConcurrentSkipListSet<>(SeatHold.BY_EXPIRY);
+    private final Map<Long, SeatHold> byTicketId = new ConcurrentHashMap<>();
+
+    public LocalDateTime newHoldExpiry() {
+        return LocalDateTime.now().plusMinutes(holdMinutes);
+    }
+
+    /** Starts tracking the given RESERVED tickets once the surrounding transaction commits. */
+    public void track(Collection<Ticket> tickets) {
+        List<SeatHold> holds = tickets.stream()
+                .filter(t -> t.getId() != null && t.getHoldExpiresAt() != null)
+                .map(SeatHoldService::toHold)
+                .toList();
+        afterCommit(() -> holds.forEach(this::add));
+    }
+
+    /** Stops tracking tickets that left the RESERVED state (bought or cancelled). */
+    public void forget(Collection<Ticket> tickets) {
+        List<Long> ids = tickets.stream().map(Ticket::getId).toList();
+        afterCommit(() -> ids.forEach(this::remove));
+    }
+
+    public int size() {
+        return byTicketId.size();
+    }
+
+    /** Holds whose expiry is at or before {@code now}, oldest first, at most {@code limit}. */
+    public List<SeatHold> dueHolds(LocalDateTime now, int limit) {
+        List<SeatHold> due = new ArrayList<>();
+        for (SeatHold hold : byExpiry) {
+            if (!hold.isExpired(now) || due.size() >= limit) break;
+            due.add(hold);
+        }
+        return due;
+    }
+
+    /**
+     * Deletes the given expired holds with a single statement and frees their seats.
+     * Holds that were bought in the meantime are left alone by the status guard in the query.
+     *
+     * @return number of reservations released
+     */
+    @Transactional
+    public int releaseExpired(List<SeatHold> due, LocalDateTime now) {
+        if (due.isEmpty()) return 0;
+
+        List<Long> ids = due.stream().map(SeatHold::ticketId).toList();
+        List<SeatHold> released = ticketRepository.findExpiredHolds(ids, now).stream()
+                .map(SeatHoldService::toHold)
+                .toList();
+        int deleted = released.isEmpty() ? 0 : ticketRepository.deleteExpiredHolds(ids, now);
+
+        afterCommit(() -> {
+            released.forEach(h -> seatInventoryService.release(h.showtimeId(), h.seatLetter(), h.seatNumber()));
+            ids.forEach(this::remove);
+        });
+        return deleted;
+    }
+
+    /** Re-reads pending holds after a restart so none of them is left behind. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadActiveHolds() {
+        List<Ticket> active = ticketRepository.findAllActiveHolds();
+        active.stream().map(SeatHoldService::toHold).forEach(this::add);
+        log.info("Loaded {} active seat holds", active.size());
+    }
+
+    private void add(SeatHold hold) {
+        SeatHold previous = byTicketId.put(hold.ticketId(), hold);
+        if (previous != null) byExpiry.remove(previous);
+        byExpiry.add(hold);
+    }
+
+    private void remove(Long ticketId) {
+        SeatHold hold = byTicketId.remove(ticketId);
+        if (hold != null) byExpiry.remove(hold);
+    }
+
+    private static SeatHold toHold(Ticket t) {
+        return new SeatHold(t.getId(), t.getShowtime().getId(), t.getSeatLetter(), t.getSeatNumber(),
+                t.getHoldExpiresAt());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
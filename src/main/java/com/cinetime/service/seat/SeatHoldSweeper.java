@@ -0,0 +1,45 @@
+package com.cinetime.service.seat;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically releases expired seat holds, one transaction and one DELETE per batch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatHoldSweeper {
+
+    private final SeatHoldService seatHoldService;
+
+    @Value("${cinetime.ticket.hold.sweep-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${cinetime.ticket.hold.sweep-interval-ms:30000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        List<SeatHold> due;
+        do {
+            due = seatHoldService.dueHolds(now, batchSize);
+            try {
+                total += seatHoldService.releaseExpired(due, now);
+            } catch (RuntimeException ex) {
+                // Holds stay tracked and are retried on the next run
+                log.warn("Seat hold sweep failed: {}", ex.getMessage());
+                return;
+            }
+        } while (due.size() == batchSize);
+
+        if (total > 0) {
+            log.debug("Released {} expired seat holds", total);
+        }
+    }
+}
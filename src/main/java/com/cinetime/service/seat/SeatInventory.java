@@ -0,0 +1,124 @@
+package com.cinetime.service.seat;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Taken-seat state of a single showtime.
+ * <p>
+ * Seats inside the hall layout live in a {@link BitSet}; labels that do not fit the
+ * grid (legacy data) are kept in a small overflow set so they are still honoured.
+ * All methods are synchronized on the instance, one lock per showtime.
+ */
+public class SeatInventory {
+
+    private final Long showtimeId;
+    private final Long hallId;
+    private final SeatLayout layout;
+    private final int capacity;
+    private final BitSet taken;
+    private final Set<String> overflow = new HashSet<>();
+    private volatile long lastAccess;
+
+    public SeatInventory(Long showtimeId, Long hallId, SeatLayout layout, int capacity) {
+        this.showtimeId = showtimeId;
+        this.hallId = hallId;
+        this.layout = layout;
+        this.capacity = capacity;
+        this.taken = new BitSet(layout.size());
+    }
+
+    public Long getShowtimeId() {
+        return showtimeId;
+    }
+
+    public Long getHallId() {
+        return hallId;
+    }
+
+    public SeatLayout getLayout() {
+        return layout;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    void touch() {
+        lastAccess = System.nanoTime();
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+
+    public synchronized boolean isTaken(String seatLetter, int seatNumber) {
+        int idx = layout.indexOf(seatLetter, seatNumber);
+        return idx >= 0 ? taken.get(idx) : overflow.contains(SeatLayout.label(seatLetter, seatNumber));
+    }
+
+    public synchronized void markTaken(String seatLetter, int seatNumber) {
+        int idx = layout.indexOf(seatLetter, seatNumber);
+        if (idx >= 0) taken.set(idx);
+        else overflow.add(SeatLayout.label(seatLetter, seatNumber));
+    }
+
+    public synchronized void release(String seatLetter, int seatNumber) {
+        int idx = layout.indexOf(seatLetter, seatNumber);
+        if (idx >= 0) taken.clear(idx);
+        else overflow.remove(SeatLayout.label(seatLetter, seatNumber));
+    }
+
+    /** Marks a seat id as returned by {@code TicketRepository.findTakenSeatIds} ("A12"). */
+    public synchronized void markTaken(String seatId) {
+        int split = 0;
+        while (split < seatId.length() && Character.isLetter(seatId.charAt(split))) split++;
+        if (split == 0 || split == seatId.length()) {
+            overflow.add(seatId.toUpperCase());
+            return;
+        }
+        try {
+            markTaken(seatId.substring(0, split), Integer.parseInt(seatId.substring(split)));
+        } catch (NumberFormatException ex) {
+            overflow.add(seatId.toUpperCase());
+        }
+    }
+
+    public synchronized int takenCount() {
+        return taken.cardinality() + overflow.size();
+    }
+
+    public synchronized int remaining() {
+        return Math.max(0, capacity - takenCount());
+    }
+
+    /**
+     * Best {@code count} free seats of the grid, see {@link SeatAllocator}.
+     * Nothing is marked; the caller claims the returned seats.
+     */
+    public synchronized List<String> bestAvailable(int count) {
+        int[] picked = SeatAllocator.allocate(layout, capacity, taken, count);
+        List<String> labels = new ArrayList<>(picked.length);
+        for (int index : picked) {
+            labels.add(layout.labelOf(index));
+        }
+        return labels;
+    }
+
+    /** Copy of the occupancy bits for read-only consumers (e.g. seat allocation). */
+    public synchronized BitSet takenBits() {
+        return (BitSet) taken.clone();
+    }
+
+    public synchronized List<String> snapshot() {
+        List<String> ids = new ArrayList<>(takenCount());
+        for (int i = taken.nextSetBit(0); i >= 0; i = taken.nextSetBit(i + 1)) {
+            ids.add(layout.labelOf(i));
+        }
+        ids.addAll(overflow);
+        return ids;
+    }
+}
@@ -0,0 +1,206 @@
+package com.cinetime.service.seat;
+
+import com.cinetime.entity.business.Showtime;
+import com.cinetime.exception.ConflictException;
+import com.cinetime.payload.messages.ErrorMessages;
+import com.cinetime.payload.request.business.BuyTicketRequest;
+import com.cinetime.repository.business.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory seat occupancy per showtime.
+ * <p>
+ * Each showtime is loaded once from {@link TicketRepository#findTakenSeatIds(Long)} into a
+ * {@link SeatInventory}; availability and capacity checks afterwards are O(1) per seat and
+ * need no database round trip. The {@code uk_tickets_showtime_seat} unique constraint stays
+ * the final guard: callers {@link #evict(Long)} the showtime when it fires so the next request
+ * reloads the real state.
+ * <p>
+ * Committed changes are announced as {@link SeatMapChangedEvent}s for live seat-map subscribers.
+ * <p>
+ * At most {@code cinetime.seats.max-cached-showtimes} showtimes are kept; past that the least recently
+ * used ones are dropped and reloaded on their next access.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatInventoryService {
+
+    private final TicketRepository ticketRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${cinetime.seats.max-cached-showtimes:5000}")
+    private int maxCachedShowtimes = 5000;
+
+    private final Map<Long, SeatInventory> inventories = new ConcurrentHashMap<>();
+
+    public SeatInventory inventoryFor(Showtime showtime) {
+        SeatInventory inventory = inventories.computeIfAbsent(showtime.getId(), id -> load(showtime));
+        inventory.touch();
+        if (inventories.size() > maxCachedShowtimes) {
+            trim();
+        }
+        return inventory;
+    }
+
+    public List<String> getTakenSeats(Showtime showtime) {
+        return inventoryFor(showtime).snapshot();
+    }
+
+    public int remainingSeats(Showtime showtime) {
+        return inventoryFor(showtime).remaining();
+    }
+
+    /**
+     * Chooses the best {@code count} free seats of the showtime (adjacent, near the centre).
+     * The seats are only proposed; {@link #claim} still has to take them, which is safe when both
+     * calls run on the showtime's booking lane.
+     *
+     * @throws ConflictException if fewer than {@code count} seats are free
+     */
+    public List<BuyTicketRequest.SeatInfo> bestAvailable(Showtime showtime, int count) {
+        SeatInventory inventory = inventoryFor(showtime);
+        List<String> labels = inventory.bestAvailable(count);
+        if (labels.isEmpty()) {
+            throw new ConflictException(String.format(ErrorMessages.NOT_ENOUGH_ADJACENT_SEATS, inventory.remaining()));
+        }
+        return labels.stream().map(SeatInventoryService::toSeatInfo).toList();
+    }
+
+    /**
+     * Atomically checks that every requested seat is free and marks them as taken.
+     * <p>
+     * When called inside a transaction the claim is rolled back automatically if that
+     * transaction does not commit.
+     *
+     * @throws ConflictException if a seat is already taken or requested twice
+     */
+    public void claim(Showtime showtime, List<BuyTicketRequest.SeatInfo> seats) {
+        SeatInventory inventory = inventoryFor(showtime);
+        synchronized (inventory) {
+            Set<String> requested = new HashSet<>();
+            for (BuyTicketRequest.SeatInfo seat : seats) {
+                String seatLetter = seat.getSeatLetter();
+                int seatNumber = seat.getSeatNumber();
+                if (!requested.add(SeatLayout.label(seatLetter, seatNumber))
+                        || inventory.isTaken(seatLetter, seatNumber)) {
+                    throw new ConflictException("Seat " + seatLetter + "-" + seatNumber + " is already reserved/paid");
+                }
+            }
+            for (BuyTicketRequest.SeatInfo seat : seats) {
+                inventory.markTaken(seat.getSeatLetter(), seat.getSeatNumber());
+            }
+        }
+        publishOnCommit(inventory, seats);
+    }
+
+    public void release(Long showtimeId, String seatLetter, int seatNumber) {
+        SeatInventory inventory = inventories.get(showtimeId);
+        if (inventory != null) {
+            inventory.release(seatLetter, seatNumber);
+        }
+        eventPublisher.publishEvent(SeatMapChangedEvent.released(
+                showtimeId, List.of(SeatLayout.label(seatLetter, seatNumber))));
+    }
+
+    /** Drops the cached state of a showtime; the next access reloads it from the database. */
+    public void evict(Long showtimeId) {
+        inventories.remove(showtimeId);
+    }
+
+    /**
+     * Drops the cached state of these showtimes once the current transaction commits (right away without one),
+     * e.g. after their tickets were deleted in bulk or a showtime moved to another hall.
+     */
+    public void evictAfterCommit(Collection<Long> showtimeIds) {
+        if (showtimeIds.isEmpty()) return;
+        List<Long> ids = List.copyOf(showtimeIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.forEach(this::evict);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ids.forEach(SeatInventoryService.this::evict);
+            }
+        });
+    }
+
+    /** Drops every cached showtime of a hall, e.g. after its seat layout changed. */
+    public void evictHall(Long hallId) {
+        inventories.values().removeIf(inventory -> hallId.equals(inventory.getHallId()));
+    }
+
+    // Drops the least recently used tenth (at least the excess) in one pass
+    private synchronized void trim() {
+        int excess = inventories.size() - maxCachedShowtimes;
+        if (excess <= 0) return;
+        int drop = Math.max(excess, maxCachedShowtimes / 10);
+        inventories.values().stream()
+                .sorted(Comparator.comparingLong(SeatInventory::lastAccess))
+                .limit(drop)
+                .toList()
+                .forEach(inventory -> inventories.remove(inventory.getShowtimeId(), inventory));
+        log.debug("Seat inventory cache trimmed by {} showtimes", drop);
+    }
+
+    private static BuyTicketRequest.SeatInfo toSeatInfo(String label) {
+        int split = 0;
+        while (split < label.length() && Character.isLetter(label.charAt(split))) split++;
+        return BuyTicketRequest.SeatInfo.builder()
+                .seatLetter(label.substring(0, split))
+                .seatNumber(Integer.parseInt(label.substring(split)))
+                .build();
+    }
+
+    private SeatInventory load(Showtime showtime) {
+        SeatInventory inventory = new SeatInventory(
+                showtime.getId(),
+                showtime.getHall().getId(),
+                SeatLayout.of(showtime.getHall()),
+                showtime.getHall().getSeatCapacity());
+        for (String seatId : ticketRepository.findTakenSeatIds(showtime.getId())) {
+            inventory.markTaken(seatId);
+        }
+        log.debug("Seat inventory loaded for showtime {} ({} taken)", showtime.getId(), inventory.takenCount());
+        return inventory;
+    }
+
+    // Rolls the claim back if the transaction fails, announces it once it commits
+    private void publishOnCommit(SeatInventory inventory, List<BuyTicketRequest.SeatInfo> seats) {
+        List<String> seatIds = seats.stream()
+                .map(seat -> SeatLayout.label(seat.getSeatLetter(), seat.getSeatNumber()))
+                .toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishEvent(SeatMapChangedEvent.taken(inventory.getShowtimeId(), seatIds));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    eventPublisher.publishEvent(SeatMapChangedEvent.taken(inventory.getShowtimeId(), seatIds));
+                } else {
+                    for (BuyTicketRequest.SeatInfo seat : seats) {
+                        inventory.release(seat.getSeatLetter(), seat.getSeatNumber());
+                    }
+                }
+            }
+        });
+    }
+}
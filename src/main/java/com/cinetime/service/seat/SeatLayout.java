@@ -0,0 +1,99 @@
+package com.cinetime.service.seat;
+
+import com.cinetime.entity.business.Hall;
+
+import java.util.Locale;
+
+/**
+ * Maps seat labels ("A1", "B12", "AA3") of a hall to dense bit indexes.
+ * <p>
+ * Rows are lettered A..Z, AA..AZ, ... and seats are numbered from 1.
+ * The index of a seat is {@code row * seatsPerRow + (seatNumber - 1)}.
+ * The grid comes from {@code Hall.seatRows x Hall.seatsPerRow}; halls without one fall back
+ * to rows of {@link #DEFAULT_SEATS_PER_ROW} seats.
+ */
+public final class SeatLayout {
+
+    /** Row width used when a hall only declares its seat capacity. */
+    public static final int DEFAULT_SEATS_PER_ROW = 10;
+
+    private final int rows;
+    private final int seatsPerRow;
+
+    public SeatLayout(int rows, int seatsPerRow) {
+        if (rows < 1 || seatsPerRow < 1) {
+            throw new IllegalArgumentException("rows and seatsPerRow must be positive");
+        }
+        this.rows = rows;
+        this.seatsPerRow = seatsPerRow;
+    }
+
+    public static SeatLayout of(Hall hall) {
+        Integer seatRows = hall.getSeatRows();
+        Integer seatsPerRow = hall.getSeatsPerRow();
+        if (seatRows != null && seatsPerRow != null && seatRows > 0 && seatsPerRow > 0) {
+            return new SeatLayout(seatRows, seatsPerRow);
+        }
+        int capacity = hall.getSeatCapacity() == null ? 0 : hall.getSeatCapacity();
+        int perRow = DEFAULT_SEATS_PER_ROW;
+        int rowCount = Math.max(1, (capacity + perRow - 1) / perRow);
+        return new SeatLayout(rowCount, perRow);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getSeatsPerRow() {
+        return seatsPerRow;
+    }
+
+    /** Number of addressable positions in the grid. */
+    public int size() {
+        return rows * seatsPerRow;
+    }
+
+    /**
+     * @return bit index of the seat, or -1 when the seat is outside this layout
+     */
+    public int indexOf(String seatLetter, int seatNumber) {
+        int row = rowIndex(seatLetter);
+        if (row < 0 || row >= rows || seatNumber < 1 || seatNumber > seatsPerRow) {
+            return -1;
+        }
+        return row * seatsPerRow + (seatNumber - 1);
+    }
+
+    public String labelOf(int index) {
+        return rowLetter(index / seatsPerRow) + (index % seatsPerRow + 1);
+    }
+
+    /** "A" -> 0, "Z" -> 25, "AA" -> 26 ... ; -1 for anything that is not letters only. */
+    public static int rowIndex(String seatLetter) {
+        if (seatLetter == null || seatLetter.isBlank()) return -1;
+        String s = seatLetter.trim().toUpperCase(Locale.ROOT);
+        int value = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 'A' || c > 'Z') return -1;
+            value = value * 26 + (c - 'A' + 1);
+        }
+        return value - 1;
+    }
+
+    public static String rowLetter(int rowIndex) {
+        StringBuilder sb = new StringBuilder();
+        int n = rowIndex + 1;
+        while (n > 0) {
+            int rem = (n - 1) % 26;
+            sb.append((char) ('A' + rem));
+            n = (n - 1) / 26;
+        }
+        return sb.reverse().toString();
+    }
+
+    /** Normalised label used for seats that fall outside the grid ("b12" -> "B12"). */
+    public static String label(String seatLetter, int seatNumber) {
+        return seatLetter.trim().toUpperCase(Locale.ROOT) + seatNumber;
+    }
+}
@@ -0,0 +1,177 @@
+package com.cinetime.service.seat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans seat-map changes out to Server-Sent Events subscribers, grouped by showtime.
+ * <p>
+ * A subscriber first receives a {@code snapshot} event with every taken seat, then {@code taken} /
+ * {@code released} deltas as {@link SeatMapChangedEvent}s arrive. Events are only queued on the calling
+ * thread: every subscriber has its own bounded queue, drained in order by one sender thread at a time, so a
+ * client that stops reading blocks nobody but itself. A subscriber whose queue overflows is closed, and the
+ * client reconnects for a fresh snapshot. No database query is made after the subscription is opened.
+ */
+@Slf4j
+@Component
+public class SeatMapBroadcaster implements DisposableBean {
+
+    private final long emitterTimeoutMs;
+    private final int queueCapacity;
+    private final Executor senders;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public SeatMapBroadcaster(@Value("${cinetime.ticket.seat-stream.timeout-ms:1800000}") long emitterTimeoutMs,
+                              @Value("${cinetime.ticket.seat-stream.lanes:4}") int senderThreads,
+                              @Value("${cinetime.ticket.seat-stream.queue-capacity:64}") int queueCapacity) {
+        this(emitterTimeoutMs, queueCapacity, newSenderPool(senderThreads));
+    }
+
+    SeatMapBroadcaster(long emitterTimeoutMs, int queueCapacity, Executor senders) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.senders = senders;
+    }
+
+    public SseEmitter subscribe(SeatInventory inventory) {
+        Long showtimeId = inventory.getShowtimeId();
+        Subscriber subscriber = new Subscriber(showtimeId, new SseEmitter(emitterTimeoutMs));
+        subscribers.compute(showtimeId, (id, group) -> {
+            Set<Subscriber> g = group != null ? group : new CopyOnWriteArraySet<>();
+            g.add(subscriber);
+            return g;
+        });
+
+        Runnable remove = () -> unsubscribe(subscriber);
+        subscriber.emitter.onCompletion(remove);
+        subscriber.emitter.onTimeout(remove);
+        subscriber.emitter.onError(ex -> remove.run());
+
+        // Taken after joining the group: a delta queued before it is superseded by the snapshot
+        subscriber.offer(SseEmitter.event().name("snapshot").data(inventory.snapshot()));
+        return subscriber.emitter;
+    }
+
+    public int subscriberCount(Long showtimeId) {
+        Set<Subscriber> group = subscribers.get(showtimeId);
+        return group == null ? 0 : group.size();
+    }
+
+    @EventListener
+    public void onSeatMapChanged(SeatMapChangedEvent event) {
+        Set<Subscriber> group = subscribers.get(event.showtimeId());
+        if (group == null || group.isEmpty()) return;
+
+        for (Subscriber subscriber : group) {
+            if (!event.taken().isEmpty()) subscriber.offer(SseEmitter.event().name("taken").data(event.taken()));
+            if (!event.released().isEmpty()) subscriber.offer(SseEmitter.event().name("released").data(event.released()));
+        }
+    }
+
+    // Keeps idle connections open through proxies and finds clients that went away
+    @Scheduled(fixedDelayString = "${cinetime.ticket.seat-stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(group -> group.forEach(s -> s.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    @Override
+    public void destroy() {
+        if (senders instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+        subscribers.values().forEach(group -> group.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.computeIfPresent(subscriber.showtimeId, (id, group) -> {
+            group.remove(subscriber);
+            return group.isEmpty() ? null : group;
+        });
+    }
+
+    private static ExecutorService newSenderPool(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "seat-stream-" + counter.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** One SSE connection: its pending events and the flag that keeps a single sender draining them. */
+    private final class Subscriber implements Runnable {
+
+        private final Long showtimeId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(Long showtimeId, SseEmitter emitter) {
+            this.showtimeId = showtimeId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) return;
+            if (!pending.offer(event)) {
+                // Completing here could wait on the stuck send; the sender completes it once that returns
+                log.debug("Seat stream subscriber of showtime {} is {} events behind, closing it",
+                        showtimeId, queueCapacity);
+                unsubscribe(this);
+                pending.clear();
+                return;
+            }
+            schedule();
+        }
+
+        @Override
+        public void run() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    emitter.send(event);
+                }
+                if (closed) emitter.complete();
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Dropping seat stream subscriber of showtime {}: {}", showtimeId, ex.getMessage());
+                unsubscribe(this);
+            } finally {
+                draining.set(false);
+            }
+            // An event offered between the last poll and the reset above would otherwise wait for the next one
+            if (!closed && !pending.isEmpty()) schedule();
+        }
+
+        private void schedule() {
+            if (!draining.compareAndSet(false, true)) return;
+            try {
+                senders.execute(this);
+            } catch (RejectedExecutionException ex) {
+                // shutting down
+                draining.set(false);
+            }
+        }
+    }
+}
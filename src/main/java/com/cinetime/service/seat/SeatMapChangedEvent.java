@@ -0,0 +1,18 @@
+package com.cinetime.service.seat;
+
+import java.util.List;
+
+/**
+ * Published by {@link SeatInventoryService} once seats of a showtime become taken or free again.
+ * Seat ids have the same "A12" format as {@code TicketRepository.findTakenSeatIds}.
+ */
+public record SeatMapChangedEvent(Long showtimeId, List<String> taken, List<String> released) {
+
+    public static SeatMapChangedEvent taken(Long showtimeId, List<String> seatIds) {
+        return new SeatMapChangedEvent(showtimeId, seatIds, List.of());
+    }
+
+    public static SeatMapChangedEvent released(Long showtimeId, List<String> seatIds) {
+        return new SeatMapChangedEvent(showtimeId, List.of(), seatIds);
+    }
+}
@@ -0,0 +1,42 @@
+package com.cinetime.service.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed storage for binary content (image bytes). A blob's key is the hex SHA-256 of its content,
+ * so storing the same bytes twice keeps one copy; the database only holds the key and metadata.
+ * <p>
+ * The implementation is picked with {@code cinetime.storage.type}; {@code filesystem} is the default.
+ */
+public interface BlobStore {
+
+    Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+
+    /** Stores {@code content}, reading it to the end without buffering it whole; the caller closes it. */
+    default StoredBlob put(InputStream content) {
+        return put(content, key -> {
+        });
+    }
+
+    /**
+     * Like {@link #put(InputStream)}, calling {@code beforePublish} with the key once the content is hashed and
+     * before the blob is made readable or an existing copy is reused, so the caller can protect the key from a
+     * concurrent {@link #delete}.
+     */
+    StoredBlob put(InputStream content, Consumer<String> beforePublish);
+
+    /** The blob as a readable resource, or empty if no blob has this key. */
+    Optional<Resource> get(String key);
+
+    /** Removes the blob; no-op if it does not exist. Callers make sure nothing references it any more. */
+    void delete(String key);
+
+    static boolean isKey(String key) {
+        return key != null && KEY.matcher(key).matches();
+    }
+}
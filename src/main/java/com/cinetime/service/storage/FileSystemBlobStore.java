@@ -0,0 +1,126 @@
+package com.cinetime.service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * {@link BlobStore} on the local filesystem under {@code cinetime.storage.filesystem.root}:
+ * {@code ab/cd/abcd...} by key, fanned out on the first two bytes so no directory grows too large.
+ * <p>
+ * Content is streamed into a temp file while it is hashed and then moved into place atomically, so readers
+ * never see a partial blob and two concurrent puts of the same bytes end with one intact file.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cinetime.storage.type", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemBlobStore implements BlobStore {
+
+    private final Path root;
+    private final Path incoming;
+
+    public FileSystemBlobStore(@Value("${cinetime.storage.filesystem.root:data/blobs}") Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        this.incoming = this.root.resolve("incoming");
+    }
+
+    @Override
+    public StoredBlob put(InputStream content, Consumer<String> beforePublish) {
+        Path temp = null;
+        try {
+            Files.createDirectories(incoming);
+            temp = Files.createTempFile(incoming, "blob-", ".part");
+
+            MessageDigest sha256 = sha256();
+            long size;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                size = new DigestInputStream(content, sha256).transferTo(out);
+            }
+            String key = HexFormat.of().formatHex(sha256.digest());
+            beforePublish.accept(key);
+
+            Path target = path(key);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                move(temp, target);
+            }
+            return new StoredBlob(key, size);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not store blob", ex);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    @Override
+    public Optional<Resource> get(String key) {
+        if (!BlobStore.isKey(key)) return Optional.empty();
+        Path path = path(key);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    @Override
+    public void delete(String key) {
+        if (!BlobStore.isKey(key)) return;
+        try {
+            Files.deleteIfExists(path(key));
+        } catch (IOException ex) {
+            // an orphaned file only costs disk space
+            log.warn("Could not delete blob {}: {}", key, ex.getMessage());
+        }
+    }
+
+    private Path path(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static void move(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException ex) {
+            // the same content was stored concurrently
+        } catch (AtomicMoveNotSupportedException ex) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // the same content was stored concurrently
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static void deleteQuietly(Path temp) {
+        if (temp == null) return;
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException ex) {
+            log.warn("Could not delete temp file {}: {}", temp, ex.getMessage());
+        }
+    }
+}
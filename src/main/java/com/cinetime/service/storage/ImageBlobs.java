@@ -0,0 +1,162 @@
+package com.cinetime.service.storage;
+
+import com.cinetime.entity.business.ImageVariant;
+import com.cinetime.exception.ResourceNotFoundException;
+import com.cinetime.payload.messages.ErrorMessages;
+import com.cinetime.repository.business.CinemaImageRepository;
+import com.cinetime.repository.business.ImageRepository;
+import com.cinetime.repository.business.ImageVariantRepository;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Image bytes of movie and cinema images in the {@link BlobStore}.
+ * <p>
+ * Identical uploads share one blob, so a blob is only deleted once no {@code images} or {@code cinema_images}
+ * row references it any more, checked after the transaction that dropped the reference has committed. Its
+ * {@link ImageVariants} go with it.
+ * <p>
+ * A stored key counts as in flight from just before the store publishes or reuses the file until the storing
+ * transaction completes, and an in-flight blob is never deleted: its row may not be visible yet. A blob whose
+ * transaction rolls back is released like a dropped reference. Marking a key and deciding to delete it take the
+ * same striped lock, so the reference checks and the file delete never run inside a map operation.
+ */
+@Component
+public class ImageBlobs {
+
+    private final BlobStore blobStore;
+    private final ImageRepository imageRepository;
+    private final CinemaImageRepository cinemaImageRepository;
+    private final ImageVariantRepository imageVariantRepository;
+    private final TransactionTemplate cleanupTransaction;
+
+    private static final int LOCK_STRIPES = 64;
+
+    // blob key -> stores whose transaction has not completed yet
+    private final Map<String, Integer> inFlight = new ConcurrentHashMap<>();
+    private final Lock[] locks = newLocks();
+
+    public ImageBlobs(BlobStore blobStore,
+                      ImageRepository imageRepository,
+                      CinemaImageRepository cinemaImageRepository,
+                      ImageVariantRepository imageVariantRepository,
+                      PlatformTransactionManager transactionManager) {
+        this.blobStore = blobStore;
+        this.imageRepository = imageRepository;
+        this.cinemaImageRepository = cinemaImageRepository;
+        this.imageVariantRepository = imageVariantRepository;
+        // own transaction: cleanup runs after the caller's transaction has completed, when it can no longer commit
+        this.cleanupTransaction = new TransactionTemplate(transactionManager);
+        this.cleanupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Stores and closes {@code content}; released again if the surrounding transaction rolls back. */
+    public StoredBlob store(InputStream content) {
+        StoredBlob stored;
+        try (InputStream in = content) {
+            stored = blobStore.put(in, this::markInFlight);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not store image", ex);
+        }
+
+        String key = stored.key();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    landed(key);
+                    if (status != STATUS_COMMITTED) deleteIfUnreferenced(key);
+                }
+            });
+        } else {
+            landed(key);
+        }
+        return stored;
+    }
+
+    public Resource open(String blobKey) {
+        return blobStore.get(blobKey)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.IMAGE_NOT_FOUND));
+    }
+
+    /** Deletes the blob after commit unless another image still uses it; no-op for {@code null}. */
+    public void releaseAfterCommit(String blobKey) {
+        if (blobKey == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteIfUnreferenced(blobKey);
+                }
+            });
+        } else {
+            deleteIfUnreferenced(blobKey);
+        }
+    }
+
+    // under the key's lock: a delete in progress finishes before the store publishes or reuses the file
+    private void markInFlight(String blobKey) {
+        Lock lock = lockFor(blobKey);
+        lock.lock();
+        try {
+            inFlight.merge(blobKey, 1, Integer::sum);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void landed(String blobKey) {
+        inFlight.computeIfPresent(blobKey, (key, stores) -> stores == 1 ? null : stores - 1);
+    }
+
+    private void deleteIfUnreferenced(String blobKey) {
+        List<ImageVariant> variants = new ArrayList<>();
+        // a concurrent store either marks the key first or finds the file gone
+        Lock lock = lockFor(blobKey);
+        lock.lock();
+        try {
+            if (inFlight.containsKey(blobKey)) return;
+            // the file goes only once the variant rows are gone for good
+            boolean unused = Boolean.TRUE.equals(cleanupTransaction.execute(status -> {
+                if (imageRepository.existsByBlobKey(blobKey) || cinemaImageRepository.existsByBlobKey(blobKey)) {
+                    return false;
+                }
+                variants.addAll(imageVariantRepository.findAllBySourceKey(blobKey));
+                imageVariantRepository.deleteAll(variants);
+                // a variant of another source may have come out byte-identical
+                return !imageVariantRepository.existsByBlobKey(blobKey);
+            }));
+            if (unused) blobStore.delete(blobKey);
+        } finally {
+            lock.unlock();
+        }
+        for (ImageVariant variant : variants) {
+            if (!variant.getBlobKey().equals(blobKey)) deleteIfUnreferenced(variant.getBlobKey());
+        }
+    }
+
+    private Lock lockFor(String blobKey) {
+        return locks[Math.floorMod(blobKey.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static Lock[] newLocks() {
+        Lock[] locks = new Lock[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) locks[i] = new ReentrantLock();
+        return locks;
+    }
+}
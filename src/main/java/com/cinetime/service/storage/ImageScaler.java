@@ -0,0 +1,109 @@
+package com.cinetime.service.storage;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Decoding, downscaling and encoding of image variants with the JDK's ImageIO and Java2D.
+ */
+final class ImageScaler {
+
+    static final float JPEG_QUALITY = 0.85f;
+
+    record Encoded(byte[] bytes, String type) {
+    }
+
+    private ImageScaler() {}
+
+    /**
+     * Decodes the first image in {@code in}. Large sources are subsampled while reading, but never below twice
+     * {@code minWidth}, so later downscaling keeps its quality without the full raster in memory.
+     *
+     * @return empty if ImageIO has no reader for the format, cannot decode it, or it would take more than
+     * {@code maxPixels} pixels
+     */
+    static Optional<BufferedImage> decode(InputStream in, int minWidth, long maxPixels) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            if (input == null) return Optional.empty();
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return Optional.empty();
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int step = Math.max(1, width / (minWidth * 2));
+                if ((long) width * height / ((long) step * step) > maxPixels) return Optional.empty();
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (step > 1) param.setSourceSubsampling(step, step, 0, 0);
+                return Optional.ofNullable(reader.read(0, param));
+            } catch (IIOException ex) {
+                // corrupt or unsupported variant of the format (e.g. CMYK JPEG)
+                return Optional.empty();
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** {@code source} scaled to {@code width} (smaller than its own), halving in steps for a smooth result. */
+    static BufferedImage scale(BufferedImage source, int width) {
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+
+        BufferedImage current = source;
+        do {
+            int nextWidth = Math.max(width, current.getWidth() / 2);
+            int nextHeight = nextWidth == width ? targetHeight : Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (current.getWidth() != width);
+        return current;
+    }
+
+    /** JPEG for opaque images, PNG where transparency has to survive. */
+    static Encoded encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (image.getColorModel().hasAlpha()) {
+            ImageIO.write(image, "png", out);
+            return new Encoded(out.toByteArray(), "image/png");
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return new Encoded(out.toByteArray(), "image/jpeg");
+    }
+}
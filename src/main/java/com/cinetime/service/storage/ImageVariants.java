@@ -0,0 +1,208 @@
+package com.cinetime.service.storage;
+
+import com.cinetime.entity.business.ImageVariant;
+import com.cinetime.repository.business.ImageVariantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Downscaled variants of movie images ({@link Size}), rendered with ImageIO and kept in the {@link BlobStore}
+ * next to the original, one {@link ImageVariant} row per source blob and size.
+ * <p>
+ * Uploads queue the rendering of all sizes after commit on a small bounded pool; when the queue is full the work
+ * is left to the first request. A request for a size that is not rendered yet renders the missing sizes of that
+ * source on the same pool (one decode, shared with any render already running for it) and waits a bounded time,
+ * falling back to the original. Sources no wider than a size, or in a format ImageIO cannot read, get a row
+ * pointing at the source itself, so they are only decoded once.
+ */
+@Slf4j
+@Component
+public class ImageVariants implements DisposableBean {
+
+    public enum Size {
+        THUMB(200),
+        CARD(480),
+        HERO(1280);
+
+        private final int width;
+
+        Size(int width) {
+            this.width = width;
+        }
+
+        public int width() {
+            return width;
+        }
+
+        /** The smallest size at least {@code width} wide; empty when only the original is that wide. */
+        public static Optional<Size> atLeast(int width) {
+            return Arrays.stream(values()).filter(size -> size.width >= width).findFirst();
+        }
+    }
+
+    /** The blob to send for a requested width; {@code type} is {@code null} when it is the original. */
+    public record Rendition(String blobKey, String type) {
+    }
+
+    private final BlobStore blobStore;
+    private final ImageVariantRepository variantRepository;
+    private final ThreadPoolExecutor pool;
+    private final long timeoutMs;
+    private final long maxPixels;
+
+    // one render per source blob at a time
+    private final Map<String, CompletableFuture<Void>> rendering = new ConcurrentHashMap<>();
+
+    public ImageVariants(BlobStore blobStore,
+                         ImageVariantRepository variantRepository,
+                         @Value("${cinetime.images.variants.threads:2}") int threads,
+                         @Value("${cinetime.images.variants.queue-capacity:200}") int queueCapacity,
+                         @Value("${cinetime.images.variants.timeout-ms:10000}") long timeoutMs,
+                         @Value("${cinetime.images.variants.max-pixels:50000000}") long maxPixels) {
+        this.blobStore = blobStore;
+        this.variantRepository = variantRepository;
+        this.timeoutMs = timeoutMs;
+        this.maxPixels = maxPixels;
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "image-variants-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        // decoded rasters stay in memory; no temp files per read
+        ImageIO.setUseCache(false);
+    }
+
+    /** Queues the rendering of every size of {@code sourceKey} once the current transaction commits. */
+    public void renderAfterCommit(String sourceKey) {
+        if (sourceKey == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    renderInBackground(sourceKey);
+                }
+            });
+        } else {
+            renderInBackground(sourceKey);
+        }
+    }
+
+    /** The variant to send for a request of {@code width} pixels, rendering it now if needed. */
+    public Rendition resolve(String sourceKey, int width) {
+        Optional<Size> size = Size.atLeast(width);
+        if (size.isEmpty()) return original(sourceKey);
+
+        Optional<ImageVariant> variant = variantRepository.findBySourceKeyAndWidth(sourceKey, size.get().width);
+        if (variant.isEmpty()) {
+            try {
+                render(sourceKey).get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException | TimeoutException ex) {
+                log.warn("Variants of {} not ready, sending the original", sourceKey);
+                return original(sourceKey);
+            } catch (ExecutionException ex) {
+                log.warn("Rendering variants of {} failed: {}", sourceKey, ex.getCause().getMessage());
+                return original(sourceKey);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return original(sourceKey);
+            }
+            variant = variantRepository.findBySourceKeyAndWidth(sourceKey, size.get().width);
+        }
+        return variant.map(v -> new Rendition(v.getBlobKey(), v.getType())).orElseGet(() -> original(sourceKey));
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private void renderInBackground(String sourceKey) {
+        try {
+            render(sourceKey);
+        } catch (RejectedExecutionException ex) {
+            log.debug("Variant queue full, {} is rendered on first request", sourceKey);
+        }
+    }
+
+    private CompletableFuture<Void> render(String sourceKey) {
+        CompletableFuture<Void> future = rendering.computeIfAbsent(sourceKey,
+                key -> CompletableFuture.runAsync(() -> renderMissing(key), pool));
+        // registered outside computeIfAbsent: an already finished render removes itself right here
+        future.whenComplete((ignored, ex) -> rendering.remove(sourceKey, future));
+        return future;
+    }
+
+    void renderMissing(String sourceKey) {
+        List<Size> missing = Arrays.stream(Size.values())
+                .filter(size -> variantRepository.findBySourceKeyAndWidth(sourceKey, size.width).isEmpty())
+                .toList();
+        if (missing.isEmpty()) return;
+        Optional<Resource> source = blobStore.get(sourceKey);
+        if (source.isEmpty()) return;
+
+        try {
+            Optional<BufferedImage> decoded;
+            try (InputStream in = source.get().getInputStream()) {
+                decoded = ImageScaler.decode(in, missing.get(missing.size() - 1).width, maxPixels);
+            }
+            for (Size size : missing) {
+                if (decoded.isEmpty() || decoded.get().getWidth() <= size.width) {
+                    save(ImageVariant.builder().sourceKey(sourceKey).width(size.width).blobKey(sourceKey).build());
+                    continue;
+                }
+                ImageScaler.Encoded encoded = ImageScaler.encode(ImageScaler.scale(decoded.get(), size.width));
+                StoredBlob blob = blobStore.put(new ByteArrayInputStream(encoded.bytes()));
+                save(ImageVariant.builder()
+                        .sourceKey(sourceKey)
+                        .width(size.width)
+                        .blobKey(blob.key())
+                        .type(encoded.type())
+                        .size(blob.size())
+                        .build());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not render variants of " + sourceKey, ex);
+        }
+    }
+
+    private void save(ImageVariant variant) {
+        try {
+            variantRepository.save(variant);
+        } catch (DataIntegrityViolationException ex) {
+            // rendered concurrently by another instance; same bytes, same blob
+        }
+    }
+
+    private static Rendition original(String sourceKey) {
+        return new Rendition(sourceKey, null);
+    }
+}
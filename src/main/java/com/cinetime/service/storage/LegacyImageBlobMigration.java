@@ -0,0 +1,180 @@
+package com.cinetime.service.storage;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Blob;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves image bytes written before the blob store out of the {@code data} LOB columns of {@code images} and
+ * {@code cinema_images} into the {@link BlobStore}.
+ * <p>
+ * Runs in the background, {@code batch-size} rows per transaction and a bounded number of batches per run. Each
+ * LOB is streamed straight into the store; the row then gets its key and size and the LOB is cleared (and
+ * unlinked where it is a PostgreSQL large object). A row a request needs before its turn is moved on demand with
+ * {@link #migrate}. Tables without a {@code data} column (schemas created after the switch) are skipped, and a
+ * table is left alone once no row is left to move. Rows are stored through {@link ImageBlobs}, so a batch that
+ * rolls back releases the blobs it wrote.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class LegacyImageBlobMigration {
+
+    public enum Table {
+        IMAGES("images"),
+        CINEMA_IMAGES("cinema_images");
+
+        private final String name;
+
+        Table(String name) {
+            this.name = name;
+        }
+    }
+
+    private record LegacyColumn(boolean nullable, boolean largeObject) {
+    }
+
+    private record Moved(long id, StoredBlob blob) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ImageBlobs imageBlobs;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    // tables that may still hold bytes in their data column
+    private final Map<Table, LegacyColumn> pending = new ConcurrentHashMap<>();
+
+    public LegacyImageBlobMigration(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    ImageBlobs imageBlobs,
+                                    @Value("${cinetime.storage.migration.batch-size:50}") int batchSize,
+                                    @Value("${cinetime.storage.migration.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.imageBlobs = imageBlobs;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @PostConstruct
+    public void prepare() {
+        for (Table table : Table.values()) {
+            legacyColumn(table).ifPresent(column -> {
+                if (!column.nullable()) {
+                    // new rows keep their bytes in the blob store and leave data empty
+                    jdbcTemplate.execute("ALTER TABLE " + table.name + " ALTER COLUMN data DROP NOT NULL");
+                }
+                pending.put(table, column);
+            });
+        }
+    }
+
+    @Scheduled(initialDelayString = "${cinetime.storage.migration.initial-delay-ms:30000}",
+            fixedDelayString = "${cinetime.storage.migration.interval-ms:60000}")
+    public void sweep() {
+        for (Table table : List.copyOf(pending.keySet())) {
+            int total = 0;
+            int moved;
+            int batches = 0;
+            do {
+                try {
+                    moved = migrateBatch(table);
+                } catch (RuntimeException ex) {
+                    // the batch rolled back; its rows keep their LOBs and are retried on the next run
+                    log.warn("Moving {} bytes into the blob store failed: {}", table.name, ex.getMessage());
+                    return;
+                }
+                total += moved;
+            } while (moved == batchSize && ++batches < maxBatchesPerRun);
+
+            if (total > 0) {
+                log.info("Moved the bytes of {} {} rows into the blob store", total, table.name);
+            }
+            if (moved < batchSize) {
+                pending.remove(table);
+                log.info("No {} bytes left in the database", table.name);
+            }
+        }
+    }
+
+    /** Moves the bytes of one row now; empty if the row has no bytes left in the database. */
+    public Optional<StoredBlob> migrate(Table table, Long id) {
+        LegacyColumn column = pending.get(table);
+        if (column == null) return Optional.empty();
+        List<Moved> moved = transaction.execute(status -> move(table, column, id, 1));
+        return moved.stream().findFirst().map(Moved::blob);
+    }
+
+    int migrateBatch(Table table) {
+        LegacyColumn column = pending.get(table);
+        if (column == null) return 0;
+        return transaction.execute(status -> move(table, column, null, batchSize)).size();
+    }
+
+    private List<Moved> move(Table table, LegacyColumn column, Long id, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT id, data FROM ").append(table.name)
+                .append(" WHERE data IS NOT NULL AND blob_key IS NULL");
+        if (id != null) {
+            sql.append(" AND id = ?");
+            args.add(id);
+        }
+        sql.append(" ORDER BY id LIMIT ?");
+        args.add(limit);
+
+        List<Moved> moved = new ArrayList<>();
+        jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs ->
+                moved.add(new Moved(rs.getLong("id"), store(rs, column))), args.toArray());
+        if (moved.isEmpty()) return moved;
+
+        if (column.largeObject()) {
+            for (Moved m : moved) {
+                jdbcTemplate.queryForList("SELECT lo_unlink(data) FROM " + table.name + " WHERE id = ?", m.id());
+            }
+        }
+        jdbcTemplate.batchUpdate("UPDATE " + table.name + " SET blob_key = ?, size_bytes = ?, data = NULL WHERE id = ?",
+                moved.stream().map(m -> new Object[]{m.blob().key(), m.blob().size(), m.id()}).toList());
+        return moved;
+    }
+
+    private StoredBlob store(ResultSet rs, LegacyColumn column) throws SQLException {
+        Blob blob = column.largeObject() ? rs.getBlob("data") : null;
+        try {
+            return imageBlobs.store(blob != null ? blob.getBinaryStream() : rs.getBinaryStream("data"));
+        } finally {
+            if (blob != null) blob.free();
+        }
+    }
+
+    private Optional<LegacyColumn> legacyColumn(Table table) {
+        return jdbcTemplate.execute((ConnectionCallback<Optional<LegacyColumn>>) connection -> {
+            DatabaseMetaData meta = connection.getMetaData();
+            try (ResultSet rs = meta.getColumns(null, null, table.name, "data")) {
+                if (!rs.next()) return Optional.empty();
+                return Optional.of(new LegacyColumn(
+                        rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls,
+                        "oid".equalsIgnoreCase(rs.getString("TYPE_NAME"))));
+            }
+        });
+    }
+}
@@ -0,0 +1,10 @@
+package com.cinetime.service.storage;
+
+/**
+ * A blob as stored by a {@link BlobStore}.
+ *
+ * @param key  lower-case hex SHA-256 of the content
+ * @param size content length in bytes
+ */
+public record StoredBlob(String key, long size) {
+}
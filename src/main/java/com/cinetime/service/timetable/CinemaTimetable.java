@@ -0,0 +1,246 @@
+package com.cinetime.service.timetable;
+
+import com.cinetime.payload.messages.SuccessMessages;
+import com.cinetime.payload.response.business.HallMovieShowtimesResponse;
+import com.cinetime.payload.response.business.HallWithShowtimesResponse;
+import com.cinetime.payload.response.business.MovieMiniResponse;
+import com.cinetime.payload.response.business.ResponseMessage;
+import com.cinetime.repository.business.ShowtimeRepository;
+import com.cinetime.service.catalog.MovieChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Upcoming timetable of every cinema (today plus {@code cinetime.timetable.days-ahead} days), grouped by hall
+ * and movie the way S01 and C04 return it.
+ * <p>
+ * Showtimes are kept per cinema and day. The first request for a cinema loads the whole window with one
+ * date-bounded query; after that a {@link ShowtimeChangedEvent} only drops the day it names, and the next
+ * request reloads that single day and regroups the window in memory. Deleting a hall or cinema drops the
+ * cinema's days, and a {@link MovieChangedEvent} drops the days that show the movie. The grouped result is also kept
+ * serialized, together with an ETag, so S01 can answer with the stored bytes or a 304.
+ */
+@Component
+public class CinemaTimetable {
+
+    private static final Comparator<Slot> TIMETABLE_ORDER = Comparator
+            .comparing(Slot::hallName, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(Slot::hallId)
+            .thenComparing(Slot::movieTitle, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(Slot::movieId)
+            .thenComparing(Slot::time);
+
+    private final ShowtimeRepository showtimeRepository;
+    private final ObjectMapper objectMapper;
+    private final int daysAhead;
+    private final Clock clock;
+
+    private final Map<DayKey, List<Slot>> days = new ConcurrentHashMap<>();
+    private final Map<Long, Timetable> timetables = new ConcurrentHashMap<>();
+    // bumped on every invalidation; a load that raced with one is returned but not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public CinemaTimetable(ShowtimeRepository showtimeRepository,
+                           ObjectMapper objectMapper,
+                           @Value("${cinetime.timetable.days-ahead:14}") int daysAhead) {
+        this(showtimeRepository, objectMapper, daysAhead, Clock.systemDefaultZone());
+    }
+
+    CinemaTimetable(ShowtimeRepository showtimeRepository, ObjectMapper objectMapper, int daysAhead, Clock clock) {
+        this.showtimeRepository = showtimeRepository;
+        this.objectMapper = objectMapper;
+        this.daysAhead = daysAhead;
+        this.clock = clock;
+    }
+
+    /**
+     * Timetable of the cinema from today on; empty halls when nothing is scheduled.
+     * The cinema itself is not checked here.
+     */
+    public Timetable forCinema(Long cinemaId) {
+        LocalDate today = LocalDate.now(clock);
+        Timetable current = timetables.get(cinemaId);
+        if (current != null && current.from().equals(today)) {
+            return current;
+        }
+
+        long seen = generation.get();
+        days.keySet().removeIf(key -> key.date().isBefore(today));
+        LocalDate to = today.plusDays(daysAhead);
+
+        List<Slot> slots = new ArrayList<>();
+        for (Map.Entry<LocalDate, List<Slot>> day : loadDays(cinemaId, today, to, seen).entrySet()) {
+            slots.addAll(day.getValue());
+        }
+        slots.sort(TIMETABLE_ORDER);
+        List<HallWithShowtimesResponse> halls = group(slots);
+
+        byte[] json = serialize(halls);
+        Timetable built = new Timetable(today, to, Collections.unmodifiableList(halls), json,
+                "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+        if (generation.get() == seen) {
+            timetables.put(cinemaId, built);
+        }
+        return built;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowtimeChanged(ShowtimeChangedEvent event) {
+        generation.incrementAndGet();
+        days.keySet().removeIf(key -> event.affects(key.cinemaId(), key.date()));
+        if (event.cinemaId() == null) {
+            timetables.values().removeIf(timetable -> event.date() == null || timetable.covers(event.date()));
+        } else {
+            timetables.computeIfPresent(event.cinemaId(),
+                    (id, timetable) -> event.date() == null || timetable.covers(event.date()) ? null : timetable);
+        }
+    }
+
+    // A deleted movie takes its showtimes along (cascade); a renamed one changes the cached titles
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (!event.listingsChanged()) return;
+        generation.incrementAndGet();
+        Set<Long> cinemas = new HashSet<>();
+        days.entrySet().removeIf(day -> {
+            boolean shows = day.getValue().stream().anyMatch(slot -> event.movieId().equals(slot.movieId()));
+            if (shows) cinemas.add(day.getKey().cinemaId());
+            return shows;
+        });
+        cinemas.forEach(timetables::remove);
+    }
+
+    // cached days are reused; the missing ones are read with a single query spanning them
+    private Map<LocalDate, List<Slot>> loadDays(Long cinemaId, LocalDate from, LocalDate to, long seen) {
+        Map<LocalDate, List<Slot>> result = new HashMap<>();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            List<Slot> cached = days.get(new DayKey(cinemaId, date));
+            if (cached != null) {
+                result.put(date, cached);
+            } else {
+                if (firstMissing == null) firstMissing = date;
+                lastMissing = date;
+            }
+        }
+        if (firstMissing == null) {
+            return result;
+        }
+
+        Map<LocalDate, List<Slot>> loaded = new HashMap<>();
+        for (LocalDate date = firstMissing; !date.isAfter(lastMissing); date = date.plusDays(1)) {
+            if (!result.containsKey(date)) {
+                loaded.put(date, new ArrayList<>());
+            }
+        }
+        for (ShowtimeRepository.HallMovieTimeRow row :
+                showtimeRepository.findShowtimesByCinemaIdAndDateBetween(cinemaId, firstMissing, lastMissing)) {
+            List<Slot> day = loaded.get(row.getDate());
+            if (day != null) {
+                day.add(Slot.of(row));
+            }
+        }
+
+        boolean store = generation.get() == seen;
+        loaded.forEach((date, slots) -> {
+            List<Slot> day = List.copyOf(slots);
+            if (store) {
+                days.put(new DayKey(cinemaId, date), day);
+            }
+            result.put(date, day);
+        });
+        return result;
+    }
+
+    /**
+     * Single pass over slots sorted by {@link #TIMETABLE_ORDER}: halls by name, movies by title, times ascending.
+     */
+    static List<HallWithShowtimesResponse> group(List<Slot> slots) {
+        List<HallWithShowtimesResponse> halls = new ArrayList<>();
+        HallWithShowtimesResponse hall = null;
+        HallMovieShowtimesResponse movie = null;
+        for (Slot slot : slots) {
+            if (hall == null || !hall.getId().equals(slot.hallId())) {
+                hall = HallWithShowtimesResponse.builder()
+                        .id(slot.hallId())
+                        .name(slot.hallName())
+                        .seatCapacity(slot.seatCapacity())
+                        .isSpecial(slot.isSpecial())
+                        .movies(new ArrayList<>())
+                        .build();
+                halls.add(hall);
+                movie = null;
+            }
+            if (movie == null || !movie.getMovie().getId().equals(slot.movieId())) {
+                movie = HallMovieShowtimesResponse.builder()
+                        .movie(MovieMiniResponse.builder()
+                                .id(slot.movieId())
+                                .title(slot.movieTitle())
+                                .build())
+                        .times(new ArrayList<>())
+                        .build();
+                hall.getMovies().add(movie);
+            }
+            movie.getTimes().add(slot.time());
+        }
+        return halls;
+    }
+
+    private byte[] serialize(List<HallWithShowtimesResponse> halls) {
+        ResponseMessage<List<HallWithShowtimesResponse>> message = ResponseMessage.<List<HallWithShowtimesResponse>>builder()
+                .httpStatus(HttpStatus.OK)
+                .message(SuccessMessages.SHOWTIMES_FOUND_BY_CINEMA)
+                .returnBody(halls)
+                .build();
+        try {
+            return objectMapper.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Timetable could not be serialized", e);
+        }
+    }
+
+    /**
+     * Grouped timetable of one cinema for {@code from..to}, with its S01 response body and ETag.
+     */
+    public record Timetable(LocalDate from, LocalDate to, List<HallWithShowtimesResponse> halls,
+                            byte[] json, String etag) {
+
+        boolean covers(LocalDate date) {
+            return !date.isBefore(from) && !date.isAfter(to);
+        }
+    }
+
+    private record DayKey(Long cinemaId, LocalDate date) {
+    }
+
+    record Slot(Long hallId, String hallName, Integer seatCapacity, Boolean isSpecial,
+                Long movieId, String movieTitle, LocalDateTime time) {
+
+        static Slot of(ShowtimeRepository.HallMovieTimeRow row) {
+            return new Slot(row.getHallId(), row.getHallName(), row.getSeatCapacity(), row.getIsSpecial(),
+                    row.getMovieId(), row.getMovieTitle(), LocalDateTime.of(row.getDate(), row.getStartTime()));
+        }
+    }
+}
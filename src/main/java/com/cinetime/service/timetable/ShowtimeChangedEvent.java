@@ -0,0 +1,29 @@
+package com.cinetime.service.timetable;
+
+import com.cinetime.entity.business.Hall;
+import com.cinetime.entity.business.Showtime;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a showtime is created, moved or deleted, so {@link CinemaTimetable} can drop the affected day.
+ *
+ * @param cinemaId the cinema of the showtime, or {@code null} when it is not known (every cinema is affected)
+ * @param date     the screening day, or {@code null} when every day is affected (a hall or cinema was deleted)
+ */
+public record ShowtimeChangedEvent(Long cinemaId, LocalDate date) {
+
+    public static ShowtimeChangedEvent wholeCinema(Long cinemaId) {
+        return new ShowtimeChangedEvent(cinemaId, null);
+    }
+
+    public static ShowtimeChangedEvent of(Showtime showtime) {
+        Hall hall = showtime.getHall();
+        Long cinemaId = (hall == null || hall.getCinema() == null) ? null : hall.getCinema().getId();
+        return new ShowtimeChangedEvent(cinemaId, showtime.getDate());
+    }
+
+    boolean affects(Long otherCinemaId, LocalDate otherDate) {
+        return (cinemaId == null || cinemaId.equals(otherCinemaId)) && (date == null || date.equals(otherDate));
+    }
+}
@@ -24,6 +24,7 @@ import com.cinetime.repository.user.UserRepository;
 import com.cinetime.service.business.RoleService;
 import com.cinetime.service.helper.MailHelper;
 import com.cinetime.service.helper.SecurityHelper;
+import com.cinetime.service.seat.SeatInventoryService;
 import com.cinetime.util.PhoneUtils;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -63,6 +64,7 @@ public class UserService {
     private final TicketRepository ticketRepository;
     private final FavoriteRepository favoriteRepository;
     private final PaymentRepository paymentRepository;
+    private final SeatInventoryService seatInventoryService;
 
     @Value("${app.mail.from}")
     private String mailForm;
@@ -105,7 +107,10 @@ public class UserService {
 
         Long userId = user.getId();
 
+        List<Long> showtimeIds = ticketRepository.findShowtimeIdsByUserId(userId);
         ticketRepository.deleteAllByUser_Id(userId);
+        seatInventoryService.evictAfterCommit(showtimeIds);
+        ticketRepository.deleteHistoryByUserId(userId);
         favoriteRepository.deleteAllByUser_Id(userId);
         paymentRepository.deleteAllByUser_Id(userId);
 
@@ -264,7 +269,10 @@ public class UserService {
         }
 
         // 1) Önce Ticket'lar (Payment FK'sı yüzünden önce Ticket silinir)
+        List<Long> showtimeIds = ticketRepository.findShowtimeIdsByUserId(userId);
         ticketRepository.deleteAllByUser_Id(userId);
+        seatInventoryService.evictAfterCommit(showtimeIds);
+        ticketRepository.deleteHistoryByUserId(userId);
 
         // 2) Sonra Favorite'lar
         favoriteRepository.deleteAllByUser_Id(userId);
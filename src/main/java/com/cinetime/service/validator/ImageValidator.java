@@ -5,6 +5,7 @@ import com.cinetime.payload.messages.ErrorMessages;
 import org.springframework.http.MediaType;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.Locale;
 import java.util.Set;
 
@@ -52,12 +53,12 @@ public final class ImageValidator {
         return base;
     }
 
-    /** Read bytes and wrap IO issues into a BadRequest. */
-    public static byte[] safeBytes(MultipartFile file) {
+    /** Open the upload for streaming and wrap IO issues into a BadRequest; the caller closes it. */
+    public static InputStream openStream(MultipartFile file) {
         try {
-            return file.getBytes();
+            return file.getInputStream();
         } catch (Exception e) {
             throw new BadRequestException("could not read uploaded file: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
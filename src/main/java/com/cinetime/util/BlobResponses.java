@@ -0,0 +1,143 @@
+package com.cinetime.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Writes content-addressed blobs (see {@code BlobStore}) straight to the servlet response.
+ * <p>
+ * The blob key is the SHA-256 of the content, so it is used as a strong ETag: a matching {@code If-None-Match}
+ * is answered with 304 before the blob is opened. A single byte range ({@code Range}, honoured with
+ * {@code If-Range} only when it names the current ETag) is answered with 206; several ranges get the whole blob.
+ * File blobs go out through the container's sendfile when it offers it (Tomcat NIO), otherwise through
+ * {@link FileChannel#transferTo}.
+ */
+public final class BlobResponses {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final CacheControl CACHE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic();
+
+    private BlobResponses() {}
+
+    /**
+     * @param content     opened only when bytes (or their length) are needed
+     * @param contentType stored MIME type; {@code null} for octet-stream
+     */
+    public static void write(HttpServletRequest request, HttpServletResponse response, String blobKey,
+                             Supplier<Resource> content, String contentType, String fileName) throws IOException {
+        String etag = etag(blobKey);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // sets 304 and the ETag header itself
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) return;
+
+        Resource resource = content.get();
+        long length = resource.contentLength();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setContentType(contentType == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : contentType);
+        if (fileName != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.inline().filename(fileName, StandardCharsets.UTF_8).build().toString());
+        }
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range;
+        try {
+            range = requestedRange(request, etag);
+        } catch (IllegalArgumentException ex) {
+            range = null;
+        }
+        if (range != null) {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            if (start >= length || start > end) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setContentLengthLong(0);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) return;
+        if (resource.isFile()) {
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // the container writes the file once the request returns; the end is exclusive
+                request.setAttribute(SENDFILE_FILENAME, resource.getFile().getAbsolutePath());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                return;
+            }
+            transfer(resource, start, count, response.getOutputStream());
+        } else {
+            try (InputStream in = resource.getInputStream()) {
+                StreamUtils.copyRange(in, response.getOutputStream(), start, end);
+            }
+        }
+    }
+
+    static String etag(String blobKey) {
+        return "\"" + blobKey + "\"";
+    }
+
+    /**
+     * The single range to serve, or {@code null} for the whole blob: no {@code Range}, a stale {@code If-Range}
+     * or several ranges.
+     *
+     * @throws IllegalArgumentException if {@code Range} cannot be parsed
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !HttpMethod.GET.matches(request.getMethod())) return null;
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.trim().equals(etag)) return null;
+        List<HttpRange> ranges = HttpRange.parseRanges(header);
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private static void transfer(Resource resource, long start, long count, OutputStream out) throws IOException {
+        try (FileChannel file = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, target);
+                if (sent <= 0) throw new IOException("Blob ended before the announced length");
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+-- Cold storage for tickets of past showtimes (see TicketArchiver).
+-- Range-partitioned by showtime date; monthly partitions are created by the archiver before it
+-- moves a batch. Managed here rather than by ddl-auto, which cannot create partitioned tables.
+CREATE TABLE IF NOT EXISTS ticket_history (
+    id               BIGINT           NOT NULL,
+    showtime_id      BIGINT           NOT NULL,
+    showtime_date    DATE             NOT NULL,
+    start_time       TIME             NOT NULL,
+    user_id          BIGINT           NOT NULL,
+    payment_id       BIGINT,
+    seat_letter      VARCHAR(5)       NOT NULL,
+    seat_number      INTEGER          NOT NULL,
+    price            DOUBLE PRECISION NOT NULL,
+    status           VARCHAR(20)      NOT NULL,
+    movie_id         BIGINT,
+    movie_title      VARCHAR(100),
+    movie_poster_url VARCHAR(255),
+    hall_name        VARCHAR(255),
+    cinema_name      VARCHAR(100),
+    created_at       TIMESTAMP        NOT NULL,
+    archived_at      TIMESTAMP        NOT NULL,
+    PRIMARY KEY (id, showtime_date)
+) PARTITION BY RANGE (showtime_date);
+
+CREATE TABLE IF NOT EXISTS ticket_history_default PARTITION OF ticket_history DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_ticket_history_user_date
+    ON ticket_history (user_id, showtime_date DESC, start_time DESC);
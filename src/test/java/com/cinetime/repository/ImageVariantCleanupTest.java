@@ -0,0 +1,131 @@
+package com.cinetime.repository;
+
+import com.cinetime.entity.business.Image;
+import com.cinetime.entity.business.ImageVariant;
+import com.cinetime.entity.business.Movie;
+import com.cinetime.repository.business.ImageRepository;
+import com.cinetime.repository.business.ImageVariantRepository;
+import com.cinetime.repository.business.MovieRepository;
+import com.cinetime.service.storage.BlobStore;
+import com.cinetime.service.storage.FileSystemBlobStore;
+import com.cinetime.service.storage.ImageBlobs;
+import com.cinetime.service.storage.StoredBlob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Blob cleanup runs after the deleting transaction has committed; its variant rows must still be deleted for good.
+ * Not rolled back per test, so each transaction really commits.
+ */
+@H2JpaTest
+@Import({ImageBlobs.class, ImageVariantCleanupTest.TempBlobStore.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImageVariantCleanupTest {
+
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ImageBlobs imageBlobs;
+    @Autowired BlobStore blobStore;
+    @Autowired MovieRepository movieRepository;
+    @Autowired ImageRepository imageRepository;
+    @Autowired ImageVariantRepository imageVariantRepository;
+
+    @AfterEach
+    void tearDown() {
+        imageVariantRepository.deleteAll();
+        imageRepository.deleteAll();
+        movieRepository.deleteAll();
+    }
+
+    @Test
+    void deletingTheLastImage_removesItsVariantRowsAndBlobs() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        StoredBlob source = blobStore.put(stream("poster"));
+        StoredBlob small = blobStore.put(stream("small poster"));
+        Long imageId = transaction.execute(status -> {
+            Movie movie = movieRepository.save(TestMovies.movie("Dune Part Two"));
+            imageVariantRepository.save(ImageVariant.builder()
+                    .sourceKey(source.key())
+                    .width(320)
+                    .blobKey(small.key())
+                    .type("image/jpeg")
+                    .size(small.size())
+                    .build());
+            return imageRepository.save(image(source, movie)).getId();
+        });
+
+        transaction.executeWithoutResult(status -> {
+            Image image = imageRepository.findById(imageId).orElseThrow();
+            imageRepository.delete(image);
+            imageBlobs.releaseAfterCommit(image.getBlobKey());
+        });
+
+        assertThat(imageVariantRepository.findAllBySourceKey(source.key())).isEmpty();
+        assertThat(blobStore.get(source.key())).isEmpty();
+        assertThat(blobStore.get(small.key())).isEmpty();
+    }
+
+    @Test
+    void deletingAnImage_keepsVariantsOfBytesAnotherImageStillUses() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        StoredBlob source = blobStore.put(stream("poster"));
+        StoredBlob small = blobStore.put(stream("small poster"));
+        Long imageId = transaction.execute(status -> {
+            Movie movie = movieRepository.save(TestMovies.movie("Dune Part Two"));
+            imageVariantRepository.save(ImageVariant.builder()
+                    .sourceKey(source.key())
+                    .width(320)
+                    .blobKey(small.key())
+                    .build());
+            imageRepository.save(image(source, movie));
+            return imageRepository.save(image(source, movie)).getId();
+        });
+
+        transaction.executeWithoutResult(status -> {
+            Image image = imageRepository.findById(imageId).orElseThrow();
+            imageRepository.delete(image);
+            imageBlobs.releaseAfterCommit(image.getBlobKey());
+        });
+
+        assertThat(imageVariantRepository.findAllBySourceKey(source.key())).hasSize(1);
+        assertThat(blobStore.get(source.key())).isPresent();
+        assertThat(blobStore.get(small.key())).isPresent();
+    }
+
+    private static Image image(StoredBlob blob, Movie movie) {
+        Image image = new Image();
+        image.setName("poster.jpg");
+        image.setType("image/jpeg");
+        image.setBlobKey(blob.key());
+        image.setSize(blob.size());
+        image.setMovie(movie);
+        return image;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TestConfiguration
+    static class TempBlobStore {
+
+        @Bean
+        BlobStore blobStore() throws IOException {
+            return new FileSystemBlobStore(Files.createTempDirectory("cinetime-blobs"));
+        }
+    }
+}
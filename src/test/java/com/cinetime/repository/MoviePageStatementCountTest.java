@@ -0,0 +1,85 @@
+package com.cinetime.repository;
+
+import com.cinetime.entity.business.Image;
+import com.cinetime.entity.business.Movie;
+import com.cinetime.repository.business.MovieRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A page of 50 movies with all of its collections costs a fixed number of statements, whatever the page size:
+ * the page, its count, then one batched select each for images, cast, formats and genre.
+ */
+@H2JpaTest
+class MoviePageStatementCountTest {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired TestEntityManager em;
+    @Autowired MovieRepository movieRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 60; i++) {
+            Movie movie = em.persist(TestMovies.movie(String.format("Movie %03d", i)));
+            for (int j = 0; j < 2; j++) {
+                Image image = new Image();
+                image.setName("still-" + j + ".jpg");
+                image.setType("image/jpeg");
+                image.setBlobKey("%064d".formatted(i * 2 + j));
+                image.setPoster(j == 0);
+                image.setMovie(movie);
+                em.persist(image);
+            }
+        }
+        em.flush();
+        em.clear();
+
+        statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAll_pageOfFiftyWithAllCollections_usesSixStatements() {
+        Page<Movie> page = movieRepository.findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("title")));
+
+        int touched = 0;
+        for (Movie movie : page.getContent()) {
+            touched += movie.getImages().size() + movie.getCast().size()
+                    + movie.getFormats().size() + movie.getGenre().size();
+        }
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalElements()).isEqualTo(60);
+        assertThat(touched).isEqualTo(PAGE_SIZE * (2 + 2 + 1 + 2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+    }
+
+    @Test
+    void findByTitleOrSummary_pageOfFiftyWithAllCollections_usesSixStatements() {
+        Page<Movie> page = movieRepository.findByTitleContainingIgnoreCaseOrSummaryContainingIgnoreCase(
+                "movie", "movie", PageRequest.of(0, PAGE_SIZE, Sort.by("title")));
+
+        page.getContent().forEach(movie -> {
+            movie.getImages().size();
+            movie.getCast().size();
+            movie.getFormats().size();
+            movie.getGenre().size();
+        });
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,90 @@
+package com.cinetime.repository;
+
+import com.cinetime.entity.business.*;
+import com.cinetime.repository.business.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link MovieRepository#findShowingOn} pages movies, not showtimes: a movie with many screenings on the day
+ * is listed once and the total counts movies.
+ */
+@H2JpaTest
+class MoviesShowingOnTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 6, 1);
+
+    @Autowired TestEntityManager em;
+    @Autowired MovieRepository movieRepository;
+
+    @BeforeEach
+    void setUp() {
+        Country country = em.persist(Country.builder().name("Türkiye").build());
+        City city = em.persist(City.builder().name("Istanbul").country(country).build());
+
+        Cinema cinema = new Cinema();
+        cinema.setName("CineTime Downtown");
+        cinema.setSlug("cinetime-downtown");
+        cinema.setCity(city);
+        em.persist(cinema);
+        Hall hall = em.persist(Hall.builder().name("Hall 1").seatCapacity(100).cinema(cinema).build());
+
+        Movie busy = movie("Busy Movie");
+        Movie morning = movie("Morning Movie");
+        Movie elsewhere = movie("Other Day Movie");
+
+        // 12 screenings of one movie, one morning screening of another, and a movie on another day
+        for (int i = 0; i < 12; i++) {
+            showtime(hall, busy, DAY, LocalTime.of(10, 0).plusMinutes(60L * i));
+        }
+        showtime(hall, morning, DAY, LocalTime.of(9, 0));
+        showtime(hall, elsewhere, DAY.plusDays(1), LocalTime.of(12, 0));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void findShowingOn_pagesDistinctMovies_withMovieCount() {
+        Page<Movie> first = movieRepository.findShowingOn(DAY, LocalTime.MIN,
+                PageRequest.of(0, 1, Sort.by("title")));
+
+        assertThat(first.getTotalElements()).isEqualTo(2);
+        assertThat(first.getTotalPages()).isEqualTo(2);
+        assertThat(first.getContent()).extracting(Movie::getTitle).containsExactly("Busy Movie");
+
+        Page<Movie> all = movieRepository.findShowingOn(DAY, LocalTime.MIN, PageRequest.of(0, 10, Sort.by("title")));
+        assertThat(all.getContent()).extracting(Movie::getTitle).containsExactly("Busy Movie", "Morning Movie");
+    }
+
+    @Test
+    void findShowingOn_skipsMoviesWhoseScreeningsStartedBeforeTheGivenTime() {
+        Page<Movie> page = movieRepository.findShowingOn(DAY, LocalTime.of(9, 30), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(Movie::getTitle).containsExactly("Busy Movie");
+        assertThat(page.getTotalElements()).isEqualTo(1);
+    }
+
+    private Movie movie(String title) {
+        return em.persist(TestMovies.movie(title));
+    }
+
+    private void showtime(Hall hall, Movie movie, LocalDate date, LocalTime start) {
+        Showtime showtime = new Showtime();
+        showtime.setDate(date);
+        showtime.setStartTime(start);
+        showtime.setEndTime(start.plusMinutes(50));
+        showtime.setHall(hall);
+        showtime.setMovie(movie);
+        em.persist(showtime);
+    }
+}
@@ -0,0 +1,165 @@
+package com.cinetime.repository;
+
+import com.cinetime.entity.business.*;
+import com.cinetime.repository.business.ShowtimeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Future-showtime lookups as a single range predicate on {@code (movie_id, starts_at)}.
+ * <p>
+ * By default a few hundred showtimes around {@link #NOW} are loaded, enough to check that the lookup returns the
+ * same rows as the old {@code date > :today or (date = :today and ...)} predicate. The H2 plan check and the
+ * timings only run when {@code cinetime.bench.showtimes} is set, e.g. {@code -Dcinetime.bench.showtimes=1000000}.
+ * They say nothing about PostgreSQL; there the equivalent check is
+ * {@code EXPLAIN SELECT * FROM showtimes WHERE movie_id = ? AND starts_at > ? ORDER BY starts_at LIMIT 20},
+ * which shows an Index Scan on idx_showtimes_movie_starts_at with no Sort node.
+ */
+@H2JpaTest
+class ShowtimeStartsAtRangeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ShowtimeStartsAtRangeTest.class);
+
+    private static final int HALLS = 10;
+    private static final int ROWS = Integer.getInteger("cinetime.bench.showtimes", 200);
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+    // half of every movie's screenings lie before NOW, half after
+    private static final LocalDateTime FIRST = NOW.minusHours(ROWS / HALLS * 2 / 2);
+
+    @Autowired TestEntityManager em;
+    @Autowired ShowtimeRepository showtimeRepository;
+
+    private final List<Movie> movies = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Country country = em.persist(Country.builder().name("Türkiye").build());
+        City city = em.persist(City.builder().name("Istanbul").country(country).build());
+
+        Cinema cinema = new Cinema();
+        cinema.setName("CineTime Downtown");
+        cinema.setSlug("cinetime-downtown");
+        cinema.setCity(city);
+        em.persist(cinema);
+
+        for (int i = 0; i < HALLS; i++) {
+            Hall hall = em.persist(Hall.builder().name("Hall " + i).seatCapacity(100).cinema(cinema).build());
+            Movie movie = em.persist(TestMovies.movie("Movie " + i));
+            movies.add(movie);
+            em.flush();
+
+            // One movie per hall, a 90 minute screening every two hours from FIRST on
+            em.getEntityManager().createNativeQuery("""
+                    INSERT INTO showtimes (id, "date", start_time, end_time, starts_at, ends_at,
+                                           created_at, updated_at, hall_id, movie_id)
+                    SELECT NEXT VALUE FOR showtimes_seq,
+                           CAST(ts AS DATE), CAST(ts AS TIME), CAST(DATEADD(MINUTE, 90, ts) AS TIME),
+                           ts, DATEADD(MINUTE, 90, ts), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, %d, %d
+                      FROM (SELECT DATEADD(MINUTE, "X" * 120, TIMESTAMP '%s') AS ts
+                              FROM SYSTEM_RANGE(0, %d))
+                    """.formatted(hall.getId(), movie.getId(), Timestamp.valueOf(FIRST), ROWS / HALLS - 1))
+                    .executeUpdate();
+        }
+        em.clear();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "cinetime.bench.showtimes", matches = "\\d+")
+    void futureLookup_isPlannedAsRangeScanOnMovieStartsAtIndex() {
+        Long movieId = movies.get(3).getId();
+
+        // Same predicate and order as ShowtimeRepository.findAllFutureShowtimesByMovieId
+        String plan = (String) em.getEntityManager().createNativeQuery("""
+                EXPLAIN SELECT id FROM showtimes
+                 WHERE movie_id = %d AND starts_at > TIMESTAMP '2024-06-01 12:00:00'
+                 ORDER BY starts_at LIMIT 20
+                """.formatted(movieId)).getSingleResult();
+
+        assertThat(plan).containsIgnoringCase("idx_showtimes_movie_starts_at");
+    }
+
+    @Test
+    void futureLookup_matchesDateTimePredicate() {
+        Long movieId = movies.get(3).getId();
+        PageRequest page = PageRequest.of(0, 20);
+
+        Page<Showtime> ranged = showtimeRepository.findAllFutureShowtimesByMovieId(movieId, NOW, page);
+
+        assertThat(ranged.getContent()).extracting(Showtime::getId)
+                .containsExactlyElementsOf(legacyFutureIds(movieId, page.getPageSize()));
+        assertThat(ranged.getContent()).allSatisfy(s -> assertThat(s.getStartsAt()).isAfter(NOW));
+        assertThat(ranged.getTotalElements()).isEqualTo(ROWS / HALLS / 2 - 1);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "cinetime.bench.showtimes", matches = "\\d+")
+    void futureLookup_reportsTimings() {
+        Long movieId = movies.get(3).getId();
+        PageRequest page = PageRequest.of(0, 20);
+
+        long t0 = System.nanoTime();
+        showtimeRepository.findAllFutureShowtimesByMovieId(movieId, NOW, page);
+        long rangedNanos = System.nanoTime() - t0;
+
+        t0 = System.nanoTime();
+        legacyFutureIds(movieId, page.getPageSize());
+        long legacyNanos = System.nanoTime() - t0;
+
+        log.info("showtimes={} range(starts_at)={} ms date/time OR={} ms",
+                ROWS, String.format("%.2f", rangedNanos / 1e6), String.format("%.2f", legacyNanos / 1e6));
+    }
+
+    @Test
+    void lifecycle_keepsStartsAtAndEndsAtInSync_acrossMidnight() {
+        Hall hall = em.getEntityManager().createQuery("select h from Hall h", Hall.class)
+                .setMaxResults(1).getSingleResult();
+
+        Showtime late = new Showtime();
+        late.setDate(LocalDate.of(2031, 1, 1));
+        late.setStartTime(LocalTime.of(23, 0));
+        late.setEndTime(LocalTime.of(1, 15));
+        late.setHall(hall);
+        late.setMovie(em.find(Movie.class, movies.get(0).getId()));
+        em.persistAndFlush(late);
+
+        assertThat(late.getStartsAt()).isEqualTo(LocalDateTime.of(2031, 1, 1, 23, 0));
+        assertThat(late.getEndsAt()).isEqualTo(LocalDateTime.of(2031, 1, 2, 1, 15));
+
+        late.setStartTime(LocalTime.of(21, 0));
+        late.setEndTime(LocalTime.of(23, 0));
+        em.flush();
+
+        assertThat(late.getStartsAt()).isEqualTo(LocalDateTime.of(2031, 1, 1, 21, 0));
+        assertThat(late.getEndsAt()).isEqualTo(LocalDateTime.of(2031, 1, 1, 23, 0));
+    }
+
+    private List<Long> legacyFutureIds(Long movieId, int limit) {
+        return em.getEntityManager().createQuery("""
+                        select s.id from Showtime s
+                         where s.movie.id = :movieId
+                           and (s.date > :today or (s.date = :today and s.startTime > :now))
+                         order by s.date asc, s.startTime asc
+                        """, Long.class)
+                .setParameter("movieId", movieId)
+                .setParameter("today", NOW.toLocalDate())
+                .setParameter("now", NOW.toLocalTime())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
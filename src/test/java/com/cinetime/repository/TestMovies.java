@@ -0,0 +1,31 @@
+package com.cinetime.repository;
+
+import com.cinetime.entity.business.Movie;
+import com.cinetime.entity.enums.MovieStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/** Movies for repository tests; only the title differs, the caller persists them. */
+final class TestMovies {
+
+    private TestMovies() {
+    }
+
+    /** An in-theaters movie with two cast members, one format and two genres. */
+    static Movie movie(String title) {
+        Movie movie = new Movie();
+        movie.setTitle(title);
+        movie.setSlug(title.toLowerCase().replace(' ', '-'));
+        movie.setSummary("Listing movie");
+        movie.setReleaseDate(LocalDate.of(2030, 1, 1));
+        movie.setDuration(100);
+        movie.setCast(new ArrayList<>(List.of("Lead", "Support")));
+        movie.setFormats(new LinkedHashSet<>(List.of("2D")));
+        movie.setGenre(new LinkedHashSet<>(List.of("Drama", "Thriller")));
+        movie.setStatus(MovieStatus.IN_THEATERS);
+        return movie;
+    }
+}
@@ -0,0 +1,126 @@
+package com.cinetime.repository;
+
+import com.cinetime.entity.business.*;
+import com.cinetime.entity.enums.PaymentStatus;
+import com.cinetime.entity.enums.TicketStatus;
+import com.cinetime.entity.user.User;
+import com.cinetime.repository.business.PaymentRepository;
+import com.cinetime.repository.business.TicketRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a multi-seat purchase reaches the database as one batched INSERT
+ * (pooled sequence ids + hibernate.jdbc.batch_size), not one statement per seat.
+ */
+@H2JpaTest
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.cinetime.repository.TicketBatchInsertTest$TicketInsertCounter")
+class TicketBatchInsertTest {
+
+    /** Counts how often the ticket INSERT is prepared; a batch prepares it once. */
+    public static class TicketInsertCounter implements StatementInspector {
+        static final AtomicInteger PREPARED = new AtomicInteger();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.toLowerCase(Locale.ROOT).replace("\"", "").startsWith("insert into tickets")) {
+                PREPARED.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+
+    @Autowired TestEntityManager em;
+    @Autowired TicketRepository ticketRepository;
+    @Autowired PaymentRepository paymentRepository;
+
+    private Showtime showtime;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Country country = em.persist(Country.builder().name("Türkiye").build());
+        City city = em.persist(City.builder().name("Istanbul").country(country).build());
+
+        Cinema cinema = new Cinema();
+        cinema.setName("CineTime Downtown");
+        cinema.setSlug("cinetime-downtown");
+        cinema.setCity(city);
+        em.persist(cinema);
+
+        Hall hall = em.persist(Hall.builder().name("Hall 1").seatCapacity(100).cinema(cinema).build());
+
+        Movie movie = em.persist(TestMovies.movie("Fight Club"));
+
+        showtime = new Showtime();
+        showtime.setDate(LocalDate.now().plusDays(1));
+        showtime.setStartTime(LocalTime.of(20, 0));
+        showtime.setEndTime(LocalTime.of(22, 30));
+        showtime.setHall(hall);
+        showtime.setMovie(movie);
+        em.persist(showtime);
+
+        user = new User();
+        user.setEmail("member@cinetime.local");
+        em.persist(user);
+
+        em.flush();
+        em.clear();
+        showtime = em.find(Showtime.class, showtime.getId());
+        user = em.find(User.class, user.getId());
+    }
+
+    @Test
+    void tenSeatPurchase_isInsertedAsOneBatchedStatement() {
+        Statistics stats = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        Payment payment = paymentRepository.saveAndFlush(Payment.builder()
+                .amount(0.0)
+                .idempotencyKey("batch-test")
+                .currency("USD")
+                .paymentStatus(PaymentStatus.PENDING)
+                .paymentDate(LocalDateTime.now())
+                .user(user)
+                .build());
+
+        List<Ticket> tickets = new ArrayList<>();
+        for (int seat = 1; seat <= 10; seat++) {
+            Ticket ticket = new Ticket();
+            ticket.setShowtime(showtime);
+            ticket.setUser(user);
+            ticket.setSeatLetter("E");
+            ticket.setSeatNumber(seat);
+            ticket.setPrice(9.99);
+            ticket.setStatus(TicketStatus.PAID);
+            ticket.setPayment(payment);
+            tickets.add(ticket);
+        }
+
+        stats.clear();
+        TicketInsertCounter.PREPARED.set(0);
+
+        ticketRepository.saveAllAndFlush(tickets);
+
+        assertThat(stats.getEntityInsertCount()).isEqualTo(10);
+        assertThat(TicketInsertCounter.PREPARED.get()).isEqualTo(1);
+        assertThat(tickets).allSatisfy(t -> assertThat(t.getId()).isNotNull());
+    }
+}
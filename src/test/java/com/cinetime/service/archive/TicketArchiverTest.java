@@ -0,0 +1,85 @@
+package com.cinetime.service.archive;
+
+import com.cinetime.repository.business.TicketRepository;
+import com.cinetime.service.seat.SeatInventoryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketArchiverTest {
+
+    @Mock TicketRepository ticketRepository;
+    @Mock SeatInventoryService seatInventoryService;
+    @Mock JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    TicketArchiver ticketArchiver;
+
+    @Test
+    void archiveBatch_copiesThenDeletes_andCreatesMonthlyPartitionsOnce() {
+        LocalDate cutoff = LocalDate.of(2025, 3, 1);
+        when(ticketRepository.findArchiveCandidates(eq(cutoff), any(Pageable.class))).thenReturn(List.of(
+                new Object[]{1L, 10L, LocalDate.of(2025, 1, 5)},
+                new Object[]{2L, 10L, LocalDate.of(2025, 1, 5)},
+                new Object[]{3L, 11L, LocalDate.of(2025, 2, 20)}));
+        when(ticketRepository.deleteAllByIdIn(List.of(1L, 2L, 3L))).thenReturn(3);
+
+        int moved = ticketArchiver.archiveBatch(cutoff, 100);
+
+        assertThat(moved).isEqualTo(3);
+        var order = inOrder(jdbcTemplate, ticketRepository);
+        order.verify(jdbcTemplate).execute(contains("ticket_history_y2025m01"));
+        order.verify(jdbcTemplate).execute(contains("ticket_history_y2025m02"));
+        order.verify(ticketRepository).copyToHistory(eq(List.of(1L, 2L, 3L)), any(LocalDateTime.class));
+        order.verify(ticketRepository).deleteAllByIdIn(List.of(1L, 2L, 3L));
+        verify(seatInventoryService).evict(10L);
+        verify(seatInventoryService).evict(11L);
+
+        // Partitions are remembered, a second batch for the same months issues no DDL
+        ticketArchiver.archiveBatch(cutoff, 100);
+        verify(jdbcTemplate, times(2)).execute(anyString());
+    }
+
+    @Test
+    void archiveBatch_rolledBack_forgetsThePartitionItCreated() {
+        LocalDate cutoff = LocalDate.of(2025, 3, 1);
+        when(ticketRepository.findArchiveCandidates(eq(cutoff), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 10L, LocalDate.of(2025, 1, 5)}));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ticketArchiver.archiveBatch(cutoff, 100);
+            // rollback: the synchronizations are dropped without afterCommit
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ticketArchiver.archiveBatch(cutoff, 100);
+        verify(jdbcTemplate, times(2)).execute(contains("ticket_history_y2025m01"));
+    }
+
+    @Test
+    void archiveBatch_nothingDue_touchesNothing() {
+        when(ticketRepository.findArchiveCandidates(any(), any())).thenReturn(List.of());
+
+        assertThat(ticketArchiver.archiveBatch(LocalDate.now(), 100)).isZero();
+
+        verify(ticketRepository, never()).copyToHistory(any(), any());
+        verify(ticketRepository, never()).deleteAllByIdIn(any());
+        verifyNoInteractions(jdbcTemplate, seatInventoryService);
+    }
+}
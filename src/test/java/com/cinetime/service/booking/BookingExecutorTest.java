@@ -0,0 +1,144 @@
+package com.cinetime.service.booking;
+
+import com.cinetime.exception.ConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingExecutorTest {
+
+    private BookingExecutor executor = new BookingExecutor(4, 100, 5000);
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void execute_sameShowtime_neverRunsConcurrently() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int i = 0; i < 32; i++) {
+            int n = i;
+            results.add(callers.submit(() -> {
+                start.await();
+                return executor.execute(7L, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    for (int spin = 0; spin < 1000; spin++) Thread.onSpinWait();
+                    running.decrementAndGet();
+                    return n;
+                });
+            }));
+        }
+        start.countDown();
+
+        List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+        for (Future<Integer> f : results) values.add(f.get(5, TimeUnit.SECONDS));
+        callers.shutdown();
+
+        assertThat(values).hasSize(32);
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_rethrowsWorkExceptionUnchanged() {
+        assertThatThrownBy(() -> executor.execute(1L, () -> {
+            throw new ConflictException("Seat A-1 is already reserved/paid");
+        }))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Seat A-1 is already reserved/paid");
+    }
+
+    @Test
+    void execute_fullLane_rejectsWithConflict() throws Exception {
+        executor.destroy();
+        executor = new BookingExecutor(1, 1, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        try {
+            // one running, one queued -> lane is full
+            callers.submit(() -> executor.execute(1L, () -> { started.countDown(); await(release); return 1; }));
+            assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+            callers.submit(() -> executor.execute(1L, () -> 2));
+            long deadline = System.currentTimeMillis() + 2000;
+            while (executor.queuedFor(1L) < 1 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+
+            assertThatThrownBy(() -> executor.execute(1L, () -> 3))
+                    .isInstanceOf(ConflictException.class)
+                    .hasMessageContaining("Too many bookings");
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+
+    @Test
+    void execute_timeoutOnQueuedWork_isConflict_andTheWorkNeverRuns() throws Exception {
+        executor.destroy();
+        executor = new BookingExecutor(1, 10, 200);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+
+        try {
+            callers.submit(() -> executor.execute(1L, () -> { started.countDown(); await(release); return 1; }));
+            assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> executor.execute(1L, ran::incrementAndGet))
+                    .isInstanceOf(ConflictException.class)
+                    .hasMessageContaining("taking longer");
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+        assertThat(callers.awaitTermination(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.execute(1L, () -> 2)).isEqualTo(2);
+        assertThat(ran).hasValue(0);
+    }
+
+    @Test
+    void execute_timeoutOnRunningWork_waitsForItsOutcome() {
+        executor.destroy();
+        executor = new BookingExecutor(1, 10, 50);
+
+        // a reservation that outlives the timeout still commits, so the caller must see its result
+        Integer result = executor.execute(1L, () -> { sleep(300); return 42; });
+
+        assertThat(result).isEqualTo(42);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.cinetime.service.booking;
+
+import com.cinetime.exception.ConflictException;
+import com.cinetime.payload.response.business.PaymentResponse;
+import com.cinetime.payload.response.business.TicketResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private static class MutableClock extends Clock {
+        Instant now = Instant.parse("2030-01-01T10:00:00Z");
+
+        @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+
+    private static PaymentResponse response(long paymentId) {
+        return PaymentResponse.builder()
+                .paymentId(paymentId)
+                .paymentAmount(19.98)
+                .tickets(List.of(TicketResponse.builder().id(1L).build(), TicketResponse.builder().id(2L).build()))
+                .build();
+    }
+
+    @Test
+    void retry_isAnsweredFromTheStore_withoutRunningWorkAgain() {
+        IdempotencyStore store = new IdempotencyStore(objectMapper, Duration.ofMinutes(5), 1000, new MutableClock());
+        AtomicInteger runs = new AtomicInteger();
+
+        PaymentResponse first = store.execute("k1", () -> { runs.incrementAndGet(); return response(77L); });
+        PaymentResponse retry = store.execute("k1", () -> { runs.incrementAndGet(); return response(78L); });
+
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(retry.getPaymentId()).isEqualTo(77L);
+        assertThat(retry.getTickets()).hasSize(2);
+        assertThat(retry).isNotSameAs(first);   // served from the serialized copy
+    }
+
+    @Test
+    void expiredResult_isEvicted_andWorkRunsAgain() {
+        MutableClock clock = new MutableClock();
+        IdempotencyStore store = new IdempotencyStore(objectMapper, Duration.ofMinutes(5), 1000, clock);
+        store.execute("k1", () -> response(77L));
+
+        clock.now = clock.now.plus(Duration.ofMinutes(6));
+        store.evictExpired();
+        assertThat(store.size()).isZero();
+
+        assertThat(store.execute("k1", () -> response(80L)).getPaymentId()).isEqualTo(80L);
+    }
+
+    @Test
+    void failedWork_isNotCached() {
+        IdempotencyStore store = new IdempotencyStore(objectMapper, Duration.ofMinutes(5), 1000, new MutableClock());
+
+        assertThatThrownBy(() -> store.execute("k1", () -> { throw new ConflictException("Seat A-1 is already reserved/paid"); }))
+                .isInstanceOf(ConflictException.class);
+
+        assertThat(store.size()).isZero();
+        assertThat(store.execute("k1", () -> response(81L)).getPaymentId()).isEqualTo(81L);
+    }
+
+    @Test
+    void duplicateInFlight_waitsForTheFirstResult_insteadOfRunningTwice() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(objectMapper, Duration.ofMinutes(5), 5000, new MutableClock());
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<PaymentResponse> first = pool.submit(() -> store.execute("k1", () -> {
+                runs.incrementAndGet();
+                firstStarted.countDown();
+                await(releaseFirst);
+                return response(77L);
+            }));
+            assertThat(firstStarted.await(2, TimeUnit.SECONDS)).isTrue();
+
+            Future<PaymentResponse> duplicate = pool.submit(() -> store.execute("k1", () -> {
+                runs.incrementAndGet();
+                return response(99L);
+            }));
+            Thread.sleep(50);
+            assertThat(duplicate.isDone()).isFalse();
+
+            releaseFirst.countDown();
+
+            assertThat(first.get(2, TimeUnit.SECONDS).getPaymentId()).isEqualTo(77L);
+            assertThat(duplicate.get(2, TimeUnit.SECONDS).getPaymentId()).isEqualTo(77L);
+            assertThat(runs.get()).isEqualTo(1);
+        } finally {
+            releaseFirst.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void duplicateInFlight_givesUpAfterWaitTimeout() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(objectMapper, Duration.ofMinutes(5), 50, new MutableClock());
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+
+        try {
+            pool.submit(() -> store.execute("k1", () -> {
+                firstStarted.countDown();
+                await(releaseFirst);
+                return response(77L);
+            }));
+            assertThat(firstStarted.await(2, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> store.execute("k1", () -> response(99L)))
+                    .isInstanceOf(ConflictException.class)
+                    .hasMessageContaining("in progress");
+        } finally {
+            releaseFirst.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
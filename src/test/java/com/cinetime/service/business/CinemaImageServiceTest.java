@@ -8,6 +8,8 @@ import com.cinetime.payload.mappers.CinemaImageMapper;
 import com.cinetime.payload.response.business.CinemaImageResponse;
 import com.cinetime.repository.business.CinemaImageRepository;
 import com.cinetime.repository.business.CinemaRepository;
+import com.cinetime.service.storage.ImageBlobs;
+import com.cinetime.service.storage.StoredBlob;
 import com.cinetime.service.validator.ImageValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,10 +26,14 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class CinemaImageServiceTest {
 
+    private static final StoredBlob STORED = new StoredBlob(
+            "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", 4);
+
     @Mock private CinemaImageRepository cinemaImageRepository;
     @Mock private CinemaRepository cinemaRepository;
     @Mock private CinemaImageMapper cinemaImageMapper;
     @Mock private MultipartFile multipartFile;
+    @Mock private ImageBlobs imageBlobs;
 
     @InjectMocks
     private CinemaImageService cinemaImageService;
@@ -67,6 +73,7 @@ class CinemaImageServiceTest {
             st.when(() -> ImageValidator.requireValid(any(MultipartFile.class)))
                     .thenAnswer(inv -> null); // no-op
 
+            when(imageBlobs.store(any())).thenReturn(STORED);
             when(cinemaImageRepository.save(any(CinemaImage.class))).thenReturn(cinemaImage);
             when(cinemaImageMapper.cinemaImageToResponse(cinemaImage)).thenReturn(new CinemaImageResponse());
 
@@ -86,6 +93,7 @@ class CinemaImageServiceTest {
             st.when(() -> ImageValidator.requireValid(any(MultipartFile.class)))
                     .thenAnswer(inv -> null); // no-op
 
+            when(imageBlobs.store(any())).thenReturn(STORED);
             when(cinemaImageRepository.save(any(CinemaImage.class))).thenReturn(cinemaImage);
             when(cinemaImageMapper.cinemaImageToResponse(cinemaImage)).thenReturn(new CinemaImageResponse());
 
@@ -115,6 +123,7 @@ class CinemaImageServiceTest {
         when(cinemaRepository.findById(1L)).thenReturn(Optional.of(cinema));
         when(cinemaImageRepository.save(any(CinemaImage.class))).thenReturn(cinemaImage);
         when(cinemaImageMapper.cinemaImageToResponse(cinemaImage)).thenReturn(new CinemaImageResponse());
+        when(imageBlobs.store(any())).thenReturn(STORED);
 
         // Use a URL that returns HTTP 200 + an image
         String url = "https://httpbin.org/image/png";
@@ -14,10 +14,15 @@ import com.cinetime.payload.response.business.*;
 import com.cinetime.repository.business.*;
 import com.cinetime.repository.user.UserRepository;
 import com.cinetime.service.helper.CinemasHelper;
+import com.cinetime.service.helper.SlugAllocator;
+import com.cinetime.service.pricing.HallPricingCache;
+import com.cinetime.service.timetable.CinemaTimetable;
+import com.cinetime.service.timetable.ShowtimeChangedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -27,6 +32,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.*;
@@ -52,6 +58,10 @@ class CinemaServiceTest {
     @Mock private TicketRepository ticketRepository;
     @Mock private MovieMapper movieMapper;
     @Mock private MovieRepository movieRepository;
+    @Mock private HallPricingCache hallPricingCache;
+    @Mock private CinemaTimetable cinemaTimetable;
+    @Mock private SlugAllocator slugAllocator;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     // --- System under test ---
     @InjectMocks
@@ -114,6 +124,7 @@ class CinemaServiceTest {
         request.setName("Test Cinema");
         request.setCityId(1L);
 
+        runSlugWritesInline();
         when(cityRepository.findById(1L)).thenReturn(Optional.of(city));
         when(cinemasHelper.slugify("Test Cinema")).thenReturn("test-cinema");
         when(cinemasHelper.ensureUniqueSlug("test-cinema")).thenReturn("test-cinema");
@@ -135,6 +146,7 @@ class CinemaServiceTest {
         CinemaCreateRequest request = new CinemaCreateRequest();
         request.setName("Cinema X");
         request.setCityId(999L);
+        runSlugWritesInline();
         when(cityRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> cinemaService.createCinema(request))
@@ -154,6 +166,7 @@ class CinemaServiceTest {
                 .isEqualTo(String.format(SuccessMessages.CINEMA_DELETED, 1));
 
         verify(cinemaRepository).delete(cinema);
+        verify(eventPublisher).publishEvent(ShowtimeChangedEvent.wholeCinema(10L));
     }
 
     @Test
@@ -205,22 +218,25 @@ class CinemaServiceTest {
         Long cinemaId = 10L;
         LocalDate today = LocalDate.now();
 
-        // Prepare mock rows (as projection results)
-        ShowtimeRepository.HallMovieTimeRow row1 = mock(ShowtimeRepository.HallMovieTimeRow.class);
-        ShowtimeRepository.HallMovieTimeRow row2 = mock(ShowtimeRepository.HallMovieTimeRow.class);
+        // Prepare mock rows (as projection results), already date-bounded by the query
+        ShowtimeRepository.CinemaShowtimeRow row1 = mock(ShowtimeRepository.CinemaShowtimeRow.class);
+        ShowtimeRepository.CinemaShowtimeRow row2 = mock(ShowtimeRepository.CinemaShowtimeRow.class);
 
+        when(row1.getId()).thenReturn(1L);
+        when(row2.getId()).thenReturn(2L);
         when(row1.getMovieId()).thenReturn(101L);
         when(row2.getMovieId()).thenReturn(101L);
         when(row1.getDate()).thenReturn(today);
         when(row2.getDate()).thenReturn(today.plusDays(1));
         when(row1.getStartTime()).thenReturn(LocalTime.of(14, 0));
         when(row2.getStartTime()).thenReturn(LocalTime.of(16, 30));
+        when(row1.getEndTime()).thenReturn(LocalTime.of(16, 0));
+        when(row2.getEndTime()).thenReturn(LocalTime.of(18, 30));
 
-        List<ShowtimeRepository.HallMovieTimeRow> rows = List.of(row1, row2);
-        when(showtimeRepository.findShowtimesByCinemaId(cinemaId)).thenReturn(rows);
+        when(showtimeRepository.findCinemaShowtimeRows(cinemaId, today)).thenReturn(List.of(row1, row2));
 
         Movie movie = Movie.builder().id(101L).title("Interstellar").build();
-        when(movieRepository.findById(101L)).thenReturn(Optional.of(movie));
+        when(movieRepository.findWithImagesByIdIn(Set.of(101L))).thenReturn(List.of(movie));
         when(movieMapper.mapMovieToCinemaMovieResponse(movie))
                 .thenReturn(CinemaMovieResponse.builder().id(101L).title("Interstellar").build());
 
@@ -232,7 +248,11 @@ class CinemaServiceTest {
         var entry = result.get(0); // get first element
         assertThat(entry.getMovie().getTitle()).isEqualTo("Interstellar");
         assertThat(entry.getShowtimes()).hasSize(2);
-        verify(movieRepository, times(1)).findById(101L);
+        assertThat(entry.getShowtimes()).extracting(ShowtimeSimpleResponse::getId).containsExactly(1L, 2L);
+        assertThat(entry.getShowtimes()).extracting(ShowtimeSimpleResponse::getEndTime)
+                .containsExactly(LocalTime.of(16, 0), LocalTime.of(18, 30));
+        verify(movieRepository, times(1)).findWithImagesByIdIn(Set.of(101L));
+        verify(movieRepository, never()).findById(any());
     }
 
     @Test
@@ -240,15 +260,15 @@ class CinemaServiceTest {
         Long cinemaId = 10L;
 
         // --- Arrange (Given) ---
-        ShowtimeRepository.HallMovieTimeRow row = mock(ShowtimeRepository.HallMovieTimeRow.class);
+        ShowtimeRepository.CinemaShowtimeRow row = mock(ShowtimeRepository.CinemaShowtimeRow.class);
 
         lenient().when(row.getMovieId()).thenReturn(999L);
         lenient().when(row.getDate()).thenReturn(LocalDate.now());
         lenient().when(row.getStartTime()).thenReturn(LocalTime.NOON);
-        lenient().when(showtimeRepository.findShowtimesByCinemaId(cinemaId))
+        lenient().when(showtimeRepository.findCinemaShowtimeRows(cinemaId, null))
                 .thenReturn(List.of(row));
-        lenient().when(movieRepository.findById(999L))
-                .thenReturn(Optional.empty());
+        lenient().when(movieRepository.findWithImagesByIdIn(Set.of(999L)))
+                .thenReturn(List.of());
 
         // --- Act & Assert ---
         assertThatThrownBy(() -> cinemaService.getMoviesWithShowtimesByCinema(cinemaId, null))
@@ -262,33 +282,27 @@ class CinemaServiceTest {
     // ===========================================================
 
     @Test
-    void getCinemaHallsWithShowtimes_ShouldGroupShowtimesByHallAndMovie() {
+    void getCinemaHallsWithShowtimes_ShouldReturnUpcomingTimetable() {
         Long cinemaId = 10L;
         when(cinemaRepository.existsById(cinemaId)).thenReturn(true);
 
-        // Mock projection row with hall and movie info
-        ShowtimeRepository.HallMovieTimeRow row = mock(ShowtimeRepository.HallMovieTimeRow.class);
-        when(row.getHallId()).thenReturn(5L);
-        when(row.getHallName()).thenReturn("Main Hall");
-        when(row.getSeatCapacity()).thenReturn(120);
-        when(row.getIsSpecial()).thenReturn(false);
-        when(row.getMovieId()).thenReturn(77L);
-        when(row.getMovieTitle()).thenReturn("Inception");
-        when(row.getDate()).thenReturn(LocalDate.of(2025, 1, 1));
-        when(row.getStartTime()).thenReturn(LocalTime.of(13, 0));
-
-        when(showtimeRepository.findShowtimesByCinemaId(cinemaId)).thenReturn(List.of(row));
+        var hall = HallWithShowtimesResponse.builder()
+                .id(5L)
+                .name("Main Hall")
+                .seatCapacity(120)
+                .isSpecial(false)
+                .movies(List.of())
+                .build();
+        LocalDate today = LocalDate.now();
+        when(cinemaTimetable.forCinema(cinemaId)).thenReturn(
+                new CinemaTimetable.Timetable(today, today.plusDays(14), List.of(hall), new byte[0], "\"etag\""));
 
         // Act
         var halls = cinemaService.getCinemaHallsWithShowtimes(cinemaId);
 
         // Assert
-        assertThat(halls).hasSize(1);
-        var hall = halls.get(0);
-        assertThat(hall.getName()).isEqualTo("Main Hall");
-        assertThat(hall.getMovies()).hasSize(1);
-        assertThat(hall.getMovies().get(0).getMovie().getTitle()).isEqualTo("Inception");
-        assertThat(hall.getMovies().get(0).getTimes()).hasSize(1);
+        assertThat(halls).containsExactly(hall);
+        verifyNoInteractions(showtimeRepository);
     }
 
     @Test
@@ -299,4 +313,9 @@ class CinemaServiceTest {
                 .hasMessageContaining(String.format(ErrorMessages.CINEMA_NOT_FOUND, 999L));
 
     }
+
+    // create/update run through SlugAllocator.retrying; here the write simply runs once
+    private void runSlugWritesInline() {
+        when(slugAllocator.retrying(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
+    }
 }
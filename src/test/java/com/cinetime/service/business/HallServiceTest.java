@@ -2,6 +2,7 @@ package com.cinetime.service.business;
 
 import com.cinetime.entity.business.Cinema;
 import com.cinetime.entity.business.Hall;
+import com.cinetime.exception.BadRequestException;
 import com.cinetime.exception.ResourceNotFoundException;
 import com.cinetime.payload.mappers.HallMapper;
 import com.cinetime.payload.messages.SuccessMessages;
@@ -9,9 +10,14 @@ import com.cinetime.payload.request.business.HallRequest;
 import com.cinetime.payload.response.business.HallResponse;
 import com.cinetime.payload.response.business.ResponseMessage;
 import com.cinetime.repository.business.HallRepository;
+import com.cinetime.service.pricing.PricingChangedEvent;
+import com.cinetime.service.schedule.HallScheduleIndex;
+import com.cinetime.service.seat.SeatInventoryService;
+import com.cinetime.service.timetable.ShowtimeChangedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -31,6 +37,12 @@ class HallServiceTest {
     private CinemaService cinemaService;
     @Mock
     private HallMapper hallMapper;
+    @Mock
+    private SeatInventoryService seatInventoryService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private HallScheduleIndex hallScheduleIndex;
 
     @InjectMocks
     private HallService hallService;
@@ -85,6 +97,7 @@ class HallServiceTest {
         assertEquals(HttpStatus.CREATED, result.getHttpStatus());
         assertEquals(SuccessMessages.HALL_CREATED, result.getMessage());
         assertEquals(hallResponse, result.getReturnBody());
+        verify(eventPublisher).publishEvent(new PricingChangedEvent(100L));
     }
 
     @Test
@@ -149,6 +162,9 @@ class HallServiceTest {
         assertEquals(SuccessMessages.HALL_DELETED, result.getMessage());
         assertEquals(hallResponse, result.getReturnBody());
         verify(hallRepository, times(1)).delete(hall);
+        verify(hallScheduleIndex).evictHallsAfterCommit(List.of(100L));
+        verify(eventPublisher).publishEvent(new PricingChangedEvent(100L));
+        verify(eventPublisher).publishEvent(ShowtimeChangedEvent.wholeCinema(1L));
     }
 
     @Test
@@ -171,5 +187,35 @@ class HallServiceTest {
         assertEquals(SuccessMessages.HALL_UPDATED, result.getMessage());
         assertEquals(hallResponse, result.getReturnBody());
         verify(hallRepository, times(1)).save(hall);
+        verify(seatInventoryService).evictHall(100L);
+        verify(eventPublisher).publishEvent(ShowtimeChangedEvent.wholeCinema(1L));
+    }
+
+    @Test
+    void updateHall_MovedToAnotherCinema_DropsBothTimetables() {
+        Cinema other = new Cinema();
+        other.setId(2L);
+        HallRequest moveRequest = HallRequest.builder().cinemaId(2L).build();
+
+        when(hallRepository.findById(100L)).thenReturn(Optional.of(hall));
+        when(cinemaService.getById(2L)).thenReturn(other);
+        when(hallRepository.save(hall)).thenReturn(hall);
+
+        hallService.updateHallById(moveRequest, 100L);
+
+        verify(eventPublisher).publishEvent(ShowtimeChangedEvent.wholeCinema(1L));
+        verify(eventPublisher).publishEvent(ShowtimeChangedEvent.wholeCinema(2L));
+    }
+
+    @Test
+    void updateHall_LayoutSmallerThanCapacity_ThrowsBadRequest() {
+        HallRequest updateRequest = HallRequest.builder()
+                .seatRows(10)
+                .seatsPerRow(15)
+                .build();
+        when(hallRepository.findById(100L)).thenReturn(Optional.of(hall));
+
+        assertThrows(BadRequestException.class, () -> hallService.updateHallById(updateRequest, 100L));
+        verify(hallRepository, never()).save(any());
     }
 }
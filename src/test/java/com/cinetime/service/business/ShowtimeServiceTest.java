@@ -4,28 +4,33 @@ import com.cinetime.entity.business.Cinema;
 import com.cinetime.entity.business.Hall;
 import com.cinetime.entity.business.Movie;
 import com.cinetime.entity.business.Showtime;
+import com.cinetime.exception.ConflictException;
 import com.cinetime.exception.ResourceNotFoundException;
 import com.cinetime.payload.mappers.CityMapper;
 import com.cinetime.payload.mappers.ShowtimeMapper;
 import com.cinetime.payload.messages.ErrorMessages;
 import com.cinetime.payload.messages.SuccessMessages;
 import com.cinetime.payload.request.business.ShowtimeRequest;
-import com.cinetime.payload.response.business.HallMovieShowtimesResponse;
 import com.cinetime.payload.response.business.HallWithShowtimesResponse;
 import com.cinetime.payload.response.business.ResponseMessage;
 import com.cinetime.payload.response.business.ShowtimeResponse;
 import com.cinetime.repository.business.CinemaRepository;
 import com.cinetime.repository.business.ShowtimeRepository;
 import com.cinetime.repository.business.TicketRepository;
+import com.cinetime.service.helper.ShowtimeKeyCache;
+import com.cinetime.service.pricing.PricingService;
+import com.cinetime.service.schedule.HallScheduleIndex;
+import com.cinetime.service.timetable.CinemaTimetable;
+import com.cinetime.service.timetable.ShowtimeChangedEvent;
+import com.cinetime.service.seat.SeatInventoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,6 +54,18 @@ class ShowtimeServiceTest {
     private CityMapper cityMapper; // required for constructor
     @Mock
     private TicketRepository ticketRepository; // required for constructor + deleteShowtime
+    @Mock
+    private ShowtimeKeyCache showtimeKeyCache;
+    @Mock
+    private PricingService pricingService;
+    @Mock
+    private HallScheduleIndex hallScheduleIndex;
+    @Mock
+    private CinemaTimetable cinemaTimetable;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private SeatInventoryService seatInventoryService;
 
     @InjectMocks
     private ShowtimeService showtimeService;
@@ -74,6 +91,7 @@ class ShowtimeServiceTest {
 
         cinema = new Cinema();
         cinema.setId(1L);
+        hall.setCinema(cinema);
 
         request = ShowtimeRequest.builder()
                 .date(LocalDate.now().plusDays(1))
@@ -119,6 +137,20 @@ class ShowtimeServiceTest {
         assertEquals(HttpStatus.CREATED, result.getHttpStatus());
         assertEquals(SuccessMessages.SHOWTIME_CREATED, result.getMessage());
         assertEquals(response, result.getReturnBody());
+        verify(hallScheduleIndex).claim(showtime, null);
+        verify(eventPublisher).publishEvent(new ShowtimeChangedEvent(1L, request.getDate()));
+    }
+
+    @Test
+    void saveShowtime_OverlappingHallSlot_ThrowsConflict() {
+        when(hallService.findHallById(1L)).thenReturn(hall);
+        when(movieService.findMovieById(10L)).thenReturn(movie);
+        when(showtimeMapper.mapRequestToShowtime(request, hall, movie)).thenReturn(showtime);
+        when(showtimeRepository.save(showtime)).thenReturn(showtime);
+        doThrow(new ConflictException("taken")).when(hallScheduleIndex).claim(showtime, null);
+
+        assertThrows(ConflictException.class, () -> showtimeService.saveShowtime(request));
+        verify(showtimeMapper, never()).mapShowtimeToResponse(any());
     }
 
     @Test
@@ -145,6 +177,9 @@ class ShowtimeServiceTest {
         assertDoesNotThrow(() -> showtimeService.deleteShowtimeById(100L));
 
         verify(showtimeRepository, times(1)).delete(showtime);
+        verify(hallScheduleIndex).release(1L, 100L);
+        verify(eventPublisher).publishEvent(new ShowtimeChangedEvent(1L, request.getDate()));
+        verify(showtimeKeyCache, times(1)).invalidate(100L);
     }
 
     @Test
@@ -196,19 +231,26 @@ class ShowtimeServiceTest {
         assertEquals(HttpStatus.OK, result.getHttpStatus());
         assertEquals(SuccessMessages.SHOWTIME_UPDATED, result.getMessage());
         verify(showtimeRepository, times(1)).save(showtime);
+        verify(hallScheduleIndex).claim(showtime, 1L);
+        // both the old and the new day of the showtime are rebuilt
+        verify(eventPublisher).publishEvent(new ShowtimeChangedEvent(1L, request.getDate()));
+        verify(eventPublisher).publishEvent(new ShowtimeChangedEvent(1L, updateRequest.getDate()));
+        verify(showtimeKeyCache, times(1)).invalidate(100L);
     }
 
     // ======================== S01 ENDPOINT TESTS ========================
 
     @Test
-    void getShowtimesByCinemaId_Success_WithMultipleHallsAndMovies() {
+    void getShowtimesByCinemaId_Success_ReturnsTimetableHalls() {
         Long cinemaId = 1L;
-        LocalDate testDate = LocalDate.now().plusDays(1);
-
-        List<ShowtimeRepository.HallMovieTimeRow> mockRows = createMockRows(testDate);
+        List<HallWithShowtimesResponse> halls = List.of(HallWithShowtimesResponse.builder()
+                .id(1L)
+                .name("Hall-A")
+                .movies(List.of())
+                .build());
 
-        when(cinemaRepository.findById(cinemaId)).thenReturn(Optional.of(cinema));
-        when(showtimeRepository.findShowtimesByCinemaId(cinemaId)).thenReturn(mockRows);
+        when(cinemaRepository.existsById(cinemaId)).thenReturn(true);
+        when(cinemaTimetable.forCinema(cinemaId)).thenReturn(timetable(halls));
 
         ResponseMessage<List<HallWithShowtimesResponse>> result =
                 showtimeService.getShowtimesByCinemaId(cinemaId);
@@ -216,42 +258,17 @@ class ShowtimeServiceTest {
         assertNotNull(result);
         assertEquals(HttpStatus.OK, result.getHttpStatus());
         assertEquals(SuccessMessages.SHOWTIMES_FOUND_BY_CINEMA, result.getMessage());
+        assertEquals(halls, result.getReturnBody());
 
-        List<HallWithShowtimesResponse> halls = result.getReturnBody();
-        assertEquals(2, halls.size());
-
-        assertEquals("Hall-A", halls.get(0).getName());
-        assertEquals("Hall-B", halls.get(1).getName());
-
-        HallWithShowtimesResponse firstHall = halls.get(0);
-        assertEquals(1L, firstHall.getId());
-        assertEquals(100, firstHall.getSeatCapacity());
-        assertFalse(firstHall.getIsSpecial());
-        assertEquals(2, firstHall.getMovies().size());
-
-        assertEquals("Movie-Alpha", firstHall.getMovies().get(0).getMovie().getTitle());
-        assertEquals("Movie-Beta", firstHall.getMovies().get(1).getMovie().getTitle());
-
-        HallMovieShowtimesResponse movieAlphaShowtimes = firstHall.getMovies().get(0);
-        assertEquals(2, movieAlphaShowtimes.getTimes().size());
-        assertEquals(LocalDateTime.of(testDate, LocalTime.of(14, 0)), movieAlphaShowtimes.getTimes().get(0));
-        assertEquals(LocalDateTime.of(testDate, LocalTime.of(18, 0)), movieAlphaShowtimes.getTimes().get(1));
-
-        HallWithShowtimesResponse secondHall = halls.get(1);
-        assertEquals(2L, secondHall.getId());
-        assertEquals(200, secondHall.getSeatCapacity());
-        assertTrue(secondHall.getIsSpecial());
-        assertEquals(1, secondHall.getMovies().size());
-        assertEquals("Movie-Charlie", secondHall.getMovies().get(0).getMovie().getTitle());
-
-        verify(cinemaRepository).findById(cinemaId);
-        verify(showtimeRepository).findShowtimesByCinemaId(cinemaId);
+        verify(cinemaRepository).existsById(cinemaId);
+        verify(cinemaTimetable).forCinema(cinemaId);
+        verifyNoInteractions(showtimeRepository);
     }
 
     @Test
     void getShowtimesByCinemaId_CinemaNotFound_ThrowsResourceNotFoundException() {
         Long cinemaId = 999L;
-        when(cinemaRepository.findById(cinemaId)).thenReturn(Optional.empty());
+        when(cinemaRepository.existsById(cinemaId)).thenReturn(false);
 
         ResourceNotFoundException ex = assertThrows(
                 ResourceNotFoundException.class,
@@ -260,15 +277,15 @@ class ShowtimeServiceTest {
 
         assertEquals(String.format(ErrorMessages.CINEMA_NOT_FOUND, cinemaId), ex.getMessage());
 
-        verify(cinemaRepository).findById(cinemaId);
-        verifyNoInteractions(showtimeRepository);
+        verify(cinemaRepository).existsById(cinemaId);
+        verifyNoInteractions(cinemaTimetable);
     }
 
     @Test
     void getShowtimesByCinemaId_NoShowtimes_ThrowsResourceNotFoundException() {
         Long cinemaId = 1L;
-        when(cinemaRepository.findById(cinemaId)).thenReturn(Optional.of(cinema));
-        when(showtimeRepository.findShowtimesByCinemaId(cinemaId)).thenReturn(new ArrayList<>());
+        when(cinemaRepository.existsById(cinemaId)).thenReturn(true);
+        when(cinemaTimetable.forCinema(cinemaId)).thenReturn(timetable(List.of()));
 
         ResourceNotFoundException ex = assertThrows(
                 ResourceNotFoundException.class,
@@ -276,105 +293,26 @@ class ShowtimeServiceTest {
         );
 
         assertEquals(ErrorMessages.SHOWTIMES_NOT_FOUND, ex.getMessage());
-
-        verify(cinemaRepository).findById(cinemaId);
-        verify(showtimeRepository).findShowtimesByCinemaId(cinemaId);
     }
 
     @Test
-    void getShowtimesByCinemaId_SingleHallSingleMovie_Success() {
+    void getTimetableByCinemaId_ReturnsSerializedBodyAndEtag() {
         Long cinemaId = 1L;
-        LocalDate testDate = LocalDate.now().plusDays(1);
-
-        List<ShowtimeRepository.HallMovieTimeRow> mockRows = List.of(
-                createMockRow(1L, "Hall-Single", 150, true, 10L, "Movie-Single",
-                        testDate, LocalTime.of(20, 30))
-        );
-
-        when(cinemaRepository.findById(cinemaId)).thenReturn(Optional.of(cinema));
-        when(showtimeRepository.findShowtimesByCinemaId(cinemaId)).thenReturn(mockRows);
-
-        ResponseMessage<List<HallWithShowtimesResponse>> result =
-                showtimeService.getShowtimesByCinemaId(cinemaId);
-
-        List<HallWithShowtimesResponse> halls = result.getReturnBody();
-        assertEquals(1, halls.size());
-
-        HallWithShowtimesResponse hallResp = halls.get(0);
-        assertEquals(1L, hallResp.getId());
-        assertEquals("Hall-Single", hallResp.getName());
-        assertEquals(150, hallResp.getSeatCapacity());
-        assertTrue(hallResp.getIsSpecial());
-        assertEquals(1, hallResp.getMovies().size());
-
-        HallMovieShowtimesResponse movieShowtime = hallResp.getMovies().get(0);
-        assertEquals(10L, movieShowtime.getMovie().getId());
-        assertEquals("Movie-Single", movieShowtime.getMovie().getTitle());
-        assertEquals(1, movieShowtime.getTimes().size());
-        assertEquals(LocalDateTime.of(testDate, LocalTime.of(20, 30)), movieShowtime.getTimes().get(0));
-    }
-
-    @Test
-    void getShowtimesByCinemaId_SameMovieInMultipleHalls_Success() {
-        Long cinemaId = 1L;
-        LocalDate testDate = LocalDate.now().plusDays(1);
-
-        List<ShowtimeRepository.HallMovieTimeRow> mockRows = List.of(
-                createMockRow(1L, "Hall-A", 100, false, 10L, "Popular-Movie",
-                        testDate, LocalTime.of(14, 0)),
-                createMockRow(2L, "Hall-B", 200, true, 10L, "Popular-Movie",
-                        testDate, LocalTime.of(16, 30))
-        );
-
-        when(cinemaRepository.findById(cinemaId)).thenReturn(Optional.of(cinema));
-        when(showtimeRepository.findShowtimesByCinemaId(cinemaId)).thenReturn(mockRows);
-
-        ResponseMessage<List<HallWithShowtimesResponse>> result =
-                showtimeService.getShowtimesByCinemaId(cinemaId);
-
-        List<HallWithShowtimesResponse> halls = result.getReturnBody();
-        assertEquals(2, halls.size());
-
-        assertEquals("Popular-Movie", halls.get(0).getMovies().get(0).getMovie().getTitle());
-        assertEquals("Popular-Movie", halls.get(1).getMovies().get(0).getMovie().getTitle());
-
-        assertEquals(LocalDateTime.of(testDate, LocalTime.of(14, 0)),
-                halls.get(0).getMovies().get(0).getTimes().get(0));
-        assertEquals(LocalDateTime.of(testDate, LocalTime.of(16, 30)),
-                halls.get(1).getMovies().get(0).getTimes().get(0));
+        CinemaTimetable.Timetable timetable = timetable(List.of(HallWithShowtimesResponse.builder()
+                .id(1L)
+                .name("Hall-A")
+                .movies(List.of())
+                .build()));
+        when(cinemaRepository.existsById(cinemaId)).thenReturn(true);
+        when(cinemaTimetable.forCinema(cinemaId)).thenReturn(timetable);
+
+        assertSame(timetable, showtimeService.getTimetableByCinemaId(cinemaId));
     }
 
     // ======================== HELPER METHODS ========================
 
-    private List<ShowtimeRepository.HallMovieTimeRow> createMockRows(LocalDate testDate) {
-        return List.of(
-                // Hall 1 - Movie 1 (multiple showtimes)
-                createMockRow(1L, "Hall-A", 100, false, 10L, "Movie-Alpha",
-                        testDate, LocalTime.of(14, 0)),
-                createMockRow(1L, "Hall-A", 100, false, 10L, "Movie-Alpha",
-                        testDate, LocalTime.of(18, 0)),
-                // Hall 1 - Movie 2 (single showtime)
-                createMockRow(1L, "Hall-A", 100, false, 20L, "Movie-Beta",
-                        testDate, LocalTime.of(21, 30)),
-                // Hall 2 - Movie 3 (single showtime)
-                createMockRow(2L, "Hall-B", 200, true, 30L, "Movie-Charlie",
-                        testDate, LocalTime.of(19, 15))
-        );
-    }
-
-    private ShowtimeRepository.HallMovieTimeRow createMockRow(
-            Long hallId, String hallName, Integer seatCapacity, Boolean isSpecial,
-            Long movieId, String movieTitle, LocalDate date, LocalTime startTime) {
-
-        return new ShowtimeRepository.HallMovieTimeRow() {
-            @Override public Long getHallId() { return hallId; }
-            @Override public String getHallName() { return hallName; }
-            @Override public Integer getSeatCapacity() { return seatCapacity; }
-            @Override public Boolean getIsSpecial() { return isSpecial; }
-            @Override public Long getMovieId() { return movieId; }
-            @Override public String getMovieTitle() { return movieTitle; }
-            @Override public LocalDate getDate() { return date; }
-            @Override public LocalTime getStartTime() { return startTime; }
-        };
+    private CinemaTimetable.Timetable timetable(List<HallWithShowtimesResponse> halls) {
+        LocalDate today = LocalDate.now();
+        return new CinemaTimetable.Timetable(today, today.plusDays(14), halls, new byte[0], "\"etag\"");
     }
 }
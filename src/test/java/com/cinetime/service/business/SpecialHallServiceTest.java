@@ -14,6 +14,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockedStatic;
+import org.springframework.context.ApplicationEventPublisher;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -34,12 +35,13 @@ class SpecialHallServiceTest {
     @org.mockito.Mock private HallRepository hallRepo;
     @org.mockito.Mock private SpecialHallTypeRepository typeRepo;
     @org.mockito.Mock private HallRepository hallRepository; // for getHallPricing
+    @org.mockito.Mock private ApplicationEventPublisher eventPublisher;
 
     private SpecialHallService service;
 
     @BeforeEach
     void setUp() {
-        service = new SpecialHallService(repo, hallRepo, typeRepo, hallRepository);
+        service = new SpecialHallService(repo, hallRepo, typeRepo, hallRepository, eventPublisher);
     }
 
     @Test
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.springframework.context.ApplicationEventPublisher;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 
@@ -28,12 +29,13 @@ class SpecialHallTypeServiceTest {
 
     @Mock
     private SpecialHallTypeRepository repo;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private SpecialHallTypeService service;
 
     private SpecialHallTypeService createService() {
-        // @RequiredArgsConstructor takes a single parameter
-        return new SpecialHallTypeService(repo);
+        return new SpecialHallTypeService(repo, eventPublisher);
     }
 
     // ========= list =========
@@ -0,0 +1,161 @@
+package com.cinetime.service.catalog;
+
+import com.cinetime.service.catalog.MovieCatalogCache.Region;
+import com.cinetime.service.timetable.ShowtimeChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieCatalogCacheTest {
+
+    private MutableClock clock;
+    private MovieCatalogCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2030-01-01T10:00:00Z"));
+        cache = new MovieCatalogCache(3, Duration.ofMinutes(5), clock);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_servesRepeatsFromMemory_andCountsHitsAndMisses() {
+        assertThat(load(Region.MOVIE, "id|1", 1L)).isEqualTo("value-1");
+        assertThat(load(Region.MOVIE, "id|1", 1L)).isEqualTo("value-1");
+
+        assertThat(loads).hasValue(1);
+        MovieCatalogCache.Stats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void get_reloadsAfterTtl_andEvictsLeastRecentlyUsedBeyondMaxSize() {
+        load(Region.MOVIE, "id|1", 1L);
+        clock.advance(Duration.ofMinutes(6));
+        load(Region.MOVIE, "id|1", 1L);
+        assertThat(loads).hasValue(2);
+
+        load(Region.MOVIE, "id|2", 2L);
+        load(Region.MOVIE, "id|3", 3L);
+        load(Region.MOVIE, "id|1", 1L);      // touch 1, so 2 is the eldest
+        load(Region.MOVIE, "id|4", 4L);
+        load(Region.MOVIE, "id|2", 2L);
+
+        assertThat(loads).hasValue(6);
+        assertThat(cache.stats().size()).isEqualTo(3);
+        assertThat(cache.stats().evictions()).isEqualTo(3);
+    }
+
+    @Test
+    void imageChange_dropsOnlyEntriesContainingTheMovie() {
+        load(Region.MOVIE, "id|1", 1L);
+        load(Region.MOVIE, "id|2", 2L);
+        load(Region.COMING_SOON, "page", 1L, 2L);
+
+        cache.onMovieChanged(MovieChangedEvent.imagesChanged(2L));
+
+        load(Region.MOVIE, "id|1", 1L);
+        assertThat(loads).hasValue(3);
+        load(Region.MOVIE, "id|2", 2L);
+        load(Region.COMING_SOON, "page", 1L, 2L);
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    void movieSave_dropsListingsButKeepsOtherMovies() {
+        load(Region.MOVIE, "id|1", 1L);
+        load(Region.GENRES, "all");
+
+        cache.onMovieChanged(MovieChangedEvent.saved(9L));
+
+        load(Region.MOVIE, "id|1", 1L);
+        assertThat(loads).hasValue(2);
+        load(Region.GENRES, "all");
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void movieDelete_dropsTheMovieAndListings() {
+        load(Region.MOVIE, "id|1", 1L);
+        load(Region.MOVIE, "id|2", 2L);
+        load(Region.IN_THEATERS, "today", 1L);
+
+        cache.onMovieChanged(MovieChangedEvent.deleted(1L));
+
+        load(Region.MOVIE, "id|2", 2L);
+        assertThat(loads).hasValue(3);
+        load(Region.MOVIE, "id|1", 1L);
+        load(Region.IN_THEATERS, "today", 1L);
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    void showtimeChange_dropsInTheaterListingsOnly() {
+        load(Region.IN_THEATERS, "today", 1L);
+        load(Region.COMING_SOON, "today", 2L);
+
+        cache.onShowtimeChanged(new ShowtimeChangedEvent(5L, LocalDate.of(2030, 1, 1)));
+
+        load(Region.COMING_SOON, "today", 2L);
+        assertThat(loads).hasValue(2);
+        load(Region.IN_THEATERS, "today", 1L);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void get_doesNotStoreValuesWithoutMovieIds() {
+        cache.get(Region.MOVIE, "slug|missing", () -> "not found" + loads.incrementAndGet(), v -> null);
+        cache.get(Region.MOVIE, "slug|missing", () -> "not found" + loads.incrementAndGet(), v -> null);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    private String load(Region region, String key, Long... movieIds) {
+        return cache.get(region, key, () -> {
+            loads.incrementAndGet();
+            return "value-" + (movieIds.length == 0 ? "none" : movieIds[0]);
+        }, v -> Set.of(movieIds));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
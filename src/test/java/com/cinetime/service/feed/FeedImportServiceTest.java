@@ -0,0 +1,99 @@
+package com.cinetime.service.feed;
+
+import com.cinetime.entity.business.Hall;
+import com.cinetime.entity.business.Movie;
+import com.cinetime.entity.business.Showtime;
+import com.cinetime.payload.mappers.MovieMapper;
+import com.cinetime.payload.response.business.ImportReportResponse;
+import com.cinetime.repository.business.HallRepository;
+import com.cinetime.repository.business.MovieRepository;
+import com.cinetime.repository.business.ShowtimeRepository;
+import com.cinetime.service.helper.MovieServiceHelper;
+import com.cinetime.service.schedule.HallScheduleIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedImportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(3);
+
+    @Mock PlatformTransactionManager transactionManager;
+    @Mock ShowtimeRepository showtimeRepository;
+    @Mock MovieRepository movieRepository;
+    @Mock HallRepository hallRepository;
+    @Mock HallScheduleIndex hallScheduleIndex;
+    @Mock MovieMapper movieMapper;
+    @Mock MovieServiceHelper movieServiceHelper;
+    @Mock ApplicationEventPublisher eventPublisher;
+
+    FeedImportService service;
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        service = new FeedImportService(new ObjectMapper(), validator, transactionManager, showtimeRepository,
+                movieRepository, hallRepository, hallScheduleIndex, movieMapper, movieServiceHelper,
+                eventPublisher);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "maxReportedErrors", 10);
+    }
+
+    @Test
+    void importShowtimes_writesValidRowsInChunks_andReportsEveryBadRow() {
+        Movie movie = new Movie();
+        movie.setId(10L);
+        movie.setDuration(120);
+        when(movieRepository.findBySlugIgnoreCase("heat")).thenReturn(Optional.of(movie));
+        when(movieRepository.findBySlugIgnoreCase("unknown")).thenReturn(Optional.empty());
+        when(hallRepository.findIdByCinemaNameAndHallName("Downtown", "Hall 1")).thenReturn(Optional.of(1L));
+        when(hallRepository.getReferenceById(1L)).thenReturn(Hall.builder().id(1L).build());
+        when(movieRepository.getReferenceById(10L)).thenReturn(movie);
+        when(hallScheduleIndex.isFree(eq(1L), any(), any())).thenReturn(true, true, false);
+        when(showtimeRepository.save(any(Showtime.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        String csv = """
+                date,startTime,endTime,cinema,hall,movieSlug
+                %1$s,12:00,,Downtown,Hall 1,heat
+                %1$s,15:00,17:00,Downtown,Hall 1,heat
+                %1$s,18:00,17:00,Downtown,Hall 1,heat
+                %1$s,19:00,,Downtown,Hall 1,unknown
+                %1$s,not-a-time,,Downtown,Hall 1,heat
+                %1$s,21:00,,Downtown,Hall 1,heat
+                """.formatted(DAY);
+
+        ImportReportResponse report = service.importShowtimes(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), FeedFormat.CSV).getReturnBody();
+
+        assertThat(report.getProcessed()).isEqualTo(6);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(4);
+        assertThat(report.getErrors()).extracting(ImportReportResponse.ImportRowError::getLine)
+                .containsExactlyInAnyOrder(4L, 5L, 6L, 7L);
+        assertThat(report.isErrorsTruncated()).isFalse();
+
+        // One lookup per distinct reference, two chunks (rows 2-3 and row 7)
+        verify(movieRepository, times(1)).findBySlugIgnoreCase("heat");
+        verify(hallRepository, times(1)).findIdByCinemaNameAndHallName("Downtown", "Hall 1");
+        verify(transactionManager, times(2)).commit(any());
+        verify(hallScheduleIndex, times(2)).claim(any(Showtime.class), isNull());
+    }
+}
@@ -0,0 +1,95 @@
+package com.cinetime.service.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedReaderTest {
+
+    @Test
+    void csv_handlesQuotesMultilineFieldsAndBadRecords() throws IOException {
+        String csv = """
+                title,cast,summary\r
+                "Fight, Club","Brad Pitt|Edward Norton","first line
+                second ""quoted"" line"
+
+                short,row
+                Heat,Al Pacino|Robert De Niro,Cops and robbers""";
+
+        List<FeedRow> rows = readAll(FeedFormat.CSV, csv);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(0).text("TITLE")).isEqualTo("Fight, Club");
+        assertThat(rows.get(0).list("cast")).containsExactly("Brad Pitt", "Edward Norton");
+        assertThat(rows.get(0).text("summary")).isEqualTo("first line\nsecond \"quoted\" line");
+        assertThat(rows.get(1).line()).isEqualTo(5);
+        assertThat(rows.get(1).error()).contains("Expected 3 columns");
+        assertThat(rows.get(2).text("title")).isEqualTo("Heat");
+    }
+
+    @Test
+    void csv_reportsOversizedRecordAsRowError_andResumesAtTheNextRecord() throws IOException {
+        // the oversized summary is quoted and spans a line break, so the skip has to honour the quotes
+        String huge = "x".repeat(FeedReader.MAX_RECORD_CHARS) + "\n, \"\" still quoted";
+        String csv = "title,cast,summary\n"
+                + "Epic,Someone,\"" + huge.replace("\"", "\"\"") + "\"\n"
+                + "Heat,Al Pacino,Cops and robbers\n";
+
+        List<FeedRow> rows = readAll(FeedFormat.CSV, csv);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(0).error()).contains("longer than");
+        assertThat(rows.get(1).line()).isEqualTo(4);
+        assertThat(rows.get(1).text("title")).isEqualTo("Heat");
+    }
+
+    @Test
+    void ndjson_reportsMalformedLinesAndKeepsGoing() throws IOException {
+        String ndjson = """
+                {"title":"Heat","cast":["Al Pacino","Robert De Niro"],"duration":170}
+
+                not json
+                [1, 2]
+                {"title":"Ronin"}
+                """;
+
+        List<FeedRow> rows = readAll(FeedFormat.NDJSON, ndjson);
+
+        assertThat(rows).extracting(FeedRow::line).containsExactly(1L, 3L, 4L, 5L);
+        assertThat(rows.get(0).list("cast")).containsExactly("Al Pacino", "Robert De Niro");
+        assertThat(rows.get(0).text("duration")).isEqualTo("170");
+        assertThat(rows.get(1).error()).startsWith("Malformed JSON");
+        assertThat(rows.get(2).error()).isEqualTo("Expected a JSON object");
+        assertThat(rows.get(3).text("title")).isEqualTo("Ronin");
+    }
+
+    @Test
+    void ndjson_reportsOversizedLineAsRowError_andResumesAtTheNextLine() throws IOException {
+        String ndjson = "{\"title\":\"" + "x".repeat(FeedReader.MAX_RECORD_CHARS) + "\"}\r\n"
+                + "{\"title\":\"Heat\"}\r\n";
+
+        List<FeedRow> rows = readAll(FeedFormat.NDJSON, ndjson);
+
+        assertThat(rows).extracting(FeedRow::line).containsExactly(1L, 2L);
+        assertThat(rows.get(0).error()).contains("longer than");
+        assertThat(rows.get(1).text("title")).isEqualTo("Heat");
+    }
+
+    private static List<FeedRow> readAll(FeedFormat format, String text) throws IOException {
+        List<FeedRow> rows = new ArrayList<>();
+        try (FeedReader reader = FeedReader.open(format,
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), new ObjectMapper())) {
+            reader.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+}
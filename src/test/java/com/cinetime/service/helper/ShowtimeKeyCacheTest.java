@@ -0,0 +1,53 @@
+package com.cinetime.service.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShowtimeKeyCacheTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 1);
+    private static final LocalTime TIME = LocalTime.of(20, 0);
+
+    @Test
+    void get_isCaseInsensitive() {
+        ShowtimeKeyCache cache = new ShowtimeKeyCache(10);
+        cache.put("Fight Club", "Hall 1", "Downtown", DATE, TIME, 7L);
+
+        assertThat(cache.get("FIGHT CLUB", "hall 1", " downtown ", DATE, TIME)).contains(7L);
+        assertThat(cache.get("Fight Club", "Hall 1", "Downtown", DATE, TIME.plusHours(1))).isEmpty();
+    }
+
+    @Test
+    void sameName_comparesLikeTheKey() {
+        assertThat(ShowtimeKeyCache.sameName(" Hall 1 ", "hall 1")).isTrue();
+        assertThat(ShowtimeKeyCache.sameName("Hall 1", "Hall 10")).isFalse();
+    }
+
+    @Test
+    void invalidate_removesEntryById() {
+        ShowtimeKeyCache cache = new ShowtimeKeyCache(10);
+        cache.put("Fight Club", "Hall 1", "Downtown", DATE, TIME, 7L);
+
+        cache.invalidate(7L);
+
+        assertThat(cache.get("Fight Club", "Hall 1", "Downtown", DATE, TIME)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsed_whenFull() {
+        ShowtimeKeyCache cache = new ShowtimeKeyCache(2);
+        cache.put("A", "H", "C", DATE, TIME, 1L);
+        cache.put("B", "H", "C", DATE, TIME, 2L);
+        cache.get("A", "H", "C", DATE, TIME);
+        cache.put("C", "H", "C", DATE, TIME, 3L);
+
+        assertThat(cache.get("A", "H", "C", DATE, TIME)).contains(1L);
+        assertThat(cache.get("B", "H", "C", DATE, TIME)).isEmpty();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+}
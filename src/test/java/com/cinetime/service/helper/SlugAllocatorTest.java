@@ -0,0 +1,108 @@
+package com.cinetime.service.helper;
+
+import com.cinetime.exception.ConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class SlugAllocatorTest {
+
+    private final SlugAllocator allocator = new SlugAllocator(mock(PlatformTransactionManager.class));
+
+    @Test
+    void slugify_stripsAccentsAndSymbols_andTrimsToLength() {
+        assertThat(SlugAllocator.slugify("  Amélie: Le Fabuleux Destin!  ", 50)).isEqualTo("amelie-le-fabuleux-destin");
+        assertThat(SlugAllocator.slugify("The Lord of the Rings", 12)).isEqualTo("the-lord-of");
+    }
+
+    @Test
+    void allocate_readsTakenSlugsOnce_andPicksSmallestFreeSuffix() {
+        List<String> prefixes = new ArrayList<>();
+
+        String slug = allocator.allocate("untitled", 50, prefix -> {
+            prefixes.add(prefix);
+            return List.of("untitled", "untitled-2", "untitled-4", "untitled-film");
+        });
+
+        assertThat(slug).isEqualTo("untitled-3");
+        assertThat(prefixes).containsExactly("untitled");
+    }
+
+    @Test
+    void allocate_keepsBase_whenOnlyLongerSlugsShareThePrefix() {
+        assertThat(allocator.allocate("dune", 50, prefix -> List.of("dune-part-two"))).isEqualTo("dune");
+    }
+
+    @Test
+    void allocate_queriesAPrefixThatCoversShortenedCandidates() {
+        List<String> prefixes = new ArrayList<>();
+
+        allocator.allocate("a".repeat(50), 50, prefix -> {
+            prefixes.add(prefix);
+            return List.of();
+        });
+
+        assertThat(prefixes).containsExactly("a".repeat(44));
+    }
+
+    @Test
+    void pick_shortensBase_soTheSuffixFitsMaxLength() {
+        String base = "a".repeat(10);
+
+        assertThat(SlugAllocator.pick(base, 10, Set.of(base))).isEqualTo("aaaaaaaa-2");
+        assertThat(SlugAllocator.pick(base, 10, Set.of(base, "aaaaaaaa-2", "aaaaaaaa-3", "aaaaaaaa-4",
+                "aaaaaaaa-5", "aaaaaaaa-6", "aaaaaaaa-7", "aaaaaaaa-8", "aaaaaaaa-9"))).isEqualTo("aaaaaaa-10");
+    }
+
+    @Test
+    void retrying_runsTheWriteAgain_afterLosingTheSlug() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = allocator.retrying(() -> {
+            if (attempts.incrementAndGet() < SlugAllocator.MAX_ATTEMPTS) throw slugConflict();
+            return "saved";
+        });
+
+        assertThat(result).isEqualTo("saved");
+        assertThat(attempts).hasValue(SlugAllocator.MAX_ATTEMPTS);
+    }
+
+    @Test
+    void retrying_givesUpWithConflict_afterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> allocator.retrying(() -> {
+            attempts.incrementAndGet();
+            throw slugConflict();
+        })).isInstanceOf(ConflictException.class);
+        assertThat(attempts).hasValue(SlugAllocator.MAX_ATTEMPTS);
+    }
+
+    @Test
+    void retrying_doesNotRetryOtherConstraintViolations() {
+        AtomicInteger attempts = new AtomicInteger();
+        DataIntegrityViolationException other = new DataIntegrityViolationException("insert failed",
+                new SQLException("null value in column \"city_id\" violates not-null constraint"));
+
+        assertThatThrownBy(() -> allocator.retrying(() -> {
+            attempts.incrementAndGet();
+            throw other;
+        })).isSameAs(other);
+        assertThat(attempts).hasValue(1);
+    }
+
+    private static DataIntegrityViolationException slugConflict() {
+        return new DataIntegrityViolationException("insert failed", new SQLException(
+                "duplicate key value violates unique constraint \"uk_movies_slug\" Detail: Key (slug)=(dune) already exists."));
+    }
+}
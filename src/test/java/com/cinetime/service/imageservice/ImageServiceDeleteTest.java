@@ -6,6 +6,7 @@ import com.cinetime.exception.ResourceNotFoundException;
 import com.cinetime.payload.messages.ErrorMessages;
 import com.cinetime.repository.business.ImageRepository;
 import com.cinetime.service.business.ImageService;
+import com.cinetime.service.storage.ImageBlobs;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -24,9 +26,17 @@ import static org.mockito.Mockito.*;
 @DisplayName("ImageService - Delete Tests")
 class ImageServiceDeleteTest {
 
+    private static final String BLOB_KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
     @Mock
     private ImageRepository imageRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ImageBlobs imageBlobs;
+
     @InjectMocks
     private ImageService imageService;
 
@@ -43,7 +53,7 @@ class ImageServiceDeleteTest {
                 .id(1L)
                 .name("test-image.jpg")
                 .type("image/jpeg")
-                .data("test data".getBytes())
+                .blobKey(BLOB_KEY)
                 .isPoster(false)
                 .movie(testMovie)
                 .createdAt(LocalDateTime.now())
@@ -65,6 +75,7 @@ class ImageServiceDeleteTest {
         // Then
         verify(imageRepository).findById(imageId);
         verify(imageRepository).delete(testImage);
+        verify(imageBlobs).releaseAfterCommit(BLOB_KEY);
     }
 
     @Test
@@ -26,6 +26,8 @@ import static org.mockito.Mockito.when;
 @DisplayName("ImageService - GetImageEntity Tests")
 class ImageServiceGetImageEntityTest {
 
+    private static final String BLOB_KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
     @Mock
     private ImageRepository imageRepository;
 
@@ -45,7 +47,7 @@ class ImageServiceGetImageEntityTest {
                 .id(1L)
                 .name("test-image.jpg")
                 .type("image/jpeg")
-                .data("test image data".getBytes())
+                .blobKey(BLOB_KEY)
                 .isPoster(true)
                 .movie(testMovie)
                 .createdAt(LocalDateTime.now())
@@ -68,7 +70,7 @@ class ImageServiceGetImageEntityTest {
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getName()).isEqualTo("test-image.jpg");
         assertThat(result.getType()).isEqualTo("image/jpeg");
-        assertThat(result.getData()).isEqualTo("test image data".getBytes());
+        assertThat(result.getBlobKey()).isEqualTo(BLOB_KEY);
         assertThat(result.isPoster()).isTrue();
         assertThat(result.getMovie().getId()).isEqualTo(1L);
 
@@ -10,6 +10,9 @@ import com.cinetime.payload.messages.ErrorMessages;
 import com.cinetime.payload.response.business.ImageResponse;
 import com.cinetime.repository.business.ImageRepository;
 import com.cinetime.service.business.ImageService;
+import com.cinetime.service.storage.ImageBlobs;
+import com.cinetime.service.storage.ImageVariants;
+import com.cinetime.service.storage.StoredBlob;
 import com.cinetime.service.validator.ImageValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,9 +22,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -34,12 +39,24 @@ import static org.mockito.Mockito.*;
 @DisplayName("ImageService - Update Tests")
 class ImageServiceUpdateTest {
 
+    private static final String BLOB_KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final String NEW_BLOB_KEY = "60303ae22b998861bce3b28f33eec1be758a213c86c93c076dbe9f558c11c752";
+
     @Mock
     private ImageRepository imageRepository;
 
     @Mock
     private ImageMapper imageMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ImageBlobs imageBlobs;
+
+    @Mock
+    private ImageVariants imageVariants;
+
     @InjectMocks
     private ImageService imageService;
 
@@ -60,7 +77,7 @@ class ImageServiceUpdateTest {
                 .id(1L)
                 .name("old-image.jpg")
                 .type("image/jpeg")
-                .data("old data".getBytes())
+                .blobKey(BLOB_KEY)
                 .isPoster(false)
                 .movie(testMovie)
                 .createdAt(LocalDateTime.now().minusHours(1))
@@ -99,7 +116,8 @@ class ImageServiceUpdateTest {
             when(imageMapper.toResponse(existingImage)).thenReturn(updatedResponse);
 
             validator.when(() -> ImageValidator.requireValid(newFile)).thenAnswer(invocation -> null);
-            validator.when(() -> ImageValidator.safeBytes(newFile)).thenReturn(newFileData);
+            validator.when(() -> ImageValidator.openStream(newFile)).thenReturn(new ByteArrayInputStream(newFileData));
+            when(imageBlobs.store(any())).thenReturn(new StoredBlob(NEW_BLOB_KEY, newFileData.length));
             validator.when(() -> ImageValidator.cleanFileName("new-image.png")).thenReturn("new-image.png");
 
             // When
@@ -117,7 +135,10 @@ class ImageServiceUpdateTest {
             // Verify image was updated
             assertThat(existingImage.getName()).isEqualTo("new-image.png");
             assertThat(existingImage.getType()).isEqualTo("image/png");
-            assertThat(existingImage.getData()).isEqualTo(newFileData);
+            assertThat(existingImage.getBlobKey()).isEqualTo(NEW_BLOB_KEY);
+            assertThat(existingImage.getSize()).isEqualTo((long) newFileData.length);
+            verify(imageBlobs).releaseAfterCommit(BLOB_KEY);
+            verify(imageVariants).renderAfterCommit(NEW_BLOB_KEY);
         }
     }
 
@@ -135,7 +156,8 @@ class ImageServiceUpdateTest {
             when(imageMapper.toResponse(existingImage)).thenReturn(updatedResponse);
 
             validator.when(() -> ImageValidator.requireValid(newFile)).thenAnswer(invocation -> null);
-            validator.when(() -> ImageValidator.safeBytes(newFile)).thenReturn(newFileData);
+            validator.when(() -> ImageValidator.openStream(newFile)).thenReturn(new ByteArrayInputStream(newFileData));
+            when(imageBlobs.store(any())).thenReturn(new StoredBlob(NEW_BLOB_KEY, newFileData.length));
             validator.when(() -> ImageValidator.cleanFileName("new-image.png")).thenReturn("new-image.png");
 
             // When
@@ -161,7 +183,8 @@ class ImageServiceUpdateTest {
             when(imageMapper.toResponse(existingImage)).thenReturn(updatedResponse);
 
             validator.when(() -> ImageValidator.requireValid(newFile)).thenAnswer(invocation -> null);
-            validator.when(() -> ImageValidator.safeBytes(newFile)).thenReturn(newFileData);
+            validator.when(() -> ImageValidator.openStream(newFile)).thenReturn(new ByteArrayInputStream(newFileData));
+            when(imageBlobs.store(any())).thenReturn(new StoredBlob(NEW_BLOB_KEY, newFileData.length));
             validator.when(() -> ImageValidator.cleanFileName("new-image.png")).thenReturn("new-image.png");
 
             // When
@@ -11,6 +11,9 @@ import com.cinetime.payload.response.business.ImageResponse;
 import com.cinetime.repository.business.ImageRepository;
 import com.cinetime.repository.business.MovieRepository;
 import com.cinetime.service.business.ImageService;
+import com.cinetime.service.storage.ImageBlobs;
+import com.cinetime.service.storage.ImageVariants;
+import com.cinetime.service.storage.StoredBlob;
 import com.cinetime.service.validator.ImageValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,9 +23,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -35,6 +40,8 @@ import static org.mockito.Mockito.*;
 @DisplayName("ImageService - Upload Tests")
 class ImageServiceUploadTest {
 
+    private static final String BLOB_KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
     @Mock
     private ImageRepository imageRepository;
 
@@ -44,6 +51,15 @@ class ImageServiceUploadTest {
     @Mock
     private ImageMapper imageMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ImageBlobs imageBlobs;
+
+    @Mock
+    private ImageVariants imageVariants;
+
     @InjectMocks
     private ImageService imageService;
 
@@ -73,7 +89,7 @@ class ImageServiceUploadTest {
                 .id(1L)
                 .name("test-image.jpg")
                 .type("image/jpeg")
-                .data(testFileData)
+                .blobKey(BLOB_KEY)
                 .isPoster(false)
                 .movie(testMovie)
                 .createdAt(LocalDateTime.now())
@@ -106,7 +122,8 @@ class ImageServiceUploadTest {
             when(imageMapper.toResponse(testImage)).thenReturn(testImageResponse);
 
             validator.when(() -> ImageValidator.requireValid(testFile)).thenAnswer(invocation -> null);
-            validator.when(() -> ImageValidator.safeBytes(testFile)).thenReturn(testFileData);
+            validator.when(() -> ImageValidator.openStream(testFile)).thenReturn(new ByteArrayInputStream(testFileData));
+            when(imageBlobs.store(any())).thenReturn(new StoredBlob(BLOB_KEY, testFileData.length));
             validator.when(() -> ImageValidator.cleanFileName("test-image.jpg")).thenReturn("test-image.jpg");
 
             // When
@@ -123,10 +140,11 @@ class ImageServiceUploadTest {
             verify(movieRepository).findById(movieId);
             verify(imageRepository).save(any(Image.class));
             verify(imageMapper).toResponse(testImage);
+            verify(imageVariants).renderAfterCommit(BLOB_KEY);
 
             // Verify validator methods were called
             validator.verify(() -> ImageValidator.requireValid(testFile));
-            validator.verify(() -> ImageValidator.safeBytes(testFile));
+            validator.verify(() -> ImageValidator.openStream(testFile));
             validator.verify(() -> ImageValidator.cleanFileName("test-image.jpg"));
 
             // Verify poster check was NOT called
@@ -146,7 +164,7 @@ class ImageServiceUploadTest {
                     .id(1L)
                     .name("poster.jpg")
                     .type("image/jpeg")
-                    .data(testFileData)
+                    .blobKey(BLOB_KEY)
                     .isPoster(true)
                     .movie(testMovie)
                     .build();
@@ -164,7 +182,8 @@ class ImageServiceUploadTest {
             when(imageMapper.toResponse(posterImage)).thenReturn(posterResponse);
 
             validator.when(() -> ImageValidator.requireValid(testFile)).thenAnswer(invocation -> null);
-            validator.when(() -> ImageValidator.safeBytes(testFile)).thenReturn(testFileData);
+            validator.when(() -> ImageValidator.openStream(testFile)).thenReturn(new ByteArrayInputStream(testFileData));
+            when(imageBlobs.store(any())).thenReturn(new StoredBlob(BLOB_KEY, testFileData.length));
             validator.when(() -> ImageValidator.cleanFileName("test-image.jpg")).thenReturn("poster.jpg");
 
             // When
@@ -255,12 +274,12 @@ class ImageServiceUploadTest {
             Long movieId = 1L;
             boolean poster = false; // Important: poster=false so no poster check
 
-            // Mock the flow up to the point where safeBytes fails
+            // Mock the flow up to the point where openStream fails
             when(movieRepository.findById(movieId)).thenReturn(Optional.of(testMovie));
             // DON'T stub poster check when poster=false
 
             validator.when(() -> ImageValidator.requireValid(testFile)).thenAnswer(invocation -> null);
-            validator.when(() -> ImageValidator.safeBytes(testFile))
+            validator.when(() -> ImageValidator.openStream(testFile))
                     .thenThrow(new BadRequestException("could not read uploaded file"));
 
             // When & Then
@@ -274,7 +293,7 @@ class ImageServiceUploadTest {
             verify(imageRepository, never()).existsByMovieIdAndIsPosterTrue(any());
 
             validator.verify(() -> ImageValidator.requireValid(testFile));
-            validator.verify(() -> ImageValidator.safeBytes(testFile));
+            validator.verify(() -> ImageValidator.openStream(testFile));
 
             // These should not be called because exception is thrown
             verify(imageRepository, never()).save(any());
@@ -348,7 +367,8 @@ class ImageServiceUploadTest {
             when(imageMapper.toResponse(testImage)).thenReturn(testImageResponse);
 
             validator.when(() -> ImageValidator.requireValid(specialFile)).thenAnswer(invocation -> null);
-            validator.when(() -> ImageValidator.safeBytes(specialFile)).thenReturn(testFileData);
+            validator.when(() -> ImageValidator.openStream(specialFile)).thenReturn(new ByteArrayInputStream(testFileData));
+            when(imageBlobs.store(any())).thenReturn(new StoredBlob(BLOB_KEY, testFileData.length));
             validator.when(() -> ImageValidator.cleanFileName("test@#$%^&*()image.jpg")).thenReturn(cleanedName);
 
             // When
@@ -374,7 +394,8 @@ class ImageServiceUploadTest {
             when(imageRepository.save(any(Image.class))).thenThrow(new RuntimeException("Database error"));
 
             validator.when(() -> ImageValidator.requireValid(testFile)).thenAnswer(invocation -> null);
-            validator.when(() -> ImageValidator.safeBytes(testFile)).thenReturn(testFileData);
+            validator.when(() -> ImageValidator.openStream(testFile)).thenReturn(new ByteArrayInputStream(testFileData));
+            when(imageBlobs.store(any())).thenReturn(new StoredBlob(BLOB_KEY, testFileData.length));
             validator.when(() -> ImageValidator.cleanFileName("test-image.jpg")).thenReturn("test-image.jpg");
 
             // When & Then
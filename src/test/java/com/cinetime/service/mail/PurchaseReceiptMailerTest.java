@@ -0,0 +1,33 @@
+package com.cinetime.service.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class PurchaseReceiptMailerTest {
+
+    private final MailService mailService = mock(MailService.class);
+    private final PurchaseReceiptMailer mailer = new PurchaseReceiptMailer(mailService, 10);
+
+    @AfterEach
+    void tearDown() {
+        mailer.destroy();
+    }
+
+    @Test
+    void onPurchaseReceipt_sendsOnItsOwnThread_andSwallowsMailFailures() {
+        PurchaseReceiptEvent receipt = new PurchaseReceiptEvent("member@cinetime.local", "Payment #1", "<p>ok</p>");
+        doThrow(new RuntimeException("smtp down"))
+                .when(mailService).sendHtml("member@cinetime.local", "Payment #1", "<p>ok</p>", null);
+
+        mailer.onPurchaseReceipt(receipt);
+        mailer.onPurchaseReceipt(receipt);
+
+        // the first failure does not stop the sender thread
+        verify(mailService, timeout(2000).times(2)).sendHtml("member@cinetime.local", "Payment #1", "<p>ok</p>", null);
+    }
+}
@@ -0,0 +1,96 @@
+package com.cinetime.service.movieservice;
+
+import com.cinetime.entity.enums.MovieStatus;
+import com.cinetime.exception.BadRequestException;
+import com.cinetime.payload.mappers.MovieMapper;
+import com.cinetime.payload.messages.ErrorMessages;
+import com.cinetime.payload.response.business.MovieFacetsResponse;
+import com.cinetime.payload.response.business.MovieResponse;
+import com.cinetime.payload.response.business.ResponseMessage;
+import com.cinetime.repository.business.MovieRepository;
+import com.cinetime.service.business.MovieService;
+import com.cinetime.service.search.MovieFacetIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FilterMoviesTest {
+
+    @Mock
+    private MovieMapper movieMapper;
+
+    @Mock
+    private MovieFacetIndex movieFacetIndex;
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @InjectMocks
+    private MovieService movieService;
+
+    @Test
+    @DisplayName("Should reject a release date that is not an ISO date")
+    void filterMovies_WithInvalidReleaseDate_ShouldThrowBadRequest() {
+        assertThatThrownBy(() -> movieService.filterMovies(
+                null, null, null, null, "31.12.2024", null, PageRequest.of(0, 10)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(String.format(ErrorMessages.INVALID_RELEASE_DATE, "31.12.2024"));
+
+        verifyNoInteractions(movieFacetIndex);
+    }
+
+    @Test
+    @DisplayName("Should keep returning a plain page, without the facet counts")
+    void filterMovies_NoMatches_ShouldReturnEmptyPage() {
+        PageRequest pageable = PageRequest.of(0, 10);
+        when(movieFacetIndex.filter(any(), eq(pageable))).thenReturn(new MovieFacetIndex.Result(
+                new PageImpl<>(List.of(), pageable, 0),
+                new MovieFacetIndex.Counts(Map.of(), Map.of(), Map.of())));
+
+        ResponseMessage<Page<MovieResponse>> response = movieService.filterMovies(
+                List.of("Drama"), null, null, null, null, null, pageable);
+
+        assertThat(response.getReturnBody()).isEmpty();
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    @DisplayName("Should return the facet counts of the filtered movies")
+    void filterMovieFacets_ShouldReturnCountsFromIndex() {
+        when(movieMapper.movieStatusMapper("IN_THEATERS")).thenReturn(MovieStatus.IN_THEATERS);
+        when(movieFacetIndex.counts(new MovieFacetIndex.Filter(
+                List.of("Drama"), MovieStatus.IN_THEATERS, null, null, null, null)))
+                .thenReturn(new MovieFacetIndex.Counts(
+                        Map.of("Drama", 3, "Thriller", 1), Map.of("2D", 3), Map.of(MovieStatus.IN_THEATERS, 3)));
+
+        MovieFacetsResponse facets = movieService.filterMovieFacets(
+                List.of("Drama"), "IN_THEATERS", null, null, null, " ").getReturnBody();
+
+        assertThat(facets.getGenreCounts()).containsEntry("Drama", 3).containsEntry("Thriller", 1);
+        assertThat(facets.getFormatCounts()).containsEntry("2D", 3);
+        assertThat(facets.getStatusCounts()).containsEntry(MovieStatus.IN_THEATERS, 3);
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid release date on the facets too")
+    void filterMovieFacets_WithInvalidReleaseDate_ShouldThrowBadRequest() {
+        assertThatThrownBy(() -> movieService.filterMovieFacets(
+                null, null, null, null, "2024-13-01", null))
+                .isInstanceOf(BadRequestException.class);
+
+        verifyNoInteractions(movieFacetIndex);
+    }
+}
@@ -24,6 +24,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -61,9 +63,9 @@ class FindMoviesByHallNameTest {
                 .duration(165)
                 .rating(8.5)
                 .director("Denis Villeneuve")
-                .cast(Arrays.asList("Timothée Chalamet", "Zendaya"))
-                .formats(Arrays.asList("IMAX", "Standard"))
-                .genre(Arrays.asList("Sci-Fi", "Adventure"))
+                .cast(List.of("Timothée Chalamet", "Zendaya"))
+                .formats(Set.of("IMAX", "Standard"))
+                .genre(Set.of("Sci-Fi", "Adventure"))
                 .status(MovieStatus.IN_THEATERS)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
@@ -9,14 +9,19 @@ import com.cinetime.repository.business.MovieRepository;
 import com.cinetime.service.business.CinemaService;
 import com.cinetime.service.business.ImageService;
 import com.cinetime.service.business.MovieService;
+import com.cinetime.service.catalog.MovieChangedEvent;
 import com.cinetime.service.helper.MovieServiceHelper;
+import com.cinetime.service.helper.SlugAllocator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 
+import java.util.function.Supplier;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -32,6 +37,10 @@ class MovieServiceSaveMovieTest {
     private ImageService imageService;
     @Mock
     private MovieServiceHelper movieServiceHelper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private SlugAllocator slugAllocator;
 
     @InjectMocks
     private MovieService movieService;
@@ -43,6 +52,7 @@ class MovieServiceSaveMovieTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(slugAllocator.retrying(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
 
         movieRequest = MovieRequest.builder()
                 .title("Test Movie")
@@ -76,5 +86,6 @@ class MovieServiceSaveMovieTest {
         assertEquals("test-movie", movie.getSlug());
 
         verify(movieRepository, times(1)).save(movie);
+        verify(eventPublisher).publishEvent(any(MovieChangedEvent.class));
     }
 }
@@ -9,10 +9,12 @@ import com.cinetime.payload.response.business.ResponseMessage;
 import com.cinetime.repository.business.MovieRepository;
 import com.cinetime.service.business.MovieService;
 import com.cinetime.service.helper.MovieServiceHelper;
+import com.cinetime.service.search.MovieSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -39,6 +41,9 @@ class SearchMoviesTest {
     @Mock
     private MovieServiceHelper movieServiceHelper;
 
+    @Mock
+    private MovieSearchIndex movieSearchIndex;
+
     @InjectMocks
     private MovieService movieService;
 
@@ -58,7 +63,7 @@ class SearchMoviesTest {
                 .releaseDate(LocalDate.now())
                 .duration(120)
                 .director("Test Director")
-                .genre(Collections.singletonList("Action"))
+                .genre(Collections.singleton("Action"))
                 .status(MovieStatus.IN_THEATERS)
                 .build();
 
@@ -85,8 +90,8 @@ class SearchMoviesTest {
     void searchMovies_WithValidQuery_ShouldReturnMovies() {
         String query = "test";
 
-        when(movieRepository.findByTitleContainingIgnoreCaseOrSummaryContainingIgnoreCase(query, query, mockPageable))
-                .thenReturn(mockMoviePage);
+        when(movieSearchIndex.search(query, mockPageable)).thenReturn(new PageImpl<>(List.of(1L), mockPageable, 1));
+        when(movieRepository.findWithImagesByIdIn(List.of(1L))).thenReturn(List.of(mockMovie));
         when(movieMapper.mapToResponsePage(mockMoviePage)).thenReturn(mockMovieResponsePage);
 
         ResponseMessage<Page<MovieResponse>> result =
@@ -97,15 +102,36 @@ class SearchMoviesTest {
         assertThat(result.getReturnBody().getContent()).hasSize(1);
         assertThat(result.getReturnBody().getContent().get(0).getTitle()).isEqualTo("Test Movie");
 
-        verify(movieRepository).findByTitleContainingIgnoreCaseOrSummaryContainingIgnoreCase(query, query, mockPageable);
+        verify(movieSearchIndex).search(query, mockPageable);
         verify(movieMapper).mapToResponsePage(mockMoviePage);
+        verify(movieRepository, never()).findByTitleContainingIgnoreCaseOrSummaryContainingIgnoreCase(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep relevance order of the index and skip movies deleted since indexing")
+    @SuppressWarnings("unchecked")
+    void searchMovies_ShouldKeepRelevanceOrder() {
+        String query = "dune";
+        Movie second = Movie.builder().id(2L).title("Dune").build();
+
+        when(movieSearchIndex.search(query, mockPageable))
+                .thenReturn(new PageImpl<>(List.of(2L, 3L, 1L), mockPageable, 3));
+        when(movieRepository.findWithImagesByIdIn(List.of(2L, 3L, 1L))).thenReturn(List.of(mockMovie, second));
+        when(movieMapper.mapToResponsePage(any())).thenReturn(mockMovieResponsePage);
+
+        movieService.searchMovies(query, mockPageable);
+
+        ArgumentCaptor<Page<Movie>> page = ArgumentCaptor.forClass(Page.class);
+        verify(movieMapper).mapToResponsePage(page.capture());
+        assertThat(page.getValue().getContent()).extracting(Movie::getId).containsExactly(2L, 1L);
+        // movie 3 was deleted since indexing, so it is not counted
+        assertThat(page.getValue().getTotalElements()).isEqualTo(2);
     }
 
     @Test
     @DisplayName("Should return empty page when no movies match the query")
     void searchMovies_WithNoMatches_ShouldReturnEmptyPage() {
         String query = "nonexistent";
-        Page<Movie> emptyMoviePage = new PageImpl<>(Collections.emptyList(), mockPageable, 0);
 
         ResponseMessage<Page<MovieResponse>> emptyResponse =
                 ResponseMessage.<Page<MovieResponse>>builder()
@@ -114,8 +140,7 @@ class SearchMoviesTest {
                         .returnBody(Page.empty(mockPageable))
                         .build();
 
-        when(movieRepository.findByTitleContainingIgnoreCaseOrSummaryContainingIgnoreCase(query, query, mockPageable))
-                .thenReturn(emptyMoviePage);
+        when(movieSearchIndex.search(query, mockPageable)).thenReturn(Page.empty(mockPageable));
         when(movieServiceHelper.buildEmptyPageResponse(eq(mockPageable), eq(ErrorMessages.MOVIES_NOT_FOUND), eq(HttpStatus.OK)))
                 .thenReturn((ResponseMessage) emptyResponse);
 
@@ -126,7 +151,7 @@ class SearchMoviesTest {
         assertThat(result.getMessage()).isEqualTo(ErrorMessages.MOVIES_NOT_FOUND);
         assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
 
-        verify(movieRepository).findByTitleContainingIgnoreCaseOrSummaryContainingIgnoreCase(query, query, mockPageable);
+        verify(movieRepository, never()).findWithImagesByIdIn(any());
     }
 
     @Test
@@ -168,14 +193,14 @@ class SearchMoviesTest {
     void searchMovies_WhenRepositoryThrowsException_ShouldPropagate() {
         String query = "test";
 
-        when(movieRepository.findByTitleContainingIgnoreCaseOrSummaryContainingIgnoreCase(query, query, mockPageable))
-                .thenThrow(new RuntimeException("Database error"));
+        when(movieSearchIndex.search(query, mockPageable)).thenReturn(new PageImpl<>(List.of(1L), mockPageable, 1));
+        when(movieRepository.findWithImagesByIdIn(List.of(1L))).thenThrow(new RuntimeException("Database error"));
 
         assertThatThrownBy(() -> movieService.searchMovies(query, mockPageable))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Database error");
 
-        verify(movieRepository).findByTitleContainingIgnoreCaseOrSummaryContainingIgnoreCase(query, query, mockPageable);
+        verify(movieRepository).findWithImagesByIdIn(List.of(1L));
         verify(movieMapper, never()).mapToResponsePage(any());
     }
 }
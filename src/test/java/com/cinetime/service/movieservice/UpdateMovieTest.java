@@ -8,14 +8,17 @@ import com.cinetime.payload.response.business.MovieResponse;
 import com.cinetime.payload.response.business.ResponseMessage;
 import com.cinetime.repository.business.MovieRepository;
 import com.cinetime.service.helper.MovieServiceHelper;
+import com.cinetime.service.helper.SlugAllocator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,6 +35,10 @@ class MovieServiceUpdateMovieTest {
     private ImageService imageService;
     @Mock
     private MovieServiceHelper movieServiceHelper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private SlugAllocator slugAllocator;
 
     @InjectMocks
     private MovieService movieService;
@@ -43,6 +50,7 @@ class MovieServiceUpdateMovieTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(slugAllocator.retrying(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
 
         movieRequest = MovieRequest.builder()
                 .title("Updated Movie")
@@ -0,0 +1,131 @@
+package com.cinetime.service.pricing;
+
+import com.cinetime.entity.business.Cinema;
+import com.cinetime.entity.business.Hall;
+import com.cinetime.entity.business.Showtime;
+import com.cinetime.repository.business.HallRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PricingServiceTest {
+
+    // a Wednesday, so no weekend surcharge unless asked for
+    private static final LocalDate WEEKDAY = LocalDate.of(2030, 1, 2);
+
+    @Mock HallRepository hallRepository;
+
+    private PricingService pricingService;
+    private HallPricingCache hallPricingCache;
+    private Hall imaxHall;
+    private Hall regularHall;
+
+    @BeforeEach
+    void setUp() {
+        PricingRules rules = new PricingRules(new BigDecimal("10.00"),
+                "13:00", new BigDecimal("20"),
+                "22:30", new BigDecimal("10"),
+                new BigDecimal("10"));
+        hallPricingCache = new HallPricingCache(hallRepository);
+        pricingService = new PricingService(rules, hallPricingCache);
+
+        Cinema cinema = new Cinema();
+        cinema.setId(5L);
+        imaxHall = Hall.builder().id(1L).name("IMAX").seatCapacity(100).cinema(cinema).build();
+        regularHall = Hall.builder().id(2L).name("Hall 2").seatCapacity(50).cinema(cinema).build();
+
+        lenient().when(hallRepository.findHallPricingRaw(5L)).thenReturn(List.of(
+                new Object[]{1L, "IMAX", true, "IMAX", "15.00", null},
+                new Object[]{2L, "Hall 2", false, null, null, null}
+        ));
+    }
+
+    private static Showtime showtime(long id, Hall hall, LocalDate date, LocalTime start) {
+        Showtime s = new Showtime();
+        s.setId(id);
+        s.setHall(hall);
+        s.setDate(date);
+        s.setStartTime(start);
+        return s;
+    }
+
+    @Test
+    void regularEveningShow_costsBasePrice() {
+        Showtime s = showtime(10L, regularHall, WEEKDAY, LocalTime.of(19, 0));
+
+        assertThat(pricingService.priceOf(s, "A", 1)).isEqualTo(10.00);
+    }
+
+    @Test
+    void specialHallSurcharge_andTimeOfDayRules_areCombined() {
+        Showtime matinee = showtime(11L, imaxHall, WEEKDAY, LocalTime.of(11, 0));
+        Showtime weekendLate = showtime(12L, imaxHall, WEEKDAY.plusDays(3), LocalTime.of(23, 0));   // Saturday
+
+        // 10 x 1.15 x 0.80
+        assertThat(pricingService.priceOf(matinee, "C", 4)).isEqualTo(9.20);
+        // 10 x 1.15 x (1 - 0.10 + 0.10)
+        assertThat(pricingService.priceOf(weekendLate, "C", 4)).isEqualTo(11.50);
+    }
+
+    @Test
+    void priceTable_isBuiltOncePerShowtime_andHallPricingOncePerCinema() {
+        Showtime a = showtime(13L, imaxHall, WEEKDAY, LocalTime.of(19, 0));
+        Showtime b = showtime(14L, regularHall, WEEKDAY, LocalTime.of(19, 0));
+
+        PriceTable first = pricingService.priceTableFor(a);
+        for (int i = 1; i <= 10; i++) pricingService.priceOf(a, "B", i);
+        pricingService.priceOf(b, "A", 1);
+
+        assertThat(pricingService.priceTableFor(a)).isSameAs(first);
+        verify(hallRepository, times(1)).findHallPricingRaw(5L);
+    }
+
+    @Test
+    void pricingChange_dropsTablesOfTheHall_andReloadsSurcharges() {
+        Showtime imax = showtime(15L, imaxHall, WEEKDAY, LocalTime.of(19, 0));
+        Showtime regular = showtime(16L, regularHall, WEEKDAY, LocalTime.of(19, 0));
+        PriceTable imaxTable = pricingService.priceTableFor(imax);
+        PriceTable regularTable = pricingService.priceTableFor(regular);
+
+        pricingService.onPricingChanged(new PricingChangedEvent(1L));
+
+        assertThat(pricingService.priceTableFor(imax)).isNotSameAs(imaxTable);
+        assertThat(pricingService.priceTableFor(regular)).isSameAs(regularTable);
+        verify(hallRepository, times(2)).findHallPricingRaw(5L);
+    }
+
+    @Test
+    void priceTables_pastTheBound_dropLeastRecentlyUsedShowtime() {
+        ReflectionTestUtils.setField(pricingService, "maxCachedShowtimes", 2);
+        Showtime a = showtime(18L, regularHall, WEEKDAY, LocalTime.of(19, 0));
+        Showtime b = showtime(19L, regularHall, WEEKDAY, LocalTime.of(19, 0));
+        Showtime c = showtime(20L, regularHall, WEEKDAY, LocalTime.of(19, 0));
+        PriceTable tableA = pricingService.priceTableFor(a);
+        PriceTable tableB = pricingService.priceTableFor(b);
+        pricingService.priceTableFor(a);
+
+        pricingService.priceTableFor(c);
+
+        assertThat(pricingService.priceTableFor(a)).isSameAs(tableA);
+        assertThat(pricingService.priceTableFor(b)).isNotSameAs(tableB);
+    }
+
+    @Test
+    void seatOutsideTheGrid_getsDefaultPrice() {
+        Showtime s = showtime(17L, regularHall, WEEKDAY, LocalTime.of(19, 0));
+
+        assertThat(pricingService.priceOf(s, "ZZ", 99)).isEqualTo(10.00);
+    }
+}
@@ -0,0 +1,147 @@
+package com.cinetime.service.schedule;
+
+import com.cinetime.entity.business.Hall;
+import com.cinetime.entity.business.Showtime;
+import com.cinetime.exception.ConflictException;
+import com.cinetime.repository.business.ShowtimeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HallScheduleIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2031, 5, 10);
+
+    @Mock ShowtimeRepository showtimeRepository;
+
+    @InjectMocks
+    HallScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "bufferMinutes", 15L);
+    }
+
+    @Test
+    void claim_rejectsOverlapIncludingCleaningBuffer_andLoadsHallOnce() {
+        when(showtimeRepository.findIntervalsByHallId(eq(1L), any()))
+                .thenReturn(List.of(row(7L, at(18, 0), at(20, 0))));
+
+        // Starts inside the 15 minute cleaning window after the 18:00 screening
+        assertThatThrownBy(() -> index.claim(showtime(100L, 1L, LocalTime.of(20, 10), LocalTime.of(22, 0)), null))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("showtime 7");
+
+        index.claim(showtime(101L, 1L, LocalTime.of(20, 15), LocalTime.of(22, 0)), null);
+        assertThat(index.isFree(1L, at(22, 0), at(23, 0))).isFalse();
+        assertThat(index.isFree(1L, at(22, 15), at(23, 0))).isTrue();
+
+        verify(showtimeRepository, times(1)).findIntervalsByHallId(eq(1L), any());
+    }
+
+    @Test
+    void claim_movingShowtimeReplacesItsOwnSlot_andFreesPreviousHall() {
+        when(showtimeRepository.findIntervalsByHallId(anyLong(), any())).thenReturn(List.of());
+
+        index.claim(showtime(100L, 1L, LocalTime.of(18, 0), LocalTime.of(20, 0)), null);
+        // Rescheduling within its own slot is not a conflict with itself
+        index.claim(showtime(100L, 1L, LocalTime.of(18, 30), LocalTime.of(20, 30)), null);
+        // Moving it to hall 2 frees hall 1
+        index.claim(showtime(100L, 2L, LocalTime.of(18, 30), LocalTime.of(20, 30)), 1L);
+
+        assertThat(index.isFree(1L, at(18, 0), at(20, 0))).isTrue();
+        assertThat(index.isFree(2L, at(18, 0), at(20, 0))).isFalse();
+
+        index.release(2L, 100L);
+        assertThat(index.isFree(2L, at(18, 0), at(20, 0))).isTrue();
+    }
+
+    @Test
+    void evictHallsAfterCommit_reloadsHallsWhoseShowtimesWereDeletedInBulk() {
+        when(showtimeRepository.findIntervalsByHallId(eq(1L), any()))
+                .thenReturn(List.of(row(7L, at(18, 0), at(20, 0))))
+                .thenReturn(List.of());
+        assertThat(index.isFree(1L, at(18, 0), at(20, 0))).isFalse();
+
+        // no transaction here, so the eviction is immediate
+        index.evictHallsAfterCommit(List.of(1L));
+
+        assertThat(index.isFree(1L, at(18, 0), at(20, 0))).isTrue();
+        verify(showtimeRepository, times(2)).findIntervalsByHallId(eq(1L), any());
+    }
+
+    @Test
+    void intervalTree_findOverlap_matchesBruteForce() {
+        IntervalTree tree = new IntervalTree();
+        Random random = new Random(42);
+        long[][] intervals = new long[500][];
+        for (int i = 0; i < intervals.length; i++) {
+            long start = random.nextInt(10_000);
+            intervals[i] = new long[]{start, start + 1 + random.nextInt(300)};
+            tree.insert(i, intervals[i][0], intervals[i][1]);
+        }
+        for (int i = 0; i < intervals.length; i += 3) {
+            tree.remove(i);
+            intervals[i] = null;
+        }
+
+        for (int q = 0; q < 2_000; q++) {
+            long start = random.nextInt(10_500);
+            long end = start + 1 + random.nextInt(200);
+            boolean expected = false;
+            for (long[] iv : intervals) {
+                if (iv != null && iv[0] < end && iv[1] > start) {
+                    expected = true;
+                    break;
+                }
+            }
+            IntervalTree.Interval hit = tree.findOverlap(start, end, null);
+            assertThat(hit != null).isEqualTo(expected);
+            if (hit != null) {
+                assertThat(hit.start()).isLessThan(end);
+                assertThat(hit.end()).isGreaterThan(start);
+            }
+        }
+        assertThat(tree.size()).isEqualTo(500 - 167);
+    }
+
+    private static Showtime showtime(Long id, Long hallId, LocalTime start, LocalTime end) {
+        Hall hall = new Hall();
+        hall.setId(hallId);
+        Showtime s = new Showtime();
+        s.setId(id);
+        s.setHall(hall);
+        s.setDate(DAY);
+        s.setStartTime(start);
+        s.setEndTime(end);
+        return s;
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+
+    private static ShowtimeRepository.ShowtimeIntervalRow row(Long id, LocalDateTime startsAt, LocalDateTime endsAt) {
+        return new ShowtimeRepository.ShowtimeIntervalRow() {
+            @Override public Long getId() { return id; }
+            @Override public LocalDateTime getStartsAt() { return startsAt; }
+            @Override public LocalDateTime getEndsAt() { return endsAt; }
+        };
+    }
+}
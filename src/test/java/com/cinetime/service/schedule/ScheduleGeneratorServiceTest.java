@@ -0,0 +1,149 @@
+package com.cinetime.service.schedule;
+
+import com.cinetime.entity.business.Hall;
+import com.cinetime.entity.business.Movie;
+import com.cinetime.entity.business.Showtime;
+import com.cinetime.exception.BadRequestException;
+import com.cinetime.exception.ResourceNotFoundException;
+import com.cinetime.payload.request.business.ScheduleTemplateRequest;
+import com.cinetime.payload.response.business.ScheduleResultResponse;
+import com.cinetime.payload.response.business.ScheduleSlotResult;
+import com.cinetime.payload.response.business.ScheduleSlotResult.Status;
+import com.cinetime.repository.business.HallRepository;
+import com.cinetime.repository.business.MovieRepository;
+import com.cinetime.repository.business.ShowtimeRepository;
+import com.cinetime.service.timetable.ShowtimeChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleGeneratorServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(7);
+
+    @Mock HallRepository hallRepository;
+    @Mock MovieRepository movieRepository;
+    @Mock ShowtimeRepository showtimeRepository;
+    @Mock HallScheduleIndex hallScheduleIndex;
+    @Mock ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    ScheduleGeneratorService service;
+
+    private Hall hall1;
+    private Hall hall2;
+    private Movie movie;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxSlots", 100);
+        hall1 = Hall.builder().id(1L).name("Hall 1").build();
+        hall2 = Hall.builder().id(2L).name("Hall 2").build();
+        movie = new Movie();
+        movie.setId(10L);
+        movie.setDuration(120);
+    }
+
+    @Test
+    void generate_createsFittingSlots_andReportsConflictsPerSlot() {
+        when(hallRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(hall1, hall2));
+        when(movieRepository.findAllById(List.of(10L))).thenReturn(List.of(movie));
+        when(hallScheduleIndex.getBufferMinutes()).thenReturn(15L);
+        // Hall 1 already plays 14:30-16:00 on the first day
+        when(showtimeRepository.findIntervalsByHallIds(eq(List.of(1L, 2L)), any(), any()))
+                .thenReturn(List.of(row(99L, 1L, DAY.atTime(14, 30), DAY.atTime(16, 0))));
+        AtomicLong ids = new AtomicLong(500);
+        when(showtimeRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Showtime> list = inv.getArgument(0);
+            list.forEach(s -> s.setId(ids.incrementAndGet()));
+            return list;
+        });
+
+        ScheduleTemplateRequest request = ScheduleTemplateRequest.builder()
+                .hallIds(List.of(1L, 2L))
+                .movieIds(List.of(10L))
+                .fromDate(DAY)
+                .toDate(DAY.plusDays(1))
+                // 13:00 + 120 min + 15 min buffer runs into 15:00; 22:30 + 120 min passes midnight
+                .startTimes(List.of(LocalTime.of(12, 0), LocalTime.of(15, 0), LocalTime.of(13, 0), LocalTime.of(22, 30)))
+                .build();
+
+        ScheduleResultResponse body = service.generate(request).getReturnBody();
+
+        assertThat(body.getRequested()).isEqualTo(16);
+        ScheduleSlotResult clashWithExisting = slot(body, DAY, 1L, LocalTime.of(15, 0));
+        assertThat(clashWithExisting.getStatus()).isEqualTo(Status.CONFLICT);
+        assertThat(clashWithExisting.getConflictingShowtimeId()).isEqualTo(99L);
+        assertThat(slot(body, DAY, 2L, LocalTime.of(13, 0)).getStatus()).isEqualTo(Status.CONFLICT);
+        assertThat(slot(body, DAY, 2L, LocalTime.of(13, 0)).getConflictingShowtimeId()).isNull();
+        assertThat(slot(body, DAY, 2L, LocalTime.of(22, 30)).getStatus()).isEqualTo(Status.PAST_MIDNIGHT);
+        assertThat(slot(body, DAY, 2L, LocalTime.of(15, 0)).getStatus()).isEqualTo(Status.CREATED);
+
+        // Per day and hall: 12:00 and 15:00 fit (except hall 1, day 1, at 15:00)
+        assertThat(body.getCreated()).isEqualTo(7);
+        assertThat(body.getSkipped()).isEqualTo(9);
+        verify(showtimeRepository, times(1)).saveAll(anyList());
+        verify(showtimeRepository, times(1)).findIntervalsByHallIds(anyCollection(), any(), any());
+        verify(hallScheduleIndex, times(7)).claim(any(Showtime.class), isNull());
+        // one timetable invalidation per affected day, not per showtime
+        verify(eventPublisher).publishEvent(new ShowtimeChangedEvent(null, DAY));
+        verify(eventPublisher).publishEvent(new ShowtimeChangedEvent(null, DAY.plusDays(1)));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void generate_unknownHall_throwsNotFound() {
+        when(hallRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(hall1));
+
+        ScheduleTemplateRequest request = ScheduleTemplateRequest.builder()
+                .hallIds(List.of(1L, 3L)).movieIds(List.of(10L))
+                .fromDate(DAY).toDate(DAY).startTimes(List.of(LocalTime.NOON))
+                .build();
+
+        assertThatThrownBy(() -> service.generate(request)).isInstanceOf(ResourceNotFoundException.class);
+        verify(showtimeRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void generate_tooManySlots_throwsBadRequest() {
+        ScheduleTemplateRequest request = ScheduleTemplateRequest.builder()
+                .hallIds(List.of(1L, 2L)).movieIds(List.of(10L))
+                .fromDate(DAY).toDate(DAY.plusDays(30)).startTimes(List.of(LocalTime.of(10, 0), LocalTime.NOON))
+                .build();
+
+        assertThatThrownBy(() -> service.generate(request)).isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(hallRepository, showtimeRepository);
+    }
+
+    private static ScheduleSlotResult slot(ScheduleResultResponse body, LocalDate date, Long hallId, LocalTime start) {
+        return body.getSlots().stream()
+                .filter(s -> s.getDate().equals(date) && s.getHallId().equals(hallId) && s.getStartTime().equals(start))
+                .findFirst().orElseThrow();
+    }
+
+    private static ShowtimeRepository.HallIntervalRow row(Long id, Long hallId, LocalDateTime startsAt, LocalDateTime endsAt) {
+        return new ShowtimeRepository.HallIntervalRow() {
+            @Override public Long getId() { return id; }
+            @Override public Long getHallId() { return hallId; }
+            @Override public LocalDateTime getStartsAt() { return startsAt; }
+            @Override public LocalDateTime getEndsAt() { return endsAt; }
+        };
+    }
+}
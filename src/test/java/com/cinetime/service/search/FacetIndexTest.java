@@ -0,0 +1,100 @@
+package com.cinetime.service.search;
+
+import com.cinetime.entity.enums.MovieStatus;
+import com.cinetime.service.search.MovieFacetIndex.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetIndexTest {
+
+    private FacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetIndex();
+        put(1L, "Interstellar", List.of("Sci-Fi", "Drama"), List.of("IMAX", "2D"), MovieStatus.IN_THEATERS,
+                "IMAX, 4DX", 8.7, LocalDate.of(2030, 1, 10));
+        put(2L, "Dune", List.of("Sci-Fi", "Adventure"), List.of("IMAX"), MovieStatus.IN_THEATERS,
+                "IMAX", 8.1, LocalDate.of(2030, 2, 1));
+        put(3L, "Oppenheimer", List.of("Drama", "History"), List.of("2D"), MovieStatus.COMING_SOON,
+                null, null, LocalDate.of(2030, 3, 1));
+        put(4L, "Amelie", List.of("Drama"), List.of("2D"), MovieStatus.IN_THEATERS,
+                "Gold Class", 7.5, LocalDate.of(2030, 2, 1));
+    }
+
+    @Test
+    void filter_withoutCriteria_listsAllByReleaseDateThenTitle() {
+        FacetIndex.Matches matches = index.filter(filter(null, null, null, null, null, null));
+
+        assertThat(matches.ids()).containsExactly(3L, 4L, 2L, 1L);
+        assertThat(matches.counts().genres()).containsExactly(
+                Map.entry("Adventure", 1), Map.entry("Drama", 3), Map.entry("History", 1), Map.entry("Sci-Fi", 2));
+        assertThat(matches.counts().statuses())
+                .containsEntry(MovieStatus.IN_THEATERS, 3)
+                .containsEntry(MovieStatus.COMING_SOON, 1);
+    }
+
+    @Test
+    void filter_requiresEveryGenre_caseInsensitive_andCountsWithinTheResult() {
+        FacetIndex.Matches matches = index.filter(filter(List.of("sci-fi", "DRAMA"), null, null, null, null, null));
+
+        assertThat(matches.ids()).containsExactly(1L);
+        assertThat(matches.counts().formats()).containsExactly(Map.entry("2D", 1), Map.entry("IMAX", 1));
+
+        assertThat(index.filter(filter(List.of("Drama", "Western"), null, null, null, null, null)).ids()).isEmpty();
+    }
+
+    @Test
+    void filter_byRatingRange_skipsUnratedMovies() {
+        assertThat(index.filter(filter(null, null, 8.1, null, null, null)).ids()).containsExactly(2L, 1L);
+        assertThat(index.filter(filter(null, null, null, 8.1, null, null)).ids()).containsExactly(4L, 2L);
+        assertThat(index.filter(filter(null, null, 7.0, 8.0, null, null)).ids()).containsExactly(4L);
+    }
+
+    @Test
+    void filter_byStatusReleaseDateAndSpecialHall() {
+        assertThat(index.filter(filter(null, MovieStatus.COMING_SOON, null, null, null, null)).ids())
+                .containsExactly(3L);
+        assertThat(index.filter(filter(null, null, null, null, LocalDate.of(2030, 2, 1), null)).ids())
+                .containsExactly(3L, 4L, 2L);
+        assertThat(index.filter(filter(null, null, null, null, null, "IMAX")).ids()).containsExactly(2L, 1L);
+        assertThat(index.filter(filter(null, null, null, null, null, "4D")).ids()).containsExactly(1L);
+        assertThat(index.filter(filter(null, MovieStatus.IN_THEATERS, null, null, null, "Gold")).ids())
+                .containsExactly(4L);
+    }
+
+    @Test
+    void put_replacesAMovie_andRemoveDropsItFromEveryFacet() {
+        put(2L, "Dune", List.of("Adventure"), List.of("2D"), MovieStatus.COMING_SOON,
+                null, 6.0, LocalDate.of(2029, 1, 1));
+        index.remove(1L);
+
+        FacetIndex.Matches matches = index.filter(filter(null, null, null, null, null, null));
+        assertThat(matches.ids()).containsExactly(3L, 4L, 2L);
+        assertThat(matches.counts().genres()).doesNotContainKey("Sci-Fi");
+        assertThat(matches.counts().formats()).containsOnlyKeys("2D");
+        assertThat(index.filter(filter(null, null, null, null, null, "IMAX")).ids()).isEmpty();
+
+        // the freed ordinal is reused
+        put(5L, "Arrival", List.of("Sci-Fi"), List.of("IMAX"), MovieStatus.IN_THEATERS,
+                "IMAX", 7.9, LocalDate.of(2030, 4, 1));
+        assertThat(index.filter(filter(List.of("Sci-Fi"), null, null, null, null, null)).ids()).containsExactly(5L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    private void put(Long id, String title, List<String> genres, List<String> formats, MovieStatus status,
+                     String specialHalls, Double rating, LocalDate releaseDate) {
+        index.put(new FacetIndex.Document(id, title, genres, formats, status, specialHalls, rating, releaseDate));
+    }
+
+    private static Filter filter(List<String> genres, MovieStatus status, Double minRating, Double maxRating,
+                                 LocalDate releasedFrom, String specialHall) {
+        return new Filter(genres, status, minRating, maxRating, releasedFrom, specialHall);
+    }
+}
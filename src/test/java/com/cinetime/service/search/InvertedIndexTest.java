@@ -0,0 +1,106 @@
+package com.cinetime.service.search;
+
+import com.cinetime.service.search.InvertedIndex.Field;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        put(1L, "Interstellar", "Christopher Nolan", List.of("Matthew McConaughey", "Anne Hathaway"),
+                List.of("Sci-Fi", "Drama"), "A team travels through a wormhole in space.");
+        put(2L, "Dune: Part Two", "Denis Villeneuve", List.of("Timothée Chalamet", "Zendaya"),
+                List.of("Sci-Fi", "Adventure"), "Paul joins the Fremen in the desert.");
+        put(3L, "Oppenheimer", "Christopher Nolan", List.of("Cillian Murphy"),
+                List.of("Drama", "History"), "The story of the atomic bomb.");
+    }
+
+    @Test
+    void search_matchesEveryField_andRanksTitleAboveSummary() {
+        put(4L, "Desert Nights", "Someone Else", List.of(), List.of("Drama"), "A road movie.");
+
+        assertThat(index.search("nolan")).containsExactly(1L, 3L);
+        assertThat(index.search("zendaya")).containsExactly(2L);
+        assertThat(index.search("history")).containsExactly(3L);
+        // "desert" is in the title of 4 and only in the summary of 2
+        assertThat(index.search("desert")).containsExactly(4L, 2L);
+    }
+
+    @Test
+    void search_requiresEveryTerm() {
+        assertThat(index.search("nolan drama")).containsExactly(1L, 3L);
+        assertThat(index.search("nolan wormhole")).containsExactly(1L);
+        assertThat(index.search("nolan zendaya")).isEmpty();
+    }
+
+    @Test
+    void search_matchesPrefixes_typos_andIgnoresCaseAndAccents() {
+        assertThat(index.search("opp")).containsExactly(3L);
+        assertThat(index.search("intersteller")).containsExactly(1L);
+        assertThat(index.search("chalemat")).containsExactly(2L);
+        assertThat(index.search("TIMOTHEE")).containsExactly(2L);
+        assertThat(index.search("dnue")).containsExactly(2L);
+    }
+
+    @Test
+    void search_prefersExactOverPrefixOverTypo() {
+        put(10L, "Dune", null, List.of(), List.of(), "Sand.");
+        put(11L, "Dunes", null, List.of(), List.of(), "More sand.");
+        put(12L, "Dunk", null, List.of(), List.of(), "Basketball.");
+
+        // equal scores fall back to the title
+        assertThat(index.search("dune")).containsExactly(10L, 2L, 11L, 12L);
+    }
+
+    @Test
+    void put_replacesTheOldDocument_andRemoveDropsIt() {
+        put(3L, "Barbie", "Greta Gerwig", List.of("Margot Robbie"), List.of("Comedy"), "Plastic.");
+
+        assertThat(index.search("oppenheimer")).isEmpty();
+        assertThat(index.search("barbie")).containsExactly(3L);
+
+        index.remove(3L);
+
+        assertThat(index.search("barbie")).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void search_fuzzyMatchesKeepTheFirstLetter_andForgetRemovedTerms() {
+        // one edit away, but at the first letter
+        assertThat(index.search("zune")).isEmpty();
+
+        put(20L, "Kubrick", null, List.of(), List.of(), "Director.");
+        assertThat(index.search("kubrik")).containsExactly(20L);
+        index.remove(20L);
+        assertThat(index.search("kubrik")).isEmpty();
+    }
+
+    @Test
+    void withinEdits_countsSwapsAsOneEdit() {
+        assertThat(InvertedIndex.withinEdits("nolan", "nloan", 1)).isTrue();
+        assertThat(InvertedIndex.withinEdits("nolan", "nolans", 1)).isTrue();
+        assertThat(InvertedIndex.withinEdits("nolan", "lonan", 1)).isFalse();
+    }
+
+    private void put(Long id, String title, String director, List<String> cast, List<String> genre, String summary) {
+        Map<Field, Collection<String>> fields = new EnumMap<>(Field.class);
+        fields.put(Field.TITLE, List.of(title));
+        fields.put(Field.DIRECTOR, director == null ? List.of() : List.of(director));
+        fields.put(Field.CAST, cast);
+        fields.put(Field.GENRE, genre);
+        fields.put(Field.SUMMARY, List.of(summary));
+        index.put(id, title, fields);
+    }
+}
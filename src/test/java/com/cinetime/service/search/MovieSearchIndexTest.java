@@ -0,0 +1,86 @@
+package com.cinetime.service.search;
+
+import com.cinetime.entity.business.Movie;
+import com.cinetime.repository.business.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MovieSearchIndexTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MovieSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MovieSearchIndex(movieRepository, transactionManager, 500);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void warmUp_buildsOnce_laterReadsDoNotTouchTheDatabase() {
+        when(movieRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(movie(1L, "Dune")), PageRequest.of(0, 500), 1));
+
+        index.warmUp();
+        List<Long> ids = index.search("dune", PageRequest.of(0, 10)).getContent();
+
+        assertThat(ids).containsExactly(1L);
+        verify(movieRepository, times(1)).findAll(any(Pageable.class));
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void search_beforeWarmUp_buildsInTheCallersTransaction() {
+        when(movieRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(movie(1L, "Dune")), PageRequest.of(0, 500), 1));
+
+        assertThat(index.search("dune", PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().getPropagationBehavior())
+                .isEqualTo(TransactionDefinition.PROPAGATION_REQUIRED);
+    }
+
+    @Test
+    void warmUp_databaseDown_firstReadRetries() {
+        when(movieRepository.findAll(any(Pageable.class)))
+                .thenThrow(new IllegalStateException("connection refused"))
+                .thenReturn(new PageImpl<>(List.of(movie(1L, "Dune")), PageRequest.of(0, 500), 1));
+
+        index.warmUp();
+
+        assertThat(index.search("dune", PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+    }
+
+    private static Movie movie(Long id, String title) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setTitle(title);
+        return movie;
+    }
+}
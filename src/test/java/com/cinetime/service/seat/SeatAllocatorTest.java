@@ -0,0 +1,88 @@
+package com.cinetime.service.seat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatAllocatorTest {
+
+    private static String[] labels(SeatLayout layout, int[] indexes) {
+        return Arrays.stream(indexes).mapToObj(layout::labelOf).toArray(String[]::new);
+    }
+
+    @Test
+    void emptyHall_groupIsSeatedInTheMiddle() {
+        SeatLayout layout = new SeatLayout(5, 10);
+
+        int[] seats = SeatAllocator.allocate(layout, 50, new BitSet(), 4);
+
+        // middle row C, block centred on seats 4..7
+        assertThat(labels(layout, seats)).containsExactly("C4", "C5", "C6", "C7");
+    }
+
+    @Test
+    void middleBlocked_prefersAdjacentSeatsInNearbyRow_overSplitting() {
+        SeatLayout layout = new SeatLayout(5, 10);
+        BitSet taken = new BitSet();
+        taken.set(layout.indexOf("C", 5));   // breaks row C into runs of 4 and 5
+
+        int[] seats = SeatAllocator.allocate(layout, 50, taken, 6);
+
+        assertThat(labels(layout, seats)).hasSize(6);
+        String row = labels(layout, seats)[0].substring(0, 1);
+        assertThat(row).isIn("B", "D");
+        assertThat(labels(layout, seats)).allMatch(l -> l.startsWith(row));
+    }
+
+    @Test
+    void noRowFitsTheGroup_splitsIntoLargestBlocks() {
+        SeatLayout layout = new SeatLayout(2, 4);
+        BitSet taken = new BitSet();
+        taken.set(layout.indexOf("A", 4));
+        taken.set(layout.indexOf("B", 1));
+
+        int[] seats = SeatAllocator.allocate(layout, 8, taken, 5);
+
+        assertThat(labels(layout, seats)).containsExactlyInAnyOrder("A1", "A2", "A3", "B2", "B3");
+    }
+
+    @Test
+    void notEnoughFreeSeats_returnsEmpty() {
+        SeatLayout layout = new SeatLayout(1, 4);
+        BitSet taken = new BitSet();
+        taken.set(0, 3);
+
+        assertThat(SeatAllocator.allocate(layout, 4, taken, 2)).isEmpty();
+    }
+
+    @Test
+    void unusedTailOfLastRow_isNeverOffered() {
+        SeatLayout layout = new SeatLayout(2, 10);   // capacity 15: B6..B10 do not exist
+        BitSet taken = new BitSet();
+        taken.set(0, 10);
+
+        int[] seats = SeatAllocator.allocate(layout, 15, taken, 5);
+
+        assertThat(labels(layout, seats)).containsExactly("B1", "B2", "B3", "B4", "B5");
+        assertThat(SeatAllocator.allocate(layout, 15, taken, 6)).isEmpty();
+    }
+
+    @Test
+    void largeHall_searchStaysBelowAMillisecond() {
+        SeatLayout layout = new SeatLayout(25, 24);   // 600 seats
+        BitSet taken = new BitSet();
+        for (int i = 0; i < layout.size(); i += 3) taken.set(i);   // checkerboard-ish, forces splitting
+
+        for (int i = 0; i < 2_000; i++) SeatAllocator.allocate(layout, 600, taken, 6);   // warm-up
+
+        int runs = 2_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) SeatAllocator.allocate(layout, 600, taken, 6);
+        long avgNanos = (System.nanoTime() - start) / runs;
+
+        assertThat(avgNanos).isLessThan(1_000_000L);
+    }
+}
@@ -0,0 +1,87 @@
+package com.cinetime.service.seat;
+
+import com.cinetime.entity.business.Showtime;
+import com.cinetime.entity.business.Ticket;
+import com.cinetime.entity.enums.TicketStatus;
+import com.cinetime.repository.business.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldServiceTest {
+
+    @Mock TicketRepository ticketRepository;
+    @Mock SeatInventoryService seatInventoryService;
+
+    @InjectMocks
+    SeatHoldService seatHoldService;
+
+    private Ticket hold(long id, String letter, int number, LocalDateTime expiresAt) {
+        Showtime showtime = new Showtime();
+        showtime.setId(10L);
+        Ticket t = new Ticket();
+        t.setId(id);
+        t.setShowtime(showtime);
+        t.setSeatLetter(letter);
+        t.setSeatNumber(number);
+        t.setStatus(TicketStatus.RESERVED);
+        t.setHoldExpiresAt(expiresAt);
+        return t;
+    }
+
+    @Test
+    void dueHolds_returnsOnlyExpired_oldestFirst() {
+        LocalDateTime now = LocalDateTime.now();
+        seatHoldService.track(List.of(
+                hold(1L, "A", 1, now.minusMinutes(1)),
+                hold(2L, "A", 2, now.plusMinutes(10)),
+                hold(3L, "A", 3, now.minusMinutes(5))));
+
+        List<SeatHold> due = seatHoldService.dueHolds(now, 10);
+
+        assertThat(due).extracting(SeatHold::ticketId).containsExactly(3L, 1L);
+        assertThat(seatHoldService.dueHolds(now, 1)).hasSize(1);
+    }
+
+    @Test
+    void releaseExpired_deletesBatchOnce_andFreesSeats() {
+        LocalDateTime now = LocalDateTime.now();
+        Ticket expired = hold(1L, "B", 7, now.minusMinutes(1));
+        seatHoldService.track(List.of(expired));
+        List<SeatHold> due = seatHoldService.dueHolds(now, 10);
+
+        when(ticketRepository.findExpiredHolds(List.of(1L), now)).thenReturn(List.of(expired));
+        when(ticketRepository.deleteExpiredHolds(List.of(1L), now)).thenReturn(1);
+
+        int released = seatHoldService.releaseExpired(due, now);
+
+        assertThat(released).isEqualTo(1);
+        verify(ticketRepository, times(1)).deleteExpiredHolds(anyCollection(), eq(now));
+        verify(seatInventoryService).release(10L, "B", 7);
+        assertThat(seatHoldService.size()).isZero();
+    }
+
+    @Test
+    void releaseExpired_holdBoughtMeanwhile_isNotDeleted() {
+        LocalDateTime now = LocalDateTime.now();
+        seatHoldService.track(List.of(hold(1L, "C", 1, now.minusMinutes(1))));
+        List<SeatHold> due = seatHoldService.dueHolds(now, 10);
+
+        when(ticketRepository.findExpiredHolds(List.of(1L), now)).thenReturn(List.of());
+
+        assertThat(seatHoldService.releaseExpired(due, now)).isZero();
+        verify(ticketRepository, never()).deleteExpiredHolds(anyCollection(), any());
+        verifyNoInteractions(seatInventoryService);
+        assertThat(seatHoldService.size()).isZero();
+    }
+}
@@ -0,0 +1,142 @@
+package com.cinetime.service.seat;
+
+import com.cinetime.entity.business.Hall;
+import com.cinetime.entity.business.Showtime;
+import com.cinetime.exception.ConflictException;
+import com.cinetime.payload.request.business.BuyTicketRequest;
+import com.cinetime.repository.business.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatInventoryServiceTest {
+
+    @Mock TicketRepository ticketRepository;
+    @Mock ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    SeatInventoryService seatInventoryService;
+
+    private Showtime showtime;
+
+    @BeforeEach
+    void setUp() {
+        Hall hall = new Hall();
+        hall.setSeatCapacity(30);
+
+        showtime = new Showtime();
+        showtime.setId(10L);
+        showtime.setHall(hall);
+    }
+
+    private BuyTicketRequest.SeatInfo seat(String letter, int number) {
+        return BuyTicketRequest.SeatInfo.builder().seatLetter(letter).seatNumber(number).build();
+    }
+
+    @Test
+    void loadsTakenSeatsOnce_andAnswersFromMemory() {
+        when(ticketRepository.findTakenSeatIds(10L)).thenReturn(List.of("A1", "C10"));
+
+        assertThat(seatInventoryService.getTakenSeats(showtime)).containsExactlyInAnyOrder("A1", "C10");
+        assertThat(seatInventoryService.remainingSeats(showtime)).isEqualTo(28);
+        assertThat(seatInventoryService.inventoryFor(showtime).isTaken("a", 1)).isTrue();
+
+        verify(ticketRepository, times(1)).findTakenSeatIds(10L);
+    }
+
+    @Test
+    void claim_marksSeats_andRejectsSecondClaim() {
+        when(ticketRepository.findTakenSeatIds(10L)).thenReturn(List.of());
+
+        seatInventoryService.claim(showtime, List.of(seat("B", 2), seat("B", 3)));
+
+        assertThat(seatInventoryService.remainingSeats(showtime)).isEqualTo(28);
+        assertThatThrownBy(() -> seatInventoryService.claim(showtime, List.of(seat("B", 3))))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("B-3");
+    }
+
+    @Test
+    void claim_andRelease_publishSeatMapDeltas() {
+        when(ticketRepository.findTakenSeatIds(10L)).thenReturn(List.of());
+
+        seatInventoryService.claim(showtime, List.of(seat("d", 4)));
+        seatInventoryService.release(10L, "D", 4);
+
+        verify(eventPublisher).publishEvent(SeatMapChangedEvent.taken(10L, List.of("D4")));
+        verify(eventPublisher).publishEvent(SeatMapChangedEvent.released(10L, List.of("D4")));
+        assertThat(seatInventoryService.remainingSeats(showtime)).isEqualTo(30);
+    }
+
+    @Test
+    void claim_duplicateSeatInSameRequest_conflictAndNothingMarked() {
+        when(ticketRepository.findTakenSeatIds(10L)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> seatInventoryService.claim(showtime, List.of(seat("A", 5), seat("A", 5))))
+                .isInstanceOf(ConflictException.class);
+        assertThat(seatInventoryService.remainingSeats(showtime)).isEqualTo(30);
+    }
+
+    @Test
+    void seatsOutsideLayout_areStillTracked() {
+        when(ticketRepository.findTakenSeatIds(10L)).thenReturn(List.of("Z99"));
+
+        assertThat(seatInventoryService.inventoryFor(showtime).isTaken("Z", 99)).isTrue();
+        assertThatThrownBy(() -> seatInventoryService.claim(showtime, List.of(seat("Z", 99))))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void evict_forcesReload() {
+        when(ticketRepository.findTakenSeatIds(10L)).thenReturn(List.of(), List.of("A1"));
+
+        assertThat(seatInventoryService.getTakenSeats(showtime)).isEmpty();
+        seatInventoryService.evict(10L);
+        assertThat(seatInventoryService.getTakenSeats(showtime)).containsExactly("A1");
+    }
+
+    @Test
+    void evictAfterCommit_withoutTransaction_reloadsOnNextAccess() {
+        when(ticketRepository.findTakenSeatIds(10L)).thenReturn(List.of("A1"), List.of());
+
+        assertThat(seatInventoryService.getTakenSeats(showtime)).containsExactly("A1");
+        seatInventoryService.evictAfterCommit(List.of(10L));
+
+        assertThat(seatInventoryService.getTakenSeats(showtime)).isEmpty();
+    }
+
+    @Test
+    void inventoryFor_dropsLeastRecentlyUsedShowtimes_pastTheBound() {
+        ReflectionTestUtils.setField(seatInventoryService, "maxCachedShowtimes", 2);
+        when(ticketRepository.findTakenSeatIds(anyLong())).thenReturn(List.of());
+        Showtime other = new Showtime();
+        other.setId(11L);
+        other.setHall(showtime.getHall());
+        Showtime third = new Showtime();
+        third.setId(12L);
+        third.setHall(showtime.getHall());
+
+        seatInventoryService.inventoryFor(showtime);
+        seatInventoryService.inventoryFor(other);
+        seatInventoryService.inventoryFor(showtime);
+        seatInventoryService.inventoryFor(third);
+        seatInventoryService.inventoryFor(showtime);
+
+        // 11 was the least recently used one and was dropped, 10 stayed cached
+        verify(ticketRepository, times(1)).findTakenSeatIds(10L);
+        seatInventoryService.inventoryFor(other);
+        verify(ticketRepository, times(2)).findTakenSeatIds(11L);
+    }
+}
@@ -0,0 +1,43 @@
+package com.cinetime.service.seat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatMapBroadcasterTest {
+
+    // Runs queued sends only when asked, standing in for sender threads stuck on a slow client
+    private final Deque<Runnable> queuedSends = new ArrayDeque<>();
+    private final SeatMapBroadcaster broadcaster = new SeatMapBroadcaster(60_000, 3, queuedSends::add);
+    private final SeatInventory inventory = new SeatInventory(10L, 1L, new SeatLayout(5, 10), 50);
+
+    @Test
+    void onSeatMapChanged_onlyQueues_andSchedulesOneSenderPerSubscriber() {
+        broadcaster.subscribe(inventory);
+
+        broadcaster.onSeatMapChanged(SeatMapChangedEvent.taken(10L, List.of("A1")));
+
+        assertThat(queuedSends).hasSize(1);
+        queuedSends.poll().run();
+        assertThat(queuedSends).isEmpty();
+        assertThat(broadcaster.subscriberCount(10L)).isEqualTo(1);
+    }
+
+    @Test
+    void onSeatMapChanged_closesSubscriber_whoseQueueOverflows() {
+        broadcaster.subscribe(inventory);
+
+        // snapshot + two deltas fill the queue of three; the sender never gets to run
+        broadcaster.onSeatMapChanged(SeatMapChangedEvent.taken(10L, List.of("A1")));
+        broadcaster.onSeatMapChanged(SeatMapChangedEvent.taken(10L, List.of("A2")));
+        assertThat(broadcaster.subscriberCount(10L)).isEqualTo(1);
+
+        broadcaster.onSeatMapChanged(SeatMapChangedEvent.released(10L, List.of("A1")));
+
+        assertThat(broadcaster.subscriberCount(10L)).isZero();
+    }
+}
@@ -0,0 +1,94 @@
+package com.cinetime.service.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSystemBlobStoreTest {
+
+    // sha-256 of "test"
+    private static final String TEST_KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @TempDir
+    Path root;
+
+    private FileSystemBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new FileSystemBlobStore(root);
+    }
+
+    @Test
+    void put_keysContentBySha256_andFansOutByPrefix() throws IOException {
+        StoredBlob blob = store.put(stream("test"));
+
+        assertThat(blob).isEqualTo(new StoredBlob(TEST_KEY, 4));
+        assertThat(root.resolve("9f").resolve("86").resolve(TEST_KEY)).hasContent("test");
+        assertThat(incomingFiles()).isZero();
+    }
+
+    @Test
+    void put_sameContentTwice_keepsOneCopy() throws IOException {
+        StoredBlob first = store.put(stream("poster"));
+        StoredBlob second = store.put(stream("poster"));
+
+        assertThat(second).isEqualTo(first);
+        try (Stream<Path> files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void put_callsBeforePublish_beforeTheBlobIsReadable() {
+        List<Boolean> readable = new ArrayList<>();
+
+        store.put(stream("test"), key -> readable.add(store.get(key).isPresent()));
+
+        assertThat(readable).containsExactly(false);
+        assertThat(store.get(TEST_KEY)).isPresent();
+    }
+
+    @Test
+    void get_returnsStoredBytes_andDeleteRemovesThem() throws IOException {
+        store.put(stream("test"));
+
+        Resource resource = store.get(TEST_KEY).orElseThrow();
+        assertThat(resource.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("test");
+
+        store.delete(TEST_KEY);
+        assertThat(store.get(TEST_KEY)).isEmpty();
+        store.delete(TEST_KEY); // no-op
+    }
+
+    @Test
+    void get_rejectsKeysThatAreNotAHash() throws IOException {
+        Files.writeString(root.resolve("secret.txt"), "x");
+
+        assertThat(store.get(null)).isEmpty();
+        assertThat(store.get("../secret.txt")).isEmpty();
+        assertThat(store.get(TEST_KEY.toUpperCase())).isEmpty();
+    }
+
+    private long incomingFiles() throws IOException {
+        try (Stream<Path> files = Files.list(root.resolve("incoming"))) {
+            return files.count();
+        }
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
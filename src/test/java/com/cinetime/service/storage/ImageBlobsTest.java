@@ -0,0 +1,125 @@
+package com.cinetime.service.storage;
+
+import com.cinetime.repository.business.CinemaImageRepository;
+import com.cinetime.repository.business.ImageRepository;
+import com.cinetime.repository.business.ImageVariantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ImageBlobsTest {
+
+    @TempDir
+    Path root;
+
+    private final ImageRepository imageRepository = mock(ImageRepository.class);
+    private final CinemaImageRepository cinemaImageRepository = mock(CinemaImageRepository.class);
+    private final ImageVariantRepository imageVariantRepository = mock(ImageVariantRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private FileSystemBlobStore blobStore;
+    private ImageBlobs imageBlobs;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new FileSystemBlobStore(root);
+        imageBlobs = new ImageBlobs(blobStore, imageRepository, cinemaImageRepository, imageVariantRepository,
+                transactionManager);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(imageVariantRepository.findAllBySourceKey(any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void store_keepsTheBlob_whileItsTransactionIsOpen_andReleasesItOnRollback() throws InterruptedException {
+        TransactionSynchronizationManager.initSynchronization();
+        StoredBlob stored = imageBlobs.store(stream("poster"));
+
+        // another request drops the last image using the same bytes before the upload commits
+        Thread release = new Thread(() -> imageBlobs.releaseAfterCommit(stored.key()));
+        release.start();
+        release.join();
+        assertThat(blobStore.get(stored.key())).isPresent();
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(blobStore.get(stored.key())).isEmpty();
+    }
+
+    @Test
+    void store_keepsTheBlob_onCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        StoredBlob stored = imageBlobs.store(stream("poster"));
+        when(imageRepository.existsByBlobKey(stored.key())).thenReturn(true);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(blobStore.get(stored.key())).isPresent();
+        verifyNoInteractions(imageVariantRepository);
+    }
+
+    @Test
+    void releaseAfterCommit_deletesUnreferencedBlobs_onceNoStoreIsInFlight() {
+        StoredBlob stored = imageBlobs.store(stream("poster"));
+
+        imageBlobs.releaseAfterCommit(stored.key());
+
+        assertThat(blobStore.get(stored.key())).isEmpty();
+    }
+
+    @Test
+    void store_ofTheSameBytes_waitsForADeleteInProgress_andPublishesTheFileAgain() throws InterruptedException {
+        StoredBlob stored = imageBlobs.store(stream("poster"));
+        CountDownLatch checking = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        when(imageRepository.existsByBlobKey(stored.key())).thenAnswer(invocation -> {
+            checking.countDown();
+            proceed.await(5, TimeUnit.SECONDS);
+            return false;
+        });
+
+        Thread release = new Thread(() -> imageBlobs.releaseAfterCommit(stored.key()));
+        release.start();
+        assertThat(checking.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread upload = new Thread(() -> imageBlobs.store(stream("poster")));
+        upload.start();
+        upload.join(200);
+        assertThat(upload.isAlive()).isTrue();
+
+        proceed.countDown();
+        release.join();
+        upload.join();
+        assertThat(blobStore.get(stored.key())).isPresent();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(status));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
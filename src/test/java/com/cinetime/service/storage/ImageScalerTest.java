@@ -0,0 +1,68 @@
+package com.cinetime.service.storage;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageScalerTest {
+
+    @Test
+    void decode_subsamplesLargeSources_butKeepsTwiceTheTargetWidth() throws IOException {
+        byte[] png = png(2000, 1000, false);
+
+        BufferedImage decoded = ImageScaler.decode(new ByteArrayInputStream(png), 200, 50_000_000).orElseThrow();
+
+        assertThat(decoded.getWidth()).isBetween(400, 1000);
+    }
+
+    @Test
+    void decode_isEmpty_forUnreadableOrOversizedImages() throws IOException {
+        assertThat(ImageScaler.decode(new ByteArrayInputStream("not an image".getBytes(StandardCharsets.UTF_8)),
+                200, 50_000_000)).isEmpty();
+        assertThat(ImageScaler.decode(new ByteArrayInputStream(png(1000, 1000, false)), 1000, 100_000)).isEmpty();
+    }
+
+    @Test
+    void scale_keepsAspectRatio() {
+        BufferedImage scaled = ImageScaler.scale(image(1600, 900, false), 200);
+
+        assertThat(scaled.getWidth()).isEqualTo(200);
+        assertThat(scaled.getHeight()).isEqualTo(113);
+    }
+
+    @Test
+    void encode_writesJpegForOpaque_andPngForTransparentImages() throws IOException {
+        ImageScaler.Encoded opaque = ImageScaler.encode(image(40, 20, false));
+        ImageScaler.Encoded transparent = ImageScaler.encode(image(40, 20, true));
+
+        assertThat(opaque.type()).isEqualTo("image/jpeg");
+        assertThat(transparent.type()).isEqualTo("image/png");
+        assertThat(ImageIO.read(new ByteArrayInputStream(opaque.bytes())).getWidth()).isEqualTo(40);
+        assertThat(ImageIO.read(new ByteArrayInputStream(transparent.bytes())).getColorModel().hasAlpha()).isTrue();
+    }
+
+    static byte[] png(int width, int height, boolean alpha) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image(width, height, alpha), "png", out);
+        return out.toByteArray();
+    }
+
+    private static BufferedImage image(int width, int height, boolean alpha) {
+        BufferedImage image = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.ORANGE);
+        g.fillRect(0, 0, width / 2, height);
+        g.dispose();
+        return image;
+    }
+}
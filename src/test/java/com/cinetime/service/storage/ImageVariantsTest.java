@@ -0,0 +1,88 @@
+package com.cinetime.service.storage;
+
+import com.cinetime.entity.business.ImageVariant;
+import com.cinetime.repository.business.ImageVariantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImageVariantsTest {
+
+    @TempDir
+    Path root;
+
+    private FileSystemBlobStore blobStore;
+    private ImageVariants variants;
+    private final Map<String, ImageVariant> rows = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new FileSystemBlobStore(root);
+        ImageVariantRepository repository = mock(ImageVariantRepository.class);
+        when(repository.findBySourceKeyAndWidth(anyString(), anyInt())).thenAnswer(inv ->
+                Optional.ofNullable(rows.get(inv.getArgument(0) + "/" + inv.getArgument(1))));
+        when(repository.save(any(ImageVariant.class))).thenAnswer(inv -> {
+            ImageVariant variant = inv.getArgument(0);
+            rows.put(variant.getSourceKey() + "/" + variant.getWidth(), variant);
+            return variant;
+        });
+        variants = new ImageVariants(blobStore, repository, 1, 10, 10_000, 50_000_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        variants.destroy();
+    }
+
+    @Test
+    void size_atLeast_picksSmallestSizeThatIsWideEnough() {
+        assertThat(ImageVariants.Size.atLeast(1)).contains(ImageVariants.Size.THUMB);
+        assertThat(ImageVariants.Size.atLeast(200)).contains(ImageVariants.Size.THUMB);
+        assertThat(ImageVariants.Size.atLeast(201)).contains(ImageVariants.Size.CARD);
+        assertThat(ImageVariants.Size.atLeast(1281)).isEmpty();
+    }
+
+    @Test
+    void resolve_rendersMissingSizesOnDemand_andReusesThem() throws IOException {
+        String source = blobStore.put(new ByteArrayInputStream(ImageScalerTest.png(800, 400, false))).key();
+
+        ImageVariants.Rendition thumb = variants.resolve(source, 150);
+
+        assertThat(thumb.type()).isEqualTo("image/jpeg");
+        assertThat(thumb.blobKey()).isNotEqualTo(source);
+        try (InputStream in = blobStore.get(thumb.blobKey()).orElseThrow().getInputStream()) {
+            assertThat(ImageIO.read(in).getWidth()).isEqualTo(200);
+        }
+        // every size was rendered from the one decode; HERO is wider than the source
+        assertThat(rows).hasSize(3);
+        assertThat(variants.resolve(source, 480)).isNotEqualTo(thumb);
+        assertThat(variants.resolve(source, 1000)).isEqualTo(new ImageVariants.Rendition(source, null));
+    }
+
+    @Test
+    void resolve_fallsBackToTheOriginal_forWidthsBeyondHero_andUndecodableContent() {
+        String svg = blobStore.put(new ByteArrayInputStream("<svg/>".getBytes(StandardCharsets.UTF_8))).key();
+
+        assertThat(variants.resolve(svg, 2000)).isEqualTo(new ImageVariants.Rendition(svg, null));
+        assertThat(variants.resolve(svg, 100)).isEqualTo(new ImageVariants.Rendition(svg, null));
+        assertThat(rows.get(svg + "/200").getBlobKey()).isEqualTo(svg);
+    }
+}
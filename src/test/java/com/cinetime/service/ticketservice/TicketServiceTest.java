@@ -4,6 +4,7 @@ import com.cinetime.entity.business.Hall;
 import com.cinetime.entity.business.Payment;
 import com.cinetime.entity.business.Showtime;
 import com.cinetime.entity.business.Ticket;
+import com.cinetime.entity.business.TicketRecord;
 import com.cinetime.entity.enums.PaymentStatus;
 import com.cinetime.entity.enums.TicketStatus;
 import com.cinetime.entity.user.User;
@@ -12,27 +13,39 @@ import com.cinetime.exception.ResourceNotFoundException;
 import com.cinetime.payload.mappers.PaymentMapper;
 import com.cinetime.payload.mappers.TicketMapper;
 import com.cinetime.payload.request.business.BuyTicketRequest;
+import com.cinetime.payload.request.business.ReserveBestAvailableRequest;
+import com.cinetime.payload.request.business.ReserveTicketByShowtimeIdRequest;
 import com.cinetime.payload.request.business.ReserveTicketRequest;
 import com.cinetime.payload.response.business.PaymentResponse;
 import com.cinetime.payload.response.business.TicketResponse;
 import com.cinetime.repository.business.PaymentRepository;
 import com.cinetime.repository.business.ShowtimeRepository;
+import com.cinetime.repository.business.TicketRecordRepository;
 import com.cinetime.repository.business.TicketRepository;
 import com.cinetime.repository.user.UserRepository;
+import com.cinetime.service.booking.BookingExecutor;
+import com.cinetime.service.booking.IdempotencyStore;
 import com.cinetime.service.helper.MailHelper;
 import com.cinetime.service.helper.PageableHelper;
-import com.cinetime.service.mail.MailService;
+import com.cinetime.service.helper.ShowtimeKeyCache;
+import com.cinetime.service.mail.PurchaseReceiptEvent;
+import com.cinetime.service.pricing.PricingService;
+import com.cinetime.service.seat.SeatHoldService;
+import com.cinetime.service.seat.SeatInventoryService;
+import com.cinetime.service.seat.SeatMapBroadcaster;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -40,6 +53,7 @@ import java.time.LocalTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -50,14 +64,23 @@ import static org.mockito.Mockito.*;
 public class TicketServiceTest {
 
     @Mock TicketRepository ticketRepository;
+    @Mock TicketRecordRepository ticketRecordRepository;
     @Mock ShowtimeRepository showtimeRepository;
     @Mock UserRepository userRepository;
     @Mock PaymentRepository paymentRepository;
     @Mock TicketMapper ticketMapper;
     @Mock PaymentMapper paymentMapper;
     @Mock PageableHelper pageableHelper;
-    @Mock MailService mailService; // present in service constructor
     @Mock MailHelper mailHelper;
+    @Mock SeatInventoryService seatInventoryService;
+    @Mock SeatHoldService seatHoldService;
+    @Mock ShowtimeKeyCache showtimeKeyCache;
+    @Mock SeatMapBroadcaster seatMapBroadcaster;
+    @Mock BookingExecutor bookingExecutor;
+    @Mock IdempotencyStore idempotencyStore;
+    @Mock PlatformTransactionManager transactionManager;
+    @Mock PricingService pricingService;
+    @Mock ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     TicketService ticketService;
@@ -70,6 +93,11 @@ public class TicketServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Run lane work inline on the test thread
+        lenient().when(bookingExecutor.execute(anyLong(), any())).thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+        // No stored result: every buy runs its work
+        lenient().when(idempotencyStore.execute(anyString(), any())).thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+
         user = User.builder()
                 .id(1L)
                 .email("member@cinetime.local")
@@ -162,8 +190,8 @@ public class TicketServiceTest {
         when(paymentRepository.saveAndFlush(any(Payment.class))).thenReturn(pending);
 
         // Seats free
-        when(ticketRepository.existsByShowtime_IdAndSeatLetterAndSeatNumber(10L, "B", 12)).thenReturn(false);
-        when(ticketRepository.existsByShowtime_IdAndSeatLetterAndSeatNumber(10L, "B", 13)).thenReturn(false);
+        when(seatInventoryService.remainingSeats(showtimeFuture)).thenReturn(100);
+        when(pricingService.priceOf(eq(showtimeFuture), eq("B"), anyInt())).thenReturn(9.99);
 
         // Persist tickets
         Ticket t1 = makeTicket("B",12, showtimeFuture, user, pending); t1.setId(100L);
@@ -189,12 +217,27 @@ public class TicketServiceTest {
 
         // Act
         PaymentResponse response = ticketService.buy(req, 1L, IDEMPOTENCY_KEY);
+        verify(bookingExecutor, times(1)).execute(eq(10L), any());
 
         // Assert
         assertThat(response.getPaymentId()).isEqualTo(77L);
         assertThat(response.getTickets()).hasSize(2);
+        verify(seatInventoryService, times(1)).claim(showtimeFuture, req.getSeatInformation());
+        verify(ticketRepository, never()).existsByShowtime_IdAndSeatLetterAndSeatNumber(anyLong(), anyString(), anyInt());
         verify(ticketRepository, times(1)).saveAllAndFlush(anyList());
-        verify(mailHelper, times(1)).sendPurchaseReceipt(eq("member@cinetime.local"), any(Payment.class), eq(persisted));
+        verify(pricingService, times(2)).priceOf(eq(showtimeFuture), eq("B"), anyInt());
+        verify(mailHelper, times(1)).purchaseReceipt(eq("member@cinetime.local"), any(Payment.class), eq(persisted));
+    }
+
+    @Test
+    void buy_blankIdempotencyKey_isRejected_beforeTouchingTheStore() {
+        BuyTicketRequest req = buyReq("Fight Club","Hall 1","CineTime Downtown",
+                showtimeFuture.getDate(), showtimeFuture.getStartTime(), List.of(seat("A",1)));
+
+        assertThatThrownBy(() -> ticketService.buy(req, 1L, " "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("idempotencyKey");
+        verifyNoInteractions(idempotencyStore);
     }
 
     @Test
@@ -221,7 +264,8 @@ public class TicketServiceTest {
         assertThat(result.getPaymentId()).isEqualTo(99L);
         verify(showtimeRepository, never()).findByMovie_TitleIgnoreCaseAndHall_NameIgnoreCaseAndHall_Cinema_NameIgnoreCaseAndDateAndStartTime(any(),any(),any(),any(),any());
         verify(ticketRepository, never()).saveAllAndFlush(anyList());
-        verify(mailHelper, never()).sendPurchaseReceipt(anyString(), any(Payment.class), anyList());
+        verify(mailHelper, never()).purchaseReceipt(anyString(), any(Payment.class), anyList());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -262,7 +306,6 @@ public class TicketServiceTest {
                 anyString(), anyString(), anyString(), any(LocalDate.class), any(LocalTime.class)
         )).thenReturn(Optional.of(showtimeFuture));
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(paymentRepository.saveAndFlush(any(Payment.class))).thenReturn(new Payment());
 
         BuyTicketRequest req = buyReq("Fight Club","Hall 1","CineTime Downtown",
                 showtimeFuture.getDate(), showtimeFuture.getStartTime(), Collections.emptyList());
@@ -271,6 +314,7 @@ public class TicketServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("seatInformation must be a non-empty array");
         verify(ticketRepository, never()).saveAllAndFlush(anyList());
+        verify(paymentRepository, never()).saveAndFlush(any(Payment.class));
     }
 
     @Test
@@ -280,17 +324,20 @@ public class TicketServiceTest {
                 anyString(), anyString(), anyString(), any(LocalDate.class), any(LocalTime.class)
         )).thenReturn(Optional.of(showtimeFuture));
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(paymentRepository.saveAndFlush(any(Payment.class))).thenReturn(new Payment());
 
-        when(ticketRepository.existsByShowtime_IdAndSeatLetterAndSeatNumber(eq(10L), eq("Z"), eq(6))).thenReturn(true);
+        when(seatInventoryService.remainingSeats(showtimeFuture)).thenReturn(100);
 
         BuyTicketRequest req = buyReq("Fight Club","Hall 1","CineTime Downtown",
                 showtimeFuture.getDate(), showtimeFuture.getStartTime(), List.of(seat("Z",6)));
+        doThrow(new ConflictException("Seat Z-6 is already reserved/paid"))
+                .when(seatInventoryService).claim(showtimeFuture, req.getSeatInformation());
 
         assertThatThrownBy(() -> ticketService.buy(req, 1L, IDEMPOTENCY_KEY))
                 .isInstanceOf(ConflictException.class)
                 .hasMessageContaining("already");
         verify(ticketRepository, never()).saveAllAndFlush(anyList());
+        // conflict is decided before anything is written: no orphan PENDING payment
+        verify(paymentRepository, never()).saveAndFlush(any(Payment.class));
     }
 
     @Test
@@ -301,8 +348,7 @@ public class TicketServiceTest {
         )).thenReturn(Optional.of(showtimeFuture));
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(paymentRepository.saveAndFlush(any(Payment.class))).thenReturn(new Payment());
-        when(ticketRepository.existsByShowtime_IdAndSeatLetterAndSeatNumber(anyLong(), anyString(), anyInt()))
-                .thenReturn(false);
+        when(seatInventoryService.remainingSeats(showtimeFuture)).thenReturn(100);
         when(ticketRepository.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException("dup"));
 
         BuyTicketRequest req = buyReq("Fight Club","Hall 1","CineTime Downtown",
@@ -311,10 +357,72 @@ public class TicketServiceTest {
         assertThatThrownBy(() -> ticketService.buy(req, 1L, IDEMPOTENCY_KEY))
                 .isInstanceOf(ConflictException.class)
                 .hasMessageContaining("reserved/paid");
+        verify(seatInventoryService).evict(10L);
+    }
+
+    @Test
+    void buy_convertsUsersOwnHold_withoutClaimingSeatAgain() {
+        BuyTicketRequest req = buyReq("Fight Club","Hall 1","CineTime Downtown",
+                showtimeFuture.getDate(), showtimeFuture.getStartTime(), List.of(seat("C",4)));
+
+        when(paymentRepository.findByIdempotencyKey(IDEMPOTENCY_KEY)).thenReturn(Optional.empty());
+        when(showtimeRepository.findByMovie_TitleIgnoreCaseAndHall_NameIgnoreCaseAndHall_Cinema_NameIgnoreCaseAndDateAndStartTime(
+                anyString(), anyString(), anyString(), any(LocalDate.class), any(LocalTime.class)
+        )).thenReturn(Optional.of(showtimeFuture));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        Payment pending = new Payment(); pending.setId(600L);
+        when(paymentRepository.saveAndFlush(any(Payment.class))).thenReturn(pending);
+
+        Ticket held = makeTicket("C",4, showtimeFuture, user, null);
+        held.setId(800L);
+        held.setStatus(TicketStatus.RESERVED);
+        held.setHoldExpiresAt(LocalDateTime.now().plusMinutes(5));
+        when(ticketRepository.findByShowtime_IdAndUser_IdAndStatus(10L, 1L, TicketStatus.RESERVED))
+                .thenReturn(List.of(held));
+        when(ticketRepository.convertActiveHolds(eq(List.of(800L)), any(LocalDateTime.class))).thenReturn(1);
+        when(ticketRepository.saveAllAndFlush(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(paymentMapper.mapPaymentToPaymentResponse(any(Payment.class), anyList()))
+                .thenReturn(PaymentResponse.builder().paymentId(600L).build());
+
+        ticketService.buy(req, 1L, IDEMPOTENCY_KEY);
+
+        assertThat(held.getStatus()).isEqualTo(TicketStatus.PAID);
+        assertThat(held.getPayment()).isSameAs(pending);
+        assertThat(held.getHoldExpiresAt()).isNull();
+        verify(seatInventoryService, never()).claim(any(), anyList());
+        verify(seatHoldService).forget(List.of(held));
+    }
+
+    @Test
+    void buy_expiredHold_isConflict_andWritesNoPayment() {
+        BuyTicketRequest req = buyReq("Fight Club","Hall 1","CineTime Downtown",
+                showtimeFuture.getDate(), showtimeFuture.getStartTime(), List.of(seat("C",4)));
+
+        when(paymentRepository.findByIdempotencyKey(IDEMPOTENCY_KEY)).thenReturn(Optional.empty());
+        when(showtimeRepository.findByMovie_TitleIgnoreCaseAndHall_NameIgnoreCaseAndHall_Cinema_NameIgnoreCaseAndDateAndStartTime(
+                anyString(), anyString(), anyString(), any(LocalDate.class), any(LocalTime.class)
+        )).thenReturn(Optional.of(showtimeFuture));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        Ticket held = makeTicket("C",4, showtimeFuture, user, null);
+        held.setId(800L);
+        held.setStatus(TicketStatus.RESERVED);
+        held.setHoldExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(ticketRepository.findByShowtime_IdAndUser_IdAndStatus(10L, 1L, TicketStatus.RESERVED))
+                .thenReturn(List.of(held));
+        when(ticketRepository.convertActiveHolds(eq(List.of(800L)), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThatThrownBy(() -> ticketService.buy(req, 1L, IDEMPOTENCY_KEY))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("expired");
+        verify(paymentRepository, never()).saveAndFlush(any(Payment.class));
+        verify(seatHoldService, never()).forget(anyList());
     }
 
     @Test
-    void buy_emailFails_purchaseStillSucceeds() {
+    void buy_publishesReceipt_insteadOfMailingInsideTheTransaction() {
         BuyTicketRequest req = buyReq("Fight Club","Hall 1","CineTime Downtown",
                 showtimeFuture.getDate(), showtimeFuture.getStartTime(), List.of(seat("A",1)));
 
@@ -327,16 +435,14 @@ public class TicketServiceTest {
         Payment pending = new Payment(); pending.setId(500L);
         when(paymentRepository.saveAndFlush(any(Payment.class))).thenReturn(pending);
 
-        when(ticketRepository.existsByShowtime_IdAndSeatLetterAndSeatNumber(anyLong(), anyString(), anyInt()))
-                .thenReturn(false);
+        when(seatInventoryService.remainingSeats(showtimeFuture)).thenReturn(100);
 
         Ticket saved = makeTicket("A",1, showtimeFuture, user, pending); saved.setId(700L);
         when(ticketRepository.saveAllAndFlush(anyList())).thenReturn(List.of(saved));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        // simulate mail failure thrown inside helper
-        doThrow(new RuntimeException("smtp down"))
-                .when(mailHelper).sendPurchaseReceipt(eq("member@cinetime.local"), any(Payment.class), anyList());
+        PurchaseReceiptEvent receipt = new PurchaseReceiptEvent("member@cinetime.local", "receipt", "<p/>");
+        when(mailHelper.purchaseReceipt(eq("member@cinetime.local"), any(Payment.class), anyList())).thenReturn(receipt);
 
         PaymentResponse mapped = PaymentResponse.builder()
                 .paymentId(500L)
@@ -348,7 +454,43 @@ public class TicketServiceTest {
         PaymentResponse resp = ticketService.buy(req, 1L, IDEMPOTENCY_KEY);
 
         assertThat(resp.getPaymentId()).isEqualTo(500L);
-        verify(mailHelper, times(1)).sendPurchaseReceipt(anyString(), any(Payment.class), anyList());
+        // handed over for sending after commit; nothing is mailed inside the booking transaction
+        verify(eventPublisher).publishEvent(receipt);
+    }
+
+    @Test
+    void buy_cachedShowtimeKey_usesIdLookup_insteadOfNaturalKeyQuery() {
+        Hall hall = showtimeFuture.getHall();
+        hall.setName("Hall 1");
+        com.cinetime.entity.business.Cinema cinema = new com.cinetime.entity.business.Cinema();
+        cinema.setName("CineTime Downtown");
+        hall.setCinema(cinema);
+        com.cinetime.entity.business.Movie movie = new com.cinetime.entity.business.Movie();
+        movie.setTitle("Fight Club");
+        showtimeFuture.setMovie(movie);
+
+        BuyTicketRequest req = buyReq("fight club","HALL 1","CineTime Downtown",
+                showtimeFuture.getDate(), showtimeFuture.getStartTime(), List.of(seat("A",1)));
+
+        when(paymentRepository.findByIdempotencyKey(IDEMPOTENCY_KEY)).thenReturn(Optional.empty());
+        when(showtimeKeyCache.get("fight club","HALL 1","CineTime Downtown",
+                showtimeFuture.getDate(), showtimeFuture.getStartTime())).thenReturn(Optional.of(10L));
+        when(showtimeRepository.findById(10L)).thenReturn(Optional.of(showtimeFuture));
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ticketService.buy(req, 1L, IDEMPOTENCY_KEY))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("User not found");
+        verify(showtimeRepository, never()).findByMovie_TitleIgnoreCaseAndHall_NameIgnoreCaseAndHall_Cinema_NameIgnoreCaseAndDateAndStartTime(any(),any(),any(),any(),any());
+    }
+
+    @Test
+    void getTakenSeatsByShowtimeId_unknownId_throwsResourceNotFound() {
+        when(showtimeRepository.findById(404L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ticketService.getTakenSeatsByShowtimeId(404L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("404");
     }
 
     // ---------------- RESERVE ----------------
@@ -369,7 +511,6 @@ public class TicketServiceTest {
                 anyString(), anyString(), anyString(), any(LocalDate.class), any(LocalTime.class)
         )).thenReturn(Optional.of(showtimeFuture));
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(ticketRepository.existsByShowtime_IdAndSeatLetterAndSeatNumber(10L, "A", 1)).thenReturn(false);
 
         Ticket saved = new Ticket();
         saved.setId(200L);
@@ -378,13 +519,14 @@ public class TicketServiceTest {
         saved.setSeatLetter("A");
         saved.setSeatNumber(1);
         saved.setStatus(TicketStatus.RESERVED);
-        when(ticketRepository.saveAll(anyList())).thenReturn(List.of(saved));
+        when(ticketRepository.saveAllAndFlush(anyList())).thenReturn(List.of(saved));
 
         TicketResponse resp = TicketResponse.builder().id(200L).build();
         when(ticketMapper.mapTicketToTicketResponse(saved)).thenReturn(resp);
 
         List<TicketResponse> result = ticketService.reserve(req, 1L);
         assertThat(result).containsExactly(resp);
+        verify(seatHoldService).track(List.of(saved));
     }
 
     @Test
@@ -413,6 +555,42 @@ public class TicketServiceTest {
         verify(ticketRepository, never()).saveAll(anyList());
     }
 
+    @Test
+    void reserveBestAvailable_claimsTheSeatsChosenByTheInventory() {
+        ReserveBestAvailableRequest req = ReserveBestAvailableRequest.builder().showtimeId(10L).count(2).build();
+        List<BuyTicketRequest.SeatInfo> picked = List.of(seat("E", 5), seat("E", 6));
+
+        when(showtimeRepository.findById(10L)).thenReturn(Optional.of(showtimeFuture));
+        when(seatInventoryService.bestAvailable(showtimeFuture, 2)).thenReturn(picked);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(ticketRepository.saveAllAndFlush(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(ticketMapper.mapTicketToTicketResponse(any(Ticket.class))).thenReturn(TicketResponse.builder().build());
+
+        List<TicketResponse> result = ticketService.reserveBestAvailable(req, 1L);
+
+        assertThat(result).hasSize(2);
+        verify(seatInventoryService).claim(showtimeFuture, picked);
+        verify(bookingExecutor).execute(eq(10L), any());
+    }
+
+    @Test
+    void reserveByShowtimeId_mapsSeatConstraintHit_toConflict_andEvictsInventory() {
+        ReserveTicketByShowtimeIdRequest req = ReserveTicketByShowtimeIdRequest.builder()
+                .showtimeId(10L)
+                .seatInformation(List.of(seat("A", 1)))
+                .build();
+
+        when(showtimeRepository.findById(10L)).thenReturn(Optional.of(showtimeFuture));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(ticketRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_tickets_showtime_seat"));
+
+        assertThatThrownBy(() -> ticketService.reserveByShowtimeId(req, 1L))
+                .isInstanceOf(ConflictException.class);
+        verify(seatInventoryService).evict(10L);
+        verify(seatHoldService, never()).track(anyList());
+    }
+
     // ---------------- LISTING ----------------
 
     @Test
@@ -429,7 +607,7 @@ public class TicketServiceTest {
         t.setStatus(TicketStatus.PAID);
 
         PageImpl<Ticket> page = new PageImpl<>(List.of(t), pageable, 1);
-        when(ticketRepository.findCurrentForUser(eq(1L), anyList(), any(LocalDate.class), any(LocalTime.class), eq(pageable)))
+        when(ticketRepository.findCurrentForUser(eq(1L), anyList(), any(LocalDateTime.class), eq(pageable)))
                 .thenReturn(page);
 
         TicketResponse r = TicketResponse.builder().id(1L).build();
@@ -445,21 +623,15 @@ public class TicketServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
         when(pageableHelper.buildPageable(0, 10, null, "ASC")).thenReturn(pageable);
 
-        Ticket t = new Ticket();
-        t.setId(2L);
-        t.setShowtime(showtimePast);
-        t.setUser(user);
-        t.setSeatLetter("C");
-        t.setSeatNumber(3);
-        t.setStatus(TicketStatus.PAID);
+        TicketRecord t = new TicketRecord();
 
-        PageImpl<Ticket> page = new PageImpl<>(List.of(t), pageable, 1);
-        when(ticketRepository.findPassedForUserAt(eq(1L), eq(TicketStatus.USED), eq(TicketStatus.PAID),
-                any(LocalDate.class), any(LocalTime.class), eq(pageable)))
+        PageImpl<TicketRecord> page = new PageImpl<>(List.of(t), pageable, 1);
+        when(ticketRecordRepository.findPassedForUserAt(eq(1L), eq(TicketStatus.USED), eq(TicketStatus.PAID),
+                any(LocalDateTime.class), eq(pageable)))
                 .thenReturn(page);
 
         TicketResponse r = TicketResponse.builder().id(2L).build();
-        when(ticketMapper.mapTicketToTicketResponse(t)).thenReturn(r);
+        when(ticketMapper.mapRecordToTicketResponse(t)).thenReturn(r);
 
         org.springframework.data.domain.Page<TicketResponse> result = ticketService.getPassedTickets(1L, 0, 10, null, "ASC");
         assertThat(result.getContent()).containsExactly(r);
@@ -0,0 +1,147 @@
+package com.cinetime.service.timetable;
+
+import com.cinetime.payload.response.business.HallWithShowtimesResponse;
+import com.cinetime.repository.business.ShowtimeRepository;
+import com.cinetime.service.catalog.MovieChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CinemaTimetableTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 3, 4);
+    private static final Long CINEMA = 1L;
+
+    @Mock ShowtimeRepository showtimeRepository;
+
+    private CinemaTimetable timetable;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atTime(9, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        timetable = new CinemaTimetable(showtimeRepository, objectMapper, 14, clock);
+    }
+
+    @Test
+    void forCinema_groupsHallsByNameAndMoviesByTitle_acrossDays() {
+        // returned unordered, as the per-day query does not sort
+        when(showtimeRepository.findShowtimesByCinemaIdAndDateBetween(CINEMA, TODAY, TODAY.plusDays(14)))
+                .thenReturn(List.of(
+                        row(2L, "Hall-B", true, 30L, "Movie-Charlie", TODAY, LocalTime.of(19, 15)),
+                        row(1L, "Hall-A", false, 10L, "Movie-Alpha", TODAY.plusDays(1), LocalTime.of(14, 0)),
+                        row(1L, "Hall-A", false, 20L, "Movie-Beta", TODAY, LocalTime.of(21, 30)),
+                        row(1L, "Hall-A", false, 10L, "Movie-Alpha", TODAY, LocalTime.of(18, 0))));
+
+        List<HallWithShowtimesResponse> halls = timetable.forCinema(CINEMA).halls();
+
+        assertThat(halls).extracting(HallWithShowtimesResponse::getName).containsExactly("Hall-A", "Hall-B");
+        HallWithShowtimesResponse hallA = halls.get(0);
+        assertThat(hallA.getMovies()).extracting(m -> m.getMovie().getTitle())
+                .containsExactly("Movie-Alpha", "Movie-Beta");
+        assertThat(hallA.getMovies().get(0).getTimes()).containsExactly(
+                LocalDateTime.of(TODAY, LocalTime.of(18, 0)),
+                LocalDateTime.of(TODAY.plusDays(1), LocalTime.of(14, 0)));
+        assertThat(halls.get(1).getIsSpecial()).isTrue();
+    }
+
+    @Test
+    void forCinema_servesTheStoredPayload_untilADayChanges() {
+        when(showtimeRepository.findShowtimesByCinemaIdAndDateBetween(CINEMA, TODAY, TODAY.plusDays(14)))
+                .thenReturn(List.of(row(1L, "Hall-A", false, 10L, "Movie-Alpha", TODAY.plusDays(2), LocalTime.NOON)));
+
+        CinemaTimetable.Timetable first = timetable.forCinema(CINEMA);
+        assertThat(timetable.forCinema(CINEMA)).isSameAs(first);
+        assertThat(new String(first.json(), StandardCharsets.UTF_8)).contains("Movie-Alpha");
+        assertThat(first.etag()).startsWith("\"").endsWith("\"");
+
+        // only the changed day is read again
+        when(showtimeRepository.findShowtimesByCinemaIdAndDateBetween(CINEMA, TODAY.plusDays(2), TODAY.plusDays(2)))
+                .thenReturn(List.of(
+                        row(1L, "Hall-A", false, 10L, "Movie-Alpha", TODAY.plusDays(2), LocalTime.NOON),
+                        row(1L, "Hall-A", false, 10L, "Movie-Alpha", TODAY.plusDays(2), LocalTime.of(16, 0))));
+        timetable.onShowtimeChanged(new ShowtimeChangedEvent(CINEMA, TODAY.plusDays(2)));
+
+        CinemaTimetable.Timetable second = timetable.forCinema(CINEMA);
+        assertThat(second.halls().get(0).getMovies().get(0).getTimes()).hasSize(2);
+        assertThat(second.etag()).isNotEqualTo(first.etag());
+        verify(showtimeRepository, times(2)).findShowtimesByCinemaIdAndDateBetween(eq(CINEMA), any(), any());
+    }
+
+    @Test
+    void onShowtimeChanged_outsideTheWindowOrForAnotherCinema_keepsTheTimetable() {
+        when(showtimeRepository.findShowtimesByCinemaIdAndDateBetween(CINEMA, TODAY, TODAY.plusDays(14)))
+                .thenReturn(List.of(row(1L, "Hall-A", false, 10L, "Movie-Alpha", TODAY, LocalTime.NOON)));
+        CinemaTimetable.Timetable first = timetable.forCinema(CINEMA);
+
+        timetable.onShowtimeChanged(new ShowtimeChangedEvent(CINEMA, TODAY.plusDays(30)));
+        timetable.onShowtimeChanged(new ShowtimeChangedEvent(2L, TODAY));
+
+        assertThat(timetable.forCinema(CINEMA)).isSameAs(first);
+        verify(showtimeRepository, times(1)).findShowtimesByCinemaIdAndDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void onShowtimeChanged_forTheWholeCinema_dropsEveryDay() {
+        when(showtimeRepository.findShowtimesByCinemaIdAndDateBetween(CINEMA, TODAY, TODAY.plusDays(14)))
+                .thenReturn(List.of(row(1L, "Hall-A", false, 10L, "Movie-Alpha", TODAY, LocalTime.NOON)))
+                .thenReturn(List.of());
+        timetable.forCinema(CINEMA);
+
+        // Hall-A was deleted along with its showtimes
+        timetable.onShowtimeChanged(ShowtimeChangedEvent.wholeCinema(CINEMA));
+
+        assertThat(timetable.forCinema(CINEMA).halls()).isEmpty();
+        verify(showtimeRepository, times(2)).findShowtimesByCinemaIdAndDateBetween(CINEMA, TODAY, TODAY.plusDays(14));
+    }
+
+    @Test
+    void onMovieChanged_reloadsOnlyTheDaysShowingTheMovie() {
+        when(showtimeRepository.findShowtimesByCinemaIdAndDateBetween(CINEMA, TODAY, TODAY.plusDays(14)))
+                .thenReturn(List.of(
+                        row(1L, "Hall-A", false, 10L, "Movie-Alpha", TODAY, LocalTime.NOON),
+                        row(1L, "Hall-A", false, 20L, "Movie-Beta", TODAY.plusDays(1), LocalTime.NOON)));
+        CinemaTimetable.Timetable first = timetable.forCinema(CINEMA);
+
+        timetable.onMovieChanged(MovieChangedEvent.imagesChanged(10L));
+        assertThat(timetable.forCinema(CINEMA)).isSameAs(first);
+
+        when(showtimeRepository.findShowtimesByCinemaIdAndDateBetween(CINEMA, TODAY, TODAY)).thenReturn(List.of());
+        timetable.onMovieChanged(MovieChangedEvent.saved(10L));
+
+        assertThat(timetable.forCinema(CINEMA).halls().get(0).getMovies())
+                .extracting(m -> m.getMovie().getTitle())
+                .containsExactly("Movie-Beta");
+    }
+
+    private static ShowtimeRepository.HallMovieTimeRow row(Long hallId, String hallName, Boolean isSpecial,
+                                                           Long movieId, String movieTitle,
+                                                           LocalDate date, LocalTime startTime) {
+        return new ShowtimeRepository.HallMovieTimeRow() {
+            @Override public Long getHallId() { return hallId; }
+            @Override public String getHallName() { return hallName; }
+            @Override public Integer getSeatCapacity() { return 100; }
+            @Override public Boolean getIsSpecial() { return isSpecial; }
+            @Override public Long getMovieId() { return movieId; }
+            @Override public String getMovieTitle() { return movieTitle; }
+            @Override public LocalDate getDate() { return date; }
+            @Override public LocalTime getStartTime() { return startTime; }
+        };
+    }
+}
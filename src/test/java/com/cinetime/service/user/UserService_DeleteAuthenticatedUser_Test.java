@@ -10,6 +10,7 @@ import com.cinetime.repository.user.RoleRepository;
 import com.cinetime.repository.user.UserRepository;
 import com.cinetime.service.helper.MailHelper;
 import com.cinetime.service.helper.SecurityHelper;
+import com.cinetime.service.seat.SeatInventoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -51,6 +52,9 @@ public class UserService_DeleteAuthenticatedUser_Test {
     @Mock
     private FavoriteRepository favoriteRepository;
 
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
     @InjectMocks
     private UserService userService;
 
@@ -84,6 +88,8 @@ public class UserService_DeleteAuthenticatedUser_Test {
 
         verify(favoriteRepository).deleteAllByUser_Id(testUser.getId());
         verify(ticketRepository).deleteAllByUser_Id(testUser.getId());
+        verify(seatInventoryService).evictAfterCommit(java.util.List.of());
+        verify(ticketRepository).deleteHistoryByUserId(testUser.getId());
         verify(paymentRepository).deleteAllByUser_Id(testUser.getId());
 
         // servis içinde önce save, sonra deleteById çağrılıyor
@@ -7,6 +7,7 @@ import com.cinetime.repository.business.PaymentRepository;
 import com.cinetime.repository.business.TicketRepository;
 import com.cinetime.repository.user.UserRepository;
 import com.cinetime.service.helper.SecurityHelper;
+import com.cinetime.service.seat.SeatInventoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -36,6 +37,8 @@ class UserService_DeleteUserByAdminOrEmployee_Test {
 
     @Mock
     private FavoriteRepository favoriteRepository; // 🔹 EKLENDI
+    @Mock
+    private SeatInventoryService seatInventoryService;
 
     @InjectMocks
     private UserService userService;
@@ -73,6 +76,8 @@ class UserService_DeleteUserByAdminOrEmployee_Test {
 
         verify(favoriteRepository).deleteAllByUser_Id(userId);
         verify(ticketRepository).deleteAllByUser_Id(userId);
+        verify(seatInventoryService).evictAfterCommit(java.util.List.of());
+        verify(ticketRepository).deleteHistoryByUserId(userId);
         verify(paymentRepository).deleteAllByUser_Id(userId);
 
 
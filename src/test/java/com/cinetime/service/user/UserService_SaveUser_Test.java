@@ -17,6 +17,7 @@ import com.cinetime.repository.user.UserRepository;
 import com.cinetime.service.business.RoleService;
 import com.cinetime.service.helper.MailHelper;
 import com.cinetime.service.helper.SecurityHelper;
+import com.cinetime.service.seat.SeatInventoryService;
 import com.cinetime.util.PhoneUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -51,6 +52,7 @@ class UserService_SaveUser_Test {
     @Mock private TicketRepository ticketRepository;
     @Mock private FavoriteRepository favoriteRepository;
     @Mock private PaymentRepository paymentRepository;
+    @Mock private SeatInventoryService seatInventoryService;
 
     private UserService userService;
 
@@ -69,7 +71,8 @@ class UserService_SaveUser_Test {
                 securityHelper,
                 ticketRepository,
                 favoriteRepository,
-                paymentRepository
+                paymentRepository,
+                seatInventoryService
         );
 
         // genel lenient stub’lar
@@ -12,6 +12,7 @@ import com.cinetime.repository.user.RoleRepository;
 import com.cinetime.repository.user.UserRepository;
 import com.cinetime.service.helper.MailHelper;
 import com.cinetime.service.helper.SecurityHelper;
+import com.cinetime.service.seat.SeatInventoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -52,6 +53,9 @@ class UserService_UpdateAuthenticatedUser_Test {
     @Mock
     private FavoriteRepository favoriteRepository; // önemli: delete için kullanılıyor
 
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
     @InjectMocks
     private UserService userService;
 
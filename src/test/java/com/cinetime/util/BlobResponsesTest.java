@@ -0,0 +1,137 @@
+package com.cinetime.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlobResponsesTest {
+
+    private static final String KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final String ETAG = "\"" + KEY + "\"";
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final AtomicInteger opened = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(dir.resolve(KEY), "0123456789");
+        request = new MockHttpServletRequest("GET", "/api/images/1");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void write_sendsWholeBlob_withStrongEtag() throws IOException {
+        write();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getContentType()).isEqualTo("image/png");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).startsWith("inline;");
+    }
+
+    @Test
+    void write_answersMatchingIfNoneMatch_with304_withoutOpeningTheBlob() throws IOException {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", " + ETAG);
+
+        write();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(opened).hasValue(0);
+    }
+
+    @Test
+    void write_servesSingleRange_with206() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        write();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+    }
+
+    @Test
+    void write_servesSuffixRange_fromNonFileResource() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+
+        BlobResponses.write(request, response, KEY,
+                () -> new ByteArrayResource("0123456789".getBytes(StandardCharsets.UTF_8)), null, null);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("789");
+        assertThat(response.getContentType()).isEqualTo("application/octet-stream");
+    }
+
+    @Test
+    void write_answersRangePastTheEnd_with416() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+
+        write();
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void write_ignoresRange_whenIfRangeNamesAnotherVersion_orSeveralRangesAreAsked() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+        write();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+
+        request = new MockHttpServletRequest("GET", "/api/images/1");
+        response = new MockHttpServletResponse();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,4-5");
+        write();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+    }
+
+    @Test
+    void write_handsFileToSendfile_whenTheContainerSupportsIt() throws IOException {
+        request.setAttribute(BlobResponses.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=4-");
+
+        write();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(BlobResponses.SENDFILE_FILENAME)).isEqualTo(file.toFile().getAbsolutePath());
+        assertThat(request.getAttribute(BlobResponses.SENDFILE_START)).isEqualTo(4L);
+        assertThat(request.getAttribute(BlobResponses.SENDFILE_END)).isEqualTo(10L);
+    }
+
+    private void write() throws IOException {
+        Supplier<Resource> content = () -> {
+            opened.incrementAndGet();
+            return new FileSystemResource(file);
+        };
+        BlobResponses.write(request, response, KEY, content, "image/png", "poster.png");
+    }
+}